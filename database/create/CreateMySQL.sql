@@ -31,7 +31,33 @@ CREATE TABLE IF NOT EXISTS `ltimage` (
   `image_64` TEXT NULL,
   `image_path` VARCHAR(500) NULL,
   `is_default` TINYINT ZEROFILL NOT NULL DEFAULT 0,
-  PRIMARY KEY (`id`))
+  `content_hash` VARCHAR(64) NULL COMMENT 'SHA-256 du contenu quand l image est stockee sur disque',
+  `content_type` VARCHAR(100) NULL,
+  PRIMARY KEY (`id`),
+  INDEX `idx_image_content_hash` (`content_hash` ASC))
+ENGINE = InnoDB;
+
+
+-- -----------------------------------------------------
+-- Table `ltimage_variant`
+-- -----------------------------------------------------
+DROP TABLE IF EXISTS `ltimage_variant` ;
+
+CREATE TABLE IF NOT EXISTS `ltimage_variant` (
+  `id` INT NOT NULL AUTO_INCREMENT,
+  `image_id` INT NOT NULL,
+  `image_size` TINYINT NOT NULL COMMENT '1 miniature, 2 moyenne',
+  `content_type` VARCHAR(100) NOT NULL,
+  `image_64` TEXT NULL,
+  `content_hash` VARCHAR(64) NULL,
+  PRIMARY KEY (`id`),
+  UNIQUE INDEX `uk_image_variant_image_size` (`image_id` ASC, `image_size` ASC),
+  INDEX `idx_image_variant_content_hash` (`content_hash` ASC),
+  CONSTRAINT `fk_image_variant_image`
+    FOREIGN KEY (`image_id`)
+    REFERENCES `ltimage` (`id`)
+    ON DELETE NO ACTION
+    ON UPDATE NO ACTION)
 ENGINE = InnoDB;
 
 
@@ -113,6 +139,44 @@ CREATE TABLE IF NOT EXISTS `ltmenu` (
 ENGINE = InnoDB;
 
 
+-- -----------------------------------------------------
+-- Table `ltmeal_availability`
+-- -----------------------------------------------------
+DROP TABLE IF EXISTS `ltmeal_availability` ;
+
+CREATE TABLE IF NOT EXISTS `ltmeal_availability` (
+  `meal_id` INT NOT NULL,
+  `week_number` INT NOT NULL,
+  `day_number` INT NOT NULL COMMENT '0 pour toute la semaine, sinon 1 (lundi) a 7 (dimanche)',
+  PRIMARY KEY (`meal_id`, `week_number`, `day_number`),
+  INDEX `idx_meal_availability_week_day` (`week_number` ASC, `day_number` ASC, `meal_id` ASC) VISIBLE,
+  CONSTRAINT `fk_meal_availability`
+    FOREIGN KEY (`meal_id`)
+    REFERENCES `ltmeal` (`id`)
+    ON DELETE NO ACTION
+    ON UPDATE NO ACTION)
+ENGINE = InnoDB;
+
+
+-- -----------------------------------------------------
+-- Table `ltmenu_availability`
+-- -----------------------------------------------------
+DROP TABLE IF EXISTS `ltmenu_availability` ;
+
+CREATE TABLE IF NOT EXISTS `ltmenu_availability` (
+  `menu_id` INT NOT NULL,
+  `week_number` INT NOT NULL,
+  `day_number` INT NOT NULL COMMENT '0 pour toute la semaine, sinon 1 (lundi) a 7 (dimanche)',
+  PRIMARY KEY (`menu_id`, `week_number`, `day_number`),
+  INDEX `idx_menu_availability_week_day` (`week_number` ASC, `day_number` ASC, `menu_id` ASC) VISIBLE,
+  CONSTRAINT `fk_menu_availability`
+    FOREIGN KEY (`menu_id`)
+    REFERENCES `ltmenu` (`id`)
+    ON DELETE NO ACTION
+    ON UPDATE NO ACTION)
+ENGINE = InnoDB;
+
+
 -- -----------------------------------------------------
 -- Table `ltmenu_has_meal`
 -- -----------------------------------------------------
@@ -143,7 +207,7 @@ ENGINE = InnoDB;
 DROP TABLE IF EXISTS `ltorder` ;
 
 CREATE TABLE IF NOT EXISTS `ltorder` (
-  `id` INT NOT NULL AUTO_INCREMENT,
+  `id` INT NOT NULL COMMENT 'Given by ltorder_seq',
   `status` TINYINT NULL COMMENT 'CREATED(0), DELIVERED(1),CANCELED(2);',
   `user_id` INT NOT NULL,
   `creation_date` DATE NULL,
@@ -164,7 +228,7 @@ ENGINE = InnoDB;
 DROP TABLE IF EXISTS `ltquantity` ;
 
 CREATE TABLE IF NOT EXISTS `ltquantity` (
-  `id` INT NOT NULL AUTO_INCREMENT,
+  `id` INT NOT NULL COMMENT 'Given by ltquantity_seq',
   `meal_id` INT NULL,
   `menu_id` INT NULL,
   `quantity` INT NULL,
@@ -243,6 +307,28 @@ CREATE TABLE IF NOT EXISTS `ltconstraint` (
 ENGINE = InnoDB;
 
 
+-- -----------------------------------------------------
+-- Sequences `ltorder_seq` and `ltquantity_seq`
+-- MySQL has no sequence, a table with one row is used.
+-- Ids are taken by blocks of 50 (allocationSize in OrderEntity and QuantityEntity).
+-- -----------------------------------------------------
+DROP TABLE IF EXISTS `ltorder_seq` ;
+
+CREATE TABLE IF NOT EXISTS `ltorder_seq` (
+  `next_val` BIGINT NOT NULL)
+ENGINE = InnoDB;
+
+INSERT INTO `ltorder_seq` (`next_val`) VALUES (1);
+
+DROP TABLE IF EXISTS `ltquantity_seq` ;
+
+CREATE TABLE IF NOT EXISTS `ltquantity_seq` (
+  `next_val` BIGINT NOT NULL)
+ENGINE = InnoDB;
+
+INSERT INTO `ltquantity_seq` (`next_val`) VALUES (1);
+
+
 -- -----------------------------------------------------
 -- Table `ltorder_has_quantity`
 -- -----------------------------------------------------
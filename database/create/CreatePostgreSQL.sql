@@ -17,6 +17,8 @@ DROP TABLE IF EXISTS ltconstraint CASCADE;
 DROP TABLE IF EXISTS ltingredient CASCADE;
 DROP TABLE IF EXISTS ltmeal_has_ingredient CASCADE;
 DROP TABLE IF EXISTS ltmenu_has_meal CASCADE;
+DROP TABLE IF EXISTS ltmeal_availability CASCADE;
+DROP TABLE IF EXISTS ltmenu_availability CASCADE;
 DROP TABLE IF EXISTS ltorder_has_quantity CASCADE;
 DROP TABLE IF EXISTS ltquantity CASCADE;
 DROP TABLE IF EXISTS ltmeal CASCADE;
@@ -24,15 +26,35 @@ DROP TABLE IF EXISTS ltmenu CASCADE;
 DROP TABLE IF EXISTS ltorder CASCADE;
 DROP TABLE IF EXISTS ltuser CASCADE;
 DROP TABLE IF EXISTS ltrole CASCADE;
+DROP TABLE IF EXISTS ltimage_variant CASCADE;
 DROP TABLE IF EXISTS ltimage CASCADE;
+DROP SEQUENCE IF EXISTS ltorder_seq;
+DROP SEQUENCE IF EXISTS ltquantity_seq;
 
 CREATE TABLE ltimage (
   id SERIAL PRIMARY KEY,
   image_64 TEXT,
   image_path VARCHAR(500),
-  is_default BOOLEAN NOT NULL DEFAULT FALSE
+  is_default BOOLEAN NOT NULL DEFAULT FALSE,
+  content_hash VARCHAR(64),
+  content_type VARCHAR(100)
 );
 
+CREATE INDEX idx_image_content_hash ON ltimage (content_hash);
+
+CREATE TABLE ltimage_variant (
+  id SERIAL PRIMARY KEY,
+  image_id INT NOT NULL,
+  image_size SMALLINT NOT NULL,
+  content_type VARCHAR(100) NOT NULL,
+  image_64 TEXT,
+  content_hash VARCHAR(64),
+  CONSTRAINT uk_image_variant_image_size UNIQUE (image_id, image_size),
+  FOREIGN KEY (image_id) REFERENCES ltimage (id) ON DELETE NO ACTION ON UPDATE NO ACTION
+);
+
+CREATE INDEX idx_image_variant_content_hash ON ltimage_variant (content_hash);
+
 CREATE TABLE ltconstraint (
   id SERIAL PRIMARY KEY,
   order_time_limit TIME NOT NULL,
@@ -81,6 +103,28 @@ CREATE TABLE ltmenu (
   FOREIGN KEY (image_id) REFERENCES ltimage (id) ON DELETE NO ACTION ON UPDATE NO ACTION  
 );
 
+CREATE TABLE ltmeal_availability (
+  meal_id INTEGER NOT NULL,
+  week_number INTEGER NOT NULL,
+  day_number INTEGER NOT NULL,
+  PRIMARY KEY (meal_id,week_number,day_number),
+
+  FOREIGN KEY (meal_id) REFERENCES ltmeal (id) ON DELETE NO ACTION ON UPDATE NO ACTION
+);
+
+CREATE INDEX idx_meal_availability_week_day ON ltmeal_availability (week_number,day_number,meal_id);
+
+CREATE TABLE ltmenu_availability (
+  menu_id INTEGER NOT NULL,
+  week_number INTEGER NOT NULL,
+  day_number INTEGER NOT NULL,
+  PRIMARY KEY (menu_id,week_number,day_number),
+
+  FOREIGN KEY (menu_id) REFERENCES ltmenu (id) ON DELETE NO ACTION ON UPDATE NO ACTION
+);
+
+CREATE INDEX idx_menu_availability_week_day ON ltmenu_availability (week_number,day_number,menu_id);
+
 CREATE TABLE ltmenu_has_meal (
   menu_id INTEGER NOT NULL,
   meal_id INTEGER NOT NULL,
@@ -110,8 +154,12 @@ CREATE TABLE ltuser (
   UNIQUE (email)
 );
 
+-- Ids of orders and quantities are taken by blocks of 50
+CREATE SEQUENCE ltorder_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE ltquantity_seq START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE ltorder (
-  id SERIAL PRIMARY KEY,
+  id INTEGER PRIMARY KEY,
   status SMALLINT,
   user_id INTEGER NOT NULL,
   creation_date DATE,
@@ -121,7 +169,7 @@ CREATE TABLE ltorder (
 );
 
 CREATE TABLE ltquantity (
-  id SERIAL PRIMARY KEY,
+  id INTEGER PRIMARY KEY,
   meal_id INTEGER,
   menu_id INTEGER,
   quantity INTEGER,
@@ -5,6 +5,8 @@ CREATE DATABASE lunchtime;
 DROP TABLE IF EXISTS ltconstraint;
 DROP TABLE IF EXISTS ltmeal_has_ingredient;
 DROP TABLE IF EXISTS ltmenu_has_meal;
+DROP TABLE IF EXISTS ltmeal_availability;
+DROP TABLE IF EXISTS ltmenu_availability;
 DROP TABLE IF EXISTS ltorder_has_quantity;
 DROP TABLE IF EXISTS ltquantity;
 DROP TABLE IF EXISTS ltmeal;
@@ -13,15 +15,35 @@ DROP TABLE IF EXISTS ltingredient;
 DROP TABLE IF EXISTS ltmenu;
 DROP TABLE IF EXISTS ltrole;
 DROP TABLE IF EXISTS ltuser;
+DROP TABLE IF EXISTS ltimage_variant;
 DROP TABLE IF EXISTS ltimage;
+DROP SEQUENCE IF EXISTS dbo.ltorder_seq;
+DROP SEQUENCE IF EXISTS dbo.ltquantity_seq;
 
 CREATE TABLE dbo.ltimage (
   id INT PRIMARY KEY IDENTITY(1, 1),
   image_64 TEXT,
   image_path VARCHAR(500),
-  is_default SMALLINT NOT NULL DEFAULT 0
+  is_default SMALLINT NOT NULL DEFAULT 0,
+  content_hash VARCHAR(64),
+  content_type VARCHAR(100)
 );
 
+CREATE INDEX idx_image_content_hash ON dbo.ltimage (content_hash);
+
+CREATE TABLE dbo.ltimage_variant (
+  id INT PRIMARY KEY IDENTITY(1, 1),
+  image_id INT NOT NULL,
+  image_size SMALLINT NOT NULL,
+  content_type VARCHAR(100) NOT NULL,
+  image_64 TEXT,
+  content_hash VARCHAR(64),
+  CONSTRAINT uk_image_variant_image_size UNIQUE (image_id, image_size),
+  FOREIGN KEY (image_id) REFERENCES dbo.ltimage (id) ON DELETE NO ACTION ON UPDATE NO ACTION
+);
+
+CREATE INDEX idx_image_variant_content_hash ON dbo.ltimage_variant (content_hash);
+
 CREATE TABLE dbo.ltconstraint (
   id INT PRIMARY KEY IDENTITY(1, 1),
   order_time_limit TIME NOT NULL,
@@ -70,6 +92,28 @@ CREATE TABLE dbo.ltmenu (
   FOREIGN KEY (image_id) REFERENCES dbo.ltimage (id) ON DELETE NO ACTION ON UPDATE NO ACTION
 );
 
+CREATE TABLE dbo.ltmeal_availability (
+  meal_id INTEGER NOT NULL,
+  week_number INTEGER NOT NULL,
+  day_number INTEGER NOT NULL,
+  PRIMARY KEY (meal_id,week_number,day_number),
+
+  FOREIGN KEY (meal_id) REFERENCES dbo.ltmeal (id) ON DELETE NO ACTION ON UPDATE NO ACTION
+);
+
+CREATE INDEX idx_meal_availability_week_day ON dbo.ltmeal_availability (week_number,day_number,meal_id);
+
+CREATE TABLE dbo.ltmenu_availability (
+  menu_id INTEGER NOT NULL,
+  week_number INTEGER NOT NULL,
+  day_number INTEGER NOT NULL,
+  PRIMARY KEY (menu_id,week_number,day_number),
+
+  FOREIGN KEY (menu_id) REFERENCES dbo.ltmenu (id) ON DELETE NO ACTION ON UPDATE NO ACTION
+);
+
+CREATE INDEX idx_menu_availability_week_day ON dbo.ltmenu_availability (week_number,day_number,menu_id);
+
 CREATE TABLE dbo.ltmenu_has_meal (
   menu_id INTEGER NOT NULL,
   meal_id INTEGER NOT NULL,
@@ -99,8 +143,12 @@ CREATE TABLE dbo.ltuser (
   UNIQUE (email)
 );
 
+-- Ids of orders and quantities are taken by blocks of 50
+CREATE SEQUENCE dbo.ltorder_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE dbo.ltquantity_seq START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE dbo.ltorder (
-  id INT PRIMARY KEY IDENTITY(1, 1),
+  id INT PRIMARY KEY,
   status SMALLINT,
   user_id INTEGER NOT NULL,
   creation_date DATE,
@@ -110,7 +158,7 @@ CREATE TABLE dbo.ltorder (
 );
 
 CREATE TABLE dbo.ltquantity (
-  id INT PRIMARY KEY IDENTITY(1, 1),
+  id INT PRIMARY KEY,
   meal_id INTEGER,
   menu_id INTEGER,
   quantity INTEGER,
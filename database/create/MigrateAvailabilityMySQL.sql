@@ -0,0 +1,54 @@
+--
+-- Script for MySQL 8+ or Maria DB 10.6+
+--
+-- Adds the normalized availability tables (ltmeal_availability and
+-- ltmenu_availability) to an existing lunchtime data base and fills them
+-- from the json column available_for_weeks_and_days.
+-- Can be played more than once.
+-- day_number = 0 means the whole week.
+
+USE `lunchtime` ;
+
+CREATE TABLE IF NOT EXISTS `ltmeal_availability` (
+  `meal_id` INT NOT NULL,
+  `week_number` INT NOT NULL,
+  `day_number` INT NOT NULL COMMENT '0 pour toute la semaine, sinon 1 (lundi) a 7 (dimanche)',
+  PRIMARY KEY (`meal_id`, `week_number`, `day_number`),
+  INDEX `idx_meal_availability_week_day` (`week_number` ASC, `day_number` ASC, `meal_id` ASC),
+  CONSTRAINT `fk_meal_availability`
+    FOREIGN KEY (`meal_id`)
+    REFERENCES `ltmeal` (`id`)
+    ON DELETE NO ACTION
+    ON UPDATE NO ACTION)
+ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS `ltmenu_availability` (
+  `menu_id` INT NOT NULL,
+  `week_number` INT NOT NULL,
+  `day_number` INT NOT NULL COMMENT '0 pour toute la semaine, sinon 1 (lundi) a 7 (dimanche)',
+  PRIMARY KEY (`menu_id`, `week_number`, `day_number`),
+  INDEX `idx_menu_availability_week_day` (`week_number` ASC, `day_number` ASC, `menu_id` ASC),
+  CONSTRAINT `fk_menu_availability`
+    FOREIGN KEY (`menu_id`)
+    REFERENCES `ltmenu` (`id`)
+    ON DELETE NO ACTION
+    ON UPDATE NO ACTION)
+ENGINE = InnoDB;
+
+DELETE FROM `ltmeal_availability`;
+INSERT INTO `ltmeal_availability` (`meal_id`, `week_number`, `day_number`)
+SELECT DISTINCT m.`id`, j.`week_number`, COALESCE(j.`day_number`, 0)
+  FROM `ltmeal` m,
+       JSON_TABLE(m.`available_for_weeks_and_days`, '$.values[*]'
+         COLUMNS (`week_number` INT PATH '$.week', `day_number` INT PATH '$.day')) j
+ WHERE m.`available_for_weeks_and_days` IS NOT NULL
+   AND j.`week_number` IS NOT NULL;
+
+DELETE FROM `ltmenu_availability`;
+INSERT INTO `ltmenu_availability` (`menu_id`, `week_number`, `day_number`)
+SELECT DISTINCT m.`id`, j.`week_number`, COALESCE(j.`day_number`, 0)
+  FROM `ltmenu` m,
+       JSON_TABLE(m.`available_for_weeks_and_days`, '$.values[*]'
+         COLUMNS (`week_number` INT PATH '$.week', `day_number` INT PATH '$.day')) j
+ WHERE m.`available_for_weeks_and_days` IS NOT NULL
+   AND j.`week_number` IS NOT NULL;
@@ -0,0 +1,47 @@
+/**
+* Script for PostgreSQL 10+
+*
+* Adds the normalized availability tables (ltmeal_availability and
+* ltmenu_availability) to an existing lunchtime data base and fills them
+* from the json column available_for_weeks_and_days.
+* Can be played more than once.
+* day_number = 0 means the whole week.
+**/
+
+CREATE TABLE IF NOT EXISTS ltmeal_availability (
+  meal_id INTEGER NOT NULL,
+  week_number INTEGER NOT NULL,
+  day_number INTEGER NOT NULL,
+  PRIMARY KEY (meal_id,week_number,day_number),
+
+  FOREIGN KEY (meal_id) REFERENCES ltmeal (id) ON DELETE NO ACTION ON UPDATE NO ACTION
+);
+
+CREATE INDEX IF NOT EXISTS idx_meal_availability_week_day ON ltmeal_availability (week_number,day_number,meal_id);
+
+CREATE TABLE IF NOT EXISTS ltmenu_availability (
+  menu_id INTEGER NOT NULL,
+  week_number INTEGER NOT NULL,
+  day_number INTEGER NOT NULL,
+  PRIMARY KEY (menu_id,week_number,day_number),
+
+  FOREIGN KEY (menu_id) REFERENCES ltmenu (id) ON DELETE NO ACTION ON UPDATE NO ACTION
+);
+
+CREATE INDEX IF NOT EXISTS idx_menu_availability_week_day ON ltmenu_availability (week_number,day_number,menu_id);
+
+DELETE FROM ltmeal_availability;
+INSERT INTO ltmeal_availability (meal_id, week_number, day_number)
+SELECT DISTINCT m.id, (v ->> 'week')::INTEGER, COALESCE((v ->> 'day')::INTEGER, 0)
+  FROM ltmeal m
+       CROSS JOIN LATERAL jsonb_array_elements(m.available_for_weeks_and_days::jsonb -> 'values') v
+ WHERE m.available_for_weeks_and_days IS NOT NULL
+   AND v ->> 'week' IS NOT NULL;
+
+DELETE FROM ltmenu_availability;
+INSERT INTO ltmenu_availability (menu_id, week_number, day_number)
+SELECT DISTINCT m.id, (v ->> 'week')::INTEGER, COALESCE((v ->> 'day')::INTEGER, 0)
+  FROM ltmenu m
+       CROSS JOIN LATERAL jsonb_array_elements(m.available_for_weeks_and_days::jsonb -> 'values') v
+ WHERE m.available_for_weeks_and_days IS NOT NULL
+   AND v ->> 'week' IS NOT NULL;
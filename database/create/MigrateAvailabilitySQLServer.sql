@@ -0,0 +1,53 @@
+-- Script for SQL Server 2016+
+--
+-- Adds the normalized availability tables (ltmeal_availability and
+-- ltmenu_availability) to an existing lunchtime data base and fills them
+-- from the json column available_for_weeks_and_days.
+-- Can be played more than once.
+-- day_number = 0 means the whole week.
+
+USE lunchtime;
+
+IF OBJECT_ID('dbo.ltmeal_availability', 'U') IS NULL
+BEGIN
+  CREATE TABLE dbo.ltmeal_availability (
+    meal_id INTEGER NOT NULL,
+    week_number INTEGER NOT NULL,
+    day_number INTEGER NOT NULL,
+    PRIMARY KEY (meal_id,week_number,day_number),
+
+    FOREIGN KEY (meal_id) REFERENCES dbo.ltmeal (id) ON DELETE NO ACTION ON UPDATE NO ACTION
+  );
+  CREATE INDEX idx_meal_availability_week_day ON dbo.ltmeal_availability (week_number,day_number,meal_id);
+END;
+
+IF OBJECT_ID('dbo.ltmenu_availability', 'U') IS NULL
+BEGIN
+  CREATE TABLE dbo.ltmenu_availability (
+    menu_id INTEGER NOT NULL,
+    week_number INTEGER NOT NULL,
+    day_number INTEGER NOT NULL,
+    PRIMARY KEY (menu_id,week_number,day_number),
+
+    FOREIGN KEY (menu_id) REFERENCES dbo.ltmenu (id) ON DELETE NO ACTION ON UPDATE NO ACTION
+  );
+  CREATE INDEX idx_menu_availability_week_day ON dbo.ltmenu_availability (week_number,day_number,menu_id);
+END;
+
+DELETE FROM dbo.ltmeal_availability;
+INSERT INTO dbo.ltmeal_availability (meal_id, week_number, day_number)
+SELECT DISTINCT m.id, j.week_number, COALESCE(j.day_number, 0)
+  FROM dbo.ltmeal m
+       CROSS APPLY OPENJSON(CAST(m.available_for_weeks_and_days AS NVARCHAR(MAX)), '$.values')
+         WITH (week_number INT '$.week', day_number INT '$.day') j
+ WHERE m.available_for_weeks_and_days IS NOT NULL
+   AND j.week_number IS NOT NULL;
+
+DELETE FROM dbo.ltmenu_availability;
+INSERT INTO dbo.ltmenu_availability (menu_id, week_number, day_number)
+SELECT DISTINCT m.id, j.week_number, COALESCE(j.day_number, 0)
+  FROM dbo.ltmenu m
+       CROSS APPLY OPENJSON(CAST(m.available_for_weeks_and_days AS NVARCHAR(MAX)), '$.values')
+         WITH (week_number INT '$.week', day_number INT '$.day') j
+ WHERE m.available_for_weeks_and_days IS NOT NULL
+   AND j.week_number IS NOT NULL;
@@ -0,0 +1,22 @@
+--
+-- Script for MySQL 8+ or Maria DB 10.6+
+--
+-- Adds the columns used when images are stored on disk
+-- (configuration.image.storage=file) to an existing lunchtime data base:
+-- content_hash is the SHA-256 of the image (its file name), content_type its
+-- type (image/png, ...).
+-- The images themselves are moved out of image_64 by the application, at
+-- start up.
+-- Can be played more than once.
+
+USE `lunchtime` ;
+
+SET @addImageColumns = (SELECT IF(COUNT(*) = 0,
+  'ALTER TABLE `ltimage` ADD COLUMN `content_hash` VARCHAR(64) NULL, ADD COLUMN `content_type` VARCHAR(100) NULL, ADD INDEX `idx_image_content_hash` (`content_hash` ASC)',
+  'SELECT 1')
+  FROM information_schema.COLUMNS
+  WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'ltimage' AND COLUMN_NAME = 'content_hash');
+
+PREPARE addImageColumns FROM @addImageColumns;
+EXECUTE addImageColumns;
+DEALLOCATE PREPARE addImageColumns;
@@ -0,0 +1,16 @@
+/**
+* Script for PostgreSQL 10+
+*
+* Adds the columns used when images are stored on disk
+* (configuration.image.storage=file) to an existing lunchtime data base:
+* content_hash is the SHA-256 of the image (its file name), content_type its
+* type (image/png, ...).
+* The images themselves are moved out of image_64 by the application, at
+* start up.
+* Can be played more than once.
+**/
+
+ALTER TABLE ltimage ADD COLUMN IF NOT EXISTS content_hash VARCHAR(64);
+ALTER TABLE ltimage ADD COLUMN IF NOT EXISTS content_type VARCHAR(100);
+
+CREATE INDEX IF NOT EXISTS idx_image_content_hash ON ltimage (content_hash);
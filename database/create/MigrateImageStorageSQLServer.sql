@@ -0,0 +1,21 @@
+-- Script for SQL Server 2016+
+--
+-- Adds the columns used when images are stored on disk
+-- (configuration.image.storage=file) to an existing lunchtime data base:
+-- content_hash is the SHA-256 of the image (its file name), content_type its
+-- type (image/png, ...).
+-- The images themselves are moved out of image_64 by the application, at
+-- start up.
+-- Can be played more than once.
+
+USE lunchtime;
+
+IF COL_LENGTH('dbo.ltimage', 'content_hash') IS NULL
+BEGIN
+  ALTER TABLE dbo.ltimage ADD content_hash VARCHAR(64), content_type VARCHAR(100);
+END;
+
+IF NOT EXISTS (SELECT * FROM sys.indexes WHERE name = 'idx_image_content_hash' AND object_id = OBJECT_ID('dbo.ltimage'))
+BEGIN
+  EXEC sp_executesql N'CREATE INDEX idx_image_content_hash ON dbo.ltimage (content_hash);';
+END;
@@ -0,0 +1,26 @@
+--
+-- Script for MySQL 8+ or Maria DB 10.6+
+--
+-- Adds the table of the image variants (thumbnail, medium) to an existing
+-- lunchtime data base. Variants are made by the application when an image is
+-- saved or asked in a size.
+-- Can be played more than once.
+
+USE `lunchtime` ;
+
+CREATE TABLE IF NOT EXISTS `ltimage_variant` (
+  `id` INT NOT NULL AUTO_INCREMENT,
+  `image_id` INT NOT NULL,
+  `image_size` TINYINT NOT NULL COMMENT '1 miniature, 2 moyenne',
+  `content_type` VARCHAR(100) NOT NULL,
+  `image_64` TEXT NULL,
+  `content_hash` VARCHAR(64) NULL,
+  PRIMARY KEY (`id`),
+  UNIQUE INDEX `uk_image_variant_image_size` (`image_id` ASC, `image_size` ASC),
+  INDEX `idx_image_variant_content_hash` (`content_hash` ASC),
+  CONSTRAINT `fk_image_variant_image`
+    FOREIGN KEY (`image_id`)
+    REFERENCES `ltimage` (`id`)
+    ON DELETE NO ACTION
+    ON UPDATE NO ACTION)
+ENGINE = InnoDB;
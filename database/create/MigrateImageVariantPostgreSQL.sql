@@ -0,0 +1,21 @@
+/**
+* Script for PostgreSQL 10+
+*
+* Adds the table of the image variants (thumbnail, medium) to an existing
+* lunchtime data base. Variants are made by the application when an image is
+* saved or asked in a size.
+* Can be played more than once.
+**/
+
+CREATE TABLE IF NOT EXISTS ltimage_variant (
+  id SERIAL PRIMARY KEY,
+  image_id INT NOT NULL,
+  image_size SMALLINT NOT NULL,
+  content_type VARCHAR(100) NOT NULL,
+  image_64 TEXT,
+  content_hash VARCHAR(64),
+  CONSTRAINT uk_image_variant_image_size UNIQUE (image_id, image_size),
+  FOREIGN KEY (image_id) REFERENCES ltimage (id) ON DELETE NO ACTION ON UPDATE NO ACTION
+);
+
+CREATE INDEX IF NOT EXISTS idx_image_variant_content_hash ON ltimage_variant (content_hash);
@@ -0,0 +1,23 @@
+-- Script for SQL Server 2016+
+--
+-- Adds the table of the image variants (thumbnail, medium) to an existing
+-- lunchtime data base. Variants are made by the application when an image is
+-- saved or asked in a size.
+-- Can be played more than once.
+
+USE lunchtime;
+
+IF OBJECT_ID('dbo.ltimage_variant', 'U') IS NULL
+BEGIN
+  CREATE TABLE dbo.ltimage_variant (
+    id INT PRIMARY KEY IDENTITY(1, 1),
+    image_id INT NOT NULL,
+    image_size SMALLINT NOT NULL,
+    content_type VARCHAR(100) NOT NULL,
+    image_64 TEXT,
+    content_hash VARCHAR(64),
+    CONSTRAINT uk_image_variant_image_size UNIQUE (image_id, image_size),
+    FOREIGN KEY (image_id) REFERENCES dbo.ltimage (id) ON DELETE NO ACTION ON UPDATE NO ACTION
+  );
+  CREATE INDEX idx_image_variant_content_hash ON dbo.ltimage_variant (content_hash);
+END;
@@ -0,0 +1,30 @@
+--
+-- Script for MySQL 8+ or Maria DB 10.6+
+--
+-- Adds the id sequences of orders and quantities (ltorder_seq and
+-- ltquantity_seq) to an existing lunchtime data base.
+-- MySQL has no sequence, a table with one row is used.
+-- The next id is set after the biggest id already used.
+-- Can be played more than once, the application should be stopped.
+
+USE `lunchtime` ;
+
+CREATE TABLE IF NOT EXISTS `ltorder_seq` (
+  `next_val` BIGINT NOT NULL)
+ENGINE = InnoDB;
+
+INSERT INTO `ltorder_seq` (`next_val`)
+  SELECT 1 FROM DUAL WHERE NOT EXISTS (SELECT * FROM `ltorder_seq`);
+
+UPDATE `ltorder_seq`
+  SET `next_val` = GREATEST(`next_val`, (SELECT COALESCE(MAX(`id`), 0) + 1 FROM `ltorder`));
+
+CREATE TABLE IF NOT EXISTS `ltquantity_seq` (
+  `next_val` BIGINT NOT NULL)
+ENGINE = InnoDB;
+
+INSERT INTO `ltquantity_seq` (`next_val`)
+  SELECT 1 FROM DUAL WHERE NOT EXISTS (SELECT * FROM `ltquantity_seq`);
+
+UPDATE `ltquantity_seq`
+  SET `next_val` = GREATEST(`next_val`, (SELECT COALESCE(MAX(`id`), 0) + 1 FROM `ltquantity`));
@@ -0,0 +1,21 @@
+/**
+* Script for PostgreSQL 10+
+*
+* Adds the id sequences of orders and quantities (ltorder_seq and
+* ltquantity_seq) to an existing lunchtime data base.
+* Ids are taken by blocks of 50, the next id is set after the biggest id
+* already used (or the last block given).
+* Can be played more than once, the application should be stopped.
+**/
+
+CREATE SEQUENCE IF NOT EXISTS ltorder_seq START WITH 1 INCREMENT BY 50;
+
+SELECT setval('ltorder_seq', GREATEST(
+  (SELECT COALESCE(MAX(id), 0) + 1 FROM ltorder),
+  (SELECT last_value + CASE WHEN is_called THEN 50 ELSE 0 END FROM ltorder_seq)), false);
+
+CREATE SEQUENCE IF NOT EXISTS ltquantity_seq START WITH 1 INCREMENT BY 50;
+
+SELECT setval('ltquantity_seq', GREATEST(
+  (SELECT COALESCE(MAX(id), 0) + 1 FROM ltquantity),
+  (SELECT last_value + CASE WHEN is_called THEN 50 ELSE 0 END FROM ltquantity_seq)), false);
@@ -0,0 +1,76 @@
+-- Script for SQL Server 2016+
+--
+-- Adds the id sequences of orders and quantities (ltorder_seq and
+-- ltquantity_seq) to an existing lunchtime data base.
+-- Ids are now given by the application, so the IDENTITY property is removed
+-- from ltorder.id and ltquantity.id. SQL Server cannot remove it in place,
+-- so both tables are copied.
+-- The next id is set after the biggest id already used.
+-- Can be played more than once, the application should be stopped.
+
+USE lunchtime;
+
+IF COLUMNPROPERTY(OBJECT_ID('dbo.ltorder'), 'id', 'IsIdentity') = 1
+   OR COLUMNPROPERTY(OBJECT_ID('dbo.ltquantity'), 'id', 'IsIdentity') = 1
+BEGIN
+  BEGIN TRANSACTION;
+
+  -- Foreign keys of the join table are dropped, and added again at the end
+  DECLARE @dropForeignKeys NVARCHAR(MAX) = N'';
+  SELECT @dropForeignKeys += N'ALTER TABLE dbo.ltorder_has_quantity DROP CONSTRAINT ' + QUOTENAME(name) + N';'
+    FROM sys.foreign_keys
+   WHERE parent_object_id = OBJECT_ID('dbo.ltorder_has_quantity');
+  EXEC sp_executesql @dropForeignKeys;
+
+  CREATE TABLE dbo.ltorder_copy (
+    id INT PRIMARY KEY,
+    status SMALLINT,
+    user_id INTEGER NOT NULL,
+    creation_date DATE,
+    creation_time TIME,
+
+    FOREIGN KEY (user_id) REFERENCES dbo.ltuser (id) ON DELETE NO ACTION ON UPDATE NO ACTION
+  );
+  INSERT INTO dbo.ltorder_copy (id, status, user_id, creation_date, creation_time)
+  SELECT id, status, user_id, creation_date, creation_time FROM dbo.ltorder;
+  DROP TABLE dbo.ltorder;
+  EXEC sp_rename 'dbo.ltorder_copy', 'ltorder';
+
+  CREATE TABLE dbo.ltquantity_copy (
+    id INT PRIMARY KEY,
+    meal_id INTEGER,
+    menu_id INTEGER,
+    quantity INTEGER,
+
+    FOREIGN KEY (meal_id) REFERENCES dbo.ltmeal (id) ON DELETE NO ACTION ON UPDATE NO ACTION,
+    FOREIGN KEY (menu_id) REFERENCES dbo.ltmenu (id) ON DELETE NO ACTION ON UPDATE NO ACTION
+  );
+  INSERT INTO dbo.ltquantity_copy (id, meal_id, menu_id, quantity)
+  SELECT id, meal_id, menu_id, quantity FROM dbo.ltquantity;
+  DROP TABLE dbo.ltquantity;
+  EXEC sp_rename 'dbo.ltquantity_copy', 'ltquantity';
+
+  ALTER TABLE dbo.ltorder_has_quantity ADD
+    FOREIGN KEY (order_id) REFERENCES dbo.ltorder (id) ON DELETE NO ACTION ON UPDATE NO ACTION,
+    FOREIGN KEY (quantity_id) REFERENCES dbo.ltquantity (id) ON DELETE NO ACTION ON UPDATE NO ACTION;
+
+  COMMIT;
+END;
+
+IF OBJECT_ID('dbo.ltorder_seq', 'SO') IS NULL
+BEGIN
+  DECLARE @createOrderSeq NVARCHAR(MAX);
+  SELECT @createOrderSeq = N'CREATE SEQUENCE dbo.ltorder_seq START WITH '
+         + CAST(COALESCE(MAX(id), 0) + 1 AS NVARCHAR(20)) + N' INCREMENT BY 50;'
+    FROM dbo.ltorder;
+  EXEC sp_executesql @createOrderSeq;
+END;
+
+IF OBJECT_ID('dbo.ltquantity_seq', 'SO') IS NULL
+BEGIN
+  DECLARE @createQuantitySeq NVARCHAR(MAX);
+  SELECT @createQuantitySeq = N'CREATE SEQUENCE dbo.ltquantity_seq START WITH '
+         + CAST(COALESCE(MAX(id), 0) + 1 AS NVARCHAR(20)) + N' INCREMENT BY 50;'
+    FROM dbo.ltquantity;
+  EXEC sp_executesql @createQuantitySeq;
+END;
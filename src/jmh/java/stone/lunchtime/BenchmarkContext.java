@@ -0,0 +1,38 @@
+// -#--------------------------------------
+// -# ©Copyright Ferret Renaud 2019 -
+// -# Email: admin@ferretrenaud.fr -
+// -# All Rights Reserved. -
+// -#--------------------------------------
+
+package stone.lunchtime;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Starts the application for the benchmarks that need the data base. <br>
+ *
+ * Uses the h2 profile and its data, without web server, and with logs in warn
+ * so that debug logs are not measured. Those are given as command line
+ * arguments: default properties would lose against application.properties.
+ */
+public final class BenchmarkContext {
+
+	/**
+	 * Constructor.
+	 */
+	private BenchmarkContext() {
+		throw new IllegalAccessError();
+	}
+
+	/**
+	 * Starts the application on the in memory H2 data base.
+	 *
+	 * @return the application context, to close at the end of the benchmark
+	 */
+	public static ConfigurableApplicationContext start() {
+		return new SpringApplicationBuilder(SpringBootConfiguration.class).web(WebApplicationType.NONE)
+				.profiles("h2").run("--logging.level.stone.lunchtime=warn", "--spring.main.banner-mode=off");
+	}
+}
@@ -0,0 +1,104 @@
+// -#--------------------------------------
+// -# ©Copyright Ferret Renaud 2019 -
+// -# Email: admin@ferretrenaud.fr -
+// -# All Rights Reserved. -
+// -#--------------------------------------
+
+package stone.lunchtime.dto;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Benchmark of the weeks and days of availability of meals and menus, read
+ * from json for each meal or menu sent to a client.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AvailableForWeeksAndDaysBenchmark {
+	/** Availability of a meal in data.sql */
+	private static final String JSON = "{\"values\":[{\"week\":47},{\"week\":48},{\"week\":42,\"day\":7},{\"week\":36},{\"week\":20},{\"week\":37},{\"week\":53},{\"week\":25,\"day\":1},{\"week\":24},{\"week\":12}]}";
+
+	private static final Integer WEEK = Integer.valueOf(25);
+
+	private static final Integer DAY = Integer.valueOf(1);
+
+	private static final Integer OTHER_DAY = Integer.valueOf(2);
+
+	private ObjectMapper mapper;
+
+	private AvailableForWeeksAndDays value;
+
+	/**
+	 * Reads the availability once.
+	 *
+	 * @throws Exception if an error occurred
+	 */
+	@Setup(Level.Trial)
+	public void setUp() throws Exception {
+		this.mapper = new ObjectMapper();
+		this.value = new AvailableForWeeksAndDays(AvailableForWeeksAndDaysBenchmark.JSON, this.mapper);
+	}
+
+	/**
+	 * Reads the availability from json.
+	 *
+	 * @return the availability
+	 * @throws Exception if an error occurred
+	 */
+	@Benchmark
+	public Object parse() throws Exception {
+		return new AvailableForWeeksAndDays(AvailableForWeeksAndDaysBenchmark.JSON, this.mapper);
+	}
+
+	/**
+	 * Writes the availability in json.
+	 *
+	 * @return the json
+	 * @throws Exception if an error occurred
+	 */
+	@Benchmark
+	public String toJson() throws Exception {
+		return this.value.toJson(this.mapper);
+	}
+
+	/**
+	 * Checks a week and a day that are in the availability.
+	 *
+	 * @return true
+	 */
+	@Benchmark
+	public boolean matchFound() {
+		return this.value.oneWeekAndOneDay(AvailableForWeeksAndDaysBenchmark.WEEK,
+				AvailableForWeeksAndDaysBenchmark.DAY);
+	}
+
+	/**
+	 * Checks a week and a day that are not in the availability, all values are
+	 * read.
+	 *
+	 * @return false
+	 */
+	@Benchmark
+	public boolean matchNotFound() {
+		return this.value.oneWeekAndOneDay(AvailableForWeeksAndDaysBenchmark.WEEK,
+				AvailableForWeeksAndDaysBenchmark.OTHER_DAY);
+	}
+}
@@ -0,0 +1,102 @@
+// -#--------------------------------------
+// -# ©Copyright Ferret Renaud 2019 -
+// -# Email: admin@ferretrenaud.fr -
+// -# All Rights Reserved. -
+// -#--------------------------------------
+
+package stone.lunchtime.dto.jpa.handler;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import stone.lunchtime.BenchmarkContext;
+import stone.lunchtime.dao.jpa.IMealDao;
+import stone.lunchtime.dao.jpa.IOrderDao;
+import stone.lunchtime.entity.jpa.MealEntity;
+import stone.lunchtime.entity.jpa.OrderEntity;
+
+/**
+ * Benchmark of the transformation of entities into DTOs. <br>
+ *
+ * Entities are read from the H2 data base once, and transformed once in the
+ * transaction so that their lazy relations are loaded: only the transformation
+ * is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DtoHandlerBenchmark {
+	private ConfigurableApplicationContext context;
+
+	private ObjectMapper mapper;
+
+	private List<MealEntity> meals;
+
+	private List<OrderEntity> orders;
+
+	/**
+	 * Starts the application and reads the entities.
+	 */
+	@Setup(Level.Trial)
+	public void setUp() {
+		this.context = BenchmarkContext.start();
+		this.mapper = this.context.getBean(ObjectMapper.class);
+		var mealDao = this.context.getBean(IMealDao.class);
+		var orderDao = this.context.getBean(IOrderDao.class);
+		new TransactionTemplate(this.context.getBean(PlatformTransactionManager.class)).executeWithoutResult(s -> {
+			this.meals = mealDao.findAll();
+			this.orders = orderDao.findAll();
+			MealDtoHandler.dtosOutfromEntities(this.meals, this.mapper);
+			OrderDtoHandler.dtosOutfromEntities(this.orders, this.mapper);
+		});
+	}
+
+	/**
+	 * Stops the application.
+	 */
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		this.context.close();
+	}
+
+	/**
+	 * Transforms all the meals.
+	 *
+	 * @return the DTOs
+	 */
+	@Benchmark
+	public Object meals() {
+		return MealDtoHandler.dtosOutfromEntities(this.meals, this.mapper);
+	}
+
+	/**
+	 * Transforms all the orders, with their user, meals and menus.
+	 *
+	 * @return the DTOs
+	 */
+	@Benchmark
+	public Object orders() {
+		return OrderDtoHandler.dtosOutfromEntities(this.orders, this.mapper);
+	}
+}
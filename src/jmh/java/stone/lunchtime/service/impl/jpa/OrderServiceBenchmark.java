@@ -0,0 +1,130 @@
+// -#--------------------------------------
+// -# ©Copyright Ferret Renaud 2019 -
+// -# Email: admin@ferretrenaud.fr -
+// -# All Rights Reserved. -
+// -#--------------------------------------
+
+package stone.lunchtime.service.impl.jpa;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import stone.lunchtime.BenchmarkContext;
+import stone.lunchtime.dao.jpa.IMealDao;
+import stone.lunchtime.dao.jpa.IMenuDao;
+import stone.lunchtime.dto.in.QuantityDtoIn;
+import stone.lunchtime.dto.out.PriceDtoOut;
+import stone.lunchtime.entity.jpa.OrderEntity;
+import stone.lunchtime.service.exception.AbstractFunctionalException;
+
+/**
+ * Benchmark of the order service, on the H2 data base. <br>
+ *
+ * constraintId=-1 does not use the constraint, 1 reads the VAT rate and checks
+ * that meals and menus are available today. <br>
+ *
+ * handleOrderQuantity runs in a read only transaction, as in the service, so
+ * that lazy relations can be read.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderServiceBenchmark {
+	/** An order of data.sql, with two meals */
+	private static final Integer ORDER_ID = Integer.valueOf(1);
+
+	@Param({ "-1", "1" })
+	private String constraintId;
+
+	private ConfigurableApplicationContext context;
+
+	private OrderService service;
+
+	private IMealDao mealDao;
+
+	private IMenuDao menuDao;
+
+	private Integer constraint;
+
+	private List<QuantityDtoIn> quantities;
+
+	private TransactionTemplate transaction;
+
+	/**
+	 * Starts the application.
+	 */
+	@Setup(Level.Trial)
+	public void setUp() {
+		this.context = BenchmarkContext.start();
+		this.service = this.context.getBean(OrderService.class);
+		this.mealDao = this.context.getBean(IMealDao.class);
+		this.menuDao = this.context.getBean(IMenuDao.class);
+		this.transaction = new TransactionTemplate(this.context.getBean(PlatformTransactionManager.class));
+		this.transaction.setReadOnly(true);
+		this.constraint = Integer.valueOf(this.constraintId);
+		// Meals and menu available for all weeks in data.sql
+		this.quantities = List.of(new QuantityDtoIn(Integer.valueOf(2), Integer.valueOf(1), null),
+				new QuantityDtoIn(Integer.valueOf(1), Integer.valueOf(2), null),
+				new QuantityDtoIn(Integer.valueOf(1), Integer.valueOf(3), null),
+				new QuantityDtoIn(Integer.valueOf(1), null, Integer.valueOf(2)));
+	}
+
+	/**
+	 * Stops the application.
+	 */
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		this.context.close();
+	}
+
+	/**
+	 * Computes the price of an order.
+	 *
+	 * @return the price
+	 * @throws Exception if an error occurred
+	 */
+	@Benchmark
+	public Object computePrice() throws Exception {
+		return this.service.computePrice(OrderServiceBenchmark.ORDER_ID, this.constraint, new PriceDtoOut());
+	}
+
+	/**
+	 * Links an order to its meals and menus.
+	 *
+	 * @return the order
+	 * @throws Exception if an error occurred
+	 */
+	@Benchmark
+	public Object handleOrderQuantity() throws Exception {
+		return this.transaction.execute(pStatus -> {
+			var order = new OrderEntity();
+			try {
+				this.service.handleOrderQuantity(order, this.quantities, this.constraint, this.mealDao::findById,
+						this.menuDao::findById);
+			} catch (AbstractFunctionalException exc) {
+				throw new IllegalStateException(exc);
+			}
+			return order;
+		});
+	}
+}
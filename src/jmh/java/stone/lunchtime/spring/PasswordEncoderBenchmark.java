@@ -0,0 +1,74 @@
+// -#--------------------------------------
+// -# ©Copyright Ferret Renaud 2019 -
+// -# Email: admin@ferretrenaud.fr -
+// -# All Rights Reserved. -
+// -#--------------------------------------
+
+package stone.lunchtime.spring;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Benchmark of the password encoder used on login and on password change. <br>
+ *
+ * strength=4 is the one of the h2 profile, 10 the default one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PasswordEncoderBenchmark {
+	private static final String PASSWORD = "bonjour";
+
+	@Param({ "4", "10" })
+	private int strength;
+
+	private PasswordEncoder encoder;
+
+	private String encoded;
+
+	/**
+	 * Builds the encoder like the application does.
+	 */
+	@Setup(Level.Trial)
+	public void setUp() {
+		this.encoder = new SpringSpecialBeanConfiguration().passwordEncoder(this.strength);
+		this.encoded = this.encoder.encode(PasswordEncoderBenchmark.PASSWORD);
+	}
+
+	/**
+	 * Encodes a password.
+	 *
+	 * @return the encoded password
+	 */
+	@Benchmark
+	public String encode() {
+		return this.encoder.encode(PasswordEncoderBenchmark.PASSWORD);
+	}
+
+	/**
+	 * Checks a password.
+	 *
+	 * @return true
+	 */
+	@Benchmark
+	public boolean matches() {
+		return this.encoder.matches(PasswordEncoderBenchmark.PASSWORD, this.encoded);
+	}
+}
@@ -0,0 +1,93 @@
+// -#--------------------------------------
+// -# ©Copyright Ferret Renaud 2019 -
+// -# Email: admin@ferretrenaud.fr -
+// -# All Rights Reserved. -
+// -#--------------------------------------
+
+package stone.lunchtime.spring.security.filter;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import stone.lunchtime.dto.out.UserDtoOut;
+import stone.lunchtime.entity.EntityStatus;
+import stone.lunchtime.entity.RoleLabel;
+import stone.lunchtime.entity.Sex;
+
+/**
+ * Benchmark of the JWT built on each successful login, with the signature
+ * algorithm of the configuration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+	private static final String KEY = "-KaPdSgVkXp2s5v8y/B?E(H+MbQeThWmZq3t6w9z$C&F)J@NcRfUjXn2r5u7x!A%";
+
+	private JwtAuthenticationFilter filter;
+
+	private MockHttpServletRequest request;
+
+	private UsernamePasswordAuthenticationToken authentication;
+
+	/**
+	 * Builds the filter and the authentication of a user.
+	 */
+	@Setup(Level.Trial)
+	public void setUp() {
+		var env = new MockEnvironment().withProperty("configuration.jwt.key", JwtAuthenticationFilterBenchmark.KEY)
+				.withProperty("configuration.jwt.signature.algorithm", "HS512");
+		AuthenticationManager authenticationManager = pAuthentication -> pAuthentication;
+		this.filter = new JwtAuthenticationFilter(authenticationManager, env, new ObjectMapper());
+
+		this.authentication = new UsernamePasswordAuthenticationToken("toto@gmail.com", null,
+				List.of(new SimpleGrantedAuthority(RoleLabel.ROLE_LUNCHLADY.toString()),
+						new SimpleGrantedAuthority(RoleLabel.ROLE_USER.toString())));
+		var user = new UserDtoOut();
+		user.setEmail("toto@gmail.com");
+		user.setFirstname("Durant");
+		user.setId(Integer.valueOf(1));
+		user.setIsLunchLady(Boolean.TRUE);
+		user.setName("Albert");
+		user.setSex(Sex.MAN);
+		user.setStatus(EntityStatus.ENABLED);
+		user.setWallet(Float.valueOf(500F));
+		this.authentication.setDetails(user);
+		this.request = new MockHttpServletRequest("POST", "/stone.lunchtime/login");
+	}
+
+	/**
+	 * Builds the token of a successful login.
+	 *
+	 * @return the token header
+	 */
+	@Benchmark
+	public String issue() {
+		var response = new MockHttpServletResponse();
+		this.filter.successfulAuthentication(this.request, response, null, this.authentication);
+		return response.getHeader(SecurityConstants.TOKEN_HEADER);
+	}
+}
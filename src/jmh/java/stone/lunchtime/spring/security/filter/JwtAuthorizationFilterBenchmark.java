@@ -0,0 +1,107 @@
+// -#--------------------------------------
+// -# ©Copyright Ferret Renaud 2019 -
+// -# Email: admin@ferretrenaud.fr -
+// -# All Rights Reserved. -
+// -#--------------------------------------
+
+package stone.lunchtime.spring.security.filter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Benchmark of the JWT check made on each secured request. <br>
+ *
+ * cacheMaxSize=0 parses and verifies the token on each request, 10000 uses the
+ * cache of verified tokens.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthorizationFilterBenchmark {
+	private static final String KEY = "-KaPdSgVkXp2s5v8y/B?E(H+MbQeThWmZq3t6w9z$C&F)J@NcRfUjXn2r5u7x!A%";
+
+	@Param({ "0", "10000" })
+	private String cacheMaxSize;
+
+	private JwtAuthorizationFilter filter;
+
+	private MockHttpServletRequest request;
+
+	/**
+	 * Builds the filter and a request with a valid token.
+	 */
+	@Setup(Level.Trial)
+	public void setUp() {
+		var env = new MockEnvironment().withProperty("configuration.jwt.key", JwtAuthorizationFilterBenchmark.KEY)
+				.withProperty("configuration.jwt.cache.max.size", this.cacheMaxSize);
+		AuthenticationManager authenticationManager = pAuthentication -> pAuthentication;
+		this.filter = new JwtAuthorizationFilter(authenticationManager, env);
+
+		var now = Instant.now();
+		var token = Jwts.builder()
+				.signWith(Keys.hmacShaKeyFor(JwtAuthorizationFilterBenchmark.KEY.getBytes(StandardCharsets.UTF_8)))
+				.header().type(SecurityConstants.TOKEN_TYPE).and().subject("toto@gmail.com")
+				.issuer(SecurityConstants.TOKEN_ISSUER).issuedAt(Date.from(now))
+				.expiration(Date.from(now.plus(1, ChronoUnit.DAYS)))
+				.claim(SecurityConstants.TOKEN_ROLES, List.of("ROLE_USER", "ROLE_LUNCHLADY"))
+				.claim(SecurityConstants.TOKEN_USER,
+						Map.of("id", Integer.valueOf(1), "email", "toto@gmail.com", "name", "Albert", "firstname",
+								"Durant", "wallet", Float.valueOf(500F), "isLunchLady", Boolean.TRUE, "sex", "MAN",
+								"status", "ENABLED"))
+				.compact();
+		this.request = new MockHttpServletRequest("GET", "/stone.lunchtime/order/findall");
+		this.request.addHeader(SecurityConstants.TOKEN_HEADER, SecurityConstants.TOKEN_PREFIX + token);
+	}
+
+	/**
+	 * Removes the authentication set by the filter.
+	 */
+	@TearDown(Level.Invocation)
+	public void tearDown() {
+		SecurityContextHolder.clearContext();
+	}
+
+	/**
+	 * Filters a request with a valid token.
+	 *
+	 * @return the authentication set by the filter
+	 * @throws Exception if an error occurred
+	 */
+	@Benchmark
+	public Object filter() throws Exception {
+		this.filter.doFilterInternal(this.request, new MockHttpServletResponse(), new MockFilterChain());
+		return SecurityContextHolder.getContext().getAuthentication();
+	}
+}
@@ -13,11 +13,13 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.builder.SpringApplicationBuilder;
 import org.springframework.boot.web.servlet.support.SpringBootServletInitializer;
 import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Main class for starting the application.
  */
 @SpringBootApplication
+@EnableScheduling
 public class SpringBootConfiguration extends SpringBootServletInitializer {
 	private static final Logger LOG = LoggerFactory.getLogger(SpringBootConfiguration.class);
 
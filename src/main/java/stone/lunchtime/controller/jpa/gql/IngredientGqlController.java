@@ -20,13 +20,13 @@ import org.springframework.stereotype.Controller;
 import io.micrometer.observation.annotation.Observed;
 import stone.lunchtime.dto.in.ImageDtoIn;
 import stone.lunchtime.dto.in.IngredientDtoIn;
-import stone.lunchtime.dto.jpa.handler.ImageDtoHandler;
 import stone.lunchtime.dto.out.ImageDtoOut;
 import stone.lunchtime.dto.out.IngredientDtoOut;
 import stone.lunchtime.entity.jpa.IngredientEntity;
 import stone.lunchtime.service.IIngredientService;
 import stone.lunchtime.service.exception.EntityNotFoundException;
 import stone.lunchtime.service.exception.InconsistentStatusException;
+import stone.lunchtime.service.impl.jpa.ImageService;
 
 /**
  * Ingredient controller.
@@ -37,15 +37,19 @@ public class IngredientGqlController extends AbstractGqlController {
 
 	private final IIngredientService<IngredientEntity> service;
 
+	private final ImageService imageService;
+
 	/**
 	 * Constructor.
 	 *
-	 * @param pService the service
+	 * @param pService      the service
+	 * @param pImageService image service
 	 */
 	@Autowired
-	public IngredientGqlController(IIngredientService<IngredientEntity> pService) {
+	public IngredientGqlController(IIngredientService<IngredientEntity> pService, ImageService pImageService) {
 		super();
 		this.service = pService;
+		this.imageService = pImageService;
 	}
 
 	/**
@@ -150,6 +154,28 @@ public class IngredientGqlController extends AbstractGqlController {
 		return result;
 	}
 
+	/**
+	 * Searches ingredients on their label and description. <br>
+	 *
+	 * You need to be connected as a lunch lady. <br>
+	 * Made for a type-ahead, see
+	 * {@link stone.lunchtime.service.IServiceForLabeled#search(String, Integer)}.
+	 *
+	 * @param pText what is searched
+	 * @param pMax  maximum number of ingredients given, 10 if null
+	 * @return the ingredients found, the best first
+	 */
+	@QueryMapping
+	@Observed(name = "graphql.ingredient.search", contextualName = "graphql#ingredient#search")
+	@PreAuthorize("isAuthenticated() and hasRole('ROLE_LUNCHLADY')")
+	public List<IngredientDtoOut> searchIngredients(@Argument("text") String pText, @Argument("max") Integer pMax) {
+		IngredientGqlController.LOG.atInfo().log("--> searchIngredients - {} at most {}", pText, pMax);
+		var result = this.service.search(pText, pMax);
+		IngredientGqlController.LOG.atInfo().log("<-- searchIngredients - Lunch lady has found {} ingredients",
+				result.size());
+		return result;
+	}
+
 	/**
 	 * Updates a menu image. <br>
 	 *
@@ -188,7 +214,7 @@ public class IngredientGqlController extends AbstractGqlController {
 	public ImageDtoOut findIngredientImage(@Argument("id") Integer id) throws EntityNotFoundException {
 		IngredientGqlController.LOG.atInfo().log("--> findIngredientImage - {}", id);
 		var result = this.service.findEntity(id);
-		var dto = ImageDtoHandler.dtoOutfromEntity(result.getImage());
+		var dto = this.imageService.toDtoOut(result.getImage());
 		IngredientGqlController.LOG.atInfo().log("<-- findIngredientImage - Ingredient's image {} found by user {}",
 				dto.getId(), this.getConnectedUserId());
 		return dto;
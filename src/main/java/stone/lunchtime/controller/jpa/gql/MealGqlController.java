@@ -7,11 +7,13 @@
 package stone.lunchtime.controller.jpa.gql;
 
 import java.util.List;
+import java.util.Map;
 
 import org.slf4j.LoggerFactory;
 import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.BatchMapping;
 import org.springframework.graphql.data.method.annotation.MutationMapping;
 import org.springframework.graphql.data.method.annotation.QueryMapping;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -20,14 +22,17 @@ import org.springframework.stereotype.Controller;
 import io.micrometer.observation.annotation.Observed;
 import stone.lunchtime.dto.in.ImageDtoIn;
 import stone.lunchtime.dto.in.MealDtoIn;
-import stone.lunchtime.dto.jpa.handler.ImageDtoHandler;
 import stone.lunchtime.dto.out.ImageDtoOut;
+import stone.lunchtime.dto.out.IngredientDtoOut;
 import stone.lunchtime.dto.out.MealDtoOut;
 import stone.lunchtime.entity.jpa.MealEntity;
 import stone.lunchtime.service.IMealService;
 import stone.lunchtime.service.exception.EntityNotFoundException;
 import stone.lunchtime.service.exception.InconsistentStatusException;
+import stone.lunchtime.service.impl.jpa.ImageService;
 import stone.lunchtime.service.impl.jpa.OrderService;
+import stone.lunchtime.service.impl.jpa.RelationLoaderService;
+import stone.lunchtime.service.impl.jpa.TodaySnapshotService;
 
 /**
  * Meal controller.
@@ -38,15 +43,28 @@ public class MealGqlController extends AbstractGqlController {
 
 	private final IMealService<MealEntity> service;
 
+	private final ImageService imageService;
+
+	private final TodaySnapshotService todaySnapshot;
+
+	private final RelationLoaderService relationLoader;
+
 	/**
 	 * Constructor.
 	 *
-	 * @param pService the service
+	 * @param pService        the service
+	 * @param pTodaySnapshot  today snapshot
+	 * @param pImageService   image service
+	 * @param pRelationLoader loader of the relations
 	 */
 	@Autowired
-	public MealGqlController(IMealService<MealEntity> pService) {
+	public MealGqlController(IMealService<MealEntity> pService, TodaySnapshotService pTodaySnapshot,
+			ImageService pImageService, RelationLoaderService pRelationLoader) {
 		super();
 		this.service = pService;
+		this.todaySnapshot = pTodaySnapshot;
+		this.imageService = pImageService;
+		this.relationLoader = pRelationLoader;
 	}
 
 	/**
@@ -156,6 +174,27 @@ public class MealGqlController extends AbstractGqlController {
 		return result;
 	}
 
+	/**
+	 * Searches meals on their label and description. <br>
+	 *
+	 * You need to be connected as a lunch lady. <br>
+	 * Made for a type-ahead, see
+	 * {@link stone.lunchtime.service.IServiceForLabeled#search(String, Integer)}.
+	 *
+	 * @param pText what is searched
+	 * @param pMax  maximum number of meals given, 10 if null
+	 * @return the meals found, the best first
+	 */
+	@QueryMapping
+	@Observed(name = "graphql.meal.search", contextualName = "graphql#meal#search")
+	@PreAuthorize("isAuthenticated() and hasRole('ROLE_LUNCHLADY')")
+	public List<MealDtoOut> searchMeals(@Argument("text") String pText, @Argument("max") Integer pMax) {
+		MealGqlController.LOG.atInfo().log("--> searchMeals - {} at most {}", pText, pMax);
+		var result = this.service.search(pText, pMax);
+		MealGqlController.LOG.atInfo().log("<-- searchMeals - Lunch lady has found {} meals", result.size());
+		return result;
+	}
+
 	/**
 	 * Gets all meals available for the given week. <br>
 	 *
@@ -240,14 +279,11 @@ public class MealGqlController extends AbstractGqlController {
 	@Observed(name = "graphql.meal.findallavailableforweekanddayandcategory", contextualName = "graphql#meal#findallavailableforweekanddayandcategory")
 	public List<MealDtoOut> findAllMealsForTodayAndCategory(@Argument("catagory") Integer pCategory) {
 		MealGqlController.LOG.atInfo().log("--> findAllMealsForTodayAndCategory with category {}", pCategory);
-		var weekId = OrderService.getCurrentWeekId();
-		var dayId = OrderService.getCurrentDayId();
-		var result = this.service.findAllAvailableForWeekAndDayAndCategory(weekId, dayId,
-				pCategory != null ? pCategory.byteValue() : null);
+		var result = this.todaySnapshot.findAllMealsForToday(pCategory != null ? pCategory.byteValue() : null);
 		MealGqlController.LOG.atInfo().log(
 				"<-- findAllMealsForTodayAndCategory - Has found {} meals for week {} and day {} with category {}",
-				result.size(), weekId, dayId, pCategory);
-		return result;
+				result.values().size(), result.week(), result.day(), pCategory);
+		return result.values();
 	}
 
 	/**
@@ -290,9 +326,29 @@ public class MealGqlController extends AbstractGqlController {
 	public ImageDtoOut findMealImage(@Argument("id") Integer id) throws EntityNotFoundException {
 		MealGqlController.LOG.atInfo().log("--> findMealImage - {}", id);
 		var result = this.service.findEntity(id);
-		var dtoOut = ImageDtoHandler.dtoOutfromEntity(result.getImage());
+		var dtoOut = this.imageService.toDtoOut(result.getImage());
 		MealGqlController.LOG.atInfo().log("<-- findMealImage - Meal's image {} found by user {}", dtoOut.getId(),
 				this.getConnectedUserId());
 		return dtoOut;
 	}
+
+	/**
+	 * Resolves the ingredients of meals, for all the meals of a GraphQL request
+	 * at once. <br>
+	 *
+	 * Meals that already have their ingredients keep them, the others are loaded
+	 * with one call.
+	 *
+	 * @param pMeals the meals
+	 * @return the ingredients of each meal, in the same order
+	 */
+	@BatchMapping
+	public List<List<IngredientDtoOut>> ingredients(List<MealDtoOut> pMeals) {
+		var toLoad = pMeals.stream().filter(e -> e.getIngredients() == null).map(MealDtoOut::getId).toList();
+		var loaded = toLoad.isEmpty() ? Map.<Integer, List<IngredientDtoOut>>of()
+				: this.relationLoader.findIngredientsOfMeals(toLoad);
+		return pMeals.stream().map(e -> e.getIngredients() != null ? e.getIngredients()
+				: loaded.getOrDefault(e.getId(), List.of()))
+				.toList();
+	}
 }
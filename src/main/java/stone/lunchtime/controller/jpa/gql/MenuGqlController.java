@@ -7,11 +7,13 @@
 package stone.lunchtime.controller.jpa.gql;
 
 import java.util.List;
+import java.util.Map;
 
 import org.slf4j.LoggerFactory;
 import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.BatchMapping;
 import org.springframework.graphql.data.method.annotation.MutationMapping;
 import org.springframework.graphql.data.method.annotation.QueryMapping;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -20,14 +22,17 @@ import org.springframework.stereotype.Controller;
 import io.micrometer.observation.annotation.Observed;
 import stone.lunchtime.dto.in.ImageDtoIn;
 import stone.lunchtime.dto.in.MenuDtoIn;
-import stone.lunchtime.dto.jpa.handler.ImageDtoHandler;
 import stone.lunchtime.dto.out.ImageDtoOut;
+import stone.lunchtime.dto.out.MealDtoOut;
 import stone.lunchtime.dto.out.MenuDtoOut;
 import stone.lunchtime.entity.jpa.MenuEntity;
 import stone.lunchtime.service.IMenuService;
 import stone.lunchtime.service.exception.EntityNotFoundException;
 import stone.lunchtime.service.exception.InconsistentStatusException;
+import stone.lunchtime.service.impl.jpa.ImageService;
 import stone.lunchtime.service.impl.jpa.OrderService;
+import stone.lunchtime.service.impl.jpa.RelationLoaderService;
+import stone.lunchtime.service.impl.jpa.TodaySnapshotService;
 
 /**
  * Menu controller.
@@ -38,15 +43,28 @@ public class MenuGqlController extends AbstractGqlController {
 
 	private final IMenuService<MenuEntity> service;
 
+	private final ImageService imageService;
+
+	private final TodaySnapshotService todaySnapshot;
+
+	private final RelationLoaderService relationLoader;
+
 	/**
 	 * Constructor.
 	 *
-	 * @param pService the service
+	 * @param pService        the service
+	 * @param pTodaySnapshot  today snapshot
+	 * @param pImageService   image service
+	 * @param pRelationLoader loader of the relations
 	 */
 	@Autowired
-	public MenuGqlController(IMenuService<MenuEntity> pService) {
+	public MenuGqlController(IMenuService<MenuEntity> pService, TodaySnapshotService pTodaySnapshot,
+			ImageService pImageService, RelationLoaderService pRelationLoader) {
 		super();
 		this.service = pService;
+		this.todaySnapshot = pTodaySnapshot;
+		this.imageService = pImageService;
+		this.relationLoader = pRelationLoader;
 	}
 
 	/**
@@ -151,6 +169,27 @@ public class MenuGqlController extends AbstractGqlController {
 		return result;
 	}
 
+	/**
+	 * Searches menus on their label and description. <br>
+	 *
+	 * You need to be connected as a lunch lady. <br>
+	 * Made for a type-ahead, see
+	 * {@link stone.lunchtime.service.IServiceForLabeled#search(String, Integer)}.
+	 *
+	 * @param pText what is searched
+	 * @param pMax  maximum number of menus given, 10 if null
+	 * @return the menus found, the best first
+	 */
+	@QueryMapping
+	@Observed(name = "graphql.menu.search", contextualName = "graphql#menu#search")
+	@PreAuthorize("isAuthenticated() and hasRole('ROLE_LUNCHLADY')")
+	public List<MenuDtoOut> searchMenus(@Argument("text") String pText, @Argument("max") Integer pMax) {
+		MenuGqlController.LOG.atInfo().log("--> searchMenus - {} at most {}", pText, pMax);
+		var result = this.service.search(pText, pMax);
+		MenuGqlController.LOG.atInfo().log("<-- searchMenus - Lunch lady has found {} menus", result.size());
+		return result;
+	}
+
 	/**
 	 * Gets all menus available for the given week. <br>
 	 *
@@ -220,12 +259,10 @@ public class MenuGqlController extends AbstractGqlController {
 	@Observed(name = "graphql.menu.findallavailablefortoday", contextualName = "graphql#menu#findallavailablefortoday")
 	public List<MenuDtoOut> findAllMenusForToday() {
 		MenuGqlController.LOG.atInfo().log("--> findAllMenusForToday");
-		var weekId = OrderService.getCurrentWeekId();
-		var dayId = OrderService.getCurrentDayId();
-		var result = this.service.findAllAvailableForWeekAndDay(weekId, dayId);
+		var result = this.todaySnapshot.findAllMenusForToday();
 		MenuGqlController.LOG.atInfo().log("<-- findAllMenusForToday - Has found {} menus for week {} and day {}",
-				result.size(), weekId, dayId);
-		return result;
+				result.values().size(), result.week(), result.day());
+		return result.values();
 	}
 
 	/**
@@ -266,9 +303,29 @@ public class MenuGqlController extends AbstractGqlController {
 	public ImageDtoOut findMenuImage(@Argument("id") Integer id) throws EntityNotFoundException {
 		MenuGqlController.LOG.atInfo().log("--> findMenuImage - {}", id);
 		var result = this.service.findEntity(id);
-		var dtoOut = ImageDtoHandler.dtoOutfromEntity(result.getImage());
+		var dtoOut = this.imageService.toDtoOut(result.getImage());
 		MenuGqlController.LOG.atInfo().log("<-- findMenuImage - Menu's image {} found by user {}", dtoOut.getId(),
 				this.getConnectedUserId());
 		return dtoOut;
 	}
+
+	/**
+	 * Resolves the meals of menus, for all the menus of a GraphQL request at
+	 * once. <br>
+	 *
+	 * Menus that already have their meals keep them, the others are loaded with
+	 * one call.
+	 *
+	 * @param pMenus the menus
+	 * @return the meals of each menu, in the same order
+	 */
+	@BatchMapping
+	public List<List<MealDtoOut>> meals(List<MenuDtoOut> pMenus) {
+		var toLoad = pMenus.stream().filter(e -> e.getMeals() == null).map(MenuDtoOut::getId).toList();
+		var loaded = toLoad.isEmpty() ? Map.<Integer, List<MealDtoOut>>of()
+				: this.relationLoader.findMealsOfMenus(toLoad);
+		return pMenus.stream()
+				.map(e -> e.getMeals() != null ? e.getMeals() : loaded.getOrDefault(e.getId(), List.of()))
+				.toList();
+	}
 }
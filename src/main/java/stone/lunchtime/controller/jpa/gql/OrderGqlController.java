@@ -7,22 +7,34 @@
 package stone.lunchtime.controller.jpa.gql;
 
 import java.time.LocalDate;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.BatchMapping;
 import org.springframework.graphql.data.method.annotation.MutationMapping;
 import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.graphql.data.query.ScrollSubrange;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.authentication.InsufficientAuthenticationException;
 import org.springframework.stereotype.Controller;
 
 import io.micrometer.observation.annotation.Observed;
 import stone.lunchtime.dto.in.OrderDtoIn;
+import stone.lunchtime.dto.out.MealDtoOut;
+import stone.lunchtime.dto.out.MenuDtoOut;
 import stone.lunchtime.dto.out.OrderDtoOut;
+import stone.lunchtime.dto.out.OrderResultDtoOut;
 import stone.lunchtime.dto.out.PriceDtoOut;
+import stone.lunchtime.dto.out.ProductionPlanDtoOut;
+import stone.lunchtime.dto.out.QuantityDtoOut;
+import stone.lunchtime.dto.out.UserDtoOut;
 import stone.lunchtime.entity.OrderStatus;
 import stone.lunchtime.entity.jpa.OrderEntity;
 import stone.lunchtime.service.IOrderService;
@@ -32,6 +44,9 @@ import stone.lunchtime.service.exception.NotAvailableForThisWeekException;
 import stone.lunchtime.service.exception.OrderCanceledException;
 import stone.lunchtime.service.exception.OrderDelivredException;
 import stone.lunchtime.service.exception.TimeOutException;
+import stone.lunchtime.service.exception.TooManyOrdersException;
+import stone.lunchtime.service.impl.jpa.ProductionPlanService;
+import stone.lunchtime.service.impl.jpa.RelationLoaderService;
 
 /**
  * Order controller.
@@ -40,17 +55,32 @@ import stone.lunchtime.service.exception.TimeOutException;
 public class OrderGqlController extends AbstractGqlController {
 	private static final Logger LOG = LoggerFactory.getLogger(OrderGqlController.class);
 
+	/** Size of a page when none is given. */
+	private static final int DEFAULT_PAGE_SIZE = 20;
+
 	private final IOrderService<OrderEntity> service;
 
+	private final RelationLoaderService relationLoader;
+
+	private final ProductionPlanService planService;
+
 	/**
-	 * Constructor.
+	 * Constructor. <br>
+	 *
+	 * Queries give orders without their user and quantities, they are resolved
+	 * only if the query selects them.
 	 *
-	 * @param pService the service
+	 * @param pService        the service
+	 * @param pRelationLoader loader of the relations
+	 * @param pPlan           production plan of the kitchen
 	 */
 	@Autowired
-	public OrderGqlController(IOrderService<OrderEntity> pService) {
+	public OrderGqlController(IOrderService<OrderEntity> pService, RelationLoaderService pRelationLoader,
+			ProductionPlanService pPlan) {
 		super();
 		this.service = pService;
+		this.relationLoader = pRelationLoader;
+		this.planService = pPlan;
 	}
 
 	/**
@@ -64,12 +94,14 @@ public class OrderGqlController extends AbstractGqlController {
 	 * @throws EntityNotFoundException          if an error occurred
 	 * @throws NotAvailableForThisWeekException if an error occurred
 	 * @throws TimeOutException                 if an error occurred
+	 * @throws TooManyOrdersException           if an error occurred
 	 */
 	@PreAuthorize("isAuthenticated()")
 	@Observed(name = "graphql.order.add", contextualName = "graphql#order#add")
 	@MutationMapping
 	public OrderDtoOut addOrder(@Argument(name = "order") OrderDtoIn pOrder)
-			throws TimeOutException, NotAvailableForThisWeekException, EntityNotFoundException {
+			throws TimeOutException, NotAvailableForThisWeekException, EntityNotFoundException,
+			TooManyOrdersException {
 
 		OrderGqlController.LOG.atInfo().log("--> addOrder - {}", pOrder);
 		if (pOrder.getUserId() == null) {
@@ -84,6 +116,33 @@ public class OrderGqlController extends AbstractGqlController {
 		return result;
 	}
 
+	/**
+	 * Passes a group of orders. <br>
+	 *
+	 * You need to be connected. An invalid order does not stop the others.
+	 *
+	 * @param pOrders the orders to be added
+	 *
+	 * @return the result of each order
+	 */
+	@PreAuthorize("isAuthenticated()")
+	@Observed(name = "graphql.order.addall", contextualName = "graphql#order#addall")
+	@MutationMapping
+	public List<OrderResultDtoOut> addOrders(@Argument(name = "orders") List<OrderDtoIn> pOrders) {
+		OrderGqlController.LOG.atInfo().log("--> addOrders - {}", pOrders);
+		if (pOrders != null) {
+			for (OrderDtoIn order : pOrders) {
+				if (order != null && order.getUserId() == null) {
+					order.setUserId(super.getConnectedUserId());
+				}
+			}
+		}
+		var result = this.service.orderAll(pOrders);
+		OrderGqlController.LOG.atInfo().log("<-- addOrders - {} orders made by {}", Integer.valueOf(result.size()),
+				super.getConnectedUserId());
+		return result;
+	}
+
 	/**
 	 * Deliver and pay the order. <br>
 	 *
@@ -234,7 +293,7 @@ public class OrderGqlController extends AbstractGqlController {
 	@QueryMapping
 	public OrderDtoOut orderById(@Argument("id") Integer pOrderId) throws EntityNotFoundException {
 		OrderGqlController.LOG.atInfo().log("--> find - {}", pOrderId);
-		var result = this.service.find(pOrderId);
+		var result = this.service.find(pOrderId, false);
 		if (super.hasLunchLadyRole() || super.getConnectedUserId().equals(result.getUser().getId())) {
 			OrderGqlController.LOG.atInfo().log("<-- find - Has found order {}", pOrderId);
 			return result;
@@ -256,7 +315,7 @@ public class OrderGqlController extends AbstractGqlController {
 	@QueryMapping
 	public List<OrderDtoOut> findAllOrders() {
 		OrderGqlController.LOG.atInfo().log("--> findAllOrders");
-		var result = this.service.findAll();
+		var result = this.service.findAll(false);
 		OrderGqlController.LOG.atInfo().log("<-- findAllOrders - Lunch Lady {} has found {} orders",
 				super.getConnectedUserId(), result.size());
 		return result;
@@ -289,14 +348,15 @@ public class OrderGqlController extends AbstractGqlController {
 		var endDate = super.getDate(pEndDate);
 		if (pStatus == null) {
 			if (pBeginDate == null && pEndDate == null) {
-				result = this.service.findAllByUserId(pUserId);
+				result = this.service.findAllByUserId(pUserId, false);
 			} else {
-				result = this.service.findAllBetweenDateForUser(pUserId, beginDate, endDate);
+				result = this.service.findAllBetweenDateForUser(pUserId, beginDate, endDate, false);
 			}
 		} else if (pBeginDate == null && pEndDate == null) {
-			result = this.service.findAllForUserInStatus(pUserId, pStatus);
+			result = this.service.findAllForUserInStatus(pUserId, pStatus, false);
 		} else {
-			result = this.service.findAllBetweenDateForUserInStatus(pUserId, beginDate, endDate, pStatus);
+			result = this.service.findAllBetweenDateForUserInStatus(pUserId, beginDate, endDate, pStatus,
+					false);
 		}
 
 		OrderGqlController.LOG.atInfo().log("<-- findAllOrdersForUser - Has found {} orders", result.size());
@@ -322,7 +382,7 @@ public class OrderGqlController extends AbstractGqlController {
 		OrderGqlController.LOG.atInfo().log("--> findAllOrdersForUserToday - {}", pUserId);
 		var todayBegin = LocalDate.now();
 		var result = this.service.findAllBetweenDateForUserInStatus(pUserId, todayBegin, todayBegin,
-				OrderStatus.CREATED);
+				OrderStatus.CREATED, false);
 		OrderGqlController.LOG.atInfo().log("<-- findAllOrdersForUserToday - Has found {} orders", result.size());
 		return result;
 	}
@@ -346,9 +406,204 @@ public class OrderGqlController extends AbstractGqlController {
 				pEndDate);
 		var beginDate = super.getDate(pBeginDate);
 		var endDate = super.getDate(pEndDate);
-		var result = this.service.findAllBetweenDateInStatus(beginDate, endDate, pStatus);
+		var result = this.service.findAllBetweenDateInStatus(beginDate, endDate, pStatus, false);
 		OrderGqlController.LOG.atInfo().log("<-- findAllOrdersBetweenDateInStatus - Lunch lady {} has found {} orders",
 				super.getConnectedUserId(), result.size());
 		return result;
 	}
+
+	/**
+	 * Gets the production plan of the kitchen for a day. <br>
+	 *
+	 * You need to be connected as a lunch lady. <br>
+	 *
+	 * @param pDate a date. If null will use today
+	 * @return the quantities to cook for this day
+	 */
+	@QueryMapping
+	@Observed(name = "graphql.order.productionplan", contextualName = "graphql#order#productionplan")
+	@PreAuthorize("isAuthenticated() and hasRole('ROLE_LUNCHLADY')")
+	public ProductionPlanDtoOut productionPlan(@Argument("date") String pDate) {
+		OrderGqlController.LOG.atInfo().log("--> productionPlan - {}", pDate);
+		var result = this.planService.find(super.getDate(pDate)).value();
+		OrderGqlController.LOG.atInfo().log("<-- productionPlan - Lunch lady {} has found {} orders for {}",
+				super.getConnectedUserId(), result.getOrderCount(), result.getDate());
+		return result;
+	}
+
+	/**
+	 * Gets a page of orders. <br>
+	 *
+	 * You need to be connected as a lunch lady. <br>
+	 *
+	 * @param pSubrange position (after/before) and size (first/last) of the page
+	 * @return the orders of the page
+	 */
+	@PreAuthorize("isAuthenticated() and hasRole('ROLE_LUNCHLADY')")
+	@Observed(name = "graphql.order.findall.connection", contextualName = "graphql#order#findall#connection")
+	@QueryMapping
+	public Window<OrderDtoOut> findAllOrdersConnection(ScrollSubrange pSubrange) {
+		OrderGqlController.LOG.atInfo().log("--> findAllOrdersConnection - {}", pSubrange);
+		var result = this.service.findPage(OrderGqlController.position(pSubrange),
+				OrderGqlController.size(pSubrange), false);
+		OrderGqlController.LOG.atInfo().log("<-- findAllOrdersConnection - Lunch Lady {} has found {} orders",
+				super.getConnectedUserId(), Integer.valueOf(result.size()));
+		return result;
+	}
+
+	/**
+	 * Gets a page of orders for a specific user. <br>
+	 *
+	 * You need to be connected. <br>
+	 * If you are not the lunch lady, you will only be able to find order that you
+	 * have made. <br>
+	 *
+	 * @param pUserId   a user id. Cannot be null.
+	 * @param pSubrange position (after/before) and size (first/last) of the page
+	 * @return the orders of the page
+	 */
+	@QueryMapping
+	@Observed(name = "graphql.order.findallforuser.connection", contextualName = "graphql#order#findallforuser#connection")
+	@PreAuthorize("isAuthenticated() and (#pUserId == authentication.details.id or hasRole('ROLE_LUNCHLADY'))")
+	public Window<OrderDtoOut> findAllOrdersForUserConnection(@Argument("userId") Integer pUserId,
+			ScrollSubrange pSubrange) {
+		OrderGqlController.LOG.atInfo().log("--> findAllOrdersForUserConnection - {} {}", pUserId, pSubrange);
+		var result = this.service.findPageByUserId(pUserId, OrderGqlController.position(pSubrange),
+				OrderGqlController.size(pSubrange), false);
+		OrderGqlController.LOG.atInfo().log("<-- findAllOrdersForUserConnection - Has found {} orders",
+				Integer.valueOf(result.size()));
+		return result;
+	}
+
+	/**
+	 * Gets a page of orders for all users with the given parameters. <br>
+	 *
+	 * You need to be connected as a lunch lady. <br>
+	 *
+	 * @param pBeginDate a start date. If null will use 1970
+	 * @param pEndDate   an end date. If null will use now
+	 * @param pStatus    an order status. If null will use CREATED.
+	 * @param pSubrange  position (after/before) and size (first/last) of the page
+	 * @return the orders of the page
+	 */
+	@QueryMapping
+	@Observed(name = "graphql.order.findallbetweendateinstatus.connection", contextualName = "graphql#order#findallbetweendateinstatus#connection")
+	@PreAuthorize("isAuthenticated() and hasRole('ROLE_LUNCHLADY')")
+	public Window<OrderDtoOut> findAllOrdersBetweenDateInStatusConnection(@Argument("status") OrderStatus pStatus,
+			@Argument("beginDate") String pBeginDate, @Argument("endDate") String pEndDate,
+			ScrollSubrange pSubrange) {
+		OrderGqlController.LOG.atInfo().log("--> findAllOrdersBetweenDateInStatusConnection - {} {} {} {}", pStatus,
+				pBeginDate, pEndDate, pSubrange);
+		var beginDate = super.getDate(pBeginDate);
+		var endDate = super.getDate(pEndDate);
+		var result = this.service.findPageBetweenDateInStatus(beginDate, endDate, pStatus,
+				OrderGqlController.position(pSubrange), OrderGqlController.size(pSubrange), false);
+		OrderGqlController.LOG.atInfo().log(
+				"<-- findAllOrdersBetweenDateInStatusConnection - Lunch lady {} has found {} orders",
+				super.getConnectedUserId(), Integer.valueOf(result.size()));
+		return result;
+	}
+
+	/**
+	 * Resolves the user of orders, for all the orders of a GraphQL request at
+	 * once.
+	 *
+	 * @param pOrders the orders
+	 * @return the user of each order, orders whose user is not found are left out
+	 */
+	@BatchMapping
+	public Map<OrderDtoOut, UserDtoOut> user(List<OrderDtoOut> pOrders) {
+		var users = this.relationLoader.findUsers(pOrders.stream().map(e -> e.getUser().getId()).toList());
+		Map<OrderDtoOut, UserDtoOut> result = new HashMap<>();
+		for (OrderDtoOut order : pOrders) {
+			var user = users.get(order.getUser().getId());
+			if (user != null) {
+				result.put(order, user);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Resolves the quantities of orders, for all the orders of a GraphQL request
+	 * at once. <br>
+	 *
+	 * Orders that already have their quantities (the ones given by mutations)
+	 * keep them, the others are loaded with one call.
+	 *
+	 * @param pOrders the orders
+	 * @return the quantities of each order, in the same order
+	 */
+	@BatchMapping
+	public List<List<QuantityDtoOut>> quantity(List<OrderDtoOut> pOrders) {
+		var toLoad = pOrders.stream().filter(e -> e.getQuantity() == null).map(OrderDtoOut::getId).toList();
+		var loaded = toLoad.isEmpty() ? Map.<Integer, List<QuantityDtoOut>>of()
+				: this.relationLoader.findQuantitiesOfOrders(toLoad);
+		return pOrders.stream()
+				.map(e -> e.getQuantity() != null ? e.getQuantity() : loaded.getOrDefault(e.getId(), List.of()))
+				.toList();
+	}
+
+	/**
+	 * Resolves the meal of quantities, for all the quantities of a GraphQL
+	 * request at once.
+	 *
+	 * @param pQuantities the quantities
+	 * @return the meal of each quantity, quantities without meal are left out
+	 */
+	@BatchMapping
+	public Map<QuantityDtoOut, MealDtoOut> meal(List<QuantityDtoOut> pQuantities) {
+		var withMeal = pQuantities.stream().filter(e -> e.getMeal() != null).toList();
+		var meals = this.relationLoader.findMeals(withMeal.stream().map(e -> e.getMeal().getId()).toList());
+		Map<QuantityDtoOut, MealDtoOut> result = new HashMap<>();
+		for (QuantityDtoOut quantity : withMeal) {
+			var meal = meals.get(quantity.getMeal().getId());
+			if (meal != null) {
+				result.put(quantity, meal);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Resolves the menu of quantities, for all the quantities of a GraphQL
+	 * request at once.
+	 *
+	 * @param pQuantities the quantities
+	 * @return the menu of each quantity, quantities without menu are left out
+	 */
+	@BatchMapping
+	public Map<QuantityDtoOut, MenuDtoOut> menu(List<QuantityDtoOut> pQuantities) {
+		var withMenu = pQuantities.stream().filter(e -> e.getMenu() != null).toList();
+		var menus = this.relationLoader.findMenus(withMenu.stream().map(e -> e.getMenu().getId()).toList());
+		Map<QuantityDtoOut, MenuDtoOut> result = new HashMap<>();
+		for (QuantityDtoOut quantity : withMenu) {
+			var menu = menus.get(quantity.getMenu().getId());
+			if (menu != null) {
+				result.put(quantity, menu);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the position of a page, backward if before was given.
+	 *
+	 * @param pSubrange the subrange asked
+	 * @return the position, null for the first page
+	 */
+	private static ScrollPosition position(ScrollSubrange pSubrange) {
+		return pSubrange == null ? null : pSubrange.position().orElse(null);
+	}
+
+	/**
+	 * Gets the size of a page.
+	 *
+	 * @param pSubrange the subrange asked
+	 * @return the size, 20 if none
+	 */
+	private static int size(ScrollSubrange pSubrange) {
+		return pSubrange == null ? OrderGqlController.DEFAULT_PAGE_SIZE
+				: pSubrange.count().orElse(OrderGqlController.DEFAULT_PAGE_SIZE);
+	}
 }
@@ -21,7 +21,6 @@ import org.springframework.stereotype.Controller;
 import io.micrometer.observation.annotation.Observed;
 import stone.lunchtime.dto.in.ImageDtoIn;
 import stone.lunchtime.dto.in.UserDtoIn;
-import stone.lunchtime.dto.jpa.handler.ImageDtoHandler;
 import stone.lunchtime.dto.out.ImageDtoOut;
 import stone.lunchtime.dto.out.UserDtoOut;
 import stone.lunchtime.entity.jpa.UserEntity;
@@ -32,6 +31,7 @@ import stone.lunchtime.service.exception.InconsistentPasswordException;
 import stone.lunchtime.service.exception.InconsistentRoleException;
 import stone.lunchtime.service.exception.InconsistentStatusException;
 import stone.lunchtime.service.exception.LackOfMoneyException;
+import stone.lunchtime.service.impl.jpa.ImageService;
 
 /**
  * User controller using GraphQL.
@@ -42,15 +42,19 @@ public class UserGqlController extends AbstractGqlController {
 
 	private final IUserService<UserEntity> service;
 
+	private final ImageService imageService;
+
 	/**
 	 * Constructor.
 	 *
-	 * @param pService the service
+	 * @param pService      the service
+	 * @param pImageService image service
 	 */
 	@Autowired
-	public UserGqlController(IUserService<UserEntity> pService) {
+	public UserGqlController(IUserService<UserEntity> pService, ImageService pImageService) {
 		super();
 		this.service = pService;
+		this.imageService = pImageService;
 	}
 
 	/**
@@ -366,7 +370,7 @@ public class UserGqlController extends AbstractGqlController {
 
 		UserGqlController.LOG.atInfo().log("--> findUserImage - {}", pUserId);
 		var result = this.service.findEntity(pUserId);
-		var dtoOut = ImageDtoHandler.dtoOutfromEntity(result.getImage());
+		var dtoOut = this.imageService.toDtoOut(result.getImage());
 		UserGqlController.LOG.atInfo().log("<-- findUserImage - User's image {} found by user {}", dtoOut.getId(),
 				this.getConnectedUserId());
 		return dtoOut;
@@ -6,9 +6,24 @@
 
 package stone.lunchtime.controller.jpa.rest;
 
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import jakarta.servlet.http.HttpServletResponse;
 
 import stone.lunchtime.controller.AbstractController;
+import stone.lunchtime.service.impl.jpa.ImageService;
+import stone.lunchtime.service.impl.jpa.TodaySnapshotService.Snapshot;
 
 /**
  * Mother class of all rest controller.
@@ -16,4 +31,81 @@ import stone.lunchtime.controller.AbstractController;
 @RestController
 abstract class AbstractRestController extends AbstractController {
 
+	@Value("${configuration.image.max.age.in.s:3600}")
+	private long imageMaxAge;
+
+	/**
+	 * Creates the response for a snapshot. <br>
+	 *
+	 * The json is already built, and the ETag header is set, so Spring will
+	 * answer 304 (Not Modified) if the client already has this version.
+	 *
+	 * @param pSnapshot a snapshot
+	 * @return the response
+	 */
+	protected ResponseEntity<byte[]> snapshotResponse(Snapshot<?> pSnapshot) {
+		return ResponseEntity.ok().eTag(pSnapshot.eTag()).contentType(MediaType.APPLICATION_JSON)
+				.body(pSnapshot.json());
+	}
+
+	/**
+	 * Writes a json array in the response, from the json of its elements. <br>
+	 *
+	 * The elements are written one after the other, the array is not built in
+	 * memory first.
+	 *
+	 * @param pElements the json of each element
+	 * @param pResponse the response
+	 * @throws IOException if an error occurred while writing
+	 */
+	protected void writeJson(List<byte[]> pElements, HttpServletResponse pResponse) throws IOException {
+		var length = 2 + Math.max(0, pElements.size() - 1);
+		for (byte[] element : pElements) {
+			length += element.length;
+		}
+		pResponse.setContentType(MediaType.APPLICATION_JSON_VALUE);
+		pResponse.setContentLength(length);
+		var out = pResponse.getOutputStream();
+		out.write('[');
+		for (var i = 0; i < pElements.size(); i++) {
+			if (i > 0) {
+				out.write(',');
+			}
+			out.write(pElements.get(i));
+		}
+		out.write(']');
+	}
+
+	/**
+	 * Writes an image in the response. <br>
+	 *
+	 * The image is sent as is (not in base 64), with its content type, an ETag and
+	 * a Cache-Control header. If the client already has this image (If-None-Match
+	 * header), the answer is 304 (Not Modified) without body. <br>
+	 *
+	 * The image is written from its buffer, it is not copied first.
+	 *
+	 * @param pContent  the image content
+	 * @param pShared   true if the image can be kept by shared caches (proxy,
+	 *                  CDN), false if only the browser of the user can keep it
+	 * @param pRequest  the request
+	 * @param pResponse the response
+	 * @throws IOException if an error occurred while writing
+	 */
+	protected void writeImage(ImageService.Content pContent, boolean pShared, ServletWebRequest pRequest,
+			HttpServletResponse pResponse) throws IOException {
+		var cacheControl = CacheControl.maxAge(this.imageMaxAge, TimeUnit.SECONDS);
+		cacheControl = pShared ? cacheControl.cachePublic() : cacheControl.cachePrivate();
+		pResponse.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl.getHeaderValue());
+		if (pRequest.checkNotModified(pContent.eTag())) {
+			return;
+		}
+		var bytes = pContent.bytes().duplicate();
+		pResponse.setContentType(pContent.contentType());
+		pResponse.setContentLength(bytes.remaining());
+		var channel = Channels.newChannel(pResponse.getOutputStream());
+		while (bytes.hasRemaining()) {
+			channel.write(bytes);
+		}
+	}
 }
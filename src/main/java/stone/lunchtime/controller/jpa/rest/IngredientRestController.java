@@ -6,6 +6,7 @@
 
 package stone.lunchtime.controller.jpa.rest;
 
+import java.io.IOException;
 import java.util.List;
 
 import org.slf4j.LoggerFactory;
@@ -20,7 +21,9 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import io.micrometer.observation.annotation.Observed;
 import io.swagger.v3.oas.annotations.Operation;
@@ -32,16 +35,18 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import stone.lunchtime.dto.in.ImageDtoIn;
 import stone.lunchtime.dto.in.IngredientDtoIn;
-import stone.lunchtime.dto.jpa.handler.ImageDtoHandler;
 import stone.lunchtime.dto.out.ExceptionDtoOut;
 import stone.lunchtime.dto.out.ImageDtoOut;
 import stone.lunchtime.dto.out.IngredientDtoOut;
+import stone.lunchtime.entity.ImageSize;
 import stone.lunchtime.entity.jpa.IngredientEntity;
 import stone.lunchtime.service.IIngredientService;
 import stone.lunchtime.service.exception.EntityNotFoundException;
 import stone.lunchtime.service.exception.InconsistentStatusException;
+import stone.lunchtime.service.impl.jpa.ImageService;
 
 /**
  * Ingredient controller.
@@ -54,15 +59,19 @@ public class IngredientRestController extends AbstractRestController {
 
 	private final IIngredientService<IngredientEntity> service;
 
+	private final ImageService imageService;
+
 	/**
 	 * Constructor.
 	 *
-	 * @param pService the service
+	 * @param pService      the service
+	 * @param pImageService image service
 	 */
 	@Autowired
-	public IngredientRestController(IIngredientService<IngredientEntity> pService) {
+	public IngredientRestController(IIngredientService<IngredientEntity> pService, ImageService pImageService) {
 		super();
 		this.service = pService;
+		this.imageService = pImageService;
 	}
 
 	/**
@@ -189,7 +198,11 @@ public class IngredientRestController extends AbstractRestController {
 	 *
 	 * You need to be connected as a lunch lady. <br>
 	 *
-	 * @return all the ingredients found or an empty list if none
+	 * The json of each element is kept until it changes, see
+	 * {@link stone.lunchtime.service.IServiceForLabeled#findAllAsJson()}. <br>
+	 *
+	 * @param pResponse the response, the elements are written in it
+	 * @throws IOException if an error occurred while writing
 	 */
 	@GetMapping("/findall")
 	@Observed(name = "rest.ingredient.findall", contextualName = "rest#ingredient#findall")
@@ -200,11 +213,42 @@ public class IngredientRestController extends AbstractRestController {
 	@ApiResponses(value = {
 			@ApiResponse(responseCode = "200", description = "All ingredients found will be in the response body.", content = @Content(array = @ArraySchema(schema = @Schema(implementation = IngredientDtoOut.class)))),
 			@ApiResponse(responseCode = "401", description = "You are not connected or do not have the LunchLady role.", content = @Content(schema = @Schema(implementation = ExceptionDtoOut.class))) })
-	public ResponseEntity<List<IngredientDtoOut>> findAllIngredients() {
+	public void findAllIngredients(HttpServletResponse pResponse) throws IOException {
 		IngredientRestController.LOG.atInfo().log("--> findAllIngredients");
-		var result = this.service.findAll();
+		var result = this.service.findAllAsJson();
 		IngredientRestController.LOG.atInfo().log("<-- findAllIngredients - Lunch lady {} has found {} ingredients",
 				this.getConnectedUserId(), result.size());
+		super.writeJson(result, pResponse);
+	}
+
+	/**
+	 * Searches ingredients on their label and description. <br>
+	 *
+	 * You need to be connected as a lunch lady. <br>
+	 * Made for a type-ahead, see
+	 * {@link stone.lunchtime.service.IServiceForLabeled#search(String, Integer)}.
+	 *
+	 * @param pText what is searched
+	 * @param pMax  maximum number of ingredients given, 10 if null
+	 * @return the ingredients found, the best first
+	 */
+	@GetMapping("/search")
+	@Observed(name = "rest.ingredient.search", contextualName = "rest#ingredient#search")
+	@PreAuthorize("hasRole('ROLE_LUNCHLADY')")
+	@Operation(tags = {
+			"Ingredient management API" }, summary = "Searches ingredients.", description = "Will find the enabled ingredients whose label or description has words beginning with the words of the text, case and accents are ignored. The best first. You must be connected and have the lunch lady role in order to execute this action.", security = {
+					@SecurityRequirement(name = "bearer-key") })
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200", description = "The ingredients found will be in the response body.", content = @Content(array = @ArraySchema(schema = @Schema(implementation = IngredientDtoOut.class)))),
+			@ApiResponse(responseCode = "400", description = "Your text or max is not valid. Max should be a number between [1..50].", content = @Content(schema = @Schema(implementation = ExceptionDtoOut.class))),
+			@ApiResponse(responseCode = "401", description = "You are not connected or do not have the LunchLady role.", content = @Content(schema = @Schema(implementation = ExceptionDtoOut.class))) })
+	public ResponseEntity<List<IngredientDtoOut>> searchIngredients(
+			@Parameter(description = "What is searched", required = true) @RequestParam("text") String pText,
+			@Parameter(description = "Maximum number of elements given, between 1 and 50. 10 by default.", required = false) @RequestParam(required = false, name = "max") Integer pMax) {
+		IngredientRestController.LOG.atInfo().log("--> searchIngredients - {} at most {}", pText, pMax);
+		var result = this.service.search(pText, pMax);
+		IngredientRestController.LOG.atInfo().log("<-- searchIngredients - Lunch lady {} has found {} ingredients",
+				this.getConnectedUserId(), result.size());
 		return ResponseEntity.ok(result);
 	}
 
@@ -246,7 +290,8 @@ public class IngredientRestController extends AbstractRestController {
 	 *
 	 * Every one can use this method. No need to be connected. <br>
 	 *
-	 * @param id id of the element's image you are looking for
+	 * @param id    id of the element's image you are looking for
+	 * @param pSize the size of the image, ORIGINAL if none
 	 * @return the image found or an error if none
 	 * @throws EntityNotFoundException if an error occurred
 	 *
@@ -260,13 +305,53 @@ public class IngredientRestController extends AbstractRestController {
 			@ApiResponse(responseCode = "400", description = "Your id is not valid.", content = @Content(schema = @Schema(implementation = ExceptionDtoOut.class))),
 			@ApiResponse(responseCode = "412", description = "The element to find does not exist or is not findable status.", content = @Content(schema = @Schema(implementation = ExceptionDtoOut.class))) })
 	public ResponseEntity<ImageDtoOut> findIngredientImage(
-			@Parameter(description = "The ingredient's id", required = true) @PathVariable("ingredientid") Integer id)
+			@Parameter(description = "The ingredient's id", required = true) @PathVariable("ingredientid") Integer id,
+			@Parameter(description = "The size of the image: ORIGINAL (default), THUMBNAIL (at most 64 pixels) or MEDIUM (at most 256 pixels).", required = false) @RequestParam(required = false, name = "size") ImageSize pSize)
 			throws EntityNotFoundException {
-		IngredientRestController.LOG.atInfo().log("--> findIngredientImage - {}", id);
+		IngredientRestController.LOG.atInfo().log("--> findIngredientImage - {} in {}", id, pSize);
 		var result = this.service.findEntity(id);
-		var dtoOut = ImageDtoHandler.dtoOutfromEntity(result.getImage());
+		var dtoOut = this.imageService.toDtoOut(result.getImage(), pSize);
 		IngredientRestController.LOG.atInfo().log("<-- findIngredientImage - Ingredient's image {} found by user {}",
 				dtoOut.getId(), this.getConnectedUserId());
 		return ResponseEntity.ok(dtoOut);
 	}
+
+	/**
+	 * Finds an element's image, as an image (not in base 64). <br>
+	 *
+	 * Every one can use this method. No need to be connected. <br>
+	 *
+	 * The response has an ETag and a Cache-Control header, the browser can keep
+	 * the image and will get 304 (Not Modified) if it did not change. <br>
+	 *
+	 * @param id        id of the element's image you are looking for
+	 * @param pSize     the size of the image, ORIGINAL if none
+	 * @param pRequest  the request
+	 * @param pResponse the response
+	 * @throws EntityNotFoundException if an error occurred
+	 * @throws IOException             if the image could not be written
+	 */
+	@GetMapping("/findimg/{ingredientid}/raw")
+	@Observed(name = "rest.ingredient.findimg.raw", contextualName = "rest#ingredient#findimg#raw")
+	@Operation(tags = {
+			"Ingredient management API" }, summary = "Finds an elements's image, as an image.", description = "Will find an element's image already present in the data base. Will return it as an image (png, jpeg, ...) with an ETag and a Cache-Control header. Every one can call this method.")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200", description = "The image was found and returned in the response body."),
+			@ApiResponse(responseCode = "304", description = "The image did not change since the ETag given in the If-None-Match header."),
+			@ApiResponse(responseCode = "400", description = "Your id is not valid.", content = @Content(schema = @Schema(implementation = ExceptionDtoOut.class))),
+			@ApiResponse(responseCode = "412", description = "The element to find does not exist, is not findable status or has no image.", content = @Content(schema = @Schema(implementation = ExceptionDtoOut.class))) })
+	public void findIngredientImageRaw(
+			@Parameter(description = "The ingredient's id", required = true) @PathVariable("ingredientid") Integer id,
+			@Parameter(description = "The size of the image: ORIGINAL (default), THUMBNAIL (at most 64 pixels) or MEDIUM (at most 256 pixels).", required = false) @RequestParam(required = false, name = "size") ImageSize pSize,
+			ServletWebRequest pRequest, HttpServletResponse pResponse) throws EntityNotFoundException, IOException {
+		IngredientRestController.LOG.atInfo().log("--> findIngredientImageRaw - {} in {}", id, pSize);
+		var image = this.service.findEntity(id).getImage();
+		if (image == null) {
+			throw new EntityNotFoundException("L'element n'a pas d'image", id);
+		}
+		var content = this.imageService.findContent(image.getId(), pSize);
+		IngredientRestController.LOG.atInfo().log("<-- findIngredientImageRaw - Ingredient's image {} found by user {}", image.getId(),
+				this.getConnectedUserId());
+		super.writeImage(content, true, pRequest, pResponse);
+	}
 }
@@ -6,6 +6,7 @@
 
 package stone.lunchtime.controller.jpa.rest;
 
+import java.io.IOException;
 import java.util.List;
 
 import org.slf4j.LoggerFactory;
@@ -20,7 +21,9 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import io.micrometer.observation.annotation.Observed;
 import io.swagger.v3.oas.annotations.Operation;
@@ -32,17 +35,20 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import stone.lunchtime.dto.in.ImageDtoIn;
 import stone.lunchtime.dto.in.MenuDtoIn;
-import stone.lunchtime.dto.jpa.handler.ImageDtoHandler;
 import stone.lunchtime.dto.out.ExceptionDtoOut;
 import stone.lunchtime.dto.out.ImageDtoOut;
 import stone.lunchtime.dto.out.MenuDtoOut;
+import stone.lunchtime.entity.ImageSize;
 import stone.lunchtime.entity.jpa.MenuEntity;
 import stone.lunchtime.service.IMenuService;
 import stone.lunchtime.service.exception.EntityNotFoundException;
 import stone.lunchtime.service.exception.InconsistentStatusException;
+import stone.lunchtime.service.impl.jpa.ImageService;
 import stone.lunchtime.service.impl.jpa.OrderService;
+import stone.lunchtime.service.impl.jpa.TodaySnapshotService;
 
 /**
  * Menu controller.
@@ -55,15 +61,24 @@ public class MenuRestController extends AbstractRestController {
 
 	private final IMenuService<MenuEntity> service;
 
+	private final ImageService imageService;
+
+	private final TodaySnapshotService todaySnapshot;
+
 	/**
 	 * Constructor.
 	 *
-	 * @param pService the service
+	 * @param pService       the service
+	 * @param pTodaySnapshot today snapshot
+	 * @param pImageService  image service
 	 */
 	@Autowired
-	public MenuRestController(IMenuService<MenuEntity> pService) {
+	public MenuRestController(IMenuService<MenuEntity> pService, TodaySnapshotService pTodaySnapshot,
+			ImageService pImageService) {
 		super();
 		this.service = pService;
+		this.todaySnapshot = pTodaySnapshot;
+		this.imageService = pImageService;
 	}
 
 	/**
@@ -193,7 +208,11 @@ public class MenuRestController extends AbstractRestController {
 	 *
 	 * You need to be connected as a lunch lady. <br>
 	 *
-	 * @return all the menus found or an empty list if none
+	 * The json of each element is kept until it changes, see
+	 * {@link stone.lunchtime.service.IServiceForLabeled#findAllAsJson()}. <br>
+	 *
+	 * @param pResponse the response, the elements are written in it
+	 * @throws IOException if an error occurred while writing
 	 */
 	@GetMapping("/findall")
 	@Observed(name = "rest.menu.findall", contextualName = "rest#menu#findall")
@@ -204,11 +223,42 @@ public class MenuRestController extends AbstractRestController {
 	@ApiResponses(value = {
 			@ApiResponse(responseCode = "200", description = "All menus found will be in the response body.", content = @Content(array = @ArraySchema(schema = @Schema(implementation = MenuDtoOut.class)))),
 			@ApiResponse(responseCode = "401", description = "You are not connected or do not have the LunchLady role.", content = @Content(schema = @Schema(implementation = ExceptionDtoOut.class))) })
-	public ResponseEntity<List<MenuDtoOut>> findAllMenus() {
+	public void findAllMenus(HttpServletResponse pResponse) throws IOException {
 
 		MenuRestController.LOG.atInfo().log("--> findAllMenus");
-		var result = this.service.findAll();
+		var result = this.service.findAllAsJson();
 		MenuRestController.LOG.atInfo().log("<-- findAllMenus - Lunch lady has found {} menus", result.size());
+		super.writeJson(result, pResponse);
+	}
+
+	/**
+	 * Searches menus on their label and description. <br>
+	 *
+	 * You need to be connected as a lunch lady. <br>
+	 * Made for a type-ahead, see
+	 * {@link stone.lunchtime.service.IServiceForLabeled#search(String, Integer)}.
+	 *
+	 * @param pText what is searched
+	 * @param pMax  maximum number of menus given, 10 if null
+	 * @return the menus found, the best first
+	 */
+	@GetMapping("/search")
+	@Observed(name = "rest.menu.search", contextualName = "rest#menu#search")
+	@PreAuthorize("hasRole('ROLE_LUNCHLADY')")
+	@Operation(tags = {
+			"Menu management API" }, summary = "Searches menus.", description = "Will find the enabled menus whose label or description has words beginning with the words of the text, case and accents are ignored. The best first. You must be connected and have the lunch lady role in order to execute this action.", security = {
+					@SecurityRequirement(name = "bearer-key") })
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200", description = "The menus found will be in the response body.", content = @Content(array = @ArraySchema(schema = @Schema(implementation = MenuDtoOut.class)))),
+			@ApiResponse(responseCode = "400", description = "Your text or max is not valid. Max should be a number between [1..50].", content = @Content(schema = @Schema(implementation = ExceptionDtoOut.class))),
+			@ApiResponse(responseCode = "401", description = "You are not connected or do not have the LunchLady role.", content = @Content(schema = @Schema(implementation = ExceptionDtoOut.class))) })
+	public ResponseEntity<List<MenuDtoOut>> searchMenus(
+			@Parameter(description = "What is searched", required = true) @RequestParam("text") String pText,
+			@Parameter(description = "Maximum number of elements given, between 1 and 50. 10 by default.", required = false) @RequestParam(required = false, name = "max") Integer pMax) {
+		MenuRestController.LOG.atInfo().log("--> searchMenus - {} at most {}", pText, pMax);
+		var result = this.service.search(pText, pMax);
+		MenuRestController.LOG.atInfo().log("<-- searchMenus - Lunch lady {} has found {} menus",
+				this.getConnectedUserId(), result.size());
 		return ResponseEntity.ok(result);
 	}
 
@@ -301,16 +351,15 @@ public class MenuRestController extends AbstractRestController {
 	@Operation(tags = {
 			"Menu management API" }, summary = "Finds all menus for today (= this day in the week).", description = "Will find all menus already present in the data base and available for today (= this current day in the week). Will return them when done. You do not need to be connected in order to execute this action.")
 	@ApiResponses(value = {
-			@ApiResponse(responseCode = "200", description = "All menus found will be in the response body.", content = @Content(array = @ArraySchema(schema = @Schema(implementation = MenuDtoOut.class)))) })
-	public ResponseEntity<List<MenuDtoOut>> findAllMenusForToday() {
+			@ApiResponse(responseCode = "200", description = "All menus found will be in the response body.", content = @Content(array = @ArraySchema(schema = @Schema(implementation = MenuDtoOut.class)))),
+			@ApiResponse(responseCode = "304", description = "The menus did not change since the ETag given in the If-None-Match header.") })
+	public ResponseEntity<byte[]> findAllMenusForToday() {
 
 		MenuRestController.LOG.atInfo().log("--> findAllMenusForToday");
-		var weekId = OrderService.getCurrentWeekId();
-		var dayId = OrderService.getCurrentDayId();
-		var result = this.service.findAllAvailableForWeekAndDay(weekId, dayId);
+		var result = this.todaySnapshot.findAllMenusForToday();
 		MenuRestController.LOG.atInfo().log("<-- findAllMenusForToday - Has found {} menus for week {} and day {}",
-				result.size(), weekId, dayId);
-		return ResponseEntity.ok(result);
+				result.values().size(), result.week(), result.day());
+		return super.snapshotResponse(result);
 	}
 
 	/**
@@ -352,7 +401,8 @@ public class MenuRestController extends AbstractRestController {
 	 *
 	 * Every one can use this method. No need to be connected. <br>
 	 *
-	 * @param id id of the element's image you are looking for
+	 * @param id    id of the element's image you are looking for
+	 * @param pSize the size of the image, ORIGINAL if none
 	 * @return the image found or an error if none
 	 * @throws EntityNotFoundException if an error occurred
 	 *
@@ -366,14 +416,54 @@ public class MenuRestController extends AbstractRestController {
 			@ApiResponse(responseCode = "400", description = "Your id is not valid.", content = @Content(schema = @Schema(implementation = ExceptionDtoOut.class))),
 			@ApiResponse(responseCode = "412", description = "The element to find does not exist or is not findable status.", content = @Content(schema = @Schema(implementation = ExceptionDtoOut.class))) })
 	public ResponseEntity<ImageDtoOut> findMenuImage(
-			@Parameter(description = "The menu's id", required = true) @PathVariable("menuid") Integer id)
+			@Parameter(description = "The menu's id", required = true) @PathVariable("menuid") Integer id,
+			@Parameter(description = "The size of the image: ORIGINAL (default), THUMBNAIL (at most 64 pixels) or MEDIUM (at most 256 pixels).", required = false) @RequestParam(required = false, name = "size") ImageSize pSize)
 			throws EntityNotFoundException {
 
-		MenuRestController.LOG.atInfo().log("--> findMenuImage - {}", id);
+		MenuRestController.LOG.atInfo().log("--> findMenuImage - {} in {}", id, pSize);
 		var result = this.service.findEntity(id);
-		var dtoOut = ImageDtoHandler.dtoOutfromEntity(result.getImage());
+		var dtoOut = this.imageService.toDtoOut(result.getImage(), pSize);
 		MenuRestController.LOG.atInfo().log("<-- findMenuImage - Menu's image {} found by user {}", dtoOut.getId(),
 				this.getConnectedUserId());
 		return ResponseEntity.ok(dtoOut);
 	}
+
+	/**
+	 * Finds an element's image, as an image (not in base 64). <br>
+	 *
+	 * Every one can use this method. No need to be connected. <br>
+	 *
+	 * The response has an ETag and a Cache-Control header, the browser can keep
+	 * the image and will get 304 (Not Modified) if it did not change. <br>
+	 *
+	 * @param id        id of the element's image you are looking for
+	 * @param pSize     the size of the image, ORIGINAL if none
+	 * @param pRequest  the request
+	 * @param pResponse the response
+	 * @throws EntityNotFoundException if an error occurred
+	 * @throws IOException             if the image could not be written
+	 */
+	@GetMapping("/findimg/{menuid}/raw")
+	@Observed(name = "rest.menu.findimg.raw", contextualName = "rest#menu#findimg#raw")
+	@Operation(tags = {
+			"Menu management API" }, summary = "Finds an elements's image, as an image.", description = "Will find an element's image already present in the data base. Will return it as an image (png, jpeg, ...) with an ETag and a Cache-Control header. Every one can call this method.")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200", description = "The image was found and returned in the response body."),
+			@ApiResponse(responseCode = "304", description = "The image did not change since the ETag given in the If-None-Match header."),
+			@ApiResponse(responseCode = "400", description = "Your id is not valid.", content = @Content(schema = @Schema(implementation = ExceptionDtoOut.class))),
+			@ApiResponse(responseCode = "412", description = "The element to find does not exist, is not findable status or has no image.", content = @Content(schema = @Schema(implementation = ExceptionDtoOut.class))) })
+	public void findMenuImageRaw(
+			@Parameter(description = "The menu's id", required = true) @PathVariable("menuid") Integer id,
+			@Parameter(description = "The size of the image: ORIGINAL (default), THUMBNAIL (at most 64 pixels) or MEDIUM (at most 256 pixels).", required = false) @RequestParam(required = false, name = "size") ImageSize pSize,
+			ServletWebRequest pRequest, HttpServletResponse pResponse) throws EntityNotFoundException, IOException {
+		MenuRestController.LOG.atInfo().log("--> findMenuImageRaw - {} in {}", id, pSize);
+		var image = this.service.findEntity(id).getImage();
+		if (image == null) {
+			throw new EntityNotFoundException("L'element n'a pas d'image", id);
+		}
+		var content = this.imageService.findContent(image.getId(), pSize);
+		MenuRestController.LOG.atInfo().log("<-- findMenuImageRaw - Menu's image {} found by user {}", image.getId(),
+				this.getConnectedUserId());
+		super.writeImage(content, true, pRequest, pResponse);
+	}
 }
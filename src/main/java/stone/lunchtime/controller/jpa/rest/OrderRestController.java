@@ -6,12 +6,18 @@
 
 package stone.lunchtime.controller.jpa.rest;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
 import java.util.List;
 
 import org.slf4j.LoggerFactory;
 import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.graphql.data.pagination.CursorStrategy;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.authentication.InsufficientAuthenticationException;
@@ -24,6 +30,8 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import io.micrometer.observation.annotation.Observed;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -34,10 +42,14 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import stone.lunchtime.dto.in.OrderDtoIn;
 import stone.lunchtime.dto.out.ExceptionDtoOut;
 import stone.lunchtime.dto.out.OrderDtoOut;
+import stone.lunchtime.dto.out.OrderPageDtoOut;
+import stone.lunchtime.dto.out.OrderResultDtoOut;
 import stone.lunchtime.dto.out.PriceDtoOut;
+import stone.lunchtime.dto.out.ProductionPlanDtoOut;
 import stone.lunchtime.entity.OrderStatus;
 import stone.lunchtime.entity.jpa.OrderEntity;
 import stone.lunchtime.service.IOrderService;
@@ -46,7 +58,10 @@ import stone.lunchtime.service.exception.LackOfMoneyException;
 import stone.lunchtime.service.exception.NotAvailableForThisWeekException;
 import stone.lunchtime.service.exception.OrderCanceledException;
 import stone.lunchtime.service.exception.OrderDelivredException;
+import stone.lunchtime.service.exception.ParameterException;
 import stone.lunchtime.service.exception.TimeOutException;
+import stone.lunchtime.service.exception.TooManyOrdersException;
+import stone.lunchtime.service.impl.jpa.ProductionPlanService;
 
 /**
  * Order controller.
@@ -57,17 +72,33 @@ import stone.lunchtime.service.exception.TimeOutException;
 public class OrderRestController extends AbstractRestController {
 	private static final Logger LOG = LoggerFactory.getLogger(OrderRestController.class);
 
+	/** Size of a page when none is given. */
+	private static final int DEFAULT_PAGE_SIZE = 20;
+
 	private final IOrderService<OrderEntity> service;
 
+	private final CursorStrategy<ScrollPosition> cursorStrategy;
+
+	private final ObjectMapper mapper;
+
+	private final ProductionPlanService productionPlan;
+
 	/**
 	 * Constructor.
 	 *
-	 * @param pService the service
+	 * @param pService        the service
+	 * @param pCursorStrategy encodes page positions, same cursors as in GraphQL
+	 * @param pMapper         the json mapper
+	 * @param pPlan           production plan of the kitchen
 	 */
 	@Autowired
-	public OrderRestController(IOrderService<OrderEntity> pService) {
+	public OrderRestController(IOrderService<OrderEntity> pService, CursorStrategy<ScrollPosition> pCursorStrategy,
+			ObjectMapper pMapper, ProductionPlanService pPlan) {
 		super();
 		this.service = pService;
+		this.cursorStrategy = pCursorStrategy;
+		this.mapper = pMapper;
+		this.productionPlan = pPlan;
 	}
 
 	/**
@@ -81,6 +112,7 @@ public class OrderRestController extends AbstractRestController {
 	 * @throws EntityNotFoundException          if an error occurred
 	 * @throws NotAvailableForThisWeekException if an error occurred
 	 * @throws TimeOutException                 if an error occurred
+	 * @throws TooManyOrdersException           if an error occurred
 	 */
 	@PutMapping("/add")
 	@Observed(name = "rest.order.add", contextualName = "rest#order#add")
@@ -91,10 +123,11 @@ public class OrderRestController extends AbstractRestController {
 			@ApiResponse(responseCode = "200", description = "Your order was added and returned in the response body.", content = @Content(schema = @Schema(implementation = OrderDtoOut.class))),
 			@ApiResponse(responseCode = "400", description = "Your order is not valid.", content = @Content(schema = @Schema(implementation = ExceptionDtoOut.class))),
 			@ApiResponse(responseCode = "401", description = "You are not connected.", content = @Content(schema = @Schema(implementation = ExceptionDtoOut.class))),
-			@ApiResponse(responseCode = "412", description = "The meal or menu in this order is not available for this week or it is too late regarding the constraint's maximum time or this order is referencing invalid elements.", content = @Content(schema = @Schema(implementation = ExceptionDtoOut.class))) })
+			@ApiResponse(responseCode = "412", description = "The meal or menu in this order is not available for this week or it is too late regarding the constraint's maximum time or the constraint's maximum number of orders per day is reached or this order is referencing invalid elements.", content = @Content(schema = @Schema(implementation = ExceptionDtoOut.class))) })
 	public ResponseEntity<OrderDtoOut> addOrder(
 			@Parameter(description = "Order object that will be stored in database. Linked to a constraint's id that will be used for timeout here.", required = true) @RequestBody OrderDtoIn pOrder)
-			throws TimeOutException, NotAvailableForThisWeekException, EntityNotFoundException {
+			throws TimeOutException, NotAvailableForThisWeekException, EntityNotFoundException,
+			TooManyOrdersException {
 
 		OrderRestController.LOG.atInfo().log("--> addOrder - {}", pOrder);
 		if (pOrder.getUserId() == null) {
@@ -109,6 +142,41 @@ public class OrderRestController extends AbstractRestController {
 		return ResponseEntity.ok(result);
 	}
 
+	/**
+	 * Passes a group of orders. <br>
+	 *
+	 * You need to be connected. An invalid order does not stop the others.
+	 *
+	 * @param pOrders the orders to be added
+	 *
+	 * @return the result of each order
+	 */
+	@PutMapping("/addall")
+	@Observed(name = "rest.order.addall", contextualName = "rest#order#addall")
+	@Operation(tags = {
+			"Order management API" }, summary = "Adds a group of orders.", description = "Will add all valid orders into the data base in one transaction. Will return, for each order and in the same order, the order added with its id or the error that prevented it. You must be connected in order to execute this action.", security = {
+					@SecurityRequirement(name = "bearer-key") })
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200", description = "The result of each order is in the response body.", content = @Content(array = @ArraySchema(schema = @Schema(implementation = OrderResultDtoOut.class)))),
+			@ApiResponse(responseCode = "400", description = "Your orders are not valid.", content = @Content(schema = @Schema(implementation = ExceptionDtoOut.class))),
+			@ApiResponse(responseCode = "401", description = "You are not connected.", content = @Content(schema = @Schema(implementation = ExceptionDtoOut.class))) })
+	public ResponseEntity<List<OrderResultDtoOut>> addOrders(
+			@Parameter(description = "Order objects that will be stored in database. Each one is linked to a constraint's id that will be used for timeout here.", required = true) @RequestBody List<OrderDtoIn> pOrders) {
+
+		OrderRestController.LOG.atInfo().log("--> addOrders - {}", pOrders);
+		if (pOrders != null) {
+			for (OrderDtoIn order : pOrders) {
+				if (order != null && order.getUserId() == null) {
+					order.setUserId(super.getConnectedUserId());
+				}
+			}
+		}
+		var result = this.service.orderAll(pOrders);
+		OrderRestController.LOG.atInfo().log("<-- addOrders - {} orders made by {}", Integer.valueOf(result.size()),
+				super.getConnectedUserId());
+		return ResponseEntity.ok(result);
+	}
+
 	/**
 	 * Deliver and pay the order. <br>
 	 *
@@ -451,4 +519,242 @@ public class OrderRestController extends AbstractRestController {
 				super.getConnectedUserId(), result.size());
 		return ResponseEntity.ok(result);
 	}
+
+	/**
+	 * Gets a page of orders. <br>
+	 *
+	 * You need to be connected as a lunch lady. <br>
+	 *
+	 * @param pSize   size of the page. If null will use 20.
+	 * @param pCursor cursor of the page (nextCursor of the previous page). If null
+	 *                will get the first page.
+	 * @return the orders of the page and the cursor of the next one
+	 */
+	@GetMapping("/findall/page")
+	@Observed(name = "rest.order.findall.page", contextualName = "rest#order#findall#page")
+	@PreAuthorize("hasRole('ROLE_LUNCHLADY')")
+	@Operation(tags = {
+			"Order management API" }, summary = "Finds a page of orders.", description = "Will find a page of orders, ordered by creation date. Give the cursor of a page for getting the next one. You must be connected and have the Lunch Lady role.", security = {
+					@SecurityRequirement(name = "bearer-key") })
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200", description = "The page was found and returned in the response body.", content = @Content(schema = @Schema(implementation = OrderPageDtoOut.class))),
+			@ApiResponse(responseCode = "400", description = "The size or the cursor is not valid.", content = @Content(schema = @Schema(implementation = ExceptionDtoOut.class))),
+			@ApiResponse(responseCode = "401", description = "You are not connected or do not have the LunchLady role.", content = @Content(schema = @Schema(implementation = ExceptionDtoOut.class))) })
+	public ResponseEntity<OrderPageDtoOut> findPageOfOrders(
+			@Parameter(description = "Size of the page, 20 by default.", allowEmptyValue = true) @RequestParam(required = false, name = "size") Integer pSize,
+			@Parameter(description = "Cursor of the page, the first page by default.", allowEmptyValue = true) @RequestParam(required = false, name = "after") String pCursor) {
+
+		OrderRestController.LOG.atInfo().log("--> findPageOfOrders - {} {}", pSize, pCursor);
+		var result = this.toPage(this.service.findPage(this.toPosition(pCursor), OrderRestController.toSize(pSize)));
+		OrderRestController.LOG.atInfo().log("<-- findPageOfOrders - Lunch Lady {} has found {}",
+				super.getConnectedUserId(), result);
+		return ResponseEntity.ok(result);
+	}
+
+	/**
+	 * Gets a page of orders for a specific user. <br>
+	 *
+	 * You need to be connected. <br>
+	 * If you are not the lunch lady, you will only be able to find order that you
+	 * have made. <br>
+	 *
+	 * @param pUserId a user id. Cannot be null.
+	 * @param pSize   size of the page. If null will use 20.
+	 * @param pCursor cursor of the page (nextCursor of the previous page). If null
+	 *                will get the first page.
+	 * @return the orders of the page and the cursor of the next one
+	 */
+	@GetMapping("/findallforuser/{userId}/page")
+	@Observed(name = "rest.order.findallforuser.page", contextualName = "rest#order#findallforuser#page")
+	@PreAuthorize("#pUserId == authentication.details.id or hasRole('ROLE_LUNCHLADY')")
+	@Operation(tags = {
+			"Order management API" }, summary = "Finds a page of orders made by a user.", description = "Will find a page of orders made by a specific user, ordered by creation date. Give the cursor of a page for getting the next one. You must be connected, you can retreive all your orders or if you have the Lunch Lady role any orders made by any users.", security = {
+					@SecurityRequirement(name = "bearer-key") })
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200", description = "The page was found and returned in the response body.", content = @Content(schema = @Schema(implementation = OrderPageDtoOut.class))),
+			@ApiResponse(responseCode = "400", description = "The size or the cursor is not valid.", content = @Content(schema = @Schema(implementation = ExceptionDtoOut.class))),
+			@ApiResponse(responseCode = "401", description = "Your are not connected or not allowed to see this order (because you are not a lunch lady or it is not your order).", content = @Content(schema = @Schema(implementation = ExceptionDtoOut.class))) })
+	public ResponseEntity<OrderPageDtoOut> findPageOfOrdersForUser(
+			@Parameter(description = "User's id.", required = true) @PathVariable("userId") Integer pUserId,
+			@Parameter(description = "Size of the page, 20 by default.", allowEmptyValue = true) @RequestParam(required = false, name = "size") Integer pSize,
+			@Parameter(description = "Cursor of the page, the first page by default.", allowEmptyValue = true) @RequestParam(required = false, name = "after") String pCursor) {
+
+		OrderRestController.LOG.atInfo().log("--> findPageOfOrdersForUser - {} {} {}", pUserId, pSize, pCursor);
+		var result = this.toPage(this.service.findPageByUserId(pUserId, this.toPosition(pCursor),
+				OrderRestController.toSize(pSize)));
+		OrderRestController.LOG.atInfo().log("<-- findPageOfOrdersForUser - Has found {}", result);
+		return ResponseEntity.ok(result);
+	}
+
+	/**
+	 * Gets a page of orders for all users with the given parameters. <br>
+	 *
+	 * You need to be connected as a lunch lady. <br>
+	 *
+	 * @param pBeginDate a start date. If null will use 1970
+	 * @param pEndDate   an end date. If null will use now
+	 * @param pStatus    an order status. If null will use CREATED.
+	 * @param pSize      size of the page. If null will use 20.
+	 * @param pCursor    cursor of the page (nextCursor of the previous page). If
+	 *                   null will get the first page.
+	 * @return the orders of the page and the cursor of the next one
+	 */
+	@GetMapping("/findallbetweendateinstatus/page")
+	@Observed(name = "rest.order.findallbetweendateinstatus.page", contextualName = "rest#order#findallbetweendateinstatus#page")
+	@PreAuthorize("hasRole('ROLE_LUNCHLADY')")
+	@Operation(tags = {
+			"Order management API" }, summary = "Finds a page of orders matching criteria.", description = "Will find a page of orders matching criteria, ordered by creation date. Give the cursor of a page for getting the next one. You must be connected and have the Lunch Lady role.", security = {
+					@SecurityRequirement(name = "bearer-key") })
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200", description = "The page was found and returned in the response body.", content = @Content(schema = @Schema(implementation = OrderPageDtoOut.class))),
+			@ApiResponse(responseCode = "400", description = "The size, the cursor or the dates are not valid.", content = @Content(schema = @Schema(implementation = ExceptionDtoOut.class))),
+			@ApiResponse(responseCode = "401", description = "You are not connected or do not have the LunchLady role.", content = @Content(schema = @Schema(implementation = ExceptionDtoOut.class))) })
+	public ResponseEntity<OrderPageDtoOut> findPageOfOrdersBetweenDateInStatus(
+			@Parameter(description = "An order status. CREATED(0), DELIVERED(1), CANCELED(2)", allowEmptyValue = true) @RequestParam(required = false, name = "status") OrderStatus pStatus,
+			@Parameter(description = "A start date. Format is linked with option configuration.date.pattern in application.properties file.", allowEmptyValue = true) @RequestParam(required = false, name = "beginDate") String pBeginDate,
+			@Parameter(description = "An end date. Format is linked with option configuration.date.pattern in application.properties file.", allowEmptyValue = true) @RequestParam(required = false, name = "endDate") String pEndDate,
+			@Parameter(description = "Size of the page, 20 by default.", allowEmptyValue = true) @RequestParam(required = false, name = "size") Integer pSize,
+			@Parameter(description = "Cursor of the page, the first page by default.", allowEmptyValue = true) @RequestParam(required = false, name = "after") String pCursor) {
+
+		OrderRestController.LOG.atInfo().log("--> findPageOfOrdersBetweenDateInStatus - {} {} {} {} {}", pStatus,
+				pBeginDate, pEndDate, pSize, pCursor);
+		var beginDate = super.getDate(pBeginDate);
+		var endDate = super.getDate(pEndDate);
+		var result = this.toPage(this.service.findPageBetweenDateInStatus(beginDate, endDate, pStatus,
+				this.toPosition(pCursor), OrderRestController.toSize(pSize)));
+		OrderRestController.LOG.atInfo().log("<-- findPageOfOrdersBetweenDateInStatus - Lunch lady {} has found {}",
+				super.getConnectedUserId(), result);
+		return ResponseEntity.ok(result);
+	}
+
+	/**
+	 * Streams all orders for all users with the given parameters. <br>
+	 *
+	 * The json array is written while orders are read from the data base, so the
+	 * whole history is never in memory. <br>
+	 *
+	 * You need to be connected as a lunch lady. <br>
+	 *
+	 * @param pBeginDate a start date. If null will use 1970
+	 * @param pEndDate   an end date. If null will use now
+	 * @param pStatus    an order status. If null will use CREATED.
+	 * @param pResponse  the response where orders are written
+	 */
+	@GetMapping(path = "/findallbetweendateinstatus/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+	@Observed(name = "rest.order.findallbetweendateinstatus.stream", contextualName = "rest#order#findallbetweendateinstatus#stream")
+	@PreAuthorize("hasRole('ROLE_LUNCHLADY')")
+	@Operation(tags = {
+			"Order management API" }, summary = "Streams all orders matching criteria.", description = "Will write all orders matching criteria while reading them, ordered by creation date. Use it for exports. You must be connected and have the Lunch Lady role.", security = {
+					@SecurityRequirement(name = "bearer-key") })
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200", description = "All orders are written in the response body.", content = @Content(array = @ArraySchema(schema = @Schema(implementation = OrderDtoOut.class)))),
+			@ApiResponse(responseCode = "400", description = "The dates are not valid.", content = @Content(schema = @Schema(implementation = ExceptionDtoOut.class))),
+			@ApiResponse(responseCode = "401", description = "You are not connected or do not have the LunchLady role.", content = @Content(schema = @Schema(implementation = ExceptionDtoOut.class))) })
+	public void streamAllOrdersBetweenDateInStatus(
+			@Parameter(description = "An order status. CREATED(0), DELIVERED(1), CANCELED(2)", allowEmptyValue = true) @RequestParam(required = false, name = "status") OrderStatus pStatus,
+			@Parameter(description = "A start date. Format is linked with option configuration.date.pattern in application.properties file.", allowEmptyValue = true) @RequestParam(required = false, name = "beginDate") String pBeginDate,
+			@Parameter(description = "An end date. Format is linked with option configuration.date.pattern in application.properties file.", allowEmptyValue = true) @RequestParam(required = false, name = "endDate") String pEndDate,
+			HttpServletResponse pResponse) throws IOException {
+
+		OrderRestController.LOG.atInfo().log("--> streamAllOrdersBetweenDateInStatus - {} {} {}", pStatus, pBeginDate,
+				pEndDate);
+		var beginDate = super.getDate(pBeginDate);
+		var endDate = super.getDate(pEndDate);
+		if (beginDate != null && endDate != null && beginDate.isAfter(endDate)) {
+			// Checked before writing anything, an error can not be sent after
+			throw new ParameterException("Les dates ne sont pas valides", "dates");
+		}
+		pResponse.setContentType(MediaType.APPLICATION_JSON_VALUE);
+		long count;
+		try (var generator = this.mapper.getFactory().createGenerator(pResponse.getOutputStream())) {
+			generator.writeStartArray();
+			count = this.service.streamAllBetweenDateInStatus(beginDate, endDate, pStatus, pOrder -> {
+				try {
+					generator.writeObject(pOrder);
+				} catch (IOException exc) {
+					throw new UncheckedIOException(exc);
+				}
+			});
+			generator.writeEndArray();
+		}
+		OrderRestController.LOG.atInfo().log("<-- streamAllOrdersBetweenDateInStatus - Lunch lady {} has read {} orders",
+				super.getConnectedUserId(), Long.valueOf(count));
+	}
+
+	/**
+	 * Gets the production plan of the kitchen for a day. <br>
+	 *
+	 * You need to be connected as a lunch lady. <br>
+	 *
+	 * Today's plan is read from memory and has an ETag, poll it with
+	 * If-None-Match until it is closed (order time limit reached).
+	 *
+	 * @param pDate a date. If null will use today
+	 * @return the quantities to cook for this day
+	 */
+	@GetMapping("/productionplan")
+	@Observed(name = "rest.order.productionplan", contextualName = "rest#order#productionplan")
+	@PreAuthorize("hasRole('ROLE_LUNCHLADY')")
+	@Operation(tags = {
+			"Order management API" }, summary = "Finds the production plan of a day.", description = "Will give the quantities of each meal (menus included), of each menu and of each meal category ordered for a day, canceled orders excluded. Today's plan changes with each order until the order time limit, it has an ETag. You must be connected and have the Lunch Lady role.", security = {
+					@SecurityRequirement(name = "bearer-key") })
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200", description = "The plan was found and returned in the response body.", content = @Content(schema = @Schema(implementation = ProductionPlanDtoOut.class))),
+			@ApiResponse(responseCode = "304", description = "The plan did not change since the ETag given in the If-None-Match header."),
+			@ApiResponse(responseCode = "401", description = "You are not connected or do not have the LunchLady role.", content = @Content(schema = @Schema(implementation = ExceptionDtoOut.class))) })
+	public ResponseEntity<ProductionPlanDtoOut> findProductionPlan(
+			@Parameter(description = "A date. Format is linked with option configuration.date.pattern in application.properties file.", allowEmptyValue = true) @RequestParam(required = false, name = "date") String pDate) {
+
+		OrderRestController.LOG.atInfo().log("--> findProductionPlan - {}", pDate);
+		var result = this.productionPlan.find(super.getDate(pDate));
+		OrderRestController.LOG.atInfo().log("<-- findProductionPlan - Lunch lady {} has found {} orders for {}",
+				super.getConnectedUserId(), result.value().getOrderCount(), result.value().getDate());
+		if (result.eTag() == null) {
+			return ResponseEntity.ok(result.value());
+		}
+		return ResponseEntity.ok().eTag(result.eTag()).body(result.value());
+	}
+
+	/**
+	 * Gets the position of a page.
+	 *
+	 * @param pCursor a cursor, can be null
+	 * @return the position of the page, null for the first one
+	 * @throws ParameterException if the cursor is not valid
+	 */
+	private ScrollPosition toPosition(String pCursor) {
+		if (pCursor == null || pCursor.isBlank()) {
+			return null;
+		}
+		try {
+			return this.cursorStrategy.fromCursor(pCursor);
+		} catch (RuntimeException exc) {
+			OrderRestController.LOG.atError().log("toPosition - Invalid cursor {}", pCursor, exc);
+			throw new ParameterException("Le curseur n'est pas valide", "after");
+		}
+	}
+
+	/**
+	 * Gets the size of a page.
+	 *
+	 * @param pSize a size, can be null
+	 * @return the size, the default one if pSize is null
+	 */
+	private static int toSize(Integer pSize) {
+		return pSize == null ? OrderRestController.DEFAULT_PAGE_SIZE : pSize.intValue();
+	}
+
+	/**
+	 * Transforms a window of orders into a page.
+	 *
+	 * @param pWindow the window
+	 * @return the page
+	 */
+	private OrderPageDtoOut toPage(Window<OrderDtoOut> pWindow) {
+		String nextCursor = null;
+		if (pWindow.hasNext() && !pWindow.isEmpty()) {
+			nextCursor = this.cursorStrategy.toCursor(pWindow.positionAt(pWindow.size() - 1));
+		}
+		return new OrderPageDtoOut(pWindow.getContent(), nextCursor);
+	}
 }
@@ -6,6 +6,7 @@
 
 package stone.lunchtime.controller.jpa.rest;
 
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.util.List;
 
@@ -24,6 +25,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import io.micrometer.observation.annotation.Observed;
 import io.swagger.v3.oas.annotations.Operation;
@@ -35,12 +37,13 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import stone.lunchtime.dto.in.ImageDtoIn;
 import stone.lunchtime.dto.in.UserDtoIn;
-import stone.lunchtime.dto.jpa.handler.ImageDtoHandler;
 import stone.lunchtime.dto.out.ExceptionDtoOut;
 import stone.lunchtime.dto.out.ImageDtoOut;
 import stone.lunchtime.dto.out.UserDtoOut;
+import stone.lunchtime.entity.ImageSize;
 import stone.lunchtime.entity.jpa.UserEntity;
 import stone.lunchtime.service.IUserService;
 import stone.lunchtime.service.exception.EntityAlreadySavedException;
@@ -49,6 +52,7 @@ import stone.lunchtime.service.exception.InconsistentPasswordException;
 import stone.lunchtime.service.exception.InconsistentRoleException;
 import stone.lunchtime.service.exception.InconsistentStatusException;
 import stone.lunchtime.service.exception.LackOfMoneyException;
+import stone.lunchtime.service.impl.jpa.ImageService;
 
 /**
  * User controller.
@@ -61,15 +65,19 @@ public class UserRestController extends AbstractRestController {
 
 	private final IUserService<UserEntity> service;
 
+	private final ImageService imageService;
+
 	/**
 	 * Constructor.
 	 *
-	 * @param pService the service
+	 * @param pService      the service
+	 * @param pImageService image service
 	 */
 	@Autowired
-	public UserRestController(IUserService<UserEntity> pService) {
+	public UserRestController(IUserService<UserEntity> pService, ImageService pImageService) {
 		super();
 		this.service = pService;
+		this.imageService = pImageService;
 	}
 
 	/**
@@ -460,6 +468,7 @@ public class UserRestController extends AbstractRestController {
 	 * If you are not the lunch lady, you will only be able to find yourself. <br>
 	 *
 	 * @param pUserId id of the user's image you are looking for
+	 * @param pSize   the size of the image, ORIGINAL if none
 	 *
 	 * @return the image found or an error if none
 	 * @throws EntityNotFoundException if an error occurred
@@ -477,15 +486,57 @@ public class UserRestController extends AbstractRestController {
 			@ApiResponse(responseCode = "401", description = "You are not connected or cannot find this user (because you are not a lunch lady or it is not you).", content = @Content(schema = @Schema(implementation = ExceptionDtoOut.class))),
 			@ApiResponse(responseCode = "412", description = "The element to find does not exist or is not findable status.", content = @Content(schema = @Schema(implementation = ExceptionDtoOut.class))) })
 	public ResponseEntity<ImageDtoOut> findUserImage(
-			@Parameter(description = "The user's id", required = true) @PathVariable("userid") Integer pUserId)
+			@Parameter(description = "The user's id", required = true) @PathVariable("userid") Integer pUserId,
+			@Parameter(description = "The size of the image: ORIGINAL (default), THUMBNAIL (at most 64 pixels) or MEDIUM (at most 256 pixels).", required = false) @RequestParam(required = false, name = "size") ImageSize pSize)
 			throws EntityNotFoundException {
 
-		UserRestController.LOG.atInfo().log("--> findUserImage - {}", pUserId);
+		UserRestController.LOG.atInfo().log("--> findUserImage - {} in {}", pUserId, pSize);
 		var result = this.service.findEntity(pUserId);
-		var dtoOut = ImageDtoHandler.dtoOutfromEntity(result.getImage());
+		var dtoOut = this.imageService.toDtoOut(result.getImage(), pSize);
 		UserRestController.LOG.atInfo().log("<-- findUserImage - User's image {} found by user {}", dtoOut.getId(),
 				this.getConnectedUserId());
 		return ResponseEntity.ok(dtoOut);
 	}
 
+	/**
+	 * Finds an element's image, as an image (not in base 64). <br>
+	 *
+	 * If you are not the lunch lady, you will only be able to find yourself. <br>
+	 *
+	 * The response has an ETag and a Cache-Control header, the browser can keep
+	 * the image and will get 304 (Not Modified) if it did not change. <br>
+	 *
+	 * @param pUserId   id of the user's image you are looking for
+	 * @param pSize     the size of the image, ORIGINAL if none
+	 * @param pRequest  the request
+	 * @param pResponse the response
+	 * @throws EntityNotFoundException if an error occurred
+	 * @throws IOException             if the image could not be written
+	 */
+	@GetMapping("/findimg/{userid}/raw")
+	@Observed(name = "rest.user.findimg.raw", contextualName = "rest#user#findimg#raw")
+	@PreAuthorize("#pUserId == authentication.details.id or hasRole('ROLE_LUNCHLADY')")
+	@Operation(tags = {
+			"User management API" }, summary = "Finds an elements's image, as an image.", description = "Will find an element's image already present in the data base. Will return it as an image (png, jpeg, ...) with an ETag and a Cache-Control header. You must be connected in order to find your image, or have the lunch lady role in order to find someone's image.", security = {
+					@SecurityRequirement(name = "bearer-key") })
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200", description = "The image was found and returned in the response body."),
+			@ApiResponse(responseCode = "304", description = "The image did not change since the ETag given in the If-None-Match header."),
+			@ApiResponse(responseCode = "400", description = "Your id is not valid.", content = @Content(schema = @Schema(implementation = ExceptionDtoOut.class))),
+			@ApiResponse(responseCode = "401", description = "You are not connected or cannot find this user (because you are not a lunch lady or it is not you).", content = @Content(schema = @Schema(implementation = ExceptionDtoOut.class))),
+			@ApiResponse(responseCode = "412", description = "The element to find does not exist, is not findable status or has no image.", content = @Content(schema = @Schema(implementation = ExceptionDtoOut.class))) })
+	public void findUserImageRaw(
+			@Parameter(description = "The user's id", required = true) @PathVariable("userid") Integer pUserId,
+			@Parameter(description = "The size of the image: ORIGINAL (default), THUMBNAIL (at most 64 pixels) or MEDIUM (at most 256 pixels).", required = false) @RequestParam(required = false, name = "size") ImageSize pSize,
+			ServletWebRequest pRequest, HttpServletResponse pResponse) throws EntityNotFoundException, IOException {
+		UserRestController.LOG.atInfo().log("--> findUserImageRaw - {} in {}", pUserId, pSize);
+		var image = this.service.findEntity(pUserId).getImage();
+		if (image == null) {
+			throw new EntityNotFoundException("L'element n'a pas d'image", pUserId);
+		}
+		var content = this.imageService.findContent(image.getId(), pSize);
+		UserRestController.LOG.atInfo().log("<-- findUserImageRaw - User's image {} found by user {}", image.getId(),
+				this.getConnectedUserId());
+		super.writeImage(content, false, pRequest, pResponse);
+	}
 }
@@ -6,10 +6,15 @@
 
 package stone.lunchtime.dao.jpa;
 
+import java.util.List;
+
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
 import stone.lunchtime.entity.jpa.ConstraintEntity;
 
 /**
@@ -26,4 +31,16 @@ public interface IConstraintDao extends IJpaDao<ConstraintEntity> {
 	@Modifying
 	@Query(nativeQuery = true, value = "ALTER TABLE ltconstraint AUTO_INCREMENT = 1")
 	void resetMySQLSequence();
+
+	/**
+	 * Finds all constraints. <br>
+	 *
+	 * The result is kept in the second level cache.
+	 *
+	 * @return all constraints
+	 */
+	@Override
+	@QueryHints({ @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+			@QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = IJpaDao.CATALOG_QUERY_REGION) })
+	List<ConstraintEntity> findAll();
 }
@@ -6,12 +6,17 @@
 
 package stone.lunchtime.dao.jpa;
 
+import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
 import stone.lunchtime.entity.jpa.ImageEntity;
 
 /**
@@ -35,5 +40,24 @@ public interface IImageDao extends IJpaDao<ImageEntity> {
 	 * @param pPath a path to find
 	 * @return the image found or none.
 	 */
+	@QueryHints({ @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+			@QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = IJpaDao.CATALOG_QUERY_REGION) })
 	Optional<ImageEntity> findOneByImagePath(String pPath);
+
+	/**
+	 * Counts the images stored on disk with this hash.
+	 *
+	 * @param pContentHash a hash (SHA-256)
+	 * @return the number of images using this hash
+	 */
+	long countByContentHash(String pContentHash);
+
+	/**
+	 * Searches images still kept in base 64 in the data base.
+	 *
+	 * @param pId    only images with a bigger id are returned
+	 * @param pLimit maximum number of images returned
+	 * @return the images found, ordered by id
+	 */
+	List<ImageEntity> findByIdGreaterThanAndContentHashIsNullAndImage64IsNotNullOrderByIdAsc(Integer pId, Limit pLimit);
 }
@@ -0,0 +1,58 @@
+// -#--------------------------------------
+// -# ©Copyright Ferret Renaud 2019 -
+// -# Email: admin@ferretrenaud.fr -
+// -# All Rights Reserved. -
+// -#--------------------------------------
+
+package stone.lunchtime.dao.jpa;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import stone.lunchtime.entity.ImageSize;
+import stone.lunchtime.entity.jpa.ImageVariantEntity;
+
+/**
+ * Repository for image variants (thumbnail, medium).
+ */
+@Repository
+public interface IImageVariantDao extends IJpaDao<ImageVariantEntity> {
+	/**
+	 * Resets all sequences for MySQL. <br>
+	 *
+	 * Used for testing only.
+	 */
+	@Override
+	@Modifying
+	@Query(nativeQuery = true, value = "ALTER TABLE ltimage_variant AUTO_INCREMENT = 1")
+	void resetMySQLSequence();
+
+	/**
+	 * Searches the variant of an image.
+	 *
+	 * @param pImageId an image id
+	 * @param pSize    a size
+	 * @return the variant found or none.
+	 */
+	Optional<ImageVariantEntity> findOneByImageIdAndSize(Integer pImageId, ImageSize pSize);
+
+	/**
+	 * Searches all the variants of an image.
+	 *
+	 * @param pImageId an image id
+	 * @return the variants found
+	 */
+	List<ImageVariantEntity> findByImageId(Integer pImageId);
+
+	/**
+	 * Counts the variants stored on disk with this hash.
+	 *
+	 * @param pContentHash a hash (SHA-256)
+	 * @return the number of variants using this hash
+	 */
+	long countByContentHash(String pContentHash);
+}
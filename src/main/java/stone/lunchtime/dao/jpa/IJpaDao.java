@@ -19,6 +19,8 @@ import stone.lunchtime.entity.jpa.AbstractJpaEntity;
  */
 @NoRepositoryBean
 public interface IJpaDao<T extends AbstractJpaEntity> extends JpaRepository<T, Integer> {
+	/** Second level cache region used by the queries on the catalog. */
+	String CATALOG_QUERY_REGION = "catalog.query";
 
 	/**
 	 * Resets all sequences for MySQL. <br>
@@ -6,14 +6,18 @@
 
 package stone.lunchtime.dao.jpa;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
 import stone.lunchtime.entity.MealCategory;
 import stone.lunchtime.entity.jpa.MealEntity;
 
@@ -38,8 +42,10 @@ public interface IMealDao extends ILabeledDao<MealEntity> {
 	 * @param pWeek a week id [1,53]
 	 * @return all meal found in an Optional object.
 	 */
-	@Query("FROM #{#entityName} where status=#{T(stone.lunchtime.entity.EntityStatus).ENABLED.value} AND (availableForWeeksAndDays IS NULL OR availableForWeeksAndDays LIKE CONCAT('%{\"week\":',:week,'}%'))")
-	Optional<List<MealEntity>> findAllAvailableForWeek(@Param("week") String pWeek);
+	@QueryHints({ @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+			@QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = IJpaDao.CATALOG_QUERY_REGION) })
+	@Query("FROM #{#entityName} where status=#{T(stone.lunchtime.entity.EntityStatus).ENABLED.value} AND (availableForWeeksAndDays IS NULL OR id IN (SELECT e.id FROM #{#entityName} e JOIN e.availabilities a WHERE a.week=:week AND a.day=#{T(stone.lunchtime.entity.jpa.AvailabilityEmbeddable).ALL_WEEK}))")
+	Optional<List<MealEntity>> findAllAvailableForWeek(@Param("week") Integer pWeek);
 
 	/**
 	 * Finds all meal, created, and in the given week with the specified category.
@@ -48,8 +54,10 @@ public interface IMealDao extends ILabeledDao<MealEntity> {
 	 * @param pCategory a category
 	 * @return all meal found in an Optional object.
 	 */
-	@Query("FROM #{#entityName} where status=#{T(stone.lunchtime.entity.EntityStatus).ENABLED.value} AND category=:category AND (availableForWeeksAndDays IS NULL OR availableForWeeksAndDays LIKE CONCAT('%{\"week\":',:week,'}%'))")
-	Optional<List<MealEntity>> findAllAvailableForWeekAndCategory(@Param("week") String pWeek,
+	@QueryHints({ @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+			@QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = IJpaDao.CATALOG_QUERY_REGION) })
+	@Query("FROM #{#entityName} where status=#{T(stone.lunchtime.entity.EntityStatus).ENABLED.value} AND category=:category AND (availableForWeeksAndDays IS NULL OR id IN (SELECT e.id FROM #{#entityName} e JOIN e.availabilities a WHERE a.week=:week AND a.day=#{T(stone.lunchtime.entity.jpa.AvailabilityEmbeddable).ALL_WEEK}))")
+	Optional<List<MealEntity>> findAllAvailableForWeekAndCategory(@Param("week") Integer pWeek,
 			@Param("category") MealCategory pCategory);
 
 	/**
@@ -59,8 +67,10 @@ public interface IMealDao extends ILabeledDao<MealEntity> {
 	 * @param pDay  a day id [1,7]
 	 * @return all meal found in an Option object.
 	 */
-	@Query("FROM #{#entityName} where status=#{T(stone.lunchtime.entity.EntityStatus).ENABLED.value} AND (availableForWeeksAndDays IS NULL OR availableForWeeksAndDays LIKE CONCAT('%{\"week\":',:week, CONCAT(',\"day\":',:day,'}%')) OR availableForWeeksAndDays LIKE CONCAT('%{\"week\":',:week,'}%'))")
-	Optional<List<MealEntity>> findAllAvailableForWeekAndDay(@Param("week") String pWeek, @Param("day") String pDay);
+	@QueryHints({ @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+			@QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = IJpaDao.CATALOG_QUERY_REGION) })
+	@Query("FROM #{#entityName} where status=#{T(stone.lunchtime.entity.EntityStatus).ENABLED.value} AND (availableForWeeksAndDays IS NULL OR id IN (SELECT e.id FROM #{#entityName} e JOIN e.availabilities a WHERE a.week=:week AND a.day IN (:day, #{T(stone.lunchtime.entity.jpa.AvailabilityEmbeddable).ALL_WEEK})))")
+	Optional<List<MealEntity>> findAllAvailableForWeekAndDay(@Param("week") Integer pWeek, @Param("day") Integer pDay);
 
 	/**
 	 * Finds all meal, created, and in the given week AND day with the specified
@@ -70,8 +80,20 @@ public interface IMealDao extends ILabeledDao<MealEntity> {
 	 * @param pDay  a day id [1,7]
 	 * @return all meal found in an Option object.
 	 */
-	@Query("FROM #{#entityName} where status=#{T(stone.lunchtime.entity.EntityStatus).ENABLED.value} AND category=:category AND (availableForWeeksAndDays IS NULL OR availableForWeeksAndDays LIKE CONCAT('%{\"week\":',:week, CONCAT(',\"day\":',:day,'}%')) OR availableForWeeksAndDays LIKE CONCAT('%{\"week\":',:week,'}%'))")
-	Optional<List<MealEntity>> findAllAvailableForWeekAndDayAndCategory(@Param("week") String pWeek,
-			@Param("day") String pDay, @Param("category") MealCategory pCategory);
+	@QueryHints({ @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+			@QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = IJpaDao.CATALOG_QUERY_REGION) })
+	@Query("FROM #{#entityName} where status=#{T(stone.lunchtime.entity.EntityStatus).ENABLED.value} AND category=:category AND (availableForWeeksAndDays IS NULL OR id IN (SELECT e.id FROM #{#entityName} e JOIN e.availabilities a WHERE a.week=:week AND a.day IN (:day, #{T(stone.lunchtime.entity.jpa.AvailabilityEmbeddable).ALL_WEEK})))")
+	Optional<List<MealEntity>> findAllAvailableForWeekAndDayAndCategory(@Param("week") Integer pWeek,
+			@Param("day") Integer pDay, @Param("category") MealCategory pCategory);
+
+	/**
+	 * Loads the ingredients of the given meals, with one statement whatever the
+	 * number of meals.
+	 *
+	 * @param pMeals meals already loaded
+	 * @return the same meals, with their ingredients
+	 */
+	@Query("SELECT DISTINCT m FROM #{#entityName} m LEFT JOIN FETCH m.ingredients WHERE m IN :meals")
+	List<MealEntity> fetchIngredients(@Param("meals") Collection<MealEntity> pMeals);
 
 }
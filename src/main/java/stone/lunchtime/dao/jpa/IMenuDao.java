@@ -6,14 +6,18 @@
 
 package stone.lunchtime.dao.jpa;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
 import stone.lunchtime.entity.jpa.MenuEntity;
 
 /**
@@ -37,8 +41,10 @@ public interface IMenuDao extends ILabeledDao<MenuEntity> {
 	 * @param pWeek a week id [1,53]
 	 * @return all menu found in an Option object.
 	 */
-	@Query("FROM #{#entityName} where status=#{T(stone.lunchtime.entity.EntityStatus).ENABLED.value} AND (availableForWeeksAndDays IS NULL OR availableForWeeksAndDays LIKE CONCAT('%{\"week\":',:week,'}%'))")
-	Optional<List<MenuEntity>> findAllAvailableForWeek(@Param("week") String pWeek);
+	@QueryHints({ @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+			@QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = IJpaDao.CATALOG_QUERY_REGION) })
+	@Query("FROM #{#entityName} where status=#{T(stone.lunchtime.entity.EntityStatus).ENABLED.value} AND (availableForWeeksAndDays IS NULL OR id IN (SELECT e.id FROM #{#entityName} e JOIN e.availabilities a WHERE a.week=:week AND a.day=#{T(stone.lunchtime.entity.jpa.AvailabilityEmbeddable).ALL_WEEK}))")
+	Optional<List<MenuEntity>> findAllAvailableForWeek(@Param("week") Integer pWeek);
 
 	/**
 	 * Finds all menu, created, and in the given week AND day.
@@ -47,6 +53,18 @@ public interface IMenuDao extends ILabeledDao<MenuEntity> {
 	 * @param pDay  a day id [1,7]
 	 * @return all menu found in an Option object.
 	 */
-	@Query("FROM #{#entityName} where status=#{T(stone.lunchtime.entity.EntityStatus).ENABLED.value} AND (availableForWeeksAndDays IS NULL OR availableForWeeksAndDays LIKE CONCAT('%{\"week\":',:week, CONCAT(',\"day\":',:day,'}%')) OR availableForWeeksAndDays LIKE CONCAT('%{\"week\":',:week,'}%'))")
-	Optional<List<MenuEntity>> findAllAvailableForWeekAndDay(@Param("week") String pWeek, @Param("day") String pDay);
+	@QueryHints({ @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+			@QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = IJpaDao.CATALOG_QUERY_REGION) })
+	@Query("FROM #{#entityName} where status=#{T(stone.lunchtime.entity.EntityStatus).ENABLED.value} AND (availableForWeeksAndDays IS NULL OR id IN (SELECT e.id FROM #{#entityName} e JOIN e.availabilities a WHERE a.week=:week AND a.day IN (:day, #{T(stone.lunchtime.entity.jpa.AvailabilityEmbeddable).ALL_WEEK})))")
+	Optional<List<MenuEntity>> findAllAvailableForWeekAndDay(@Param("week") Integer pWeek, @Param("day") Integer pDay);
+
+	/**
+	 * Loads the meals of the given menus, with one statement whatever the number
+	 * of menus.
+	 *
+	 * @param pMenus menus already loaded
+	 * @return the same menus, with their meals
+	 */
+	@Query("SELECT DISTINCT m FROM #{#entityName} m LEFT JOIN FETCH m.meals WHERE m IN :menus")
+	List<MenuEntity> fetchMeals(@Param("menus") Collection<MenuEntity> pMenus);
 }
@@ -9,16 +9,35 @@ package stone.lunchtime.dao.jpa;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
 import stone.lunchtime.entity.OrderStatus;
 import stone.lunchtime.entity.jpa.OrderEntity;
 
 /**
- * Repository for order.
+ * Repository for order. <br>
+ *
+ * All finders fetch the order with its user and its quantities (see
+ * {@link OrderEntity#GRAPH_FULL}), so listing orders does not make one query
+ * per order. <br>
+ *
+ * Paginated (keyset) and streamed finders only fetch the user, quantities are
+ * then loaded by batch. Fetching a collection would make Hibernate paginate in
+ * memory. <br>
+ *
+ * readBy finders fetch nothing but the order, for callers (GraphQL) that load
+ * the relations only when they are asked.
  */
 @Repository
 public interface IOrderDao extends IJpaDao<OrderEntity> {
@@ -29,17 +48,44 @@ public interface IOrderDao extends IJpaDao<OrderEntity> {
 	 */
 	@Override
 	@Modifying
-	@Query(nativeQuery = true, value = "ALTER TABLE ltorder AUTO_INCREMENT=1")
+	@Query(nativeQuery = true, value = "UPDATE ltorder_seq SET next_val = 1")
 	void resetMySQLSequence();
 
+	/**
+	 * Finds an order with its id.
+	 *
+	 * @param pId an order id
+	 * @return the order found if any
+	 */
+	@Override
+	@EntityGraph(OrderEntity.GRAPH_FULL)
+	Optional<OrderEntity> findById(Integer pId);
+
+	/**
+	 * Finds an order with its id, without its user and its quantities.
+	 *
+	 * @param pId an order id
+	 * @return the order found if any
+	 */
+	Optional<OrderEntity> readById(Integer pId);
+
 	/**
 	 * Selects all orders made by the given user.
 	 *
 	 * @param pUserId a user id
 	 * @return all orders found for this user (all status) ordered by creation date
 	 */
+	@EntityGraph(OrderEntity.GRAPH_FULL)
 	Optional<List<OrderEntity>> findByUserIdOrderByCreationDateAsc(Integer pUserId);
 
+	/**
+	 * Selects all orders made by the given user, without their relations.
+	 *
+	 * @param pUserId a user id
+	 * @return all orders found for this user (all status) ordered by creation date
+	 */
+	Optional<List<OrderEntity>> readByUserIdOrderByCreationDateAsc(Integer pUserId);
+
 	/**
 	 * Selects all orders made between two dates and having the given status.
 	 *
@@ -48,9 +94,22 @@ public interface IOrderDao extends IJpaDao<OrderEntity> {
 	 * @param pStatus    a status.
 	 * @return all orders found ordered by creation date.
 	 */
+	@EntityGraph(OrderEntity.GRAPH_FULL)
 	Optional<List<OrderEntity>> findByCreationDateBetweenAndStatusOrderByCreationDateAsc(LocalDate pBeginDate,
 			LocalDate pEndDate, OrderStatus pStatus);
 
+	/**
+	 * Selects all orders made between two dates and having the given status,
+	 * without their relations.
+	 *
+	 * @param pBeginDate a start date.
+	 * @param pEndDate   an end date.
+	 * @param pStatus    a status.
+	 * @return all orders found ordered by creation date.
+	 */
+	Optional<List<OrderEntity>> readByCreationDateBetweenAndStatusOrderByCreationDateAsc(LocalDate pBeginDate,
+			LocalDate pEndDate, OrderStatus pStatus);
+
 	/**
 	 * Selects all orders made by a given user between two dates whatever status.
 	 *
@@ -59,9 +118,22 @@ public interface IOrderDao extends IJpaDao<OrderEntity> {
 	 * @param pEndDate   an end date.
 	 * @return all orders found ordered by creation date.
 	 */
+	@EntityGraph(OrderEntity.GRAPH_FULL)
 	Optional<List<OrderEntity>> findByCreationDateBetweenAndUserIdOrderByCreationDateAsc(LocalDate pBeginDate,
 			LocalDate pEndDate, Integer pUserId);
 
+	/**
+	 * Selects all orders made by a given user between two dates whatever status,
+	 * without their relations.
+	 *
+	 * @param pUserId    a user id
+	 * @param pBeginDate a start date.
+	 * @param pEndDate   an end date.
+	 * @return all orders found ordered by creation date.
+	 */
+	Optional<List<OrderEntity>> readByCreationDateBetweenAndUserIdOrderByCreationDateAsc(LocalDate pBeginDate,
+			LocalDate pEndDate, Integer pUserId);
+
 	/**
 	 * Selects all orders made by a given user between two dates and respecting the
 	 * given status.
@@ -72,9 +144,23 @@ public interface IOrderDao extends IJpaDao<OrderEntity> {
 	 * @param pStatus    a status.
 	 * @return all orders found ordered by creation
 	 */
+	@EntityGraph(OrderEntity.GRAPH_FULL)
 	Optional<List<OrderEntity>> findByCreationDateBetweenAndUserIdAndStatusOrderByCreationDateAsc(LocalDate pBeginDate,
 			LocalDate pEndDate, Integer pUserId, OrderStatus pStatus);
 
+	/**
+	 * Selects all orders made by a given user between two dates and respecting the
+	 * given status, without their relations.
+	 *
+	 * @param pUserId    a user id
+	 * @param pBeginDate a start date.
+	 * @param pEndDate   an end date.
+	 * @param pStatus    a status.
+	 * @return all orders found ordered by creation
+	 */
+	Optional<List<OrderEntity>> readByCreationDateBetweenAndUserIdAndStatusOrderByCreationDateAsc(LocalDate pBeginDate,
+			LocalDate pEndDate, Integer pUserId, OrderStatus pStatus);
+
 	/**
 	 * Selects all orders made by a given user with the given status.
 	 *
@@ -82,5 +168,92 @@ public interface IOrderDao extends IJpaDao<OrderEntity> {
 	 * @param pStatus a status.
 	 * @return all orders found ordered by creation date.
 	 */
+	@EntityGraph(OrderEntity.GRAPH_FULL)
 	Optional<List<OrderEntity>> findByUserIdAndStatusOrderByCreationDateAsc(Integer pUserId, OrderStatus pStatus);
+
+	/**
+	 * Selects all orders made by a given user with the given status, without their
+	 * relations.
+	 *
+	 * @param pUserId a user id
+	 * @param pStatus a status.
+	 * @return all orders found ordered by creation date.
+	 */
+	Optional<List<OrderEntity>> readByUserIdAndStatusOrderByCreationDateAsc(Integer pUserId, OrderStatus pStatus);
+
+	/**
+	 * Counts the orders made at the given date that do not have the given status.
+	 *
+	 * @param pDate   a date
+	 * @param pStatus a status
+	 * @return the number of orders found
+	 */
+	long countByCreationDateAndStatusNot(LocalDate pDate, OrderStatus pStatus);
+
+	/**
+	 * Selects the orders made at the given date that do not have the given
+	 * status, with their meals and menus. The meals of the menus are loaded by
+	 * batch.
+	 *
+	 * @param pDate   a date
+	 * @param pStatus a status
+	 * @return the orders found
+	 */
+	@EntityGraph(attributePaths = { "quantityEntities", "quantityEntities.meal", "quantityEntities.menu" })
+	List<OrderEntity> findByCreationDateAndStatusNot(LocalDate pDate, OrderStatus pStatus);
+
+	/**
+	 * Selects a page of orders, whatever status.
+	 *
+	 * @param pPosition position of the page, after the last order of the previous
+	 *                  page
+	 * @param pLimit    maximum number of orders in the page
+	 * @return the orders found ordered by creation date and id
+	 */
+	@EntityGraph(attributePaths = "user")
+	Window<OrderEntity> findByOrderByCreationDateAscIdAsc(ScrollPosition pPosition, Limit pLimit);
+
+	/**
+	 * Selects a page of orders made by the given user, whatever status.
+	 *
+	 * @param pUserId   a user id
+	 * @param pPosition position of the page, after the last order of the previous
+	 *                  page
+	 * @param pLimit    maximum number of orders in the page
+	 * @return the orders found ordered by creation date and id
+	 */
+	@EntityGraph(attributePaths = "user")
+	Window<OrderEntity> findByUserIdOrderByCreationDateAscIdAsc(Integer pUserId, ScrollPosition pPosition,
+			Limit pLimit);
+
+	/**
+	 * Selects a page of orders made between two dates and having the given status.
+	 *
+	 * @param pBeginDate a start date.
+	 * @param pEndDate   an end date.
+	 * @param pStatus    a status.
+	 * @param pPosition  position of the page, after the last order of the previous
+	 *                   page
+	 * @param pLimit     maximum number of orders in the page
+	 * @return the orders found ordered by creation date and id
+	 */
+	@EntityGraph(attributePaths = "user")
+	Window<OrderEntity> findByCreationDateBetweenAndStatusOrderByCreationDateAscIdAsc(LocalDate pBeginDate,
+			LocalDate pEndDate, OrderStatus pStatus, ScrollPosition pPosition, Limit pLimit);
+
+	/**
+	 * Streams all orders made between two dates and having the given status. <br>
+	 *
+	 * Rows are read from the data base by blocks of 100. The stream must be closed
+	 * and consumed inside a transaction.
+	 *
+	 * @param pBeginDate a start date.
+	 * @param pEndDate   an end date.
+	 * @param pStatus    a status.
+	 * @return the orders found ordered by creation date and id
+	 */
+	@EntityGraph(attributePaths = "user")
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"))
+	Stream<OrderEntity> streamByCreationDateBetweenAndStatusOrderByCreationDateAscIdAsc(LocalDate pBeginDate,
+			LocalDate pEndDate, OrderStatus pStatus);
 }
@@ -24,6 +24,6 @@ public interface IQuantityDao extends IJpaDao<QuantityEntity> {
 	 */
 	@Override
 	@Modifying
-	@Query(nativeQuery = true, value = "ALTER TABLE ltquantity AUTO_INCREMENT = 1")
+	@Query(nativeQuery = true, value = "UPDATE ltquantity_seq SET next_val = 1")
 	void resetMySQLSequence();
 }
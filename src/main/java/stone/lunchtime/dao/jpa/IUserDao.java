@@ -6,10 +6,13 @@
 
 package stone.lunchtime.dao.jpa;
 
+import java.math.BigDecimal;
 import java.util.Optional;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import stone.lunchtime.entity.jpa.UserEntity;
@@ -33,6 +36,35 @@ public interface IUserDao extends IJpaDao<UserEntity> {
 	 * @param pEmail an email
 	 * @return the user found if any
 	 */
+	@EntityGraph(attributePaths = "roles")
 	Optional<UserEntity> findOneByEmail(String pEmail);
 
+	/**
+	 * Removes money from a user's wallet, only if the wallet has enough money. <br>
+	 *
+	 * This is done with a single conditional update, so concurrent debits on the
+	 * same wallet never lose an update nor make the wallet negative.
+	 *
+	 * @param pId     a user id
+	 * @param pAmount an amount of money (&gt; 0)
+	 * @return 1 if the wallet was debited, 0 if the user does not exist or has not
+	 *         enough money
+	 */
+	@Modifying(flushAutomatically = true)
+	@Query("UPDATE UserEntity u SET u.wallet = COALESCE(u.wallet, 0) - :amount WHERE u.id = :id AND COALESCE(u.wallet, 0) >= :amount")
+	int debitWallet(@Param("id") Integer pId, @Param("amount") BigDecimal pAmount);
+
+	/**
+	 * Adds money to a user's wallet. <br>
+	 *
+	 * This is done with a single update, so concurrent credits on the same wallet
+	 * never lose an update.
+	 *
+	 * @param pId     a user id
+	 * @param pAmount an amount of money (&gt; 0)
+	 * @return 1 if the wallet was credited, 0 if the user does not exist
+	 */
+	@Modifying(flushAutomatically = true)
+	@Query("UPDATE UserEntity u SET u.wallet = COALESCE(u.wallet, 0) + :amount WHERE u.id = :id")
+	int creditWallet(@Param("id") Integer pId, @Param("amount") BigDecimal pAmount);
 }
@@ -57,6 +57,25 @@ public interface MealDtoHandler {
 	 * @return the DTO
 	 */
 	public static MealDtoOut dtoOutfromEntity(MealEntity pEntity, ObjectMapper mapper) {
+		var result = MealDtoHandler.dtoOutfromEntityWithoutRelations(pEntity, mapper);
+		var ingredientsEntity = pEntity.getIngredients();
+		if (ingredientsEntity != null && !ingredientsEntity.isEmpty()) {
+			result.setIngredients(IngredientDtoHandler.dtosOutfromEntities(ingredientsEntity));
+		}
+		return result;
+	}
+
+	/**
+	 * Transforms an Entity into a DTO without its ingredients. <br>
+	 *
+	 * Ingredients are null, they are not loaded. Used by GraphQL that resolves
+	 * them only when they are asked.
+	 *
+	 * @param pEntity the entity
+	 * @param mapper  json object mapper
+	 * @return the DTO
+	 */
+	public static MealDtoOut dtoOutfromEntityWithoutRelations(MealEntity pEntity, ObjectMapper mapper) {
 		var result = new MealDtoOut(pEntity.getId());
 		result.setDescription(pEntity.getDescription());
 		result.setLabel(pEntity.getLabel());
@@ -77,10 +96,6 @@ public interface MealDtoHandler {
 		} else {
 			result.setCategory(MealCategory.UNKNOWN);
 		}
-		var ingredientsEntity = pEntity.getIngredients();
-		if (ingredientsEntity != null && !ingredientsEntity.isEmpty()) {
-			result.setIngredients(IngredientDtoHandler.dtosOutfromEntities(ingredientsEntity));
-		}
 		return result;
 	}
 
@@ -52,6 +52,25 @@ public interface MenuDtoHandler {
 	 * @return the DTO
 	 */
 	public static MenuDtoOut dtoOutfromEntity(MenuEntity pEntity, ObjectMapper mapper) {
+		var result = MenuDtoHandler.dtoOutfromEntityWithoutRelations(pEntity, mapper);
+		var lMeals = pEntity.getMeals();
+		if (lMeals != null && !lMeals.isEmpty()) {
+			result.setMeals(MealDtoHandler.dtosOutfromEntities(lMeals, mapper));
+		}
+		return result;
+	}
+
+	/**
+	 * Transforms an Entity into a DTO without its meals. <br>
+	 *
+	 * Meals are null, they are not loaded. Used by GraphQL that resolves them only
+	 * when they are asked.
+	 *
+	 * @param pEntity the entity
+	 * @param mapper  json object mapper
+	 * @return the DTO
+	 */
+	public static MenuDtoOut dtoOutfromEntityWithoutRelations(MenuEntity pEntity, ObjectMapper mapper) {
 		var result = new MenuDtoOut(pEntity.getId());
 		result.setDescription(pEntity.getDescription());
 		result.setLabel(pEntity.getLabel());
@@ -67,11 +86,6 @@ public interface MenuDtoHandler {
 			MenuDtoHandler.LOG.atError().log("Error with weeks and day format", exc);
 			result.setAvailableForWeeksAndDays(null);
 		}
-
-		var lMeals = pEntity.getMeals();
-		if (lMeals != null && !lMeals.isEmpty()) {
-			result.setMeals(MealDtoHandler.dtosOutfromEntities(lMeals, mapper));
-		}
 		return result;
 	}
 
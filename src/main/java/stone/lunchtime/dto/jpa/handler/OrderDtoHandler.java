@@ -12,6 +12,7 @@ import stone.lunchtime.dto.in.OrderDtoIn;
 import stone.lunchtime.dto.in.QuantityDtoIn;
 import stone.lunchtime.dto.out.OrderDtoOut;
 import stone.lunchtime.dto.out.QuantityDtoOut;
+import stone.lunchtime.dto.out.UserDtoOut;
 import stone.lunchtime.entity.OrderStatus;
 import stone.lunchtime.entity.jpa.OrderEntity;
 
@@ -41,12 +42,9 @@ public interface OrderDtoHandler {
 	 * @return the DTO
 	 */
 	public static OrderDtoOut dtoOutfromEntity(OrderEntity pEntity, ObjectMapper mapper) {
-		var result = new OrderDtoOut(pEntity.getId());
-		result.setCreationDate(pEntity.getCreationDate());
-		result.setCreationTime(pEntity.getCreationTime());
-		result.setStatus(pEntity.getStatus());
-
+		var result = OrderDtoHandler.dtoOutfromEntityWithoutRelations(pEntity);
 		result.setUser(UserDtoHandler.dtoOutfromEntity(pEntity.getUser()));
+		result.setQuantity(new ArrayList<>());
 		var chp = pEntity.getQuantityEntities();
 		if (chp != null && !chp.isEmpty()) {
 			List<QuantityDtoOut> quantity = new ArrayList<>();
@@ -56,6 +54,26 @@ public interface OrderDtoHandler {
 		return result;
 	}
 
+	/**
+	 * Transforms an Entity into a DTO without its relations. <br>
+	 *
+	 * The user only has its id and the quantities are null, they are not loaded.
+	 * Used by GraphQL that resolves them only when they are asked.
+	 *
+	 * @param pEntity the entity
+	 * @return the DTO
+	 */
+	public static OrderDtoOut dtoOutfromEntityWithoutRelations(OrderEntity pEntity) {
+		var result = new OrderDtoOut(pEntity.getId());
+		result.setCreationDate(pEntity.getCreationDate());
+		result.setCreationTime(pEntity.getCreationTime());
+		result.setStatus(pEntity.getStatus());
+		// Id of a lazy user is known without loading it
+		result.setUser(new UserDtoOut(pEntity.getUser().getId()));
+		result.setQuantity(null);
+		return result;
+	}
+
 	/**
 	 * Transforms some Entities into DTOs
 	 *
@@ -7,6 +7,8 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 
 
 import stone.lunchtime.dto.in.QuantityDtoIn;
+import stone.lunchtime.dto.out.MealDtoOut;
+import stone.lunchtime.dto.out.MenuDtoOut;
 import stone.lunchtime.dto.out.QuantityDtoOut;
 import stone.lunchtime.entity.jpa.QuantityEntity;
 
@@ -45,6 +47,27 @@ public interface QuantityDtoHandler {
 		return result;
 	}
 
+	/**
+	 * Transforms an Entity into a DTO without its relations. <br>
+	 *
+	 * The meal and the menu only have their id, they are not loaded. Used by
+	 * GraphQL that resolves them only when they are asked.
+	 *
+	 * @param pEntity the entity
+	 * @return the DTO
+	 */
+	public static QuantityDtoOut dtoOutfromEntityWithoutRelations(QuantityEntity pEntity) {
+		var result = new QuantityDtoOut(pEntity.getId());
+		result.setQuantity(pEntity.getQuantity());
+		if (pEntity.getMeal() != null) {
+			result.setMeal(new MealDtoOut(pEntity.getMeal().getId()));
+		}
+		if (pEntity.getMenu() != null) {
+			result.setMenu(new MenuDtoOut(pEntity.getMenu().getId()));
+		}
+		return result;
+	}
+
 	/**
 	 * Transforms some Entities into DTOs
 	 *
@@ -0,0 +1,122 @@
+// -#--------------------------------------
+// -# ©Copyright Ferret Renaud 2019 -
+// -# Email: admin@ferretrenaud.fr -
+// -# All Rights Reserved. -
+// -#--------------------------------------
+
+package stone.lunchtime.dto.out;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * The dto class for a page of orders.
+ */
+@JsonInclude(Include.NON_NULL)
+@Schema(description = "Represents a page of orders. Use the cursor for getting the next page.")
+public class OrderPageDtoOut implements Serializable {
+	@Serial
+	private static final long serialVersionUID = 1L;
+
+	@Schema(description = "The orders of this page, ordered by creation date.")
+	private List<OrderDtoOut> orders;
+	@Schema(description = "Cursor to give (parameter after) for getting the next page, null if there is no next page.")
+	private String nextCursor;
+	@Schema(description = "Indicates if there is a next page.")
+	private boolean hasNext;
+
+	/**
+	 * Constructor of the object.
+	 */
+	public OrderPageDtoOut() {
+		super();
+		this.setOrders(new ArrayList<>());
+	}
+
+	/**
+	 * Constructor of the object.
+	 *
+	 * @param pOrders     the orders of this page
+	 * @param pNextCursor the cursor of the next page, null if none
+	 */
+	public OrderPageDtoOut(List<OrderDtoOut> pOrders, String pNextCursor) {
+		super();
+		this.setOrders(pOrders);
+		this.setNextCursor(pNextCursor);
+		this.setHasNext(pNextCursor != null);
+	}
+
+	/**
+	 * Gets the attribute value.
+	 *
+	 * @return the orders value.
+	 */
+	public List<OrderDtoOut> getOrders() {
+		return this.orders;
+	}
+
+	/**
+	 * Sets the attribute value.
+	 *
+	 * @param pOrders the new value for orders attribute
+	 */
+	public void setOrders(List<OrderDtoOut> pOrders) {
+		this.orders = pOrders;
+	}
+
+	/**
+	 * Gets the attribute value.
+	 *
+	 * @return the nextCursor value.
+	 */
+	public String getNextCursor() {
+		return this.nextCursor;
+	}
+
+	/**
+	 * Sets the attribute value.
+	 *
+	 * @param pNextCursor the new value for nextCursor attribute
+	 */
+	public void setNextCursor(String pNextCursor) {
+		this.nextCursor = pNextCursor;
+	}
+
+	/**
+	 * Gets the attribute value.
+	 *
+	 * @return the hasNext value.
+	 */
+	public boolean isHasNext() {
+		return this.hasNext;
+	}
+
+	/**
+	 * Sets the attribute value.
+	 *
+	 * @param pHasNext the new value for hasNext attribute
+	 */
+	public void setHasNext(boolean pHasNext) {
+		this.hasNext = pHasNext;
+	}
+
+	@Override
+	public String toString() {
+		var sb = new StringBuilder();
+		sb.append("{orders=");
+		sb.append(this.getOrders() == null ? 0 : this.getOrders().size());
+		sb.append(",nextCursor=");
+		sb.append(this.getNextCursor());
+		sb.append(",hasNext=");
+		sb.append(this.isHasNext());
+		sb.append("}");
+		return sb.toString();
+	}
+}
@@ -0,0 +1,127 @@
+// -#--------------------------------------
+// -# ©Copyright Ferret Renaud 2019 -
+// -# Email: admin@ferretrenaud.fr -
+// -# All Rights Reserved. -
+// -#--------------------------------------
+
+package stone.lunchtime.dto.out;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * The dto class for the result of one order in a group of orders.
+ */
+@JsonInclude(Include.NON_NULL)
+@Schema(description = "Represents the result of one order in a group of orders. Has an order or an error.")
+public class OrderResultDtoOut implements Serializable {
+	@Serial
+	private static final long serialVersionUID = 1L;
+
+	@Schema(description = "Index of the order in the group, starts at 0.")
+	private Integer index;
+	@Schema(description = "The order added, null if it has an error.")
+	private OrderDtoOut order;
+	@Schema(description = "The error, null if the order was added.")
+	private ExceptionDtoOut error;
+
+	/**
+	 * Constructor of the object.
+	 */
+	public OrderResultDtoOut() {
+		super();
+	}
+
+	/**
+	 * Constructor of the object.
+	 *
+	 * @param pIndex index of the order in the group
+	 */
+	public OrderResultDtoOut(Integer pIndex) {
+		this();
+		this.setIndex(pIndex);
+	}
+
+	/**
+	 * Gets the attribute value.
+	 *
+	 * @return the index value.
+	 */
+	public Integer getIndex() {
+		return this.index;
+	}
+
+	/**
+	 * Sets the attribute value.
+	 *
+	 * @param pIndex the new value for index attribute
+	 */
+	public void setIndex(Integer pIndex) {
+		this.index = pIndex;
+	}
+
+	/**
+	 * Gets the attribute value.
+	 *
+	 * @return the order value.
+	 */
+	public OrderDtoOut getOrder() {
+		return this.order;
+	}
+
+	/**
+	 * Sets the attribute value.
+	 *
+	 * @param pOrder the new value for order attribute
+	 */
+	public void setOrder(OrderDtoOut pOrder) {
+		this.order = pOrder;
+	}
+
+	/**
+	 * Gets the attribute value.
+	 *
+	 * @return the error value.
+	 */
+	public ExceptionDtoOut getError() {
+		return this.error;
+	}
+
+	/**
+	 * Sets the attribute value.
+	 *
+	 * @param pError the new value for error attribute
+	 */
+	public void setError(ExceptionDtoOut pError) {
+		this.error = pError;
+	}
+
+	/**
+	 * Indicates if the order was added.
+	 *
+	 * @return true if the order was added
+	 */
+	@JsonIgnore
+	public boolean isOk() {
+		return this.error == null;
+	}
+
+	@Override
+	public String toString() {
+		var sb = new StringBuilder();
+		sb.append("{index=");
+		sb.append(this.getIndex());
+		sb.append(",order=");
+		sb.append(this.getOrder());
+		sb.append(",error=");
+		sb.append(this.getError());
+		sb.append("}");
+		return sb.toString();
+	}
+}
@@ -0,0 +1,154 @@
+// -#--------------------------------------
+// -# ©Copyright Ferret Renaud 2019 -
+// -# Email: admin@ferretrenaud.fr -
+// -# All Rights Reserved. -
+// -#--------------------------------------
+
+package stone.lunchtime.dto.out;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import stone.lunchtime.entity.MealCategory;
+
+/**
+ * The dto class for a line of the production plan: a meal, a menu or a meal
+ * category.
+ */
+@JsonInclude(Include.NON_NULL)
+@Schema(description = "Represents a line of the production plan: a meal, a menu or a meal category.")
+public class ProductionLineDtoOut implements Serializable {
+	@Serial
+	private static final long serialVersionUID = 1L;
+
+	@Schema(description = "Id of the meal or of the menu. Null for a category.")
+	private Integer id;
+	@Schema(description = "Label of the meal or of the menu. Null for a category.")
+	private String label;
+	@Schema(description = "Category of the meal. unknown(0), appetizers(1), starters(2), main_dishes(3), others(4), desserts(5), brunchs_and_lunches(6), soups(7), sauces(8), drinks(9), sandwiches(10), snacks(11). Null for a menu.", example = "0", type = "number", allowableValues = {
+			"0", "1", "2", "3", "4", "5", "6", "7", "8", "9", "10", "11" })
+	private MealCategory category;
+	@Schema(description = "For a meal or a category, number of portions to cook, menus included. For a menu, number of menus ordered.")
+	private Integer quantity;
+	@Schema(description = "For a meal or a category, number of portions that are in menus. Null for a menu.")
+	private Integer quantityInMenus;
+
+	/**
+	 * Constructor of the object.
+	 */
+	public ProductionLineDtoOut() {
+		super();
+	}
+
+	/**
+	 * Gets the attribute value.
+	 *
+	 * @return the id value.
+	 */
+	public Integer getId() {
+		return this.id;
+	}
+
+	/**
+	 * Sets the attribute value.
+	 *
+	 * @param pId the new value for id attribute
+	 */
+	public void setId(Integer pId) {
+		this.id = pId;
+	}
+
+	/**
+	 * Gets the attribute value.
+	 *
+	 * @return the label value.
+	 */
+	public String getLabel() {
+		return this.label;
+	}
+
+	/**
+	 * Sets the attribute value.
+	 *
+	 * @param pLabel the new value for label attribute
+	 */
+	public void setLabel(String pLabel) {
+		this.label = pLabel;
+	}
+
+	/**
+	 * Gets the attribute value.
+	 *
+	 * @return the category value.
+	 */
+	public MealCategory getCategory() {
+		return this.category;
+	}
+
+	/**
+	 * Sets the attribute value.
+	 *
+	 * @param pCategory the new value for category attribute
+	 */
+	public void setCategory(MealCategory pCategory) {
+		this.category = pCategory;
+	}
+
+	/**
+	 * Gets the attribute value.
+	 *
+	 * @return the quantity value.
+	 */
+	public Integer getQuantity() {
+		return this.quantity;
+	}
+
+	/**
+	 * Sets the attribute value.
+	 *
+	 * @param pQuantity the new value for quantity attribute
+	 */
+	public void setQuantity(Integer pQuantity) {
+		this.quantity = pQuantity;
+	}
+
+	/**
+	 * Gets the attribute value.
+	 *
+	 * @return the quantityInMenus value.
+	 */
+	public Integer getQuantityInMenus() {
+		return this.quantityInMenus;
+	}
+
+	/**
+	 * Sets the attribute value.
+	 *
+	 * @param pQuantityInMenus the new value for quantityInMenus attribute
+	 */
+	public void setQuantityInMenus(Integer pQuantityInMenus) {
+		this.quantityInMenus = pQuantityInMenus;
+	}
+
+	@Override
+	public String toString() {
+		var sb = new StringBuilder();
+		sb.append(this.getClass().getSimpleName());
+		sb.append(" {id=");
+		sb.append(this.id);
+		sb.append(",label=");
+		sb.append(this.label);
+		sb.append(",category=");
+		sb.append(this.category);
+		sb.append(",quantity=");
+		sb.append(this.quantity);
+		sb.append(",quantityInMenus=");
+		sb.append(this.quantityInMenus);
+		sb.append("}");
+		return sb.toString();
+	}
+}
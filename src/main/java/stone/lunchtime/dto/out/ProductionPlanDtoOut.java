@@ -0,0 +1,208 @@
+// -#--------------------------------------
+// -# ©Copyright Ferret Renaud 2019 -
+// -# Email: admin@ferretrenaud.fr -
+// -# All Rights Reserved. -
+// -#--------------------------------------
+
+package stone.lunchtime.dto.out;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateDeserializer;
+import com.fasterxml.jackson.datatype.jsr310.deser.LocalTimeDeserializer;
+import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateSerializer;
+import com.fasterxml.jackson.datatype.jsr310.ser.LocalTimeSerializer;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * The dto class for the production plan of a day: what the kitchen has to cook.
+ */
+@JsonInclude(Include.NON_NULL)
+@Schema(description = "Represents the production plan of a day: the portions of each meal and the menus ordered, canceled orders excluded.")
+public class ProductionPlanDtoOut implements Serializable {
+	@Serial
+	private static final long serialVersionUID = 1L;
+
+	@Schema(description = "The day of the plan.")
+	@JsonDeserialize(using = LocalDateDeserializer.class)
+	@JsonSerialize(using = LocalDateSerializer.class)
+	private LocalDate date;
+	@Schema(description = "Time limit for ordering, the plan can change until then.")
+	@JsonDeserialize(using = LocalTimeDeserializer.class)
+	@JsonSerialize(using = LocalTimeSerializer.class)
+	private LocalTime orderTimeLimit;
+	@Schema(description = "True if the time limit for ordering is past, only a cancellation can change the plan.")
+	private Boolean closed;
+	@Schema(description = "Number of orders, canceled ones excluded.")
+	private Integer orderCount;
+	@Schema(description = "Portions of each meal, menus included. The most ordered first.")
+	private List<ProductionLineDtoOut> meals;
+	@Schema(description = "Menus ordered. The most ordered first.")
+	private List<ProductionLineDtoOut> menus;
+	@Schema(description = "Portions of each meal category, menus included.")
+	private List<ProductionLineDtoOut> categories;
+
+	/**
+	 * Constructor of the object.
+	 */
+	public ProductionPlanDtoOut() {
+		super();
+	}
+
+	/**
+	 * Gets the attribute value.
+	 *
+	 * @return the date value.
+	 */
+	public LocalDate getDate() {
+		return this.date;
+	}
+
+	/**
+	 * Sets the attribute value.
+	 *
+	 * @param pDate the new value for date attribute
+	 */
+	public void setDate(LocalDate pDate) {
+		this.date = pDate;
+	}
+
+	/**
+	 * Gets the attribute value.
+	 *
+	 * @return the orderTimeLimit value.
+	 */
+	public LocalTime getOrderTimeLimit() {
+		return this.orderTimeLimit;
+	}
+
+	/**
+	 * Sets the attribute value.
+	 *
+	 * @param pOrderTimeLimit the new value for orderTimeLimit attribute
+	 */
+	public void setOrderTimeLimit(LocalTime pOrderTimeLimit) {
+		this.orderTimeLimit = pOrderTimeLimit;
+	}
+
+	/**
+	 * Gets the attribute value.
+	 *
+	 * @return the closed value.
+	 */
+	public Boolean getClosed() {
+		return this.closed;
+	}
+
+	/**
+	 * Sets the attribute value.
+	 *
+	 * @param pClosed the new value for closed attribute
+	 */
+	public void setClosed(Boolean pClosed) {
+		this.closed = pClosed;
+	}
+
+	/**
+	 * Gets the attribute value.
+	 *
+	 * @return the orderCount value.
+	 */
+	public Integer getOrderCount() {
+		return this.orderCount;
+	}
+
+	/**
+	 * Sets the attribute value.
+	 *
+	 * @param pOrderCount the new value for orderCount attribute
+	 */
+	public void setOrderCount(Integer pOrderCount) {
+		this.orderCount = pOrderCount;
+	}
+
+	/**
+	 * Gets the attribute value.
+	 *
+	 * @return the meals value.
+	 */
+	public List<ProductionLineDtoOut> getMeals() {
+		return this.meals;
+	}
+
+	/**
+	 * Sets the attribute value.
+	 *
+	 * @param pMeals the new value for meals attribute
+	 */
+	public void setMeals(List<ProductionLineDtoOut> pMeals) {
+		this.meals = pMeals;
+	}
+
+	/**
+	 * Gets the attribute value.
+	 *
+	 * @return the menus value.
+	 */
+	public List<ProductionLineDtoOut> getMenus() {
+		return this.menus;
+	}
+
+	/**
+	 * Sets the attribute value.
+	 *
+	 * @param pMenus the new value for menus attribute
+	 */
+	public void setMenus(List<ProductionLineDtoOut> pMenus) {
+		this.menus = pMenus;
+	}
+
+	/**
+	 * Gets the attribute value.
+	 *
+	 * @return the categories value.
+	 */
+	public List<ProductionLineDtoOut> getCategories() {
+		return this.categories;
+	}
+
+	/**
+	 * Sets the attribute value.
+	 *
+	 * @param pCategories the new value for categories attribute
+	 */
+	public void setCategories(List<ProductionLineDtoOut> pCategories) {
+		this.categories = pCategories;
+	}
+
+	@Override
+	public String toString() {
+		var sb = new StringBuilder();
+		sb.append(this.getClass().getSimpleName());
+		sb.append(" {date=");
+		sb.append(this.date);
+		sb.append(",orderTimeLimit=");
+		sb.append(this.orderTimeLimit);
+		sb.append(",closed=");
+		sb.append(this.closed);
+		sb.append(",orderCount=");
+		sb.append(this.orderCount);
+		sb.append(",meals=");
+		sb.append(this.meals);
+		sb.append(",menus=");
+		sb.append(this.menus);
+		sb.append(",categories=");
+		sb.append(this.categories);
+		sb.append("}");
+		return sb.toString();
+	}
+}
@@ -0,0 +1,39 @@
+// -#--------------------------------------
+// -# ©Copyright Ferret Renaud 2019 -
+// -# Email: admin@ferretrenaud.fr -
+// -# All Rights Reserved. -
+// -#--------------------------------------
+
+package stone.lunchtime.entity;
+
+/**
+ * Enum for the sizes in which an image can be given.
+ */
+public enum ImageSize {
+	/** The image as it was given. */
+	ORIGINAL(0),
+	/** At most 64 pixels wide and high. */
+	THUMBNAIL(64),
+	/** At most 256 pixels wide and high. */
+	MEDIUM(256);
+
+	private final int maxSize;
+
+	/**
+	 * Constructor of the object.
+	 *
+	 * @param pMaxSize the maximum width and height, 0 for no limit
+	 */
+	ImageSize(int pMaxSize) {
+		this.maxSize = pMaxSize;
+	}
+
+	/**
+	 * Gets the maximum width and height of the image.
+	 *
+	 * @return the maximum width and height, 0 for no limit
+	 */
+	public final int getMaxSize() {
+		return this.maxSize;
+	}
+}
@@ -8,6 +8,7 @@ package stone.lunchtime.entity.jpa;
 
 import java.io.Serial;
 import java.math.BigDecimal;
+import java.util.Set;
 
 import org.slf4j.LoggerFactory;
 import org.slf4j.Logger;
@@ -50,6 +51,23 @@ public abstract class AbstractEatableEntity extends AbstractLabeledEntity {
 		this.availableForWeeksAndDays = EntityUtils.checkAndClean(pAvailableForWeeks);
 	}
 
+	/**
+	 * Gets the normalized availabilities. <br>
+	 *
+	 * Built from {@link #getAvailableForWeeksAndDays()}, empty when the element
+	 * is always available.
+	 *
+	 * @return the normalized availabilities.
+	 */
+	public abstract Set<AvailabilityEmbeddable> getAvailabilities();
+
+	/**
+	 * Sets the normalized availabilities.
+	 *
+	 * @param pAvailabilities the new value for availabilities attribute
+	 */
+	public abstract void setAvailabilities(Set<AvailabilityEmbeddable> pAvailabilities);
+
 	/**
 	 * Gets the attribute value.
 	 *
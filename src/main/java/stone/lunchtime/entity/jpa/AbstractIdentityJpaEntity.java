@@ -0,0 +1,67 @@
+// -#--------------------------------------
+// -# ©Copyright Ferret Renaud 2019 -
+// -# Email: admin@ferretrenaud.fr -
+// -# All Rights Reserved. -
+// -#--------------------------------------
+
+package stone.lunchtime.entity.jpa;
+
+import java.io.Serial;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.MappedSuperclass;
+
+/**
+ * Mother of simple entity class, with an id generated by the data base
+ * (identity column).
+ */
+@MappedSuperclass
+public abstract class AbstractIdentityJpaEntity extends AbstractJpaEntity {
+	@Serial
+	private static final long serialVersionUID = 1L;
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@Column(name = "id", unique = true, nullable = false)
+	private Integer id;
+
+	/**
+	 * Constructor of the object. <br>
+	 */
+	protected AbstractIdentityJpaEntity() {
+		super();
+	}
+
+	/**
+	 * Constructor of the object.<br>
+	 *
+	 * @param pId a value for PK
+	 */
+	protected AbstractIdentityJpaEntity(Integer pId) {
+		super(pId);
+	}
+
+	/**
+	 * Gets the attribute value.
+	 *
+	 * @return the id value.
+	 */
+	@Override
+	public Integer getId() {
+		return this.id;
+	}
+
+	/**
+	 * Sets the attribute value.
+	 *
+	 * @param pId the new value for id attribute
+	 */
+	@Override
+	public void setId(Integer pId) {
+		this.id = pId;
+	}
+
+}
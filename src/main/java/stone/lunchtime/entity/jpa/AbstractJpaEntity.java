@@ -8,26 +8,21 @@ package stone.lunchtime.entity.jpa;
 
 import java.io.Serial;
 
-import jakarta.persistence.Column;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
-import jakarta.persistence.Id;
 import jakarta.persistence.MappedSuperclass;
 import stone.lunchtime.entity.AbstractEntity;
 
 /**
- * Mother of simple entity class.
+ * Mother of simple entity class. <br>
+ *
+ * The id and the way it is generated are declared by the children.
+ *
+ * @see AbstractIdentityJpaEntity
  */
 @MappedSuperclass
 public abstract class AbstractJpaEntity extends AbstractEntity<Integer> {
 	@Serial
 	private static final long serialVersionUID = 1L;
 
-	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
-	@Column(name = "id", unique = true, nullable = false)
-	private Integer id;
-
 	/**
 	 * Constructor of the object. <br>
 	 */
@@ -45,24 +40,4 @@ public abstract class AbstractJpaEntity extends AbstractEntity<Integer> {
 		this.setId(pId);
 	}
 
-	/**
-	 * Gets the attribute value.
-	 *
-	 * @return the id value.
-	 */
-	@Override
-	public Integer getId() {
-		return this.id;
-	}
-
-	/**
-	 * Sets the attribute value.
-	 *
-	 * @param pId the new value for id attribute
-	 */
-	@Override
-	public void setId(Integer pId) {
-		this.id = pId;
-	}
-
 }
@@ -26,7 +26,7 @@ import stone.lunchtime.entity.EntityUtils;
  * The persistent class for the labeled table.
  */
 @MappedSuperclass
-public abstract class AbstractLabeledEntity extends AbstractJpaEntity {
+public abstract class AbstractLabeledEntity extends AbstractIdentityJpaEntity {
 	@Serial
 	private static final long serialVersionUID = 1L;
 
@@ -0,0 +1,111 @@
+// -#--------------------------------------
+// -# ©Copyright Ferret Renaud 2019 -
+// -# Email: admin@ferretrenaud.fr -
+// -# All Rights Reserved. -
+// -#--------------------------------------
+
+package stone.lunchtime.entity.jpa;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Objects;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+/**
+ * A normalized availability (week and day) for a meal or a menu. <br>
+ *
+ * This is the indexed form of the availableForWeeksAndDays json column, used
+ * by the queries. A day equals to {@link #ALL_WEEK} means the whole week.
+ */
+@Embeddable
+public class AvailabilityEmbeddable implements Serializable {
+	@Serial
+	private static final long serialVersionUID = 1L;
+
+	/** Day value used when the element is available for the whole week. */
+	public static final int ALL_WEEK = 0;
+
+	@Column(name = "week_number", nullable = false)
+	private Integer week;
+
+	@Column(name = "day_number", nullable = false)
+	private Integer day;
+
+	/**
+	 * Constructor of the object.
+	 */
+	public AvailabilityEmbeddable() {
+		super();
+	}
+
+	/**
+	 * Constructor of the object.
+	 *
+	 * @param pWeek a week number [1, 53]
+	 * @param pDay  a day number [1, 7], null for the whole week
+	 */
+	public AvailabilityEmbeddable(Integer pWeek, Integer pDay) {
+		this();
+		this.setWeek(pWeek);
+		this.setDay(pDay);
+	}
+
+	/**
+	 * Gets the attribute value.
+	 *
+	 * @return the week value.
+	 */
+	public Integer getWeek() {
+		return this.week;
+	}
+
+	/**
+	 * Sets the attribute value.
+	 *
+	 * @param pWeek the new value for week attribute
+	 */
+	public void setWeek(Integer pWeek) {
+		this.week = pWeek;
+	}
+
+	/**
+	 * Gets the attribute value.
+	 *
+	 * @return the day value, {@link #ALL_WEEK} for the whole week.
+	 */
+	public Integer getDay() {
+		return this.day;
+	}
+
+	/**
+	 * Sets the attribute value.
+	 *
+	 * @param pDay the new value for day attribute, null for the whole week
+	 */
+	public void setDay(Integer pDay) {
+		this.day = pDay == null ? Integer.valueOf(AvailabilityEmbeddable.ALL_WEEK) : pDay;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(this.week, this.day);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof AvailabilityEmbeddable other)) {
+			return false;
+		}
+		return Objects.equals(this.week, other.week) && Objects.equals(this.day, other.day);
+	}
+
+	@Override
+	public String toString() {
+		return "{week=" + this.week + ",day=" + this.day + "}";
+	}
+}
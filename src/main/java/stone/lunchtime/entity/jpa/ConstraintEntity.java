@@ -10,6 +10,10 @@ import java.io.Serial;
 import java.math.BigDecimal;
 import java.time.LocalTime;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Table;
@@ -20,10 +24,15 @@ import jakarta.persistence.Table;
  */
 @Entity
 @Table(name = "ltconstraint")
-public class ConstraintEntity extends AbstractJpaEntity {
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = ConstraintEntity.CACHE_REGION)
+public class ConstraintEntity extends AbstractIdentityJpaEntity {
 	@Serial
 	private static final long serialVersionUID = 1L;
 
+	/** Second level cache region of the constraints. */
+	public static final String CACHE_REGION = "catalog.constraint";
+
 	@Column(name = "order_time_limit", nullable = false)
 	private LocalTime orderTimeLimit = LocalTime.of(10, 30, 0);
 
@@ -10,12 +10,17 @@ import java.io.Serial;
 import java.util.List;
 import java.util.Objects;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.JdbcType;
 import org.hibernate.type.descriptor.jdbc.LongVarcharJdbcType;
 
+import jakarta.persistence.Basic;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
+import jakarta.persistence.Index;
 import jakarta.persistence.Lob;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
@@ -25,15 +30,22 @@ import stone.lunchtime.entity.EntityUtils;
  * The persistent class for the ltimage database table.
  */
 @Entity
-@Table(name = "ltimage")
-public class ImageEntity extends AbstractJpaEntity {
+@Table(name = "ltimage", indexes = { @Index(name = "idx_image_content_hash", columnList = "content_hash") })
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = ImageEntity.CACHE_REGION)
+public class ImageEntity extends AbstractIdentityJpaEntity {
 	@Serial
 	private static final long serialVersionUID = 1L;
 
+	/** Second level cache region of the images. */
+	public static final String CACHE_REGION = "catalog.image";
+
 	@Column(name = "image_path", length = 500)
 	private String imagePath;
 
+	/** Loaded on first access only (bytecode enhancement), never by listings. */
 	@Column(name = "image_64", columnDefinition = "TEXT")
+	@Basic(fetch = FetchType.LAZY)
 	@Lob
 	@JdbcType(LongVarcharJdbcType.class) // For Postgres
 	private String image64;
@@ -41,6 +53,13 @@ public class ImageEntity extends AbstractJpaEntity {
 	@Column(name = "is_default", nullable = false)
 	private Boolean isDefault = Boolean.FALSE;
 
+	/** SHA-256 of the image when it is stored on disk, image64 is then null. */
+	@Column(name = "content_hash", length = 64)
+	private String contentHash;
+
+	@Column(name = "content_type", length = 100)
+	private String contentType;
+
 	@OneToMany(mappedBy = "image", fetch = FetchType.LAZY)
 	private List<IngredientEntity> ingredients;
 
@@ -122,6 +141,42 @@ public class ImageEntity extends AbstractJpaEntity {
 		this.image64 = EntityUtils.checkAndClean(pImage);
 	}
 
+	/**
+	 * Gets the attribute value.
+	 *
+	 * @return the contentHash value, null if the image is in image64.
+	 */
+	public String getContentHash() {
+		return this.contentHash;
+	}
+
+	/**
+	 * Sets the attribute value.
+	 *
+	 * @param pContentHash the new value for contentHash attribute
+	 */
+	public void setContentHash(String pContentHash) {
+		this.contentHash = EntityUtils.checkAndClean(pContentHash);
+	}
+
+	/**
+	 * Gets the attribute value.
+	 *
+	 * @return the contentType value.
+	 */
+	public String getContentType() {
+		return this.contentType;
+	}
+
+	/**
+	 * Sets the attribute value.
+	 *
+	 * @param pContentType the new value for contentType attribute
+	 */
+	public void setContentType(String pContentType) {
+		this.contentType = EntityUtils.checkAndClean(pContentType);
+	}
+
 	@Override
 	public String toString() {
 		var sb = new StringBuilder();
@@ -133,9 +188,9 @@ public class ImageEntity extends AbstractJpaEntity {
 			sb.append(this.getImagePath(), 0, Math.min(20, this.getImagePath().length()));
 			sb.append("...");
 		}
-		if (this.getImage64() != null) {
-			sb.append(",base64=");
-			sb.append(this.getImage64(), 0, Math.min(10, this.getImage64().length()));
+		if (this.getContentHash() != null) {
+			sb.append(",hash=");
+			sb.append(this.getContentHash(), 0, Math.min(10, this.getContentHash().length()));
 			sb.append("...");
 		}
 		sb.append(",default=");
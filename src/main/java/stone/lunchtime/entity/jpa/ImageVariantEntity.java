@@ -0,0 +1,185 @@
+// -#--------------------------------------
+// -# ©Copyright Ferret Renaud 2019 -
+// -# Email: admin@ferretrenaud.fr -
+// -# All Rights Reserved. -
+// -#--------------------------------------
+
+package stone.lunchtime.entity.jpa;
+
+import java.io.Serial;
+
+import org.hibernate.annotations.JdbcType;
+import org.hibernate.type.descriptor.jdbc.LongVarcharJdbcType;
+
+import jakarta.persistence.Basic;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.Lob;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import stone.lunchtime.entity.EntityUtils;
+import stone.lunchtime.entity.ImageSize;
+
+/**
+ * The persistent class for the ltimage_variant database table. <br>
+ *
+ * A smaller copy of an image (thumbnail, medium). Like the image, it is kept in
+ * base 64 or, when an image storage is configured, only its hash is kept.
+ */
+@Entity
+@Table(name = "ltimage_variant", uniqueConstraints = {
+		@UniqueConstraint(name = "uk_image_variant_image_size", columnNames = { "image_id", "image_size" }) }, indexes = {
+				@Index(name = "idx_image_variant_content_hash", columnList = "content_hash") })
+public class ImageVariantEntity extends AbstractIdentityJpaEntity {
+	@Serial
+	private static final long serialVersionUID = 1L;
+
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(name = "image_id", nullable = false)
+	private ImageEntity image;
+
+	@Column(name = "image_size", nullable = false)
+	@Enumerated(EnumType.ORDINAL)
+	private ImageSize size;
+
+	@Column(name = "content_type", length = 100, nullable = false)
+	private String contentType;
+
+	/** Loaded on first access only (bytecode enhancement). */
+	@Column(name = "image_64", columnDefinition = "TEXT")
+	@Basic(fetch = FetchType.LAZY)
+	@Lob
+	@JdbcType(LongVarcharJdbcType.class) // For Postgres
+	private String image64;
+
+	/** SHA-256 of the variant when it is stored on disk, image64 is then null. */
+	@Column(name = "content_hash", length = 64)
+	private String contentHash;
+
+	public ImageVariantEntity() {
+		super();
+	}
+
+	public ImageVariantEntity(ImageEntity pImage, ImageSize pSize, String pContentType) {
+		super();
+		this.setImage(pImage);
+		this.setSize(pSize);
+		this.setContentType(pContentType);
+	}
+
+	/**
+	 * Gets the attribute value.
+	 *
+	 * @return the image value.
+	 */
+	public ImageEntity getImage() {
+		return this.image;
+	}
+
+	/**
+	 * Sets the attribute value.
+	 *
+	 * @param pImage the new value for image attribute
+	 */
+	public void setImage(ImageEntity pImage) {
+		this.image = pImage;
+	}
+
+	/**
+	 * Gets the attribute value.
+	 *
+	 * @return the size value.
+	 */
+	public ImageSize getSize() {
+		return this.size;
+	}
+
+	/**
+	 * Sets the attribute value.
+	 *
+	 * @param pSize the new value for size attribute
+	 */
+	public void setSize(ImageSize pSize) {
+		this.size = pSize;
+	}
+
+	/**
+	 * Gets the attribute value.
+	 *
+	 * @return the contentType value.
+	 */
+	public String getContentType() {
+		return this.contentType;
+	}
+
+	/**
+	 * Sets the attribute value.
+	 *
+	 * @param pContentType the new value for contentType attribute
+	 */
+	public void setContentType(String pContentType) {
+		this.contentType = EntityUtils.checkAndClean(pContentType);
+	}
+
+	/**
+	 * Gets the attribute value.
+	 *
+	 * @return the image64 value (base 64 only, no data URI), null if the variant
+	 *         is in the image storage.
+	 */
+	public String getImage64() {
+		return this.image64;
+	}
+
+	/**
+	 * Sets the attribute value.
+	 *
+	 * @param pImage64 the new value for image64 attribute
+	 */
+	public void setImage64(String pImage64) {
+		this.image64 = EntityUtils.checkAndClean(pImage64);
+	}
+
+	/**
+	 * Gets the attribute value.
+	 *
+	 * @return the contentHash value, null if the variant is in image64.
+	 */
+	public String getContentHash() {
+		return this.contentHash;
+	}
+
+	/**
+	 * Sets the attribute value.
+	 *
+	 * @param pContentHash the new value for contentHash attribute
+	 */
+	public void setContentHash(String pContentHash) {
+		this.contentHash = EntityUtils.checkAndClean(pContentHash);
+	}
+
+	@Override
+	public String toString() {
+		var sb = new StringBuilder();
+		var parent = super.toString();
+		parent = parent.substring(0, parent.length() - 1);
+		sb.append(parent);
+		sb.append(",size=");
+		sb.append(this.getSize());
+		sb.append(",type=");
+		sb.append(this.getContentType());
+		if (this.getContentHash() != null) {
+			sb.append(",hash=");
+			sb.append(this.getContentHash(), 0, Math.min(10, this.getContentHash().length()));
+			sb.append("...");
+		}
+		sb.append("}");
+		return sb.toString();
+	}
+}
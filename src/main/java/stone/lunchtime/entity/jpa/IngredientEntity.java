@@ -8,6 +8,10 @@ package stone.lunchtime.entity.jpa;
 
 import java.io.Serial;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Table;
 
@@ -16,10 +20,15 @@ import jakarta.persistence.Table;
  */
 @Entity
 @Table(name = "ltingredient")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = IngredientEntity.CACHE_REGION)
 public class IngredientEntity extends AbstractLabeledEntity {
 	@Serial
 	private static final long serialVersionUID = 1L;
 
+	/** Second level cache region of the ingredients. */
+	public static final String CACHE_REGION = "catalog.ingredient";
+
 	/**
 	 * Constructor of the object.
 	 */
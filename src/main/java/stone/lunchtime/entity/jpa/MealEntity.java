@@ -7,13 +7,22 @@
 package stone.lunchtime.entity.jpa;
 
 import java.io.Serial;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
+import jakarta.persistence.CollectionTable;
+import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
@@ -25,20 +34,32 @@ import stone.lunchtime.entity.MealCategory;
  */
 @Entity
 @Table(name = "ltmeal")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = MealEntity.CACHE_REGION)
 public class MealEntity extends AbstractEatableEntity {
 	@Serial
 	private static final long serialVersionUID = 1L;
 
+	/** Second level cache region of the meals. */
+	public static final String CACHE_REGION = "catalog.meal";
+
 	@Column(name = "category")
 	@Enumerated(EnumType.ORDINAL)
 	private MealCategory category = MealCategory.UNKNOWN;
 
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = MealEntity.CACHE_REGION + ".ingredients")
 	@ManyToMany(fetch = FetchType.LAZY)
 	@JoinTable(name = "ltmeal_has_ingredient", joinColumns = {
 			@JoinColumn(name = "meal_id", nullable = false, referencedColumnName = "id") }, inverseJoinColumns = {
 					@JoinColumn(name = "ingredient_id", nullable = false, referencedColumnName = "id") })
 	private List<IngredientEntity> ingredients;
 
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = MealEntity.CACHE_REGION + ".availabilities")
+	@ElementCollection(fetch = FetchType.LAZY)
+	@CollectionTable(name = "ltmeal_availability", joinColumns = @JoinColumn(name = "meal_id", nullable = false), indexes = {
+			@Index(name = "idx_meal_availability_week_day", columnList = "week_number, day_number, meal_id") })
+	private Set<AvailabilityEmbeddable> availabilities = new HashSet<>();
+
 	/**
 	 * Gets the attribute value.
 	 *
@@ -75,6 +96,16 @@ public class MealEntity extends AbstractEatableEntity {
 		this.category = pCategory;
 	}
 
+	@Override
+	public Set<AvailabilityEmbeddable> getAvailabilities() {
+		return this.availabilities;
+	}
+
+	@Override
+	public void setAvailabilities(Set<AvailabilityEmbeddable> pAvailabilities) {
+		this.availabilities = pAvailabilities;
+	}
+
 	@Override
 	public String toString() {
 		var sb = new StringBuilder();
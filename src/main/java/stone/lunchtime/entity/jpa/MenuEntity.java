@@ -7,10 +7,19 @@
 package stone.lunchtime.entity.jpa;
 
 import java.io.Serial;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.CollectionTable;
+import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
@@ -21,16 +30,28 @@ import jakarta.persistence.Table;
  */
 @Entity
 @Table(name = "ltmenu")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = MenuEntity.CACHE_REGION)
 public class MenuEntity extends AbstractEatableEntity {
 	@Serial
 	private static final long serialVersionUID = 1L;
 
-	@ManyToMany(fetch = FetchType.EAGER)
+	/** Second level cache region of the menus. */
+	public static final String CACHE_REGION = "catalog.menu";
+
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = MenuEntity.CACHE_REGION + ".meals")
+	@ManyToMany(fetch = FetchType.LAZY)
 	@JoinTable(name = "ltmenu_has_meal", joinColumns = {
 			@JoinColumn(name = "menu_id", nullable = false) }, inverseJoinColumns = {
 					@JoinColumn(name = "meal_id", nullable = false) })
 	private List<MealEntity> meals;
 
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = MenuEntity.CACHE_REGION + ".availabilities")
+	@ElementCollection(fetch = FetchType.LAZY)
+	@CollectionTable(name = "ltmenu_availability", joinColumns = @JoinColumn(name = "menu_id", nullable = false), indexes = {
+			@Index(name = "idx_menu_availability_week_day", columnList = "week_number, day_number, menu_id") })
+	private Set<AvailabilityEmbeddable> availabilities = new HashSet<>();
+
 	/**
 	 * Gets the attribute value.
 	 *
@@ -49,6 +70,16 @@ public class MenuEntity extends AbstractEatableEntity {
 		this.meals = pMeals;
 	}
 
+	@Override
+	public Set<AvailabilityEmbeddable> getAvailabilities() {
+		return this.availabilities;
+	}
+
+	@Override
+	public void setAvailabilities(Set<AvailabilityEmbeddable> pAvailabilities) {
+		this.availabilities = pAvailabilities;
+	}
+
 	@Override
 	public String toString() {
 		var sb = new StringBuilder();
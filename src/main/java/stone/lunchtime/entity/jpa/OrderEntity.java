@@ -15,10 +15,17 @@ import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedSubgraph;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import stone.lunchtime.entity.OrderStatus;
 
@@ -27,10 +34,28 @@ import stone.lunchtime.entity.OrderStatus;
  */
 @Entity
 @Table(name = "ltorder")
+@NamedEntityGraph(name = OrderEntity.GRAPH_FULL, attributeNodes = { @NamedAttributeNode("user"),
+		@NamedAttributeNode(value = "quantityEntities", subgraph = "quantity") }, subgraphs = @NamedSubgraph(name = "quantity", attributeNodes = {
+				@NamedAttributeNode("meal"), @NamedAttributeNode("menu") }))
 public class OrderEntity extends AbstractJpaEntity {
 	@Serial
 	private static final long serialVersionUID = 1L;
 
+	/**
+	 * Fetch plan with the user and the quantities with their meal and menu. <br>
+	 *
+	 * Collections of meals and menus are not in it (only one list can be fetched
+	 * in a query), they are loaded by batch.
+	 */
+	public static final String GRAPH_FULL = "OrderEntity.full";
+
+	// Pooled sequence, ids are taken 50 by 50 so inserts can be batched
+	@Id
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ltorder_seq")
+	@SequenceGenerator(name = "ltorder_seq", sequenceName = "ltorder_seq", allocationSize = 50)
+	@Column(name = "id", unique = true, nullable = false)
+	private Integer id;
+
 	@Column(name = "creation_date")
 	private LocalDate creationDate;
 	@Column(name = "creation_time")
@@ -39,7 +64,7 @@ public class OrderEntity extends AbstractJpaEntity {
 	@Column(name = "status", nullable = false)
 	private OrderStatus status;
 
-	@ManyToOne(fetch = FetchType.EAGER)
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "user_id", nullable = false)
 	private UserEntity user;
 
@@ -49,6 +74,26 @@ public class OrderEntity extends AbstractJpaEntity {
 					@JoinColumn(name = "quantity_id", nullable = false) })
 	private List<QuantityEntity> quantityEntities;
 
+	/**
+	 * Gets the attribute value.
+	 *
+	 * @return the id value.
+	 */
+	@Override
+	public Integer getId() {
+		return this.id;
+	}
+
+	/**
+	 * Sets the attribute value.
+	 *
+	 * @param pId the new value for id attribute
+	 */
+	@Override
+	public void setId(Integer pId) {
+		this.id = pId;
+	}
+
 	/**
 	 * Gets the attribute value.
 	 *
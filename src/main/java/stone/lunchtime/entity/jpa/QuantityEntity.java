@@ -11,8 +11,12 @@ import java.io.Serial;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 
 /**
@@ -24,17 +28,44 @@ public class QuantityEntity extends AbstractJpaEntity {
 	@Serial
 	private static final long serialVersionUID = 1L;
 
+	// Pooled sequence, ids are taken 50 by 50 so inserts can be batched
+	@Id
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ltquantity_seq")
+	@SequenceGenerator(name = "ltquantity_seq", sequenceName = "ltquantity_seq", allocationSize = 50)
+	@Column(name = "id", unique = true, nullable = false)
+	private Integer id;
+
 	@Column(name = "quantity")
 	private Integer quantity = Integer.valueOf(0);
 
-	@ManyToOne(fetch = FetchType.EAGER)
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "meal_id")
 	private MealEntity meal;
 
-	@ManyToOne(fetch = FetchType.EAGER)
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "menu_id")
 	private MenuEntity menu;
 
+	/**
+	 * Gets the attribute value.
+	 *
+	 * @return the id value.
+	 */
+	@Override
+	public Integer getId() {
+		return this.id;
+	}
+
+	/**
+	 * Sets the attribute value.
+	 *
+	 * @param pId the new value for id attribute
+	 */
+	@Override
+	public void setId(Integer pId) {
+		this.id = pId;
+	}
+
 	/**
 	 * Gets the attribute value.
 	 *
@@ -28,7 +28,7 @@ import stone.lunchtime.entity.RoleLabel;
  */
 @Entity
 @Table(name = "ltrole")
-public class RoleEntity extends AbstractJpaEntity {
+public class RoleEntity extends AbstractIdentityJpaEntity {
 
 	@Serial
 	private static final long serialVersionUID = 1L;
@@ -42,7 +42,7 @@ public class RoleEntity extends AbstractJpaEntity {
 	@Enumerated(EnumType.STRING)
 	private RoleLabel label;
 
-	@ManyToOne(fetch = FetchType.EAGER)
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "user_id", nullable = false)
 	private UserEntity user;
 
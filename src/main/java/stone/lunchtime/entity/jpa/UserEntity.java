@@ -35,7 +35,7 @@ import stone.lunchtime.entity.Sex;
  */
 @Entity
 @Table(name = "ltuser")
-public class UserEntity extends AbstractJpaEntity {
+public class UserEntity extends AbstractIdentityJpaEntity {
 	private static final Logger LOG = LoggerFactory.getLogger(UserEntity.class);
 	@Serial
 	private static final long serialVersionUID = 1L;
@@ -77,7 +77,7 @@ public class UserEntity extends AbstractJpaEntity {
 	@Column(name = "status", nullable = false)
 	private EntityStatus status;
 
-	@OneToMany(mappedBy = "user", fetch = FetchType.EAGER, cascade = CascadeType.ALL, orphanRemoval = true)
+	@OneToMany(mappedBy = "user", fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
 	private List<RoleEntity> roles;
 
 	// Handling of image is not done by this entity
@@ -118,7 +118,7 @@ public class UserEntity extends AbstractJpaEntity {
 	 * @param pCagnote the new value for wallet attribute
 	 */
 	public void setWallet(BigDecimal pCagnote) {
-		if (pCagnote == null || pCagnote.doubleValue() < 0D) {
+		if (pCagnote == null || pCagnote.signum() < 0) {
 			this.wallet = BigDecimal.valueOf(0D);
 		} else {
 			this.wallet = pCagnote;
@@ -0,0 +1,81 @@
+// -#--------------------------------------
+// -# ©Copyright Ferret Renaud 2019 -
+// -# Email: admin@ferretrenaud.fr -
+// -# All Rights Reserved. -
+// -#--------------------------------------
+
+package stone.lunchtime.service;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+
+/**
+ * Storage of the images outside of the data base. <br>
+ *
+ * An image is stored under a key computed from its content (SHA-256), so an
+ * image used by many meals, menus or users is stored only once. The data base
+ * only keeps this key. <br>
+ *
+ * Images are never deleted when an element stops using them: a transaction not
+ * committed yet may have saved the same content. Unused images are swept once
+ * they have not been saved for a while (see ImageStorageSweeper). <br>
+ *
+ * Errors on the storage are technical errors, they are thrown as
+ * {@link java.io.UncheckedIOException}.
+ */
+@Service
+public interface IImageStorage {
+
+	/**
+	 * Stores an image. <br>
+	 *
+	 * If an image with the same content is already stored, it is not written
+	 * again but its save date is set to now.
+	 *
+	 * @param pContent the image
+	 * @return the key of the image
+	 */
+	String save(byte[] pContent);
+
+	/**
+	 * Finds the images not saved since a date.
+	 *
+	 * @param pBefore a date
+	 * @return the keys of the images saved before this date
+	 */
+	List<String> findSavedBefore(Instant pBefore);
+
+	/**
+	 * Indicates if an image is stored.
+	 *
+	 * @param pKey the key of the image
+	 * @return true if the image is stored
+	 */
+	boolean exists(String pKey);
+
+	/**
+	 * Reads an image. <br>
+	 *
+	 * The buffer can be kept and shared, it is read only.
+	 *
+	 * @param pKey the key of the image
+	 * @return the image, read only
+	 */
+	ByteBuffer read(String pKey);
+
+	/**
+	 * Deletes an image if it was not saved since a date. <br>
+	 *
+	 * The check and the deletion are atomic with a save of the same image.
+	 * Caution: the caller checks that the image is no more used, with
+	 * transactions that started before this date.
+	 *
+	 * @param pKey    the key of the image
+	 * @param pBefore a date
+	 * @return true if the image was deleted
+	 */
+	boolean deleteIfSavedBefore(String pKey, Instant pBefore);
+}
@@ -3,12 +3,16 @@ package stone.lunchtime.service;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Consumer;
 
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import stone.lunchtime.dto.in.OrderDtoIn;
 import stone.lunchtime.dto.out.OrderDtoOut;
+import stone.lunchtime.dto.out.OrderResultDtoOut;
 import stone.lunchtime.dto.out.PriceDtoOut;
 import stone.lunchtime.entity.OrderStatus;
 import stone.lunchtime.service.exception.EntityNotFoundException;
@@ -18,9 +22,12 @@ import stone.lunchtime.service.exception.OrderCanceledException;
 import stone.lunchtime.service.exception.OrderDelivredException;
 import stone.lunchtime.service.exception.ParameterException;
 import stone.lunchtime.service.exception.TimeOutException;
+import stone.lunchtime.service.exception.TooManyOrdersException;
 
 @Service
 public interface IOrderService<E> extends IService<E, OrderDtoOut> {
+	/** Maximum number of orders in a page. */
+	int MAX_PAGE_SIZE = 200;
 
 	/**
 	 * Passes an order.
@@ -34,10 +41,26 @@ public interface IOrderService<E> extends IService<E, OrderDtoOut> {
 	 *                                          this week. Will depends on
 	 *                                          constraint given.
 	 * @throws EntityNotFoundException          if entity was not found
+	 * @throws TooManyOrdersException           if the maximum number of orders
+	 *                                          for today is reached. Will
+	 *                                          depends on constraint given.
 	 */
 	@Transactional(rollbackFor = Exception.class)
 	OrderDtoOut order(OrderDtoIn pDtoIn)
-			throws TimeOutException, NotAvailableForThisWeekException, EntityNotFoundException;
+			throws TimeOutException, NotAvailableForThisWeekException, EntityNotFoundException, TooManyOrdersException;
+
+	/**
+	 * Passes a group of orders. <br>
+	 *
+	 * All users, meals, menus and constraints are loaded at once, every order is
+	 * validated, then all valid orders are inserted in one transaction. An invalid
+	 * order does not stop the others.
+	 *
+	 * @param pDtoIns Information that will be used for the orders
+	 * @return the result of each order, in the same order
+	 */
+	@Transactional(rollbackFor = Exception.class)
+	List<OrderResultDtoOut> orderAll(List<OrderDtoIn> pDtoIns);
 
 	/**
 	 * Updates entity. <br>
@@ -107,6 +130,28 @@ public interface IOrderService<E> extends IService<E, OrderDtoOut> {
 	@Transactional(readOnly = true)
 	BigDecimal computePrice(Integer pOrderId, Integer pConstraintId, PriceDtoOut pOut) throws EntityNotFoundException;
 
+	/**
+	 * Same as {@link #find(Integer)}.
+	 *
+	 * @param pEntityPrimaryKey the order id
+	 * @param pWithRelations    false to leave the user and the quantities out of
+	 *                          the order
+	 * @return the order found
+	 * @throws EntityNotFoundException if entity not found
+	 */
+	@Transactional(readOnly = true)
+	OrderDtoOut find(Integer pEntityPrimaryKey, boolean pWithRelations) throws EntityNotFoundException;
+
+	/**
+	 * Same as {@link #findAll()}.
+	 *
+	 * @param pWithRelations false to leave the user and the quantities out of the
+	 *                       orders
+	 * @return all the orders, an empty list if none
+	 */
+	@Transactional(readOnly = true)
+	List<OrderDtoOut> findAll(boolean pWithRelations);
+
 	/**
 	 * Selects all orders made by the given user.
 	 *
@@ -117,6 +162,17 @@ public interface IOrderService<E> extends IService<E, OrderDtoOut> {
 	@Transactional(readOnly = true)
 	List<OrderDtoOut> findAllByUserId(Integer pUserId);
 
+	/**
+	 * Same as {@link #findAllByUserId(Integer)}.
+	 *
+	 * @param pUserId        a user id
+	 * @param pWithRelations false to leave the user and the quantities out of the
+	 *                       orders
+	 * @return the orders found
+	 */
+	@Transactional(readOnly = true)
+	List<OrderDtoOut> findAllByUserId(Integer pUserId, boolean pWithRelations);
+
 	/**
 	 * Selects all orders made between two dates and having the given status.
 	 *
@@ -129,6 +185,20 @@ public interface IOrderService<E> extends IService<E, OrderDtoOut> {
 	@Transactional(readOnly = true)
 	List<OrderDtoOut> findAllBetweenDateInStatus(LocalDate pBeginDate, LocalDate pEndDate, OrderStatus pStatus);
 
+	/**
+	 * Same as {@link #findAllBetweenDateInStatus(LocalDate, LocalDate, OrderStatus)}.
+	 *
+	 * @param pBeginDate     a start date
+	 * @param pEndDate       an end date
+	 * @param pStatus        a status
+	 * @param pWithRelations false to leave the user and the quantities out of the
+	 *                       orders
+	 * @return the orders found
+	 */
+	@Transactional(readOnly = true)
+	List<OrderDtoOut> findAllBetweenDateInStatus(LocalDate pBeginDate, LocalDate pEndDate, OrderStatus pStatus,
+			boolean pWithRelations);
+
 	/**
 	 * Selects all orders made by a given user between two dates whatever status.
 	 *
@@ -141,6 +211,20 @@ public interface IOrderService<E> extends IService<E, OrderDtoOut> {
 	@Transactional(readOnly = true)
 	List<OrderDtoOut> findAllBetweenDateForUser(Integer pUserId, LocalDate pBeginDate, LocalDate pEndDate);
 
+	/**
+	 * Same as {@link #findAllBetweenDateForUser(Integer, LocalDate, LocalDate)}.
+	 *
+	 * @param pUserId        a user id
+	 * @param pBeginDate     a start date
+	 * @param pEndDate       an end date
+	 * @param pWithRelations false to leave the user and the quantities out of the
+	 *                       orders
+	 * @return the orders found
+	 */
+	@Transactional(readOnly = true)
+	List<OrderDtoOut> findAllBetweenDateForUser(Integer pUserId, LocalDate pBeginDate, LocalDate pEndDate,
+			boolean pWithRelations);
+
 	/**
 	 * Selects all orders made by a given user between two dates and respecting the
 	 * given status.
@@ -156,6 +240,21 @@ public interface IOrderService<E> extends IService<E, OrderDtoOut> {
 	List<OrderDtoOut> findAllBetweenDateForUserInStatus(Integer pUserId, LocalDate pBeginDate, LocalDate pEndDate,
 			OrderStatus pStatus);
 
+	/**
+	 * Same as {@link #findAllBetweenDateForUserInStatus(Integer, LocalDate, LocalDate, OrderStatus)}.
+	 *
+	 * @param pUserId        a user id
+	 * @param pBeginDate     a start date
+	 * @param pEndDate       an end date
+	 * @param pStatus        a status
+	 * @param pWithRelations false to leave the user and the quantities out of the
+	 *                       orders
+	 * @return the orders found
+	 */
+	@Transactional(readOnly = true)
+	List<OrderDtoOut> findAllBetweenDateForUserInStatus(Integer pUserId, LocalDate pBeginDate, LocalDate pEndDate,
+			OrderStatus pStatus, boolean pWithRelations);
+
 	/**
 	 * Selects all orders made by a given user with the given status.
 	 *
@@ -167,4 +266,119 @@ public interface IOrderService<E> extends IService<E, OrderDtoOut> {
 	@Transactional(readOnly = true)
 	List<OrderDtoOut> findAllForUserInStatus(Integer pUserId, OrderStatus pStatus);
 
+	/**
+	 * Same as {@link #findAllForUserInStatus(Integer, OrderStatus)}.
+	 *
+	 * @param pUserId        a user id
+	 * @param pStatus        a status
+	 * @param pWithRelations false to leave the user and the quantities out of the
+	 *                       orders
+	 * @return the orders found
+	 */
+	@Transactional(readOnly = true)
+	List<OrderDtoOut> findAllForUserInStatus(Integer pUserId, OrderStatus pStatus, boolean pWithRelations);
+
+	/**
+	 * Selects a page of orders, whatever status.
+	 *
+	 * @param pPosition position of the page, null for the first page
+	 * @param pSize     maximum number of orders in the page, in [1,
+	 *                  MAX_PAGE_SIZE]
+	 * @return the orders found ordered by creation date, with the position of the
+	 *         next page.
+	 * @throws ParameterException if parameter is invalid
+	 */
+	@Transactional(readOnly = true)
+	Window<OrderDtoOut> findPage(ScrollPosition pPosition, int pSize);
+
+	/**
+	 * Same as {@link #findPage(ScrollPosition, int)}.
+	 *
+	 * @param pPosition      position of the page
+	 * @param pSize          maximum number of orders in the page
+	 * @param pWithRelations false to leave the user and the quantities out of the
+	 *                       orders
+	 * @return the orders of the page
+	 */
+	@Transactional(readOnly = true)
+	Window<OrderDtoOut> findPage(ScrollPosition pPosition, int pSize, boolean pWithRelations);
+
+	/**
+	 * Selects a page of orders made by the given user, whatever status.
+	 *
+	 * @param pUserId   a user id
+	 * @param pPosition position of the page, null for the first page
+	 * @param pSize     maximum number of orders in the page, in [1,
+	 *                  MAX_PAGE_SIZE]
+	 * @return the orders found ordered by creation date, with the position of the
+	 *         next page.
+	 * @throws ParameterException if parameter is invalid
+	 */
+	@Transactional(readOnly = true)
+	Window<OrderDtoOut> findPageByUserId(Integer pUserId, ScrollPosition pPosition, int pSize);
+
+	/**
+	 * Same as {@link #findPageByUserId(Integer, ScrollPosition, int)}.
+	 *
+	 * @param pUserId        a user id
+	 * @param pPosition      position of the page
+	 * @param pSize          maximum number of orders in the page
+	 * @param pWithRelations false to leave the user and the quantities out of the
+	 *                       orders
+	 * @return the orders of the page
+	 */
+	@Transactional(readOnly = true)
+	Window<OrderDtoOut> findPageByUserId(Integer pUserId, ScrollPosition pPosition, int pSize, boolean pWithRelations);
+
+	/**
+	 * Selects a page of orders made between two dates and having the given status.
+	 *
+	 * @param pBeginDate a start date. Can be null, will use now-20years.
+	 * @param pEndDate   an end date. Can be null, will use now.
+	 * @param pStatus    a status. Can be null will use OrderStatus.CREATED
+	 * @param pPosition  position of the page, null for the first page
+	 * @param pSize      maximum number of orders in the page, in [1,
+	 *                   MAX_PAGE_SIZE]
+	 * @return the orders found ordered by creation date, with the position of the
+	 *         next page.
+	 * @throws ParameterException if parameter is invalid
+	 */
+	@Transactional(readOnly = true)
+	Window<OrderDtoOut> findPageBetweenDateInStatus(LocalDate pBeginDate, LocalDate pEndDate, OrderStatus pStatus,
+			ScrollPosition pPosition, int pSize);
+
+	/**
+	 * Same as {@link #findPageBetweenDateInStatus(LocalDate, LocalDate, OrderStatus, ScrollPosition, int)}.
+	 *
+	 * @param pBeginDate     a start date
+	 * @param pEndDate       an end date
+	 * @param pStatus        a status
+	 * @param pPosition      position of the page
+	 * @param pSize          maximum number of orders in the page
+	 * @param pWithRelations false to leave the user and the quantities out of the
+	 *                       orders
+	 * @return the orders of the page
+	 */
+	@Transactional(readOnly = true)
+	Window<OrderDtoOut> findPageBetweenDateInStatus(LocalDate pBeginDate, LocalDate pEndDate, OrderStatus pStatus,
+			ScrollPosition pPosition, int pSize, boolean pWithRelations);
+
+	/**
+	 * Reads all orders made between two dates and having the given status, one
+	 * after the other. <br>
+	 *
+	 * Orders are never all in memory, each one is given to the consumer and then
+	 * forgotten.
+	 *
+	 * @param pBeginDate a start date. Can be null, will use now-20years.
+	 * @param pEndDate   an end date. Can be null, will use now.
+	 * @param pStatus    a status. Can be null will use OrderStatus.CREATED
+	 * @param pConsumer  will receive each order, ordered by creation date
+	 * @return the number of orders read
+	 * @throws ParameterException if parameter is invalid
+	 */
+	@Transactional(readOnly = true)
+	long streamAllBetweenDateInStatus(LocalDate pBeginDate, LocalDate pEndDate, OrderStatus pStatus,
+			Consumer<OrderDtoOut> pConsumer);
+
 }
@@ -1,5 +1,7 @@
 package stone.lunchtime.service;
 
+import java.util.List;
+
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -25,4 +27,30 @@ public interface IServiceForLabeled<E, R extends AbstractLabeledDtoOut> extends
 	@Transactional(rollbackFor = Exception.class)
 	R updateImage(Integer pElmId, ImageDtoIn pNewImageDto) throws EntityNotFoundException, InconsistentStatusException;
 
+	/**
+	 * Finds all entities, in json. <br>
+	 *
+	 * The json of each element is kept until the element changes, the list can be
+	 * written by putting them one after the other.
+	 *
+	 * @return the json of the entities found, an empty list if none
+	 */
+	@Transactional(readOnly = true)
+	List<byte[]> findAllAsJson();
+
+	/**
+	 * Searches enabled entities on their label and description, for a type-ahead.
+	 * <br>
+	 *
+	 * Each word of the text can be the beginning of a word of the label or of the
+	 * description, case and accents are ignored. Words of the label rank better.
+	 *
+	 * @param pText what is searched
+	 * @param pMax  maximum number of entities given, between 1 and 50. 10 if null
+	 * @return the entities found, the best first. An empty list if none
+	 * @throws ParameterException if parameter is invalid
+	 */
+	@Transactional(readOnly = true)
+	List<R> search(String pText, Integer pMax);
+
 }
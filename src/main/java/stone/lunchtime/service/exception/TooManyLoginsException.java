@@ -0,0 +1,44 @@
+// -#--------------------------------------
+// -# ©Copyright Ferret Renaud 2019 -
+// -# Email: admin@ferretrenaud.fr -
+// -# All Rights Reserved. -
+// -#--------------------------------------
+
+package stone.lunchtime.service.exception;
+
+import java.io.Serial;
+
+import org.springframework.security.authentication.AuthenticationServiceException;
+
+/**
+ * Too many logins exception, passwords can not be checked for now. <br>
+ *
+ * This is a Spring Security exception, the login will answer 503 (Service
+ * Unavailable) instead of 401.
+ */
+public class TooManyLoginsException extends AuthenticationServiceException {
+	@Serial
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Constructs a new exception with the specified detail message.
+	 *
+	 * @param pMessage the detail message. The detail message is saved for later
+	 *                 retrieval by the {@link #getMessage()} method.
+	 */
+	public TooManyLoginsException(String pMessage) {
+		super(pMessage);
+	}
+
+	/**
+	 * Constructs a new exception with the specified detail message and cause.
+	 *
+	 * @param pMessage the detail message (which is saved for later retrieval by
+	 *                 the {@link #getMessage()} method).
+	 * @param pCause   the cause (which is saved for later retrieval by the
+	 *                 {@link #getCause()} method).
+	 */
+	public TooManyLoginsException(String pMessage, Throwable pCause) {
+		super(pMessage, pCause);
+	}
+}
@@ -0,0 +1,200 @@
+// -#--------------------------------------
+// -# ©Copyright Ferret Renaud 2019 -
+// -# Email: admin@ferretrenaud.fr -
+// -# All Rights Reserved. -
+// -#--------------------------------------
+
+package stone.lunchtime.service.impl;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import stone.lunchtime.service.IImageStorage;
+import stone.lunchtime.service.exception.ParameterException;
+
+/**
+ * Stores images in a local directory. <br>
+ *
+ * The file name is the SHA-256 of the image, files are spread in sub
+ * directories named with the first two characters of the hash
+ * (ab/abcdef...). A file is never modified once written: it is written in a
+ * temporary file first, then moved. Its last modified time is the date of its
+ * last save. A save and a deletion of the same file hold the same lock, so a
+ * deletion never removes a file saved after its check. <br>
+ *
+ * Images are read with a memory mapping: their content is not copied in the
+ * heap, the system keeps the files in its page cache. <br>
+ *
+ * Used when configuration.image.storage=file.
+ */
+@Service
+@ConditionalOnProperty(name = "configuration.image.storage", havingValue = "file")
+public class FileImageStorage implements IImageStorage {
+	private static final Logger LOG = LoggerFactory.getLogger(FileImageStorage.class);
+
+	private static final Pattern KEY = Pattern.compile("[0-9a-f]{64}");
+
+	/** Number of locks, a file uses the lock of its sub directory. */
+	private static final int LOCKS = 64;
+
+	private final Path directory;
+
+	private final Object[] locks = new Object[FileImageStorage.LOCKS];
+
+	/**
+	 * Constructor of the object.
+	 *
+	 * @param pDirectory where images are stored, created if needed
+	 */
+	@Autowired
+	public FileImageStorage(@Value("${configuration.image.storage.directory}") String pDirectory) {
+		super();
+		this.directory = Path.of(pDirectory).toAbsolutePath().normalize();
+		try {
+			Files.createDirectories(this.directory);
+		} catch (IOException exc) {
+			throw new UncheckedIOException("Impossible de creer le repertoire des images " + this.directory, exc);
+		}
+		for (var i = 0; i < this.locks.length; i++) {
+			this.locks[i] = new Object();
+		}
+		FileImageStorage.LOG.atInfo().log("FileImageStorage - images are stored in {}", this.directory);
+	}
+
+	@Override
+	public String save(byte[] pContent) {
+		var key = FileImageStorage.sha256(pContent);
+		var file = this.toPath(key);
+		synchronized (this.lockOf(key)) {
+			try {
+				if (Files.exists(file)) {
+					// Tells a sweep in progress that the image is used again
+					Files.setLastModifiedTime(file, FileTime.from(Instant.now()));
+					FileImageStorage.LOG.atDebug().log("save - image {} already stored", key);
+					return key;
+				}
+				Files.createDirectories(file.getParent());
+				var tmp = Files.createTempFile(file.getParent(), key, ".tmp");
+				try {
+					Files.write(tmp, pContent);
+					Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE);
+				} catch (FileAlreadyExistsException exc) {
+					// Same image written at the same time by an other process
+					FileImageStorage.LOG.atDebug().log("save - image {} stored by an other process", key);
+				} finally {
+					Files.deleteIfExists(tmp);
+				}
+			} catch (IOException exc) {
+				throw new UncheckedIOException("Impossible d'enregistrer l'image " + key, exc);
+			}
+		}
+		FileImageStorage.LOG.atDebug().log("save - image {} stored, {} bytes", key, Integer.valueOf(pContent.length));
+		return key;
+	}
+
+	@Override
+	public List<String> findSavedBefore(Instant pBefore) {
+		var limit = FileTime.from(pBefore);
+		try (var files = Files.find(this.directory, 2, (f, a) -> a.isRegularFile()
+				&& FileImageStorage.KEY.matcher(f.getFileName().toString()).matches()
+				&& a.lastModifiedTime().compareTo(limit) < 0)) {
+			return files.map(f -> f.getFileName().toString()).toList();
+		} catch (IOException exc) {
+			throw new UncheckedIOException("Impossible de lister les images de " + this.directory, exc);
+		}
+	}
+
+	@Override
+	public boolean exists(String pKey) {
+		return Files.exists(this.toPath(pKey));
+	}
+
+	@Override
+	public ByteBuffer read(String pKey) {
+		try (var channel = FileChannel.open(this.toPath(pKey), StandardOpenOption.READ)) {
+			// The mapping stays valid once the channel is closed
+			return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		} catch (IOException exc) {
+			throw new UncheckedIOException("Impossible de lire l'image " + pKey, exc);
+		}
+	}
+
+	@Override
+	public boolean deleteIfSavedBefore(String pKey, Instant pBefore) {
+		var file = this.toPath(pKey);
+		synchronized (this.lockOf(pKey)) {
+			try {
+				if (!Files.exists(file) || Files.getLastModifiedTime(file).compareTo(FileTime.from(pBefore)) >= 0) {
+					FileImageStorage.LOG.atDebug().log("deleteIfSavedBefore - image {} saved again, kept", pKey);
+					return false;
+				}
+				Files.delete(file);
+				FileImageStorage.LOG.atDebug().log("deleteIfSavedBefore - image {} deleted", pKey);
+				return true;
+			} catch (IOException exc) {
+				// The file is only orphaned, the next sweep will try again
+				FileImageStorage.LOG.atWarn().log("deleteIfSavedBefore - image {} could not be deleted", pKey, exc);
+				return false;
+			}
+		}
+	}
+
+	/**
+	 * Gets the lock of an image.
+	 *
+	 * @param pKey the key of the image, valid
+	 * @return the lock held while saving or deleting it
+	 */
+	private Object lockOf(String pKey) {
+		return this.locks[Integer.parseInt(pKey.substring(0, 2), 16) % FileImageStorage.LOCKS];
+	}
+
+	/**
+	 * Gets the file of an image.
+	 *
+	 * @param pKey the key of the image
+	 * @return the file of the image
+	 * @throws ParameterException if the key is not a SHA-256
+	 */
+	private Path toPath(String pKey) {
+		if (pKey == null || !FileImageStorage.KEY.matcher(pKey).matches()) {
+			throw new ParameterException("La cle de l'image n'est pas valide", "pKey");
+		}
+		return this.directory.resolve(pKey.substring(0, 2)).resolve(pKey);
+	}
+
+	/**
+	 * Computes the key of an image.
+	 *
+	 * @param pContent the image
+	 * @return the SHA-256 of the image, in hexadecimal
+	 */
+	private static String sha256(byte[] pContent) {
+		try {
+			return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(pContent));
+		} catch (NoSuchAlgorithmException exc) {
+			throw new IllegalStateException("SHA-256 is not available", exc);
+		}
+	}
+}
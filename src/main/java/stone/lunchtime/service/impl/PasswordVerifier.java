@@ -0,0 +1,149 @@
+// -#--------------------------------------
+// -# ©Copyright Ferret Renaud 2019 -
+// -# Email: admin@ferretrenaud.fr -
+// -# All Rights Reserved. -
+// -#--------------------------------------
+
+package stone.lunchtime.service.impl;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import stone.lunchtime.service.exception.TooManyLoginsException;
+
+/**
+ * Checks passwords on a dedicated pool of threads. <br>
+ *
+ * BCrypt is slow on purpose. The pool has one thread per core and a bounded
+ * queue: when many users log in at the same time, hashing does not use all the
+ * request threads and, once the queue is full, logins are refused at once (503)
+ * instead of waiting. <br>
+ *
+ * The timeout only applies while a check waits in the queue: it is then removed
+ * and never hashed. BCrypt cannot be interrupted, so a check that has started
+ * is always waited for. A login thus waits at most the timeout plus one hash,
+ * and a timed out login never uses a thread of the pool. <br>
+ *
+ * Metrics: login.hash (time to check a password), login.queue.size,
+ * login.active and login.rejected.
+ */
+@Service
+public class PasswordVerifier implements DisposableBean {
+	private static final Logger LOG = LoggerFactory.getLogger(PasswordVerifier.class);
+
+	private final PasswordEncoder passwordEncoder;
+
+	private final ThreadPoolExecutor executor;
+
+	private final long timeoutInMs;
+
+	private final Timer hashTimer;
+
+	private final Counter rejected;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param pPasswordEncoder password encoder
+	 * @param pRegistry        where metrics are published
+	 * @param pThreads         number of threads, 0 or less for one per core
+	 * @param pQueueSize       number of passwords waiting for a thread
+	 * @param pTimeoutInMs     maximum time a login waits for a thread
+	 */
+	@Autowired
+	public PasswordVerifier(PasswordEncoder pPasswordEncoder, MeterRegistry pRegistry,
+			@Value("${configuration.login.threads:0}") int pThreads,
+			@Value("${configuration.login.queue.size:64}") int pQueueSize,
+			@Value("${configuration.login.timeout.in.ms:5000}") long pTimeoutInMs) {
+		super();
+		this.passwordEncoder = pPasswordEncoder;
+		this.timeoutInMs = pTimeoutInMs;
+		var threads = pThreads > 0 ? pThreads : Runtime.getRuntime().availableProcessors();
+		var count = new AtomicInteger();
+		this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(pQueueSize), pRunnable -> {
+					var thread = new Thread(pRunnable, "login-" + count.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				}, new ThreadPoolExecutor.AbortPolicy());
+		this.hashTimer = Timer.builder("login.hash").description("Time to check a password").register(pRegistry);
+		this.rejected = Counter.builder("login.rejected").description("Logins refused because of too many logins")
+				.register(pRegistry);
+		Gauge.builder("login.queue.size", this.executor, e -> e.getQueue().size())
+				.description("Passwords waiting to be checked").register(pRegistry);
+		Gauge.builder("login.active", this.executor, ThreadPoolExecutor::getActiveCount)
+				.description("Passwords being checked").register(pRegistry);
+		PasswordVerifier.LOG.atInfo().log("PasswordVerifier - {} threads, queue of {}", Integer.valueOf(threads),
+				Integer.valueOf(pQueueSize));
+	}
+
+	/**
+	 * Checks a password.
+	 *
+	 * @param pRawPassword     the password given by the user
+	 * @param pEncodedPassword the password stored
+	 * @return true if passwords match
+	 * @throws TooManyLoginsException if there are too many passwords to check, or
+	 *                                if the check waited too long for a thread
+	 */
+	public boolean matches(String pRawPassword, String pEncodedPassword) {
+		var task = new FutureTask<>(() -> {
+			var sample = Timer.start();
+			try {
+				return Boolean.valueOf(this.passwordEncoder.matches(pRawPassword, pEncodedPassword));
+			} finally {
+				sample.stop(this.hashTimer);
+			}
+		});
+		try {
+			this.executor.execute(task);
+			try {
+				return Boolean.TRUE.equals(task.get(this.timeoutInMs, TimeUnit.MILLISECONDS));
+			} catch (TimeoutException exc) {
+				if (!this.executor.remove(task)) {
+					// Already being checked, BCrypt cannot be stopped: wait for it
+					return Boolean.TRUE.equals(task.get());
+				}
+				PasswordVerifier.LOG.atWarn().log("matches - Waited more than {} ms for a thread",
+						Long.valueOf(this.timeoutInMs));
+				this.rejected.increment();
+				throw new TooManyLoginsException("Trop de connexions en cours, veuillez reessayer", exc);
+			}
+		} catch (RejectedExecutionException exc) {
+			PasswordVerifier.LOG.atWarn().log("matches - Queue is full ({} waiting)",
+					Integer.valueOf(this.executor.getQueue().size()));
+			this.rejected.increment();
+			throw new TooManyLoginsException("Trop de connexions en cours, veuillez reessayer", exc);
+		} catch (InterruptedException exc) {
+			this.executor.remove(task);
+			Thread.currentThread().interrupt();
+			throw new TooManyLoginsException("Verification du mot de passe interrompue", exc);
+		} catch (ExecutionException exc) {
+			PasswordVerifier.LOG.atError().log("matches - Error while checking password", exc.getCause());
+			throw new IllegalStateException("Erreur lors de la verification du mot de passe", exc.getCause());
+		}
+	}
+
+	@Override
+	public void destroy() {
+		this.executor.shutdownNow();
+	}
+}
@@ -7,7 +7,9 @@
 package stone.lunchtime.service.impl.jpa;
 
 import java.math.BigDecimal;
+import java.util.HashSet;
 import java.util.Objects;
+import java.util.Set;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -17,10 +19,14 @@ import org.springframework.stereotype.Service;
 import com.fasterxml.jackson.core.JacksonException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import stone.lunchtime.dto.AvailableForWeeksAndDays;
+import stone.lunchtime.dto.WeekAndDay;
 import stone.lunchtime.dto.in.AbstractEatableDtoIn;
 import stone.lunchtime.dto.out.AbstractEatableDtoOut;
 import stone.lunchtime.entity.jpa.AbstractEatableEntity;
+import stone.lunchtime.entity.jpa.AvailabilityEmbeddable;
 import stone.lunchtime.service.exception.EntityNotFoundException;
+import stone.lunchtime.service.exception.InconsistentStatusException;
 import stone.lunchtime.utils.ValidationUtils;
 
 /**
@@ -34,15 +40,21 @@ abstract class AbstractServiceForEatable<E extends AbstractEatableEntity, R exte
 		extends AbstractServiceForLabeled<E, R> {
 	private static final Logger LOG = LoggerFactory.getLogger(AbstractServiceForEatable.class);
 
+	private final AvailabilityIndex availabilityIndex;
+
 	/**
 	 * Constructor.
 	 *
-	 * @param pMapper       the json mapper.
-	 * @param pImageService image service
+	 * @param pMapper            the json mapper.
+	 * @param pImageService      image service
+	 * @param pAvailabilityIndex availability index
+	 * @param pCatalogVersion    catalog version
 	 */
 	@Autowired
-	protected AbstractServiceForEatable(ObjectMapper pMapper, ImageService pImageService) {
-		super(pMapper, pImageService);
+	protected AbstractServiceForEatable(ObjectMapper pMapper, ImageService pImageService,
+			AvailabilityIndex pAvailabilityIndex, CatalogVersion pCatalogVersion) {
+		super(pMapper, pImageService, pCatalogVersion);
+		this.availabilityIndex = pAvailabilityIndex;
 	}
 
 	/**
@@ -82,8 +94,56 @@ abstract class AbstractServiceForEatable<E extends AbstractEatableEntity, R exte
 		} else {
 			entityInDateBase.setAvailableForWeeksAndDays(null);
 		}
+		this.handleAvailabilities(entityInDateBase);
 
 		return entityInDateBase;
 	}
 
+	@Override
+	protected E deleteEntity(Integer pId) throws EntityNotFoundException, InconsistentStatusException {
+		var result = super.deleteEntity(pId);
+		this.availabilityIndex.remove(result);
+		return result;
+	}
+
+	/**
+	 * Builds the normalized availabilities from the json availability. <br>
+	 *
+	 * Only the differences are applied to the entity, so unchanged rows are not
+	 * deleted and inserted again.
+	 *
+	 * @param pEntity an entity. That will be changed during this method.
+	 */
+	protected void handleAvailabilities(E pEntity) {
+		Set<AvailabilityEmbeddable> expected = new HashSet<>();
+		try {
+			var aad = new AvailableForWeeksAndDays(pEntity.getAvailableForWeeksAndDays(), this.getMapper());
+			if (!aad.isEmpty()) {
+				for (WeekAndDay weekAndDay : aad.getValues()) {
+					if (weekAndDay.getWeek() != null) {
+						expected.add(new AvailabilityEmbeddable(weekAndDay.getWeek(), weekAndDay.getDay()));
+					}
+				}
+			}
+		} catch (JacksonException exc) {
+			AbstractServiceForEatable.LOG.atError().log("Error with weeks and days format", exc);
+		}
+		if (pEntity.getAvailabilities() == null) {
+			pEntity.setAvailabilities(new HashSet<>());
+		}
+		pEntity.getAvailabilities().retainAll(expected);
+		pEntity.getAvailabilities().addAll(expected);
+		AbstractServiceForEatable.LOG.atTrace().log("handleAvailabilities - {} availabilities",
+				Integer.valueOf(expected.size()));
+	}
+
+	/**
+	 * Gets the availability index.
+	 *
+	 * @return the availability index
+	 */
+	protected AvailabilityIndex getAvailabilityIndex() {
+		return this.availabilityIndex;
+	}
+
 }
@@ -6,6 +6,11 @@
 
 package stone.lunchtime.service.impl.jpa;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -37,18 +42,31 @@ abstract class AbstractServiceForLabeled<E extends AbstractLabeledEntity, R exte
 		extends AbstractService<E, R> implements IServiceForLabeled<E, R> {
 	private static final Logger LOG = LoggerFactory.getLogger(AbstractServiceForLabeled.class);
 
+	/** Number of elements given by a search, when not specified. */
+	public static final int DEFAULT_SEARCH_SIZE = 10;
+	/** Maximum number of elements given by a search. */
+	public static final int MAX_SEARCH_SIZE = 50;
+
 	private final ImageService imageService;
 
+	private final CatalogVersion catalogVersion;
+
+	private final LabelIndex labelIndex;
+
 	/**
 	 * Constructor.
 	 *
-	 * @param pMapper       the json mapper.
-	 * @param pImageService image service
+	 * @param pMapper         the json mapper.
+	 * @param pImageService   image service
+	 * @param pCatalogVersion catalog version
 	 */
 	@Autowired
-	protected AbstractServiceForLabeled(ObjectMapper pMapper, ImageService pImageService) {
+	protected AbstractServiceForLabeled(ObjectMapper pMapper, ImageService pImageService,
+			CatalogVersion pCatalogVersion) {
 		super(pMapper);
 		this.imageService = pImageService;
+		this.catalogVersion = pCatalogVersion;
+		this.labelIndex = new LabelIndex(this.getClass().getSimpleName());
 	}
 
 	/**
@@ -135,6 +153,7 @@ abstract class AbstractServiceForLabeled<E extends AbstractLabeledEntity, R exte
 
 		entity.setStatus(pNewStatus);
 		var resultUpdate = this.getTargetedDao().save(entity);
+		this.catalogChanged(resultUpdate);
 		AbstractServiceForLabeled.LOG.atInfo().log("updateStatus - OK");
 		return resultUpdate;
 	}
@@ -151,6 +170,68 @@ abstract class AbstractServiceForLabeled<E extends AbstractLabeledEntity, R exte
 	 */
 	protected abstract ImageEntity getDefault();
 
+	/**
+	 * Indicates that an element of the catalog was added.
+	 *
+	 * @param pEntity the element added
+	 */
+	protected void catalogAdded(E pEntity) {
+		this.catalogVersion.changed();
+		this.labelIndex.changed(pEntity);
+	}
+
+	/**
+	 * Indicates that an element of the catalog was changed.
+	 *
+	 * @param pEntity the element changed
+	 */
+	protected void catalogChanged(E pEntity) {
+		this.catalogVersion.changed();
+		this.elementChanged(pEntity.getId());
+		this.labelIndex.changed(pEntity);
+	}
+
+	/**
+	 * Searches enabled entities on their label and description. <br>
+	 *
+	 * See {@link LabelIndex}, it is filled on the first call.
+	 *
+	 * @param pText what is searched
+	 * @param pMax  maximum number of entities given, DEFAULT_SEARCH_SIZE if null
+	 * @return the entities found, the best first. An empty list if none
+	 * @throws ParameterException if parameter is invalid
+	 */
+	protected List<E> searchEntities(String pText, Integer pMax) {
+		AbstractServiceForLabeled.LOG.atDebug().log("search - {} at most {} in {}", pText, pMax,
+				this.getClass().getSimpleName());
+		ValidationUtils.isNotNull(pText, "Text cannot be null");
+		var max = pMax == null ? AbstractServiceForLabeled.DEFAULT_SEARCH_SIZE : pMax.intValue();
+		ValidationUtils.isBetween(Integer.valueOf(max), Integer.valueOf(1),
+				Integer.valueOf(AbstractServiceForLabeled.MAX_SEARCH_SIZE),
+				"Max should be between 1 and " + AbstractServiceForLabeled.MAX_SEARCH_SIZE);
+
+		if (!this.labelIndex.isLoaded()) {
+			this.labelIndex.load(super.findAllEntities());
+		}
+		var ids = this.labelIndex.search(pText, max);
+		if (ids.isEmpty()) {
+			return List.of();
+		}
+		Map<Integer, E> entities = new HashMap<>();
+		this.getTargetedDao().findAllById(ids).forEach(e -> entities.put(e.getId(), e));
+		var result = ids.stream().map(entities::get).filter(Objects::nonNull).toList();
+		AbstractServiceForLabeled.LOG.atInfo().log("search - Found {} values for service {}", result.size(),
+				this.getClass().getSimpleName());
+		return result;
+	}
+
+	/**
+	 * Drops what is kept about an element (its json), because it has changed.
+	 *
+	 * @param pId the id of the element changed
+	 */
+	protected abstract void elementChanged(Integer pId);
+
 	/**
 	 * Gets the image service.
 	 *
@@ -181,6 +262,7 @@ abstract class AbstractServiceForLabeled<E extends AbstractLabeledEntity, R exte
 		}
 
 		var resultUpdate = this.getTargetedDao().save(elm);
+		this.catalogChanged(resultUpdate);
 		AbstractServiceForLabeled.LOG.atInfo().log("updateImage - OK");
 		return resultUpdate;
 	}
@@ -38,6 +38,8 @@ import stone.lunchtime.service.exception.EntityNotFoundException;
 import stone.lunchtime.service.exception.InconsistentStatusException;
 import stone.lunchtime.service.exception.ParameterException;
 import stone.lunchtime.service.exception.SendMailException;
+import stone.lunchtime.service.exception.TooManyLoginsException;
+import stone.lunchtime.service.impl.PasswordVerifier;
 import stone.lunchtime.utils.ValidationUtils;
 
 /**
@@ -50,6 +52,7 @@ public class AuthenticationService implements IAuthenticationService {
 	private final IUserDao userDao;
 	private final PasswordEncoder passwordEncoder;
 	private final IEmailService emailService;
+	private final PasswordVerifier passwordVerifier;
 
 	@Value("${configuration.forgot.password.email.body}")
 	private String mailBody;
@@ -61,13 +64,16 @@ public class AuthenticationService implements IAuthenticationService {
 	 *
 	 * @param userDao         user dao
 	 * @param emailService    email service
-	 * @param passwordEncoder password encoder
+	 * @param passwordEncoder  password encoder
+	 * @param passwordVerifier checks passwords on its own threads
 	 */
 	@Autowired
-	public AuthenticationService(IUserDao userDao, IEmailService emailService, PasswordEncoder passwordEncoder) {
+	public AuthenticationService(IUserDao userDao, IEmailService emailService, PasswordEncoder passwordEncoder,
+			PasswordVerifier passwordVerifier) {
 		this.userDao = userDao;
 		this.emailService = emailService;
 		this.passwordEncoder = passwordEncoder;
+		this.passwordVerifier = passwordVerifier;
 	}
 
 	/**
@@ -129,6 +135,7 @@ public class AuthenticationService implements IAuthenticationService {
 	 * @throws BadCredentialsException   if parameter is invalid
 	 * @throws DisabledException         if user status is not enabled
 	 * @throws UsernameNotFoundException if authentication is wrong
+	 * @throws TooManyLoginsException    if there are too many logins for now
 	 */
 	protected UserEntity authenticate(String pEmail, String pPassword) {
 		AuthenticationService.LOG.atDebug().log("authentifier - {}, XXX", pEmail);
@@ -143,7 +150,7 @@ public class AuthenticationService implements IAuthenticationService {
 			}
 			AuthenticationService.LOG.atDebug().log("authentifier - {},XXX found user with id={}", pEmail,
 					user.getId());
-			if (this.passwordEncoder.matches(pPassword, user.getPassword())) {
+			if (this.passwordVerifier.matches(pPassword, user.getPassword())) {
 				AuthenticationService.LOG.atDebug().log("authentifier - {} password is OK", pEmail);
 				return user;
 			}
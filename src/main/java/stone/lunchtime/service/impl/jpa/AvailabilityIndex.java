@@ -0,0 +1,211 @@
+// -#--------------------------------------
+// -# ©Copyright Ferret Renaud 2019 -
+// -# Email: admin@ferretrenaud.fr -
+// -# All Rights Reserved. -
+// -#--------------------------------------
+
+package stone.lunchtime.service.impl.jpa;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JacksonException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import stone.lunchtime.dto.AvailableForWeeksAndDays;
+import stone.lunchtime.dto.WeekAndDay;
+import stone.lunchtime.entity.jpa.AbstractEatableEntity;
+import stone.lunchtime.entity.jpa.MenuEntity;
+
+/**
+ * In memory availability index for meals and menus. <br>
+ *
+ * Each eatable is compiled once into a 53 weeks x 7 days bit set, so checking
+ * if an element is available for a week and a day is a simple bit test. <br>
+ *
+ * An entry remembers the json it was compiled from, if the entity given at
+ * lookup time does not hold the same json (rollback, update made outside of
+ * this application, ...) the entry is compiled again.
+ */
+@Service
+public class AvailabilityIndex {
+	private static final Logger LOG = LoggerFactory.getLogger(AvailabilityIndex.class);
+
+	/** Number of weeks in a year. */
+	public static final int WEEKS = 53;
+	/** Number of days in a week. */
+	public static final int DAYS = 7;
+
+	private static final int WORDS = (AvailabilityIndex.WEEKS * AvailabilityIndex.DAYS + Long.SIZE - 1) / Long.SIZE;
+	/** An entry with no bit set means available for all weeks and days. */
+	private static final long[] ALL = null;
+
+	private final ObjectMapper mapper;
+
+	private final Map<Integer, Entry> meals = new ConcurrentHashMap<>();
+
+	private final Map<Integer, Entry> menus = new ConcurrentHashMap<>();
+
+	/**
+	 * A compiled availability.
+	 *
+	 * @param source the json used for compilation
+	 * @param bits   the bit set, null if always available
+	 */
+	private record Entry(String source, long[] bits) {
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param pMapper the json mapper.
+	 */
+	@Autowired
+	public AvailabilityIndex(ObjectMapper pMapper) {
+		super();
+		this.mapper = pMapper;
+	}
+
+	/**
+	 * Indicates if the element is available for the given week and day.
+	 *
+	 * @param pEntity a meal or a menu
+	 * @param pWeek   a week number [1, 53]
+	 * @param pDay    a day number [1, 7]
+	 * @return true if the element is available for this week and day
+	 */
+	public boolean isAvailable(AbstractEatableEntity pEntity, int pWeek, int pDay) {
+		var bits = this.lookup(pEntity).bits();
+		if (bits == AvailabilityIndex.ALL) {
+			return true;
+		}
+		return AvailabilityIndex.test(bits, pWeek, pDay);
+	}
+
+	/**
+	 * Indicates if the element is available for all the days of the given week.
+	 *
+	 * @param pEntity a meal or a menu
+	 * @param pWeek   a week number [1, 53]
+	 * @return true if the element is available for every day of this week
+	 */
+	public boolean isAvailableAllWeek(AbstractEatableEntity pEntity, int pWeek) {
+		var bits = this.lookup(pEntity).bits();
+		if (bits == AvailabilityIndex.ALL) {
+			return true;
+		}
+		for (var day = 1; day <= AvailabilityIndex.DAYS; day++) {
+			if (!AvailabilityIndex.test(bits, pWeek, day)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Compiles (again) the availability of the element. <br>
+	 *
+	 * Call it each time an element is added or updated.
+	 *
+	 * @param pEntity a meal or a menu
+	 */
+	public void refresh(AbstractEatableEntity pEntity) {
+		if (pEntity == null || pEntity.getId() == null) {
+			return;
+		}
+		this.mapFor(pEntity).put(pEntity.getId(), this.compile(pEntity.getAvailableForWeeksAndDays()));
+	}
+
+	/**
+	 * Removes the element from the index. <br>
+	 *
+	 * Call it each time an element is deleted.
+	 *
+	 * @param pEntity a meal or a menu
+	 */
+	public void remove(AbstractEatableEntity pEntity) {
+		if (pEntity == null || pEntity.getId() == null) {
+			return;
+		}
+		this.mapFor(pEntity).remove(pEntity.getId());
+	}
+
+	/**
+	 * Gets the entry for this element, compiles it if needed.
+	 *
+	 * @param pEntity a meal or a menu
+	 * @return the entry for this element
+	 */
+	private Entry lookup(AbstractEatableEntity pEntity) {
+		var source = pEntity.getAvailableForWeeksAndDays();
+		if (pEntity.getId() == null) {
+			return this.compile(source);
+		}
+		var map = this.mapFor(pEntity);
+		var entry = map.get(pEntity.getId());
+		if (entry == null || !Objects.equals(entry.source(), source)) {
+			entry = this.compile(source);
+			map.put(pEntity.getId(), entry);
+		}
+		return entry;
+	}
+
+	private Map<Integer, Entry> mapFor(AbstractEatableEntity pEntity) {
+		return pEntity instanceof MenuEntity ? this.menus : this.meals;
+	}
+
+	/**
+	 * Compiles a json availability into a bit set.
+	 *
+	 * @param pJson the json availability, can be null
+	 * @return the compiled entry
+	 */
+	private Entry compile(String pJson) {
+		AvailableForWeeksAndDays aad;
+		try {
+			aad = new AvailableForWeeksAndDays(pJson, this.mapper);
+		} catch (JacksonException exc) {
+			AvailabilityIndex.LOG.atError().log("Error with weeks and day format, will consider it as always available",
+					exc);
+			return new Entry(pJson, AvailabilityIndex.ALL);
+		}
+		if (aad.isEmpty()) {
+			return new Entry(pJson, AvailabilityIndex.ALL);
+		}
+		var bits = new long[AvailabilityIndex.WORDS];
+		for (WeekAndDay weekAndDay : aad.getValues()) {
+			var week = weekAndDay.getWeek();
+			if (week == null || week.intValue() < 1 || week.intValue() > AvailabilityIndex.WEEKS) {
+				continue;
+			}
+			var day = weekAndDay.getDay();
+			if (day == null) {
+				for (var d = 1; d <= AvailabilityIndex.DAYS; d++) {
+					AvailabilityIndex.set(bits, week.intValue(), d);
+				}
+			} else if (day.intValue() >= 1 && day.intValue() <= AvailabilityIndex.DAYS) {
+				AvailabilityIndex.set(bits, week.intValue(), day.intValue());
+			}
+		}
+		return new Entry(pJson, bits);
+	}
+
+	private static void set(long[] pBits, int pWeek, int pDay) {
+		var index = (pWeek - 1) * AvailabilityIndex.DAYS + pDay - 1;
+		pBits[index >>> 6] |= 1L << index;
+	}
+
+	private static boolean test(long[] pBits, int pWeek, int pDay) {
+		if (pWeek < 1 || pWeek > AvailabilityIndex.WEEKS || pDay < 1 || pDay > AvailabilityIndex.DAYS) {
+			return false;
+		}
+		var index = (pWeek - 1) * AvailabilityIndex.DAYS + pDay - 1;
+		return (pBits[index >>> 6] & (1L << index)) != 0L;
+	}
+}
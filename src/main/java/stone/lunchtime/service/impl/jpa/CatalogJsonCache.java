@@ -0,0 +1,253 @@
+// -#--------------------------------------
+// -# ©Copyright Ferret Renaud 2019 -
+// -# Email: admin@ferretrenaud.fr -
+// -# All Rights Reserved. -
+// -#--------------------------------------
+
+package stone.lunchtime.service.impl.jpa;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fasterxml.jackson.core.JacksonException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import stone.lunchtime.dto.jpa.handler.IngredientDtoHandler;
+import stone.lunchtime.dto.jpa.handler.MealDtoHandler;
+import stone.lunchtime.dto.jpa.handler.MenuDtoHandler;
+import stone.lunchtime.entity.jpa.AbstractJpaEntity;
+import stone.lunchtime.entity.jpa.IngredientEntity;
+import stone.lunchtime.entity.jpa.MealEntity;
+import stone.lunchtime.entity.jpa.MenuEntity;
+
+/**
+ * Json of the ingredients, meals and menus, element by element. <br>
+ *
+ * The json of an element is built once and kept until the element changes, so
+ * lists are written by putting the json of their elements one after the other
+ * instead of building DTOs and writing them each time. <br>
+ *
+ * A meal holds its ingredients and a menu its meals: when an ingredient
+ * changes, all meals and menus are built again, when a meal changes, all menus
+ * are built again. <br>
+ *
+ * Like {@link CatalogVersion}, a change is applied when it is made and once
+ * more at the end of the transaction, and each cache has a version so a json
+ * built while an element was changing is not kept.
+ */
+@Service
+public class CatalogJsonCache {
+	private static final Logger LOG = LoggerFactory.getLogger(CatalogJsonCache.class);
+
+	private final Fragments<IngredientEntity> ingredients;
+
+	private final Fragments<MealEntity> meals;
+
+	private final Fragments<MenuEntity> menus;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param pMapper  the json mapper.
+	 * @param pMaxSize maximum number of elements kept, for each type
+	 */
+	@Autowired
+	public CatalogJsonCache(ObjectMapper pMapper, @Value("${configuration.cache.json.max.size:2000}") long pMaxSize) {
+		super();
+		this.ingredients = new Fragments<>("ingredient", pMapper, pMaxSize, IngredientDtoHandler::dtoOutfromEntity);
+		this.meals = new Fragments<>("meal", pMapper, pMaxSize, e -> MealDtoHandler.dtoOutfromEntity(e, pMapper));
+		this.menus = new Fragments<>("menu", pMapper, pMaxSize, e -> MenuDtoHandler.dtoOutfromEntity(e, pMapper));
+	}
+
+	/**
+	 * Gets the json of ingredients.
+	 *
+	 * @param pEntities some ingredients
+	 * @return their json, in the same order
+	 */
+	public List<byte[]> ingredients(List<IngredientEntity> pEntities) {
+		return this.ingredients.get(pEntities);
+	}
+
+	/**
+	 * Gets the json of meals.
+	 *
+	 * @param pEntities some meals
+	 * @return their json, in the same order
+	 */
+	public List<byte[]> meals(List<MealEntity> pEntities) {
+		return this.meals.get(pEntities);
+	}
+
+	/**
+	 * Gets the json of menus.
+	 *
+	 * @param pEntities some menus
+	 * @return their json, in the same order
+	 */
+	public List<byte[]> menus(List<MenuEntity> pEntities) {
+		return this.menus.get(pEntities);
+	}
+
+	/**
+	 * Indicates that an ingredient has changed.
+	 *
+	 * @param pId an ingredient id
+	 */
+	public void ingredientChanged(Integer pId) {
+		CatalogJsonCache.LOG.atDebug().log("ingredientChanged - {}", pId);
+		CatalogJsonCache.now(() -> {
+			this.ingredients.invalidate(pId);
+			this.meals.invalidateAll();
+			this.menus.invalidateAll();
+		});
+	}
+
+	/**
+	 * Indicates that a meal has changed.
+	 *
+	 * @param pId a meal id
+	 */
+	public void mealChanged(Integer pId) {
+		CatalogJsonCache.LOG.atDebug().log("mealChanged - {}", pId);
+		CatalogJsonCache.now(() -> {
+			this.meals.invalidate(pId);
+			this.menus.invalidateAll();
+		});
+	}
+
+	/**
+	 * Indicates that a menu has changed.
+	 *
+	 * @param pId a menu id
+	 */
+	public void menuChanged(Integer pId) {
+		CatalogJsonCache.LOG.atDebug().log("menuChanged - {}", pId);
+		CatalogJsonCache.now(() -> this.menus.invalidate(pId));
+	}
+
+	/**
+	 * Runs a change now, and once more at the end of the transaction if any.
+	 *
+	 * @param pChange a change
+	 */
+	private static void now(Runnable pChange) {
+		pChange.run();
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCompletion(int pStatus) {
+					pChange.run();
+				}
+			});
+		}
+	}
+
+	/**
+	 * The json of the elements of one type, by id.
+	 *
+	 * @param <E> type of the elements
+	 */
+	private static final class Fragments<E extends AbstractJpaEntity> {
+		private final String name;
+
+		private final ObjectMapper mapper;
+
+		private final Function<E, Object> toDto;
+
+		private final Cache<Integer, byte[]> values;
+
+		/** Incremented on each change, a json built before a change is not kept. */
+		private final AtomicLong version = new AtomicLong();
+
+		/**
+		 * Constructor.
+		 *
+		 * @param pName    name of the elements, for logs
+		 * @param pMapper  the json mapper
+		 * @param pMaxSize maximum number of elements kept
+		 * @param pToDto   transforms an element into its DTO
+		 */
+		Fragments(String pName, ObjectMapper pMapper, long pMaxSize, Function<E, Object> pToDto) {
+			this.name = pName;
+			this.mapper = pMapper;
+			this.toDto = pToDto;
+			this.values = Caffeine.newBuilder().maximumSize(pMaxSize).build();
+		}
+
+		/**
+		 * Gets the json of elements, builds the missing ones.
+		 *
+		 * @param pEntities some elements
+		 * @return their json, in the same order
+		 */
+		List<byte[]> get(List<E> pEntities) {
+			var version = this.version.get();
+			List<byte[]> result = new ArrayList<>(pEntities.size());
+			var built = 0;
+			for (E entity : pEntities) {
+				var json = this.values.getIfPresent(entity.getId());
+				if (json == null) {
+					json = this.build(entity, version);
+					built++;
+				}
+				result.add(json);
+			}
+			CatalogJsonCache.LOG.atDebug().log("get - {} {} json, {} built", Integer.valueOf(result.size()), this.name,
+					Integer.valueOf(built));
+			return result;
+		}
+
+		/**
+		 * Builds the json of an element, keeps it if nothing changed meanwhile.
+		 *
+		 * @param pEntity  an element
+		 * @param pVersion the version when the element was read
+		 * @return its json
+		 */
+		private byte[] build(E pEntity, long pVersion) {
+			byte[] json;
+			try {
+				json = this.mapper.writeValueAsBytes(this.toDto.apply(pEntity));
+			} catch (JacksonException exc) {
+				CatalogJsonCache.LOG.atError().log("Error while writing {} {} in json", this.name, pEntity.getId(), exc);
+				throw new IllegalStateException("Impossible de transformer l'element en json", exc);
+			}
+			// Atomic with invalidate(id), which increments the version before removing
+			this.values.asMap().compute(pEntity.getId(), (k, old) -> this.version.get() == pVersion ? json : old);
+			return json;
+		}
+
+		/**
+		 * Drops the json of an element.
+		 *
+		 * @param pId an element id
+		 */
+		void invalidate(Integer pId) {
+			this.version.incrementAndGet();
+			if (pId != null) {
+				this.values.invalidate(pId);
+			}
+		}
+
+		/**
+		 * Drops the json of all elements.
+		 */
+		void invalidateAll() {
+			this.version.incrementAndGet();
+			this.values.invalidateAll();
+		}
+	}
+}
@@ -0,0 +1,91 @@
+// -#--------------------------------------
+// -# ©Copyright Ferret Renaud 2019 -
+// -# Email: admin@ferretrenaud.fr -
+// -# All Rights Reserved. -
+// -#--------------------------------------
+
+package stone.lunchtime.service.impl.jpa;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.Cache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.persistence.EntityManagerFactory;
+import stone.lunchtime.dao.jpa.IJpaDao;
+
+/**
+ * Version of the catalog (ingredients, meals, menus, constraints and images).
+ * <br>
+ *
+ * Each change on the catalog increments this version, so any cache built from
+ * the catalog knows it has to be built again. <br>
+ *
+ * The version is incremented when the change is made and once more at the end
+ * of the transaction (commit or rollback), so a cache built during the
+ * transaction with data that will not be visible (or will be rolled back) is
+ * not kept. <br>
+ *
+ * At the end of the transaction, the cached query results on the catalog are
+ * also dropped from the second level cache. Entities are kept up to date in
+ * this cache by Hibernate itself.
+ */
+@Service
+public class CatalogVersion {
+	private static final Logger LOG = LoggerFactory.getLogger(CatalogVersion.class);
+
+	private final AtomicLong version = new AtomicLong();
+
+	private final EntityManagerFactory entityManagerFactory;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param pEntityManagerFactory the entity manager factory
+	 */
+	@Autowired
+	public CatalogVersion(EntityManagerFactory pEntityManagerFactory) {
+		super();
+		this.entityManagerFactory = pEntityManagerFactory;
+	}
+
+	/**
+	 * Gets the current version.
+	 *
+	 * @return the current version
+	 */
+	public long get() {
+		return this.version.get();
+	}
+
+	/**
+	 * Indicates that the catalog has changed.
+	 */
+	public void changed() {
+		var newVersion = this.version.incrementAndGet();
+		CatalogVersion.LOG.atDebug().log("changed - catalog version is now {}", Long.valueOf(newVersion));
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCompletion(int pStatus) {
+					CatalogVersion.this.version.incrementAndGet();
+					CatalogVersion.this.evictQueries();
+				}
+			});
+		} else {
+			this.evictQueries();
+		}
+	}
+
+	/**
+	 * Drops the cached query results on the catalog.
+	 */
+	private void evictQueries() {
+		this.entityManagerFactory.getCache().unwrap(Cache.class).evictQueryRegion(IJpaDao.CATALOG_QUERY_REGION);
+	}
+}
@@ -36,16 +36,20 @@ public class ConstraintService extends AbstractService<ConstraintEntity, Constra
 
 	private final IConstraintDao constraintDao;
 
+	private final CatalogVersion catalogVersion;
+
 	/**
 	 * Constructor.
 	 *
-	 * @param pMapper        the json mapper.
-	 * @param pConstraintDao a dao
+	 * @param pMapper         the json mapper.
+	 * @param pConstraintDao  a dao
+	 * @param pCatalogVersion catalog version
 	 */
 	@Autowired
-	protected ConstraintService(ObjectMapper pMapper, IConstraintDao pConstraintDao) {
+	protected ConstraintService(ObjectMapper pMapper, IConstraintDao pConstraintDao, CatalogVersion pCatalogVersion) {
 		super(pMapper);
 		this.constraintDao = pConstraintDao;
+		this.catalogVersion = pCatalogVersion;
 	}
 
 	@Override
@@ -57,6 +61,7 @@ public class ConstraintService extends AbstractService<ConstraintEntity, Constra
 		pDto.validate();
 
 		var resultSave = this.constraintDao.save(ConstraintDtoHandler.toEntity(pDto));
+		this.catalogVersion.changed();
 		ConstraintService.LOG.atInfo().log("add - OK with new id={}", resultSave.getId());
 		return ConstraintDtoHandler.dtoOutfromEntity(resultSave);
 	}
@@ -86,6 +91,7 @@ public class ConstraintService extends AbstractService<ConstraintEntity, Constra
 		}
 		// entityInDataBase is updated with new values
 		var resultUpdate = this.constraintDao.save(entityInDataBase);
+		this.catalogVersion.changed();
 		ConstraintService.LOG.atInfo().log("update - OK");
 		return ConstraintDtoHandler.dtoOutfromEntity(resultUpdate);
 	}
@@ -100,6 +106,7 @@ public class ConstraintService extends AbstractService<ConstraintEntity, Constra
 		ConstraintService.LOG.atDebug().log("delete - {}", pId);
 		var entity = super.findEntity(pId);
 		this.constraintDao.delete(entity);
+		this.catalogVersion.changed();
 		return ConstraintDtoHandler.dtoOutfromEntity(entity);
 	}
 
@@ -0,0 +1,175 @@
+// -#--------------------------------------
+// -# ©Copyright Ferret Renaud 2019 -
+// -# Email: admin@ferretrenaud.fr -
+// -# All Rights Reserved. -
+// -#--------------------------------------
+
+package stone.lunchtime.service.impl.jpa;
+
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import stone.lunchtime.dao.jpa.IOrderDao;
+import stone.lunchtime.entity.OrderStatus;
+
+/**
+ * Counter of the orders (not canceled) made today. <br>
+ *
+ * The counter is seeded from the data base at startup and at midnight, then
+ * only changed in memory: an order reserves a place with a compare and set, so
+ * the maximum number of orders per day can be checked without any query. <br>
+ *
+ * Each change is undone if the transaction that made it is rolled back.
+ */
+@Service
+public class DailyOrderCounter {
+	private static final Logger LOG = LoggerFactory.getLogger(DailyOrderCounter.class);
+
+	private final IOrderDao orderDao;
+
+	private final AtomicReference<Day> today = new AtomicReference<>();
+
+	/**
+	 * Number of orders for a day.
+	 *
+	 * @param date  the day
+	 * @param count the number of orders
+	 */
+	private record Day(LocalDate date, AtomicInteger count) {
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param pOrderDao order dao
+	 */
+	@Autowired
+	public DailyOrderCounter(IOrderDao pOrderDao) {
+		super();
+		this.orderDao = pOrderDao;
+	}
+
+	/**
+	 * Seeds the counter from the data base. <br>
+	 *
+	 * Called at startup and every day at midnight.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	@Scheduled(cron = "0 0 0 * * *")
+	public void seed() {
+		this.seed(LocalDate.now());
+	}
+
+	/**
+	 * Gets the number of orders made today.
+	 *
+	 * @return the number of orders made today
+	 */
+	public int get() {
+		return this.current().count().get();
+	}
+
+	/**
+	 * Reserves a place for a new order made today.
+	 *
+	 * @param pMaximum the maximum number of orders for a day, null or &lt;= 0 for
+	 *                 no maximum
+	 * @return true if the place is reserved, false if the maximum is reached
+	 */
+	public boolean tryReserve(Integer pMaximum) {
+		var day = this.current();
+		var max = pMaximum == null || pMaximum.intValue() <= 0 ? Integer.MAX_VALUE : pMaximum.intValue();
+		int count;
+		do {
+			count = day.count().get();
+			if (count >= max) {
+				DailyOrderCounter.LOG.atWarn().log("tryReserve - KO {} orders for {}, maximum is {}",
+						Integer.valueOf(count), day.date(), Integer.valueOf(max));
+				return false;
+			}
+		} while (!day.count().compareAndSet(count, count + 1));
+		DailyOrderCounter.LOG.atDebug().log("tryReserve - OK {} orders for {}", Integer.valueOf(count + 1),
+				day.date());
+		this.undoOnRollback(day, -1);
+		return true;
+	}
+
+	/**
+	 * Releases the place of an order that is canceled.
+	 *
+	 * @param pOrderDate the creation date of the order, nothing is done if this is
+	 *                   not today
+	 */
+	public void release(LocalDate pOrderDate) {
+		var day = this.current();
+		if (day.date().equals(pOrderDate)) {
+			day.count().decrementAndGet();
+			this.undoOnRollback(day, 1);
+		}
+	}
+
+	/**
+	 * Gets today's counter, seeds it again if the day has changed.
+	 *
+	 * @return today's counter
+	 */
+	private Day current() {
+		var day = this.today.get();
+		var now = LocalDate.now();
+		if (day != null && day.date().equals(now)) {
+			return day;
+		}
+		synchronized (this) {
+			day = this.today.get();
+			if (day == null || !day.date().equals(now)) {
+				day = this.seed(now);
+			}
+			return day;
+		}
+	}
+
+	/**
+	 * Seeds the counter for the given day.
+	 *
+	 * @param pDate a day
+	 * @return the counter
+	 */
+	private synchronized Day seed(LocalDate pDate) {
+		var count = this.orderDao.countByCreationDateAndStatusNot(pDate, OrderStatus.CANCELED);
+		var day = new Day(pDate, new AtomicInteger((int) count));
+		this.today.set(day);
+		DailyOrderCounter.LOG.atInfo().log("seed - {} orders for {}", Long.valueOf(count), pDate);
+		return day;
+	}
+
+	/**
+	 * Registers a change that will be done on the counter if the current
+	 * transaction is rolled back.
+	 *
+	 * @param pDay   the counter
+	 * @param pDelta the change
+	 */
+	private void undoOnRollback(Day pDay, int pDelta) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCompletion(int pStatus) {
+					if (pStatus == TransactionSynchronization.STATUS_ROLLED_BACK) {
+						pDay.count().addAndGet(pDelta);
+					}
+				}
+			});
+		}
+	}
+}
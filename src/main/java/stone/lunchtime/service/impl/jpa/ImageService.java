@@ -6,44 +6,121 @@
 
 package stone.lunchtime.service.impl.jpa;
 
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
 
 import org.slf4j.LoggerFactory;
 import org.slf4j.Logger;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.DigestUtils;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 
 import stone.lunchtime.dao.jpa.IImageDao;
 import stone.lunchtime.dto.jpa.handler.ImageDtoHandler;
 import stone.lunchtime.dto.out.ImageDtoOut;
+import stone.lunchtime.entity.ImageSize;
 import stone.lunchtime.entity.jpa.ImageEntity;
+import stone.lunchtime.service.IImageStorage;
 import stone.lunchtime.service.exception.EntityNotFoundException;
 import stone.lunchtime.service.exception.ParameterException;
 import stone.lunchtime.utils.ValidationUtils;
 
 /**
- * Images service.
+ * Images service. <br>
+ *
+ * Images are given in base 64 (data URI). By default they are kept like this
+ * in the data base. When an image storage is configured
+ * (configuration.image.storage=file), images are decoded and written in the
+ * storage, and the data base only keeps their hash and type. <br>
+ *
+ * The decoded content of an image is kept in a local cache, it is built again
+ * when the catalog changes. <br>
+ *
+ * Smaller copies of the images (thumbnail, medium) are handled by
+ * {@link ImageVariantService}.
  */
 @Service
 public class ImageService extends AbstractService<ImageEntity, ImageDtoOut> {
 	private static final Logger LOG = LoggerFactory.getLogger(ImageService.class);
 
+	private static final String DATA_PREFIX = "data:";
+
+	private static final String BASE64_MARKER = ";base64,";
+
+	private static final String DEFAULT_CONTENT_TYPE = "application/octet-stream";
+
 	private final IImageDao imageDao;
 
+	private final CatalogVersion catalogVersion;
+
+	private final IImageStorage imageStorage;
+
+	private final ImageVariantService imageVariantService;
+
+	private final Cache<ContentKey, Content> contents;
+
+	/**
+	 * The decoded content of an image.
+	 *
+	 * @param version     the catalog version used for building this content
+	 * @param contentType the content type of the image (image/png, ...)
+	 * @param bytes       the image, read only
+	 * @param eTag        the ETag of the image
+	 */
+	public record Content(long version, String contentType, ByteBuffer bytes, String eTag) {
+	}
+
+	/**
+	 * Key of a decoded content.
+	 *
+	 * @param imageId the image id
+	 * @param size    the size
+	 */
+	private record ContentKey(Integer imageId, ImageSize size) {
+	}
+
+	/**
+	 * An image decoded from base 64.
+	 *
+	 * @param contentType the content type of the image
+	 * @param bytes       the image
+	 */
+	private record Decoded(String contentType, byte[] bytes) {
+	}
+
 	/**
 	 * Constructor.
 	 *
-	 * @param pMapper   the json mapper.
-	 * @param pImageDao image dao
+	 * @param pMapper         the json mapper.
+	 * @param pImageDao       image dao
+	 * @param pCatalogVersion catalog version
+	 * @param pImageStorage        image storage, none if images are kept in the
+	 *                             data base
+	 * @param pImageVariantService image variant service
+	 * @param pMaxSize             maximum number of decoded images kept
 	 */
 	@Autowired
-	protected ImageService(ObjectMapper pMapper, IImageDao pImageDao) {
+	protected ImageService(ObjectMapper pMapper, IImageDao pImageDao, CatalogVersion pCatalogVersion,
+			ObjectProvider<IImageStorage> pImageStorage, ImageVariantService pImageVariantService,
+			@Value("${configuration.cache.image.max.size:200}") long pMaxSize) {
 		super(pMapper);
 		this.imageDao = pImageDao;
+		this.catalogVersion = pCatalogVersion;
+		this.imageStorage = pImageStorage.getIfAvailable();
+		this.imageVariantService = pImageVariantService;
+		this.contents = Caffeine.newBuilder().maximumSize(pMaxSize).build();
 	}
 
 	@Transactional(rollbackFor = Exception.class)
@@ -64,11 +141,99 @@ public class ImageService extends AbstractService<ImageEntity, ImageDtoOut> {
 					pEntity.getId());
 		}
 
+		var decoded = ImageService.decode(pEntity.getImage64());
+		if (decoded != null && pEntity.getId() != null) {
+			this.imageVariantService.deleteAll(pEntity.getId());
+			this.invalidate(pEntity.getId());
+		}
+		this.moveToStorage(pEntity, decoded);
 		var resultSave = this.imageDao.save(pEntity);
+		if (decoded != null) {
+			this.imageVariantService.generateLater(resultSave.getId(), decoded.bytes(), decoded.contentType());
+		}
+		this.catalogVersion.changed();
 		ImageService.LOG.atInfo().log("saveIfNotInDataBase - OK with id={}", resultSave.getId());
 		return resultSave;
 	}
 
+	/**
+	 * Moves images still kept in base 64 to the image storage. <br>
+	 *
+	 * Images are taken by id, call again with the id returned until it is null.
+	 * Does nothing if there is no image storage.
+	 *
+	 * @param pAfterId   only images with a bigger id are moved, null for the
+	 *                   first call
+	 * @param pBatchSize maximum number of images moved
+	 * @return the id of the last image moved, null when there is nothing more to
+	 *         move
+	 */
+	@Transactional(rollbackFor = Exception.class)
+	public Integer moveToStorage(Integer pAfterId, int pBatchSize) {
+		ImageService.LOG.atDebug().log("moveToStorage - after {} by {}", pAfterId, Integer.valueOf(pBatchSize));
+		if (this.imageStorage == null) {
+			return null;
+		}
+		if (pBatchSize <= 0) {
+			throw new ParameterException("La taille doit etre positive", "pBatchSize");
+		}
+		var afterId = pAfterId == null ? Integer.valueOf(0) : pAfterId;
+		var images = this.imageDao
+				.findByIdGreaterThanAndContentHashIsNullAndImage64IsNotNullOrderByIdAsc(afterId, Limit.of(pBatchSize));
+		if (images.isEmpty()) {
+			return null;
+		}
+		var moved = 0;
+		for (ImageEntity image : images) {
+			if (this.moveToStorage(image, ImageService.decode(image.getImage64()))) {
+				moved++;
+			} else {
+				ImageService.LOG.atWarn().log("moveToStorage - image {} is not in base 64, kept in data base",
+						image.getId());
+			}
+		}
+		this.imageDao.saveAll(images);
+		this.catalogVersion.changed();
+		ImageService.LOG.atInfo().log("moveToStorage - {} images moved", Integer.valueOf(moved));
+		return images.get(images.size() - 1).getId();
+	}
+
+	/**
+	 * Writes the image in the image storage, if any. <br>
+	 *
+	 * The base 64 is removed from the entity, which keeps the hash and the type of
+	 * the image. The previous image stays in the storage until the sweep finds it
+	 * unused (see {@link ImageStorageSweeper}).
+	 *
+	 * @param pEntity  an image
+	 * @param pDecoded its content, decoded from its base 64
+	 * @return true if the image is in the storage
+	 */
+	private boolean moveToStorage(ImageEntity pEntity, Decoded pDecoded) {
+		if (this.imageStorage == null || pDecoded == null) {
+			return false;
+		}
+		var key = this.imageStorage.save(pDecoded.bytes());
+		pEntity.setContentHash(key);
+		pEntity.setContentType(pDecoded.contentType());
+		pEntity.setImage64(null);
+		if (pEntity.getId() != null) {
+			this.invalidate(pEntity.getId());
+		}
+		return true;
+	}
+
+	/**
+	 * Removes the decoded contents of an image from the cache.
+	 *
+	 * @param pImageId an image id
+	 */
+	private void invalidate(Integer pImageId) {
+		for (ImageSize size : ImageSize.values()) {
+			this.contents.invalidate(new ContentKey(pImageId, size));
+		}
+	}
+
 	@Override
 	protected JpaRepository<ImageEntity, Integer> getTargetedDao() {
 		return this.imageDao;
@@ -88,17 +253,217 @@ public class ImageService extends AbstractService<ImageEntity, ImageDtoOut> {
 	public ImageDtoOut delete(Integer pId) throws EntityNotFoundException {
 		ImageService.LOG.atDebug().log("delete - {}", pId);
 		var entity = super.findEntity(pId);
+		var result = this.toDtoOut(entity);
+		this.imageVariantService.deleteAll(pId);
 		this.imageDao.delete(entity);
-		return ImageDtoHandler.dtoOutfromEntity(entity);
+		this.invalidate(pId);
+		this.catalogVersion.changed();
+		return result;
+	}
+
+	/**
+	 * Finds the decoded content of an image.
+	 *
+	 * @param pImageId an image id
+	 * @return the decoded content of the image
+	 * @throws EntityNotFoundException if entity not found or if it has no content
+	 * @throws ParameterException      if parameter is invalid
+	 */
+	public Content findContent(Integer pImageId) throws EntityNotFoundException {
+		return this.findContent(pImageId, ImageSize.ORIGINAL);
+	}
+
+	/**
+	 * Finds the decoded content of an image, in a size. <br>
+	 *
+	 * If the variant for this size was not made yet, it is made now. If the image
+	 * is already small enough, the image itself is returned.
+	 *
+	 * @param pImageId an image id
+	 * @param pSize    a size, null for ORIGINAL
+	 * @return the decoded content of the image
+	 * @throws EntityNotFoundException if entity not found or if it has no content
+	 * @throws ParameterException      if parameter is invalid
+	 */
+	public Content findContent(Integer pImageId, ImageSize pSize) throws EntityNotFoundException {
+		ImageService.LOG.atDebug().log("findContent - {} in {}", pImageId, pSize);
+		ValidationUtils.isNotNull(pImageId, "Id cannot be null");
+		var size = pSize == null ? ImageSize.ORIGINAL : pSize;
+		var key = new ContentKey(pImageId, size);
+		var version = this.catalogVersion.get();
+		var content = this.contents.getIfPresent(key);
+		if (content != null && content.version() == version) {
+			return content;
+		}
+		if (size != ImageSize.ORIGINAL) {
+			content = this.findVariant(pImageId, size, version);
+			this.contents.put(key, content);
+			return content;
+		}
+		var entity = super.findEntity(pImageId);
+		if (entity.getContentHash() != null) {
+			content = new Content(version, entity.getContentType(), this.readFromStorage(entity),
+					"\"" + entity.getContentHash() + "\"");
+		} else {
+			var decoded = ImageService.decode(entity.getImage64());
+			if (decoded == null) {
+				ImageService.LOG.atError().log("findContent - image {} has no content", pImageId);
+				throw new EntityNotFoundException("L'image n'a pas de contenu", pImageId);
+			}
+			content = new Content(version, decoded.contentType(), ByteBuffer.wrap(decoded.bytes()).asReadOnlyBuffer(),
+					"\"" + DigestUtils.md5DigestAsHex(decoded.bytes()) + "\"");
+		}
+		this.contents.put(key, content);
+		ImageService.LOG.atDebug().log("findContent - image {} decoded, {} bytes", pImageId,
+				Integer.valueOf(content.bytes().remaining()));
+		return content;
+	}
+
+	/**
+	 * Finds the variant of an image, makes it if needed.
+	 *
+	 * @param pImageId an image id
+	 * @param pSize    a size, not ORIGINAL
+	 * @param pVersion the catalog version
+	 * @return the content of the variant, or of the image if it is already small
+	 *         enough
+	 * @throws EntityNotFoundException if entity not found or if it has no content
+	 */
+	private Content findVariant(Integer pImageId, ImageSize pSize, long pVersion) throws EntityNotFoundException {
+		var variant = this.imageVariantService.find(pImageId, pSize);
+		if (variant == null) {
+			var original = this.findContent(pImageId, ImageSize.ORIGINAL);
+			try {
+				variant = this.imageVariantService.generate(pImageId, pSize, ImageService.toArray(original.bytes()),
+						original.contentType());
+			} catch (DataIntegrityViolationException exc) {
+				ImageService.LOG.atDebug().log("findVariant - {} of image {} made at the same time", pSize, pImageId);
+				variant = this.imageVariantService.find(pImageId, pSize);
+			}
+			if (variant == null) {
+				return original;
+			}
+		}
+		return new Content(pVersion, variant.contentType(), variant.bytes(), variant.eTag());
+	}
+
+	/**
+	 * Transforms an image into a DTO. <br>
+	 *
+	 * If the image is in the image storage, its base 64 is built again.
+	 *
+	 * @param pEntity an image
+	 * @return the DTO
+	 */
+	public ImageDtoOut toDtoOut(ImageEntity pEntity) {
+		var result = ImageDtoHandler.dtoOutfromEntity(pEntity);
+		if (result.getImage64() == null && pEntity.getContentHash() != null) {
+			result.setImage64(ImageService.toDataUri(pEntity.getContentType(), this.readFromStorage(pEntity)));
+		}
+		return result;
+	}
+
+	/**
+	 * Transforms an image into a DTO, in a size. <br>
+	 *
+	 * For a size other than ORIGINAL, the base 64 is the one of the variant.
+	 *
+	 * @param pEntity an image
+	 * @param pSize   a size, null for ORIGINAL
+	 * @return the DTO
+	 * @throws EntityNotFoundException if the image has no content
+	 */
+	public ImageDtoOut toDtoOut(ImageEntity pEntity, ImageSize pSize) throws EntityNotFoundException {
+		if (pSize == null || pSize == ImageSize.ORIGINAL) {
+			return this.toDtoOut(pEntity);
+		}
+		var content = this.findContent(pEntity.getId(), pSize);
+		var result = new ImageDtoOut(pEntity.getId());
+		result.setImagePath(pEntity.getImagePath());
+		result.setDefault(pEntity.getIsDefault().booleanValue());
+		result.setImage64(ImageService.toDataUri(content.contentType(), content.bytes()));
+		return result;
+	}
+
+	/**
+	 * Builds a data URI (data:image/png;base64,...).
+	 *
+	 * @param pContentType a content type
+	 * @param pBytes       an image
+	 * @return the data URI
+	 */
+	private static String toDataUri(String pContentType, ByteBuffer pBytes) {
+		return ImageService.DATA_PREFIX + pContentType + ImageService.BASE64_MARKER
+				+ Base64.getEncoder().encodeToString(ImageService.toArray(pBytes));
+	}
+
+	/**
+	 * Copies a buffer into an array.
+	 *
+	 * @param pBytes a buffer, not changed
+	 * @return the bytes of the buffer
+	 */
+	private static byte[] toArray(ByteBuffer pBytes) {
+		var bytes = pBytes.duplicate();
+		var result = new byte[bytes.remaining()];
+		bytes.get(result);
+		return result;
+	}
+
+	/**
+	 * Reads an image from the image storage.
+	 *
+	 * @param pEntity an image with a hash
+	 * @return the image
+	 */
+	private ByteBuffer readFromStorage(ImageEntity pEntity) {
+		if (this.imageStorage == null) {
+			ImageService.LOG.atError().log("readFromStorage - image {} is on disk but no storage is configured",
+					pEntity.getId());
+			throw new IllegalStateException("Image " + pEntity.getId() + " is stored but there is no image storage");
+		}
+		return this.imageStorage.read(pEntity.getContentHash());
+	}
+
+	/**
+	 * Decodes an image in base 64 (data:image/png;base64,... or only base 64).
+	 *
+	 * @param pImage64 an image in base 64
+	 * @return the decoded image, null if there is nothing to decode
+	 */
+	private static Decoded decode(String pImage64) {
+		if (pImage64 == null || pImage64.isBlank()) {
+			return null;
+		}
+		var contentType = ImageService.DEFAULT_CONTENT_TYPE;
+		var data = pImage64.trim();
+		if (data.startsWith(ImageService.DATA_PREFIX)) {
+			var marker = data.indexOf(ImageService.BASE64_MARKER);
+			if (marker < 0) {
+				return null;
+			}
+			if (marker > ImageService.DATA_PREFIX.length()) {
+				contentType = data.substring(ImageService.DATA_PREFIX.length(), marker);
+			}
+			data = data.substring(marker + ImageService.BASE64_MARKER.length());
+		}
+		try {
+			return new Decoded(contentType, Base64.getMimeDecoder().decode(data));
+		} catch (IllegalArgumentException exc) {
+			ImageService.LOG.atWarn().log("decode - image is not in base 64", exc);
+			return null;
+		}
 	}
 
 	@Override
 	public ImageDtoOut find(Integer pEntityPrimaryKey) throws EntityNotFoundException {
-		return ImageDtoHandler.dtoOutfromEntity(super.findEntity(pEntityPrimaryKey));
+		return this.toDtoOut(super.findEntity(pEntityPrimaryKey));
 	}
 
 	@Override
 	public List<ImageDtoOut> findAll() {
-		return ImageDtoHandler.dtosOutfromEntities(super.findAllEntities());
+		List<ImageDtoOut> result = new ArrayList<>();
+		super.findAllEntities().forEach(elm -> result.add(this.toDtoOut(elm)));
+		return result;
 	}
 }
@@ -0,0 +1,75 @@
+// -#--------------------------------------
+// -# ©Copyright Ferret Renaud 2019 -
+// -# Email: admin@ferretrenaud.fr -
+// -# All Rights Reserved. -
+// -#--------------------------------------
+
+package stone.lunchtime.service.impl.jpa;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+/**
+ * Moves the images still kept in base 64 in the data base to the image
+ * storage. <br>
+ *
+ * Runs at start up when configuration.image.storage=file. Each batch is its own
+ * transaction: if the application stops, the next start continues the job.
+ * Set configuration.image.storage.migration.batch.size to 0 in order to skip
+ * it.
+ */
+@Service
+@ConditionalOnProperty(name = "configuration.image.storage", havingValue = "file")
+public class ImageStorageMigration implements ApplicationRunner {
+	private static final Logger LOG = LoggerFactory.getLogger(ImageStorageMigration.class);
+
+	private final ImageService imageService;
+
+	private final int batchSize;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param pImageService image service
+	 * @param pBatchSize    number of images moved in one transaction, 0 for none
+	 */
+	@Autowired
+	public ImageStorageMigration(ImageService pImageService,
+			@Value("${configuration.image.storage.migration.batch.size:50}") int pBatchSize) {
+		super();
+		this.imageService = pImageService;
+		this.batchSize = pBatchSize;
+	}
+
+	@Override
+	public void run(ApplicationArguments pArgs) {
+		this.migrate();
+	}
+
+	/**
+	 * Moves all the images still kept in base 64.
+	 *
+	 * @return the number of batches played
+	 */
+	public int migrate() {
+		if (this.batchSize <= 0) {
+			ImageStorageMigration.LOG.atInfo().log("migrate - skipped");
+			return 0;
+		}
+		ImageStorageMigration.LOG.atInfo().log("migrate - moving images to the image storage");
+		var batches = 0;
+		var lastId = this.imageService.moveToStorage(null, this.batchSize);
+		while (lastId != null) {
+			batches++;
+			lastId = this.imageService.moveToStorage(lastId, this.batchSize);
+		}
+		ImageStorageMigration.LOG.atInfo().log("migrate - done in {} batches", Integer.valueOf(batches));
+		return batches;
+	}
+}
@@ -0,0 +1,99 @@
+// -#--------------------------------------
+// -# ©Copyright Ferret Renaud 2019 -
+// -# Email: admin@ferretrenaud.fr -
+// -# All Rights Reserved. -
+// -#--------------------------------------
+
+package stone.lunchtime.service.impl.jpa;
+
+import java.time.Instant;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import stone.lunchtime.dao.jpa.IImageDao;
+import stone.lunchtime.dao.jpa.IImageVariantDao;
+import stone.lunchtime.service.IImageStorage;
+
+/**
+ * Deletes from the image storage the files that no image and no variant uses.
+ * <br>
+ *
+ * Images and variants never delete their file: the same content can be used by
+ * another element, or saved again by a transaction not committed yet. Files
+ * are deleted here, when nothing uses them and they were not saved for
+ * configuration.image.storage.sweep.grace.in.s. A transaction that saves an
+ * image must be shorter than this grace. <br>
+ *
+ * Does nothing when images are kept in the data base.
+ */
+@Service
+public class ImageStorageSweeper {
+	private static final Logger LOG = LoggerFactory.getLogger(ImageStorageSweeper.class);
+
+	private final IImageDao imageDao;
+
+	private final IImageVariantDao imageVariantDao;
+
+	private final IImageStorage imageStorage;
+
+	private final long graceInS;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param pImageDao        image dao
+	 * @param pImageVariantDao image variant dao
+	 * @param pImageStorage    image storage, none if images are kept in the data
+	 *                         base
+	 * @param pGraceInS        files saved since less than this are kept
+	 */
+	@Autowired
+	public ImageStorageSweeper(IImageDao pImageDao, IImageVariantDao pImageVariantDao,
+			ObjectProvider<IImageStorage> pImageStorage,
+			@Value("${configuration.image.storage.sweep.grace.in.s:3600}") long pGraceInS) {
+		super();
+		this.imageDao = pImageDao;
+		this.imageVariantDao = pImageVariantDao;
+		this.imageStorage = pImageStorage.getIfAvailable();
+		this.graceInS = pGraceInS;
+	}
+
+	/**
+	 * Deletes the unused files saved before the grace. <br>
+	 *
+	 * Called every configuration.image.storage.sweep.delay.in.ms.
+	 */
+	@Scheduled(fixedDelayString = "${configuration.image.storage.sweep.delay.in.ms:3600000}",
+			initialDelayString = "${configuration.image.storage.sweep.delay.in.ms:3600000}")
+	public void sweep() {
+		this.sweep(Instant.now().minusSeconds(this.graceInS));
+	}
+
+	/**
+	 * Deletes the unused files that were not saved since a date.
+	 *
+	 * @param pBefore a date
+	 * @return the number of files deleted
+	 */
+	public int sweep(Instant pBefore) {
+		if (this.imageStorage == null) {
+			return 0;
+		}
+		var deleted = 0;
+		for (String key : this.imageStorage.findSavedBefore(pBefore)) {
+			// Counted before the deletion, which keeps the file if it is saved again meanwhile
+			if (this.imageDao.countByContentHash(key) == 0 && this.imageVariantDao.countByContentHash(key) == 0
+					&& this.imageStorage.deleteIfSavedBefore(key, pBefore)) {
+				deleted++;
+			}
+		}
+		ImageStorageSweeper.LOG.atInfo().log("sweep - {} unused images deleted", Integer.valueOf(deleted));
+		return deleted;
+	}
+}
@@ -0,0 +1,379 @@
+// -#--------------------------------------
+// -# ©Copyright Ferret Renaud 2019 -
+// -# Email: admin@ferretrenaud.fr -
+// -# All Rights Reserved. -
+// -#--------------------------------------
+
+package stone.lunchtime.service.impl.jpa;
+
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.imageio.ImageIO;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.DigestUtils;
+
+import stone.lunchtime.dao.jpa.IImageDao;
+import stone.lunchtime.dao.jpa.IImageVariantDao;
+import stone.lunchtime.entity.ImageSize;
+import stone.lunchtime.entity.jpa.ImageVariantEntity;
+import stone.lunchtime.service.IImageStorage;
+import stone.lunchtime.utils.ValidationUtils;
+
+/**
+ * Smaller copies of the images (thumbnail, medium). <br>
+ *
+ * Variants are made with ImageIO when an image is saved, on a small pool of
+ * threads with a bounded queue, so saving an image does not wait for them. If
+ * the queue is full, or for images saved before, a variant is made the first
+ * time it is asked. <br>
+ *
+ * Variants are kept like images: in base 64 in the data base, or in the image
+ * storage when there is one. An image already smaller than a size has no
+ * variant for this size, the image itself is used.
+ */
+@Service
+public class ImageVariantService implements DisposableBean {
+	private static final Logger LOG = LoggerFactory.getLogger(ImageVariantService.class);
+
+	private static final String JPEG = "image/jpeg";
+
+	private static final String PNG = "image/png";
+
+	/** Images bigger than this (in pixels) are not decoded. */
+	private static final long MAX_PIXELS = 25_000_000L;
+
+	private final IImageVariantDao imageVariantDao;
+
+	private final IImageDao imageDao;
+
+	private final IImageStorage imageStorage;
+
+	private final TransactionTemplate transactionTemplate;
+
+	private final ThreadPoolExecutor executor;
+
+	/**
+	 * A variant of an image.
+	 *
+	 * @param contentType the content type of the variant (image/png, ...)
+	 * @param bytes       the variant, read only
+	 * @param eTag        the ETag of the variant
+	 */
+	public record Variant(String contentType, ByteBuffer bytes, String eTag) {
+	}
+
+	/**
+	 * An image resized.
+	 *
+	 * @param contentType the content type of the image
+	 * @param bytes       the image
+	 */
+	private record Resized(String contentType, byte[] bytes) {
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param pImageVariantDao    image variant dao
+	 * @param pImageDao           image dao
+	 * @param pImageStorage       image storage, none if images are kept in the
+	 *                            data base
+	 * @param pTransactionManager transaction manager, used by the pool
+	 * @param pThreads            number of threads making variants
+	 * @param pQueueSize          number of images waiting for a thread
+	 */
+	@Autowired
+	public ImageVariantService(IImageVariantDao pImageVariantDao, IImageDao pImageDao,
+			ObjectProvider<IImageStorage> pImageStorage, PlatformTransactionManager pTransactionManager,
+			@Value("${configuration.image.variant.threads:2}") int pThreads,
+			@Value("${configuration.image.variant.queue.size:100}") int pQueueSize) {
+		super();
+		this.imageVariantDao = pImageVariantDao;
+		this.imageDao = pImageDao;
+		this.imageStorage = pImageStorage.getIfAvailable();
+		this.transactionTemplate = new TransactionTemplate(pTransactionManager);
+		var count = new AtomicInteger();
+		this.executor = new ThreadPoolExecutor(pThreads, pThreads, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(pQueueSize), pRunnable -> {
+					var thread = new Thread(pRunnable, "image-" + count.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				}, new ThreadPoolExecutor.AbortPolicy());
+		ImageVariantService.LOG.atInfo().log("ImageVariantService - {} threads, queue of {}",
+				Integer.valueOf(pThreads), Integer.valueOf(pQueueSize));
+	}
+
+	/**
+	 * Finds the variant of an image.
+	 *
+	 * @param pImageId an image id
+	 * @param pSize    a size, not ORIGINAL
+	 * @return the variant, null if it was not made
+	 */
+	@Transactional(readOnly = true)
+	public Variant find(Integer pImageId, ImageSize pSize) {
+		ImageVariantService.LOG.atDebug().log("find - {} in {}", pImageId, pSize);
+		ValidationUtils.isNotNull(pImageId, "Id cannot be null");
+		return this.imageVariantDao.findOneByImageIdAndSize(pImageId, pSize).map(this::toVariant).orElse(null);
+	}
+
+	/**
+	 * Makes the variant of an image, if it was not made yet.
+	 *
+	 * @param pImageId     an image id
+	 * @param pSize        a size, not ORIGINAL
+	 * @param pOriginal    the image
+	 * @param pContentType the content type of the image
+	 * @return the variant, null if the image is already small enough or if
+	 *         ImageIO cannot read it
+	 */
+	@Transactional(rollbackFor = Exception.class)
+	public Variant generate(Integer pImageId, ImageSize pSize, byte[] pOriginal, String pContentType) {
+		ImageVariantService.LOG.atDebug().log("generate - {} in {}", pImageId, pSize);
+		ValidationUtils.isNotNull(pImageId, "Id cannot be null");
+		var existing = this.imageVariantDao.findOneByImageIdAndSize(pImageId, pSize);
+		if (existing.isPresent()) {
+			return this.toVariant(existing.get());
+		}
+		var resized = ImageVariantService.resize(pOriginal, pContentType, pSize.getMaxSize());
+		if (resized == null) {
+			return null;
+		}
+		var entity = new ImageVariantEntity(this.imageDao.getReferenceById(pImageId), pSize, resized.contentType());
+		if (this.imageStorage != null) {
+			entity.setContentHash(this.imageStorage.save(resized.bytes()));
+		} else {
+			entity.setImage64(Base64.getEncoder().encodeToString(resized.bytes()));
+		}
+		entity = this.imageVariantDao.save(entity);
+		ImageVariantService.LOG.atInfo().log("generate - OK with id={}, {} bytes", entity.getId(),
+				Integer.valueOf(resized.bytes().length));
+		return this.toVariant(entity, resized.bytes());
+	}
+
+	/**
+	 * Makes all the variants of an image on the pool, once the transaction is
+	 * committed. <br>
+	 *
+	 * If the pool is too busy, nothing is done: variants will be made when asked.
+	 *
+	 * @param pImageId     an image id
+	 * @param pOriginal    the image
+	 * @param pContentType the content type of the image
+	 */
+	public void generateLater(Integer pImageId, byte[] pOriginal, String pContentType) {
+		ImageVariantService.LOG.atDebug().log("generateLater - {}", pImageId);
+		Runnable submit = () -> {
+			try {
+				this.executor.execute(() -> this.generateAll(pImageId, pOriginal, pContentType));
+			} catch (RejectedExecutionException exc) {
+				ImageVariantService.LOG.atWarn().log(
+						"generateLater - Queue is full ({} waiting), variants of image {} will be made when asked",
+						Integer.valueOf(this.executor.getQueue().size()), pImageId);
+			}
+		};
+		ImageVariantService.afterCommit(submit);
+	}
+
+	/**
+	 * Makes all the variants of an image, each in its own transaction.
+	 *
+	 * @param pImageId     an image id
+	 * @param pOriginal    the image
+	 * @param pContentType the content type of the image
+	 */
+	private void generateAll(Integer pImageId, byte[] pOriginal, String pContentType) {
+		for (ImageSize size : ImageSize.values()) {
+			if (size == ImageSize.ORIGINAL) {
+				continue;
+			}
+			try {
+				this.transactionTemplate
+						.executeWithoutResult(s -> this.generate(pImageId, size, pOriginal, pContentType));
+			} catch (RuntimeException exc) {
+				// Image deleted meanwhile, or variant made by a request at the same time
+				ImageVariantService.LOG.atWarn().log("generateAll - {} of image {} not made: {}", size, pImageId,
+						exc.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * Deletes all the variants of an image. <br>
+	 *
+	 * Variants in the image storage are left to {@link ImageStorageSweeper}.
+	 *
+	 * @param pImageId an image id
+	 */
+	@Transactional(rollbackFor = Exception.class)
+	public void deleteAll(Integer pImageId) {
+		ImageVariantService.LOG.atDebug().log("deleteAll - {}", pImageId);
+		var variants = this.imageVariantDao.findByImageId(pImageId);
+		if (variants.isEmpty()) {
+			return;
+		}
+		this.imageVariantDao.deleteAll(variants);
+		this.imageVariantDao.flush();
+	}
+
+	@Override
+	public void destroy() {
+		this.executor.shutdownNow();
+	}
+
+	/**
+	 * Reads a variant.
+	 *
+	 * @param pEntity a variant
+	 * @return the variant
+	 */
+	private Variant toVariant(ImageVariantEntity pEntity) {
+		if (pEntity.getContentHash() != null) {
+			if (this.imageStorage == null) {
+				ImageVariantService.LOG.atError().log("toVariant - variant {} is on disk but no storage is configured",
+						pEntity.getId());
+				throw new IllegalStateException(
+						"Variant " + pEntity.getId() + " is stored but there is no image storage");
+			}
+			return new Variant(pEntity.getContentType(), this.imageStorage.read(pEntity.getContentHash()),
+					"\"" + pEntity.getContentHash() + "\"");
+		}
+		return this.toVariant(pEntity, Base64.getDecoder().decode(pEntity.getImage64()));
+	}
+
+	/**
+	 * Builds a variant.
+	 *
+	 * @param pEntity a variant
+	 * @param pBytes  its content
+	 * @return the variant
+	 */
+	private Variant toVariant(ImageVariantEntity pEntity, byte[] pBytes) {
+		var eTag = pEntity.getContentHash() != null ? pEntity.getContentHash() : DigestUtils.md5DigestAsHex(pBytes);
+		return new Variant(pEntity.getContentType(), ByteBuffer.wrap(pBytes).asReadOnlyBuffer(), "\"" + eTag + "\"");
+	}
+
+	/**
+	 * Runs an action once the transaction is committed, or now if there is no
+	 * transaction.
+	 *
+	 * @param pAction an action
+	 */
+	private static void afterCommit(Runnable pAction) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					pAction.run();
+				}
+			});
+		} else {
+			pAction.run();
+		}
+	}
+
+	/**
+	 * Resizes an image so its width and height are at most a size. <br>
+	 *
+	 * JPEG images stay in JPEG, others are written in PNG. The image is halved
+	 * step by step, which is better looking than a single resize.
+	 *
+	 * @param pOriginal    an image
+	 * @param pContentType the content type of the image
+	 * @param pMaxSize     the maximum width and height
+	 * @return the image resized, null if it is already small enough or if ImageIO
+	 *         cannot read it
+	 */
+	private static Resized resize(byte[] pOriginal, String pContentType, int pMaxSize) {
+		try (var input = new MemoryCacheImageInputStream(new ByteArrayInputStream(pOriginal))) {
+			var readers = ImageIO.getImageReaders(input);
+			if (!readers.hasNext()) {
+				ImageVariantService.LOG.atWarn().log("resize - {} is not supported by ImageIO", pContentType);
+				return null;
+			}
+			var reader = readers.next();
+			try {
+				reader.setInput(input, true, true);
+				var width = reader.getWidth(0);
+				var height = reader.getHeight(0);
+				if (Math.max(width, height) <= pMaxSize) {
+					return null;
+				}
+				if ((long) width * height > ImageVariantService.MAX_PIXELS) {
+					ImageVariantService.LOG.atWarn().log("resize - image of {}x{} is too big", Integer.valueOf(width),
+							Integer.valueOf(height));
+					return null;
+				}
+				var jpeg = ImageVariantService.JPEG.equals(pContentType);
+				var type = jpeg ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB;
+				var scale = (double) pMaxSize / Math.max(width, height);
+				var targetWidth = Math.max(1, (int) Math.round(width * scale));
+				var targetHeight = Math.max(1, (int) Math.round(height * scale));
+				var image = reader.read(0);
+				do {
+					width = Math.max(width / 2, targetWidth);
+					height = Math.max(height / 2, targetHeight);
+					image = ImageVariantService.draw(image, width, height, type);
+				} while (width != targetWidth || height != targetHeight);
+
+				var out = new ByteArrayOutputStream();
+				try (var output = new MemoryCacheImageOutputStream(out)) {
+					ImageIO.write(image, jpeg ? "jpg" : "png", output);
+				}
+				return new Resized(jpeg ? ImageVariantService.JPEG : ImageVariantService.PNG, out.toByteArray());
+			} finally {
+				reader.dispose();
+			}
+		} catch (IOException exc) {
+			ImageVariantService.LOG.atWarn().log("resize - image cannot be read", exc);
+			return null;
+		}
+	}
+
+	/**
+	 * Draws an image in a new size.
+	 *
+	 * @param pImage  an image
+	 * @param pWidth  the new width
+	 * @param pHeight the new height
+	 * @param pType   the type of the new image
+	 * @return the new image
+	 */
+	private static BufferedImage draw(BufferedImage pImage, int pWidth, int pHeight, int pType) {
+		var result = new BufferedImage(pWidth, pHeight, pType);
+		var graphics = result.createGraphics();
+		try {
+			graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+			graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+			graphics.drawImage(pImage, 0, 0, pWidth, pHeight, null);
+		} finally {
+			graphics.dispose();
+		}
+		return result;
+	}
+}
@@ -40,17 +40,23 @@ public class IngredientService extends AbstractServiceForLabeled<IngredientEntit
 
 	private final IIngredientDao ingredientDao;
 
+	private final CatalogJsonCache catalogJson;
+
 	/**
 	 * Constructor.
 	 *
 	 * @param pMapper        the json mapper.
 	 * @param pImageService  image service
 	 * @param pIngredientDao ingredient dao
+	 * @param pCatalog       catalog version
+	 * @param pCatalogJson   json of the catalog
 	 */
 	@Autowired
-	protected IngredientService(ObjectMapper pMapper, ImageService pImageService, IIngredientDao pIngredientDao) {
-		super(pMapper, pImageService);
+	protected IngredientService(ObjectMapper pMapper, ImageService pImageService, IIngredientDao pIngredientDao,
+			CatalogVersion pCatalog, CatalogJsonCache pCatalogJson) {
+		super(pMapper, pImageService, pCatalog);
 		this.ingredientDao = pIngredientDao;
+		this.catalogJson = pCatalogJson;
 	}
 
 	@Override
@@ -64,6 +70,7 @@ public class IngredientService extends AbstractServiceForLabeled<IngredientEntit
 		super.handleImage(ingredient, pDto);
 
 		var resultSave = this.ingredientDao.save(ingredient);
+		super.catalogAdded(resultSave);
 		IngredientService.LOG.atInfo().log("add - OK with new id={}", resultSave.getId());
 		return IngredientDtoHandler.dtoOutfromEntity(resultSave);
 	}
@@ -72,6 +79,7 @@ public class IngredientService extends AbstractServiceForLabeled<IngredientEntit
 	public IngredientDtoOut update(Integer pIdToUpdate, IngredientDtoIn pNewDto) throws EntityNotFoundException {
 		var entityInDataBase = super.beginUpdate(pIdToUpdate, pNewDto);
 		var resultUpdate = this.ingredientDao.save(entityInDataBase);
+		super.catalogChanged(resultUpdate);
 		IngredientService.LOG.atInfo().log("update - OK in {}", this.getClass().getSimpleName());
 		return IngredientDtoHandler.dtoOutfromEntity(resultUpdate);
 	}
@@ -102,6 +110,21 @@ public class IngredientService extends AbstractServiceForLabeled<IngredientEntit
 		return IngredientDtoHandler.dtosOutfromEntities(super.findAllEntities());
 	}
 
+	@Override
+	public List<IngredientDtoOut> search(String pText, Integer pMax) {
+		return IngredientDtoHandler.dtosOutfromEntities(super.searchEntities(pText, pMax));
+	}
+
+	@Override
+	public List<byte[]> findAllAsJson() {
+		return this.catalogJson.ingredients(super.findAllEntities());
+	}
+
+	@Override
+	protected void elementChanged(Integer pId) {
+		this.catalogJson.ingredientChanged(pId);
+	}
+
 	@Override
 	public IngredientDtoOut delete(Integer pId) throws EntityNotFoundException, InconsistentStatusException {
 		return IngredientDtoHandler.dtoOutfromEntity(super.deleteEntity(pId));
@@ -0,0 +1,399 @@
+// -#--------------------------------------
+// -# ©Copyright Ferret Renaud 2019 -
+// -# Email: admin@ferretrenaud.fr -
+// -# All Rights Reserved. -
+// -#--------------------------------------
+
+package stone.lunchtime.service.impl.jpa;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import stone.lunchtime.entity.jpa.AbstractLabeledEntity;
+
+/**
+ * In memory full text index on the label and the description of the elements
+ * of a labeled service (ingredients, meals or menus). <br>
+ *
+ * Texts are folded (lower case, without accents, œ as oe) and cut in words.
+ * Each prefix of a word, up to {@link #MAX_PREFIX} characters, points to the
+ * elements that have it, so a search looks up each word typed and keeps the
+ * elements that have them all. <br>
+ *
+ * Elements found are ranked: a word of the label is worth more than a word of
+ * the description, a whole word more than the beginning of a word, and a label
+ * that begins with the text searched gets a bonus. <br>
+ *
+ * Only enabled elements are indexed. A change is applied once its transaction
+ * is committed. The index is filled from the data base on the first search, a
+ * change applied before is kept over what is read then.
+ */
+final class LabelIndex {
+	private static final Logger LOG = LoggerFactory.getLogger(LabelIndex.class);
+
+	/** Longest prefix indexed, longer words are checked on the elements found. */
+	public static final int MAX_PREFIX = 12;
+
+	private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+	private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+	private static final int LABEL_WORD = 8;
+	private static final int LABEL_PREFIX = 4;
+	private static final int DESCRIPTION_WORD = 2;
+	private static final int DESCRIPTION_PREFIX = 1;
+	private static final int LABEL_START = 4;
+
+	/**
+	 * An element indexed.
+	 *
+	 * @param label            its folded label
+	 * @param labelWords       the words of its label
+	 * @param descriptionWords the words of its description
+	 */
+	private record Document(String label, List<String> labelWords, List<String> descriptionWords) {
+	}
+
+	/**
+	 * An element found.
+	 *
+	 * @param id       its id
+	 * @param score    its score, the higher the better
+	 * @param document what is indexed
+	 */
+	private record Hit(Integer id, int score, Document document) {
+	}
+
+	private final String name;
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	private final Map<Integer, Document> documents = new HashMap<>();
+
+	/** Elements, by prefix of their words. */
+	private final Map<String, Set<Integer>> prefixes = new HashMap<>();
+
+	/** Elements changed before the index was filled. */
+	private final Set<Integer> changedBeforeLoad = new HashSet<>();
+
+	private volatile boolean loaded;
+
+	/**
+	 * Constructor of the object.
+	 *
+	 * @param pName name of the index, for the logs
+	 */
+	LabelIndex(String pName) {
+		super();
+		this.name = pName;
+	}
+
+	/**
+	 * Indicates if the index was filled.
+	 *
+	 * @return true if the index was filled
+	 */
+	boolean isLoaded() {
+		return this.loaded;
+	}
+
+	/**
+	 * Fills the index. <br>
+	 *
+	 * An element changed since is not replaced.
+	 *
+	 * @param pEntities all the elements
+	 */
+	void load(Collection<? extends AbstractLabeledEntity> pEntities) {
+		this.lock.writeLock().lock();
+		try {
+			if (this.loaded) {
+				return;
+			}
+			for (var entity : pEntities) {
+				if (entity.isEnabled() && !this.changedBeforeLoad.contains(entity.getId())) {
+					this.put(entity.getId(), LabelIndex.document(entity.getLabel(), entity.getDescription()));
+				}
+			}
+			this.changedBeforeLoad.clear();
+			this.loaded = true;
+			LabelIndex.LOG.atInfo().log("load - {} elements and {} prefixes in {}",
+					Integer.valueOf(this.documents.size()), Integer.valueOf(this.prefixes.size()), this.name);
+		} finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Indexes (again) an element, or removes it if it is not enabled. <br>
+	 *
+	 * Call it each time an element is added or changed. Its values are read now
+	 * and applied when the transaction is committed.
+	 *
+	 * @param pEntity an element
+	 */
+	void changed(AbstractLabeledEntity pEntity) {
+		if (pEntity == null || pEntity.getId() == null) {
+			return;
+		}
+		var id = pEntity.getId();
+		var document = pEntity.isEnabled() ? LabelIndex.document(pEntity.getLabel(), pEntity.getDescription()) : null;
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					LabelIndex.this.apply(id, document);
+				}
+			});
+		} else {
+			this.apply(id, document);
+		}
+	}
+
+	/**
+	 * Searches elements.
+	 *
+	 * @param pText what is searched, its words can be the beginning of words of
+	 *              the label or of the description
+	 * @param pMax  maximum number of elements given
+	 * @return the ids of the elements found, the best first. An empty list if
+	 *         none
+	 */
+	List<Integer> search(String pText, int pMax) {
+		var words = LabelIndex.words(pText);
+		if (words.isEmpty() || pMax <= 0) {
+			return List.of();
+		}
+		var text = String.join(" ", words);
+		List<Hit> hits = new ArrayList<>();
+		this.lock.readLock().lock();
+		try {
+			for (var id : this.candidates(words)) {
+				var document = this.documents.get(id);
+				var score = LabelIndex.score(document, words, text);
+				if (score > 0) {
+					hits.add(new Hit(id, score, document));
+				}
+			}
+		} finally {
+			this.lock.readLock().unlock();
+		}
+		return hits.stream()
+				.sorted(Comparator.comparingInt(Hit::score).reversed()
+						.thenComparingInt((Hit h) -> h.document().label().length()).thenComparing(Hit::id))
+				.limit(pMax).map(Hit::id).toList();
+	}
+
+	/**
+	 * Gives the elements that have all the words, or words that begin with the
+	 * same {@link #MAX_PREFIX} characters. <br>
+	 *
+	 * Read lock must be held.
+	 *
+	 * @param pWords folded words
+	 * @return the ids of the elements
+	 */
+	private Set<Integer> candidates(List<String> pWords) {
+		List<Set<Integer>> sets = new ArrayList<>(pWords.size());
+		for (var word : pWords) {
+			var set = this.prefixes.get(LabelIndex.prefix(word, word.length()));
+			if (set == null) {
+				return Set.of();
+			}
+			sets.add(set);
+		}
+		sets.sort(Comparator.comparingInt(Set::size));
+		Set<Integer> result = new HashSet<>(sets.get(0));
+		for (var i = 1; i < sets.size() && !result.isEmpty(); i++) {
+			result.retainAll(sets.get(i));
+		}
+		return result;
+	}
+
+	/**
+	 * Replaces an element.
+	 *
+	 * @param pId       id of the element
+	 * @param pDocument what is indexed, null to remove the element
+	 */
+	private void apply(Integer pId, Document pDocument) {
+		this.lock.writeLock().lock();
+		try {
+			if (!this.loaded) {
+				this.changedBeforeLoad.add(pId);
+			}
+			this.remove(pId);
+			if (pDocument != null) {
+				this.put(pId, pDocument);
+			}
+		} finally {
+			this.lock.writeLock().unlock();
+		}
+		LabelIndex.LOG.atDebug().log("apply - element {} is {} in {}", pId, pDocument == null ? "removed" : "indexed",
+				this.name);
+	}
+
+	/**
+	 * Adds an element. Write lock must be held.
+	 *
+	 * @param pId       id of the element
+	 * @param pDocument what is indexed
+	 */
+	private void put(Integer pId, Document pDocument) {
+		this.documents.put(pId, pDocument);
+		for (var prefix : LabelIndex.prefixes(pDocument)) {
+			this.prefixes.computeIfAbsent(prefix, k -> new HashSet<>()).add(pId);
+		}
+	}
+
+	/**
+	 * Removes an element. Write lock must be held.
+	 *
+	 * @param pId id of the element
+	 */
+	private void remove(Integer pId) {
+		var old = this.documents.remove(pId);
+		if (old == null) {
+			return;
+		}
+		for (var prefix : LabelIndex.prefixes(old)) {
+			var set = this.prefixes.get(prefix);
+			if (set != null) {
+				set.remove(pId);
+				if (set.isEmpty()) {
+					this.prefixes.remove(prefix);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Computes the score of an element.
+	 *
+	 * @param pDocument the element
+	 * @param pWords    folded words searched
+	 * @param pText     folded words searched, joined by a space
+	 * @return its score, 0 if a word is not found
+	 */
+	private static int score(Document pDocument, List<String> pWords, String pText) {
+		var result = pDocument.label().startsWith(pText) ? LabelIndex.LABEL_START : 0;
+		for (var word : pWords) {
+			var best = Math.max(LabelIndex.score(pDocument.labelWords(), word, LabelIndex.LABEL_WORD,
+					LabelIndex.LABEL_PREFIX),
+					LabelIndex.score(pDocument.descriptionWords(), word, LabelIndex.DESCRIPTION_WORD,
+							LabelIndex.DESCRIPTION_PREFIX));
+			if (best == 0) {
+				return 0;
+			}
+			result += best;
+		}
+		return result;
+	}
+
+	/**
+	 * Computes the score of a word in a text.
+	 *
+	 * @param pTextWords  words of the text
+	 * @param pWord       word searched
+	 * @param pWholeWord  score when a word of the text is the one searched
+	 * @param pBeginsWith score when a word of the text begins with the one
+	 *                    searched
+	 * @return the best score, 0 if the word is not found
+	 */
+	private static int score(List<String> pTextWords, String pWord, int pWholeWord, int pBeginsWith) {
+		var result = 0;
+		for (var textWord : pTextWords) {
+			if (textWord.equals(pWord)) {
+				return pWholeWord;
+			}
+			if (textWord.startsWith(pWord)) {
+				result = pBeginsWith;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Gives all the indexed prefixes of an element.
+	 *
+	 * @param pDocument the element
+	 * @return its prefixes
+	 */
+	private static Set<String> prefixes(Document pDocument) {
+		Set<String> result = new HashSet<>();
+		for (var words : List.of(pDocument.labelWords(), pDocument.descriptionWords())) {
+			for (var word : words) {
+				for (var length = 1; length <= Math.min(word.length(), LabelIndex.MAX_PREFIX); length++) {
+					result.add(LabelIndex.prefix(word, length));
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Gives the beginning of a word.
+	 *
+	 * @param pWord   a word
+	 * @param pLength length wanted
+	 * @return the beginning of the word, at most {@link #MAX_PREFIX} characters
+	 */
+	private static String prefix(String pWord, int pLength) {
+		return pWord.substring(0, Math.min(pLength, LabelIndex.MAX_PREFIX));
+	}
+
+	/**
+	 * Builds what is indexed for an element.
+	 *
+	 * @param pLabel       its label
+	 * @param pDescription its description, can be null
+	 * @return what is indexed
+	 */
+	private static Document document(String pLabel, String pDescription) {
+		var labelWords = LabelIndex.words(pLabel);
+		return new Document(String.join(" ", labelWords), labelWords, LabelIndex.words(pDescription));
+	}
+
+	/**
+	 * Cuts a text in folded words.
+	 *
+	 * @param pText a text, can be null
+	 * @return its words
+	 */
+	static List<String> words(String pText) {
+		var text = LabelIndex.fold(pText);
+		if (text.isBlank()) {
+			return List.of();
+		}
+		return LabelIndex.SEPARATORS.splitAsStream(text).filter(w -> !w.isEmpty()).toList();
+	}
+
+	/**
+	 * Folds a text: lower case, without accents, with œ and æ as oe and ae.
+	 *
+	 * @param pText a text, can be null
+	 * @return the folded text, empty if null
+	 */
+	static String fold(String pText) {
+		if (pText == null) {
+			return "";
+		}
+		var text = pText.toLowerCase(Locale.ROOT).replace("œ", "oe").replace("æ", "ae");
+		return LabelIndex.MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+	}
+}
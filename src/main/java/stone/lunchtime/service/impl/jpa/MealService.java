@@ -47,6 +47,8 @@ public class MealService extends AbstractServiceForEatable<MealEntity, MealDtoOu
 
 	private final IIngredientDao ingredientDao;
 
+	private final CatalogJsonCache catalogJson;
+
 	/**
 	 * Constructor.
 	 *
@@ -54,13 +56,18 @@ public class MealService extends AbstractServiceForEatable<MealEntity, MealDtoOu
 	 * @param pImageService  image service
 	 * @param pIngredientDao ingredient dao
 	 * @param pMealDao       meal dao
+	 * @param pAvailability  availability index
+	 * @param pCatalog       catalog version
+	 * @param pCatalogJson   json of the catalog
 	 */
 	@Autowired
 	protected MealService(ObjectMapper pMapper, ImageService pImageService, IMealDao pMealDao,
-			IIngredientDao pIngredientDao) {
-		super(pMapper, pImageService);
+			IIngredientDao pIngredientDao, AvailabilityIndex pAvailability, CatalogVersion pCatalog,
+			CatalogJsonCache pCatalogJson) {
+		super(pMapper, pImageService, pAvailability, pCatalog);
 		this.mealDao = pMealDao;
 		this.ingredientDao = pIngredientDao;
+		this.catalogJson = pCatalogJson;
 	}
 
 	@Override
@@ -74,8 +81,11 @@ public class MealService extends AbstractServiceForEatable<MealEntity, MealDtoOu
 		this.handleIngredients(meal, pDto.getIngredientsId());
 
 		super.handleImage(meal, pDto);
+		super.handleAvailabilities(meal);
 
 		var resultSave = this.mealDao.save(meal);
+		super.getAvailabilityIndex().refresh(resultSave);
+		super.catalogAdded(resultSave);
 		MealService.LOG.atInfo().log("add - OK with new id={}", resultSave.getId());
 		return MealDtoHandler.dtoOutfromEntity(resultSave, super.getMapper());
 	}
@@ -85,6 +95,8 @@ public class MealService extends AbstractServiceForEatable<MealEntity, MealDtoOu
 		var entityInDateBase = super.beginUpdate(pIdToUpdate, pNewDto);
 		this.handleIngredients(entityInDateBase, pNewDto.getIngredientsId());
 		var resultUpdate = this.mealDao.save(entityInDateBase);
+		super.getAvailabilityIndex().refresh(resultUpdate);
+		super.catalogChanged(resultUpdate);
 		MealService.LOG.atInfo().log("update - OK in {}", this.getClass().getSimpleName());
 		return MealDtoHandler.dtoOutfromEntity(resultUpdate, super.getMapper());
 	}
@@ -137,10 +149,9 @@ public class MealService extends AbstractServiceForEatable<MealEntity, MealDtoOu
 		if (pCategory == null || !MealCategory.inRange(pCategory)) {
 			MealService.LOG.atWarn().log(
 					"findAllAvailableForWeekAndCategory  - pCategory is null or not in [0, 11], will not consider this information relevant");
-			opResult = this.mealDao.findAllAvailableForWeek(pWeek.toString());
+			opResult = this.mealDao.findAllAvailableForWeek(pWeek);
 		} else {
-			opResult = this.mealDao.findAllAvailableForWeekAndCategory(pWeek.toString(),
-					MealCategory.fromValue(pCategory));
+			opResult = this.mealDao.findAllAvailableForWeekAndCategory(pWeek, MealCategory.fromValue(pCategory));
 		}
 		if (opResult.isPresent()) {
 			var result = opResult.get();
@@ -164,9 +175,9 @@ public class MealService extends AbstractServiceForEatable<MealEntity, MealDtoOu
 		if (pCategory == null || !MealCategory.inRange(pCategory)) {
 			MealService.LOG.atWarn().log(
 					"findAllAvailableForWeekAndDayAndCategory  - pCategory is null or not in [0, 11], will not consider this information relevant");
-			opResult = this.mealDao.findAllAvailableForWeekAndDay(pWeek.toString(), pDay.toString());
+			opResult = this.mealDao.findAllAvailableForWeekAndDay(pWeek, pDay);
 		} else {
-			opResult = this.mealDao.findAllAvailableForWeekAndDayAndCategory(pWeek.toString(), pDay.toString(),
+			opResult = this.mealDao.findAllAvailableForWeekAndDayAndCategory(pWeek, pDay,
 					MealCategory.fromValue(pCategory));
 		}
 
@@ -204,6 +215,21 @@ public class MealService extends AbstractServiceForEatable<MealEntity, MealDtoOu
 		return MealDtoHandler.dtosOutfromEntities(super.findAllEntities(), super.getMapper());
 	}
 
+	@Override
+	public List<MealDtoOut> search(String pText, Integer pMax) {
+		return MealDtoHandler.dtosOutfromEntities(super.searchEntities(pText, pMax), super.getMapper());
+	}
+
+	@Override
+	public List<byte[]> findAllAsJson() {
+		return this.catalogJson.meals(super.findAllEntities());
+	}
+
+	@Override
+	protected void elementChanged(Integer pId) {
+		this.catalogJson.mealChanged(pId);
+	}
+
 	@Override
 	public MealDtoOut delete(Integer pId) throws EntityNotFoundException, InconsistentStatusException {
 		return MealDtoHandler.dtoOutfromEntity(super.deleteEntity(pId), super.getMapper());
@@ -45,6 +45,8 @@ public class MenuService extends AbstractServiceForEatable<MenuEntity, MenuDtoOu
 
 	private final IMenuDao menuDao;
 
+	private final CatalogJsonCache catalogJson;
+
 	/**
 	 * Constructor.
 	 *
@@ -52,12 +54,17 @@ public class MenuService extends AbstractServiceForEatable<MenuEntity, MenuDtoOu
 	 * @param pImageService image service
 	 * @param pMealDao      meal dao
 	 * @param pMenuDao      menu dao
+	 * @param pAvailability availability index
+	 * @param pCatalog      catalog version
+	 * @param pCatalogJson  json of the catalog
 	 */
 	@Autowired
-	protected MenuService(ObjectMapper pMapper, ImageService pImageService, IMealDao pMealDao, IMenuDao pMenuDao) {
-		super(pMapper, pImageService);
+	protected MenuService(ObjectMapper pMapper, ImageService pImageService, IMealDao pMealDao, IMenuDao pMenuDao,
+			AvailabilityIndex pAvailability, CatalogVersion pCatalog, CatalogJsonCache pCatalogJson) {
+		super(pMapper, pImageService, pAvailability, pCatalog);
 		this.menuDao = pMenuDao;
 		this.mealDao = pMealDao;
+		this.catalogJson = pCatalogJson;
 	}
 
 	@Override
@@ -71,8 +78,11 @@ public class MenuService extends AbstractServiceForEatable<MenuEntity, MenuDtoOu
 		this.handleMeals(menuInsert, pDto.getMealIds());
 
 		super.handleImage(menuInsert, pDto);
+		super.handleAvailabilities(menuInsert);
 
 		var resultSave = this.menuDao.save(menuInsert);
+		super.getAvailabilityIndex().refresh(resultSave);
+		super.catalogAdded(resultSave);
 		MenuService.LOG.atInfo().log("add - OK with new id={}", resultSave.getId());
 		return MenuDtoHandler.dtoOutfromEntity(resultSave, super.getMapper());
 	}
@@ -84,6 +94,8 @@ public class MenuService extends AbstractServiceForEatable<MenuEntity, MenuDtoOu
 		this.handleMeals(entityInDateBase, pNewDto.getMealIds());
 
 		var resultUpdate = this.menuDao.save(entityInDateBase);
+		super.getAvailabilityIndex().refresh(resultUpdate);
+		super.catalogChanged(resultUpdate);
 		MenuService.LOG.atInfo().log("update - OK in {}", this.getClass().getSimpleName());
 		return MenuDtoHandler.dtoOutfromEntity(resultUpdate, super.getMapper());
 
@@ -93,7 +105,7 @@ public class MenuService extends AbstractServiceForEatable<MenuEntity, MenuDtoOu
 	public List<MenuDtoOut> findAllAvailableForWeek(Integer pWeek) {
 		MenuService.LOG.atDebug().log("findAllAvailableForWeek - {}", pWeek);
 		ValidationUtils.isBetween(pWeek, 1, 53, "Le numero de semaine doit être compris entre [1, 53] !");
-		var opResult = this.menuDao.findAllAvailableForWeek(pWeek.toString());
+		var opResult = this.menuDao.findAllAvailableForWeek(pWeek);
 		if (opResult.isPresent()) {
 			var result = opResult.get();
 			MenuService.LOG.atDebug().log("findAllAvailableForWeek - found {} values for week {}", result.size(), pWeek);
@@ -108,7 +120,7 @@ public class MenuService extends AbstractServiceForEatable<MenuEntity, MenuDtoOu
 		MenuService.LOG.atDebug().log("findAllAvailableForWeekAndDay - {} {}", pWeek, pDay);
 		ValidationUtils.isBetween(pWeek, 1, 53, "Le numero de semaine doit être compris entre [1, 53] !");
 		ValidationUtils.isBetween(pDay, 1, 7, "Le numero de jour doit être compris entre [1, 7] !");
-		var opResult = this.menuDao.findAllAvailableForWeekAndDay(pWeek.toString(), pDay.toString());
+		var opResult = this.menuDao.findAllAvailableForWeekAndDay(pWeek, pDay);
 		if (opResult.isPresent()) {
 			var result = opResult.get();
 			MenuService.LOG.atDebug().log("findAllAvailableForWeekAndDay - found {} values for week {} and day {}",
@@ -170,6 +182,21 @@ public class MenuService extends AbstractServiceForEatable<MenuEntity, MenuDtoOu
 		return MenuDtoHandler.dtosOutfromEntities(super.findAllEntities(), super.getMapper());
 	}
 
+	@Override
+	public List<MenuDtoOut> search(String pText, Integer pMax) {
+		return MenuDtoHandler.dtosOutfromEntities(super.searchEntities(pText, pMax), super.getMapper());
+	}
+
+	@Override
+	public List<byte[]> findAllAsJson() {
+		return this.catalogJson.menus(super.findAllEntities());
+	}
+
+	@Override
+	protected void elementChanged(Integer pId) {
+		this.catalogJson.menuChanged(pId);
+	}
+
 	@Override
 	public MenuDtoOut delete(Integer pId) throws EntityNotFoundException, InconsistentStatusException {
 		return MenuDtoHandler.dtoOutfromEntity(super.deleteEntity(pId), super.getMapper());
@@ -12,33 +12,48 @@ import java.time.LocalTime;
 import java.time.temporal.WeekFields;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Service;
 
-import com.fasterxml.jackson.core.JacksonException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import jakarta.persistence.EntityManager;
 import stone.lunchtime.dao.jpa.IConstraintDao;
 import stone.lunchtime.dao.jpa.IMealDao;
 import stone.lunchtime.dao.jpa.IMenuDao;
 import stone.lunchtime.dao.jpa.IOrderDao;
-import stone.lunchtime.dto.AvailableForWeeksAndDays;
+import stone.lunchtime.dao.jpa.IUserDao;
 import stone.lunchtime.dto.in.OrderDtoIn;
 import stone.lunchtime.dto.in.QuantityDtoIn;
 import stone.lunchtime.dto.jpa.handler.OrderDtoHandler;
+import stone.lunchtime.dto.out.ExceptionDtoOut;
 import stone.lunchtime.dto.out.OrderDtoOut;
+import stone.lunchtime.dto.out.OrderResultDtoOut;
 import stone.lunchtime.dto.out.PriceDtoOut;
 import stone.lunchtime.entity.OrderStatus;
+import stone.lunchtime.entity.jpa.MealEntity;
+import stone.lunchtime.entity.jpa.MenuEntity;
 import stone.lunchtime.entity.jpa.OrderEntity;
 import stone.lunchtime.entity.jpa.QuantityEntity;
 import stone.lunchtime.entity.jpa.UserEntity;
 import stone.lunchtime.service.IOrderService;
 import stone.lunchtime.service.IUserService;
+import stone.lunchtime.service.exception.AbstractFunctionalException;
 import stone.lunchtime.service.exception.EntityNotFoundException;
 import stone.lunchtime.service.exception.InconsistentStatusException;
 import stone.lunchtime.service.exception.LackOfMoneyException;
@@ -47,6 +62,7 @@ import stone.lunchtime.service.exception.OrderCanceledException;
 import stone.lunchtime.service.exception.OrderDelivredException;
 import stone.lunchtime.service.exception.ParameterException;
 import stone.lunchtime.service.exception.TimeOutException;
+import stone.lunchtime.service.exception.TooManyOrdersException;
 import stone.lunchtime.utils.ValidationUtils;
 
 /**
@@ -56,6 +72,9 @@ import stone.lunchtime.utils.ValidationUtils;
 public class OrderService extends AbstractService<OrderEntity, OrderDtoOut> implements IOrderService<OrderEntity> {
 	private static final Logger LOG = LoggerFactory.getLogger(OrderService.class);
 
+	/** Number of orders converted at once while streaming. */
+	private static final int STREAM_BLOCK_SIZE = 50;
+
 	private final IOrderDao orderDao;
 
 	private final IMealDao mealDao;
@@ -66,6 +85,16 @@ public class OrderService extends AbstractService<OrderEntity, OrderDtoOut> impl
 
 	private final IUserService<UserEntity> userSevice;
 
+	private final IUserDao userDao;
+
+	private final AvailabilityIndex availabilityIndex;
+
+	private final DailyOrderCounter dailyOrderCounter;
+
+	private final ProductionPlanService productionPlan;
+
+	private final EntityManager entityManager;
+
 	/**
 	 * Constructor.
 	 *
@@ -75,21 +104,33 @@ public class OrderService extends AbstractService<OrderEntity, OrderDtoOut> impl
 	 * @param pMenuDao       menu dao
 	 * @param pOrderDao      order dao
 	 * @param pUserSevice    user service
+	 * @param pAvailability  availability index
+	 * @param pOrderCounter  daily order counter
+	 * @param pPlan          production plan of the kitchen
+	 * @param pUserDao       user dao
+	 * @param pEntityManager entity manager
 	 */
 	@Autowired
 	protected OrderService(ObjectMapper pMapper, IOrderDao pOrderDao, IMealDao pMealDao, IMenuDao pMenuDao,
-			IConstraintDao pConstraintDao, IUserService<UserEntity> pUserSevice) {
+			IConstraintDao pConstraintDao, IUserService<UserEntity> pUserSevice, AvailabilityIndex pAvailability,
+			DailyOrderCounter pOrderCounter, ProductionPlanService pPlan, IUserDao pUserDao,
+			EntityManager pEntityManager) {
 		super(pMapper);
 		this.orderDao = pOrderDao;
 		this.mealDao = pMealDao;
 		this.menuDao = pMenuDao;
 		this.constraintDao = pConstraintDao;
 		this.userSevice = pUserSevice;
+		this.availabilityIndex = pAvailability;
+		this.dailyOrderCounter = pOrderCounter;
+		this.productionPlan = pPlan;
+		this.userDao = pUserDao;
+		this.entityManager = pEntityManager;
 	}
 
 	@Override
 	public OrderDtoOut order(OrderDtoIn pDtoIn)
-			throws TimeOutException, NotAvailableForThisWeekException, EntityNotFoundException {
+			throws TimeOutException, NotAvailableForThisWeekException, EntityNotFoundException, TooManyOrdersException {
 		OrderService.LOG.atDebug().log("order - {}", pDtoIn);
 		ValidationUtils.isNotNull(pDtoIn, "DTO cannot be null");
 		pDtoIn.validate();
@@ -106,12 +147,15 @@ public class OrderService extends AbstractService<OrderEntity, OrderDtoOut> impl
 		insertOrder.setUser(this.userSevice.findEntity(pDtoIn.getUserId()));
 
 		if (pDtoIn.hasQuantity()) {
-			this.handleOrderQuantity(insertOrder, pDtoIn.getQuantity(), constraintId);
+			this.handleOrderQuantity(insertOrder, pDtoIn.getQuantity(), constraintId, this.mealDao::findById,
+					this.menuDao::findById);
 		}
 
 		var doInsert = this.handleTime(insertOrder, constraintId);
 		if (doInsert) {
+			this.handleMaximumOrderPerDay(constraintId);
 			var resultSave = this.orderDao.save(insertOrder);
+			this.productionPlan.ordered(resultSave);
 			OrderService.LOG.atInfo().log("order - OK with new id={}", resultSave.getId());
 			return OrderDtoHandler.dtoOutfromEntity(resultSave, super.getMapper());
 		}
@@ -119,6 +163,120 @@ public class OrderService extends AbstractService<OrderEntity, OrderDtoOut> impl
 		throw new TimeOutException("L'heure authorisée pour passer une commande est dépassée");
 	}
 
+	@Override
+	public List<OrderResultDtoOut> orderAll(List<OrderDtoIn> pDtoIns) {
+		OrderService.LOG.atDebug().log("orderAll - {} orders", pDtoIns == null ? null : Integer.valueOf(pDtoIns.size()));
+		ValidationUtils.isNotNull(pDtoIns, "DTO list cannot be null");
+
+		// Load all elements at once, next finds will use the persistence context
+		Set<Integer> userIds = new HashSet<>();
+		Set<Integer> mealIds = new HashSet<>();
+		Set<Integer> menuIds = new HashSet<>();
+		Set<Integer> constraintIds = new HashSet<>();
+		for (OrderDtoIn dto : pDtoIns) {
+			if (dto == null) {
+				continue;
+			}
+			if (dto.getUserId() != null) {
+				userIds.add(dto.getUserId());
+			}
+			var constraintId = dto.getConstraintId() == null ? Integer.valueOf(1) : dto.getConstraintId();
+			if (constraintId.intValue() != -1) {
+				constraintIds.add(constraintId);
+			}
+			if (dto.hasQuantity()) {
+				for (QuantityDtoIn qmd : dto.getQuantity()) {
+					if (qmd != null && qmd.getMealId() != null) {
+						mealIds.add(qmd.getMealId());
+					} else if (qmd != null && qmd.getMenuId() != null) {
+						menuIds.add(qmd.getMenuId());
+					}
+				}
+			}
+		}
+		Map<Integer, UserEntity> users = new HashMap<>();
+		this.userDao.findAllById(userIds).forEach(elm -> users.put(elm.getId(), elm));
+		Map<Integer, MealEntity> meals = new HashMap<>();
+		this.mealDao.findAllById(mealIds).forEach(elm -> meals.put(elm.getId(), elm));
+		Map<Integer, MenuEntity> menus = new HashMap<>();
+		this.menuDao.findAllById(menuIds).forEach(elm -> menus.put(elm.getId(), elm));
+		this.constraintDao.findAllById(constraintIds);
+
+		// Validate all orders
+		List<OrderResultDtoOut> results = new ArrayList<>(pDtoIns.size());
+		List<OrderEntity> toInsert = new ArrayList<>(pDtoIns.size());
+		List<OrderResultDtoOut> toInsertResults = new ArrayList<>(pDtoIns.size());
+		for (var i = 0; i < pDtoIns.size(); i++) {
+			var result = new OrderResultDtoOut(Integer.valueOf(i));
+			results.add(result);
+			try {
+				toInsert.add(this.prepareOrder(pDtoIns.get(i), users, meals, menus));
+				toInsertResults.add(result);
+			} catch (AbstractFunctionalException | ParameterException exc) {
+				OrderService.LOG.atWarn().log("orderAll - KO for order {}: {}", Integer.valueOf(i), exc.getMessage());
+				result.setError(new ExceptionDtoOut(exc));
+			}
+		}
+
+		// Insert all valid orders
+		var saved = this.orderDao.saveAll(toInsert);
+		for (var i = 0; i < saved.size(); i++) {
+			this.productionPlan.ordered(saved.get(i));
+			toInsertResults.get(i).setOrder(OrderDtoHandler.dtoOutfromEntity(saved.get(i), super.getMapper()));
+		}
+		OrderService.LOG.atInfo().log("orderAll - OK {} orders added on {}", Integer.valueOf(saved.size()),
+				Integer.valueOf(pDtoIns.size()));
+		return results;
+	}
+
+	/**
+	 * Validates an order of a group and builds its entity.
+	 *
+	 * @param pDtoIn Information that will be used for the order
+	 * @param pUsers all users of the group, by id
+	 * @param pMeals all meals of the group, by id
+	 * @param pMenus all menus of the group, by id
+	 * @return the entity, not saved
+	 * @throws TimeOutException                 if time is too late for passing the
+	 *                                          order
+	 * @throws NotAvailableForThisWeekException if meal or menu is not available for
+	 *                                          this week
+	 * @throws EntityNotFoundException          if entity was not found
+	 * @throws TooManyOrdersException           if the maximum number of orders
+	 *                                          for today is reached
+	 */
+	private OrderEntity prepareOrder(OrderDtoIn pDtoIn, Map<Integer, UserEntity> pUsers,
+			Map<Integer, MealEntity> pMeals, Map<Integer, MenuEntity> pMenus)
+			throws TimeOutException, NotAvailableForThisWeekException, EntityNotFoundException, TooManyOrdersException {
+		ValidationUtils.isNotNull(pDtoIn, "DTO cannot be null");
+		pDtoIn.validate();
+
+		var insertOrder = OrderDtoHandler.toEntity();
+		var constraintId = pDtoIn.getConstraintId();
+		if (constraintId == null) {
+			constraintId = Integer.valueOf(1);
+		}
+
+		var user = pUsers.get(pDtoIn.getUserId());
+		if (user == null) {
+			OrderService.LOG.atError().log("prepareOrder - KO user not found for id={}", pDtoIn.getUserId());
+			throw new EntityNotFoundException("Utilisateur introuvable", pDtoIn.getUserId());
+		}
+		insertOrder.setUser(user);
+
+		if (pDtoIn.hasQuantity()) {
+			this.handleOrderQuantity(insertOrder, pDtoIn.getQuantity(), constraintId,
+					id -> Optional.ofNullable(pMeals.get(id)), id -> Optional.ofNullable(pMenus.get(id)));
+		}
+
+		if (!this.handleTime(insertOrder, constraintId)) {
+			OrderService.LOG.atError().log("prepareOrder - KO It is too late for ordering");
+			throw new TimeOutException("L'heure authorisée pour passer une commande est dépassée");
+		}
+		this.handleMaximumOrderPerDay(constraintId);
+		return insertOrder;
+	}
+
 	@Override
 	public OrderDtoOut update(Integer pIdToUpdate, OrderDtoIn pNewDto)
 			throws EntityNotFoundException, TimeOutException, NotAvailableForThisWeekException {
@@ -127,6 +285,8 @@ public class OrderService extends AbstractService<OrderEntity, OrderDtoOut> impl
 		pNewDto.validate();
 
 		var entityInDataBase = this.findEntity(pIdToUpdate);
+		// What the order adds to the production plan, before it changes
+		var before = entityInDataBase.isCanceled() ? null : this.productionPlan.of(entityInDataBase);
 		// Handle join for transaction reason
 		var constraintId = pNewDto.getConstraintId();
 		if (constraintId == null) {
@@ -139,7 +299,8 @@ public class OrderService extends AbstractService<OrderEntity, OrderDtoOut> impl
 		}
 
 		if (pNewDto.hasQuantity()) {
-			this.handleOrderQuantity(entityInDataBase, pNewDto.getQuantity(), constraintId);
+			this.handleOrderQuantity(entityInDataBase, pNewDto.getQuantity(), constraintId, this.mealDao::findById,
+					this.menuDao::findById);
 		} else {
 			var values = entityInDataBase.getQuantityEntities();
 			if (values != null && !values.isEmpty()) {
@@ -151,6 +312,7 @@ public class OrderService extends AbstractService<OrderEntity, OrderDtoOut> impl
 		var doInsert = this.handleTime(entityInDataBase, constraintId);
 		if (doInsert) {
 			var resultUpdate = this.orderDao.save(entityInDataBase);
+			this.productionPlan.updated(before, resultUpdate);
 			OrderService.LOG.atInfo().log("update - OK");
 			return OrderDtoHandler.dtoOutfromEntity(resultUpdate, super.getMapper());
 		}
@@ -162,8 +324,10 @@ public class OrderService extends AbstractService<OrderEntity, OrderDtoOut> impl
 	public OrderDtoOut cancel(Integer pOrderId)
 			throws EntityNotFoundException, OrderCanceledException, OrderDelivredException {
 		OrderService.LOG.atDebug().log("cancel - {}", pOrderId);
-		return OrderDtoHandler.dtoOutfromEntity(this.updateEntityStatus(pOrderId, OrderStatus.CANCELED),
-				super.getMapper());
+		var result = this.updateEntityStatus(pOrderId, OrderStatus.CANCELED);
+		this.dailyOrderCounter.release(result.getCreationDate());
+		this.productionPlan.canceled(result);
+		return OrderDtoHandler.dtoOutfromEntity(result, super.getMapper());
 	}
 
 	@Override
@@ -279,19 +443,25 @@ public class OrderService extends AbstractService<OrderEntity, OrderDtoOut> impl
 	}
 
 	/**
-	 * Handles the join between order and quantity.
+	 * Handles the join between order and quantity. Package visibility, for the
+	 * benchmarks.
 	 *
 	 * @param pOrder        an order. That will be changed during this method.
 	 * @param pQuantity     a list of QuantityDtoIn
 	 * @param pConstraintId a constraint id. Can be null or -1 for no constraint
+	 * @param pMeals        where to find a meal with its id
+	 * @param pMenus        where to find a menu with its id
 	 * @throws EntityNotFoundException          if entity was not found
 	 * @throws NotAvailableForThisWeekException if this menu is not available for
 	 *                                          this week. Depending on the
 	 *                                          constraint.
 	 */
-	private void handleOrderQuantity(OrderEntity pOrder, List<QuantityDtoIn> pQuantity, Integer pConstraintId)
+	void handleOrderQuantity(OrderEntity pOrder, List<QuantityDtoIn> pQuantity, Integer pConstraintId,
+			Function<Integer, Optional<MealEntity>> pMeals, Function<Integer, Optional<MenuEntity>> pMenus)
 			throws EntityNotFoundException, NotAvailableForThisWeekException {
 		List<QuantityEntity> quantities = new ArrayList<>();
+		final int thisWeek = OrderService.getCurrentWeekId();
+		final int thisDay = OrderService.getCurrentDayId();
 		for (QuantityDtoIn qmd : pQuantity) {
 			var mealId = qmd.getMealId();
 			var menuId = qmd.getMenuId();
@@ -302,7 +472,7 @@ public class OrderService extends AbstractService<OrderEntity, OrderDtoOut> impl
 			}
 
 			if (mealId != null) {
-				var opResult = this.mealDao.findById(mealId);
+				var opResult = pMeals.apply(mealId);
 				if (opResult.isEmpty()) {
 					OrderService.LOG.atError().log("handleOrderQuantity - KO meal not found for id={}", mealId);
 					throw new EntityNotFoundException("Plat introuvable", mealId);
@@ -316,16 +486,7 @@ public class OrderService extends AbstractService<OrderEntity, OrderDtoOut> impl
 					chp.setQuantity(mealQuantity);
 					quantities.add(chp);
 				} else {
-					AvailableForWeeksAndDays dispo = null;
-					try {
-						dispo = new AvailableForWeeksAndDays(result.getAvailableForWeeksAndDays(), this.getMapper());
-					} catch (JacksonException exc) {
-						OrderService.LOG.atError().log("Error with weeks and day format", exc);
-						dispo = null;
-					}
-					final var thisWeek = OrderService.getCurrentWeekId();
-					final var thisDay = OrderService.getCurrentDayId();
-					if (dispo != null && !dispo.oneWeekAndOneDay(thisWeek, thisDay)) {
+					if (!this.availabilityIndex.isAvailable(result, thisWeek, thisDay)) {
 						// KO
 						OrderService.LOG.atError().log(
 								"handleOrderQuantity - KO meal {} is NOT available for this week {} and day {}", mealId,
@@ -344,7 +505,7 @@ public class OrderService extends AbstractService<OrderEntity, OrderDtoOut> impl
 				}
 			} // This was a meal link
 			else if (menuId != null) {
-				var opResult = this.menuDao.findById(menuId);
+				var opResult = pMenus.apply(menuId);
 				if (opResult.isEmpty()) {
 					OrderService.LOG.atError().log("handleOrderQuantity - KO menu not found for id={}", menuId);
 					throw new EntityNotFoundException("Menu introuvable", menuId);
@@ -358,16 +519,7 @@ public class OrderService extends AbstractService<OrderEntity, OrderDtoOut> impl
 					chp.setQuantity(mealQuantity);
 					quantities.add(chp);
 				} else {
-					AvailableForWeeksAndDays dispo = null;
-					try {
-						dispo = new AvailableForWeeksAndDays(result.getAvailableForWeeksAndDays(), this.getMapper());
-					} catch (JacksonException exc) {
-						OrderService.LOG.atError().log("Error with weeks and day format", exc);
-						dispo = null;
-					}
-					final var thisWeek = OrderService.getCurrentWeekId();
-					final var thisDay = OrderService.getCurrentDayId();
-					if (dispo != null && !dispo.oneWeekAndOneDay(thisWeek, thisDay)) {
+					if (!this.availabilityIndex.isAvailable(result, thisWeek, thisDay)) {
 						// KO
 						OrderService.LOG.atError().log(
 								"handleOrderQuantity - KO menu {} is NOT available for this week {} and day {}", menuId,
@@ -427,15 +579,52 @@ public class OrderService extends AbstractService<OrderEntity, OrderDtoOut> impl
 		return doInsert;
 	}
 
+	/**
+	 * Handles the maximum number of orders per day of the constraint. <br>
+	 *
+	 * A place is reserved in the daily order counter, no query is made for
+	 * counting the orders.
+	 *
+	 * @param pConstraintId a constraint id. -1 for no constraint
+	 * @throws EntityNotFoundException if entity was not found
+	 * @throws TooManyOrdersException  if the maximum number of orders for today is
+	 *                                 reached
+	 */
+	private void handleMaximumOrderPerDay(Integer pConstraintId)
+			throws EntityNotFoundException, TooManyOrdersException {
+		Integer maximum = null;
+		if (pConstraintId.intValue() != -1) {
+			// Already loaded by handleTime, will not hit the data base
+			var opResult = this.constraintDao.findById(pConstraintId);
+			if (opResult.isEmpty()) {
+				OrderService.LOG.atError().log("handleMaximumOrderPerDay - KO constraint not found for id={}",
+						pConstraintId);
+				throw new EntityNotFoundException("Contrainte introuvable", pConstraintId);
+			}
+			maximum = opResult.get().getMaximumOrderPerDay();
+		}
+		if (!this.dailyOrderCounter.tryReserve(maximum)) {
+			OrderService.LOG.atError().log("handleMaximumOrderPerDay - KO maximum of {} orders reached", maximum);
+			throw new TooManyOrdersException(
+					"Le nombre maximum de commandes pour aujourd'hui (" + maximum + ") est atteint");
+		}
+	}
+
 	@Override
 	public List<OrderDtoOut> findAllByUserId(Integer pUserId) {
+		return this.findAllByUserId(pUserId, true);
+	}
+
+	@Override
+	public List<OrderDtoOut> findAllByUserId(Integer pUserId, boolean pWithRelations) {
 		OrderService.LOG.atDebug().log("findAllByUserId - {}", pUserId);
 		ValidationUtils.isNotNull(pUserId, "ID cannot be null");
-		var opResult = this.orderDao.findByUserIdOrderByCreationDateAsc(pUserId);
+		var opResult = pWithRelations ? this.orderDao.findByUserIdOrderByCreationDateAsc(pUserId)
+				: this.orderDao.readByUserIdOrderByCreationDateAsc(pUserId);
 		if (opResult.isPresent()) {
 			var result = opResult.get();
 			OrderService.LOG.atDebug().log("findAllByUserId - found {} values for user {}", result.size(), pUserId);
-			return OrderDtoHandler.dtosOutfromEntities(result, super.getMapper());
+			return this.toDtosOut(result, pWithRelations);
 		}
 		OrderService.LOG.atDebug().log("findAllByUserId - found NO value for user {}", pUserId);
 		return Collections.emptyList();
@@ -443,6 +632,12 @@ public class OrderService extends AbstractService<OrderEntity, OrderDtoOut> impl
 
 	@Override
 	public List<OrderDtoOut> findAllBetweenDateInStatus(LocalDate pBeginDate, LocalDate pEndDate, OrderStatus pStatus) {
+		return this.findAllBetweenDateInStatus(pBeginDate, pEndDate, pStatus, true);
+	}
+
+	@Override
+	public List<OrderDtoOut> findAllBetweenDateInStatus(LocalDate pBeginDate, LocalDate pEndDate, OrderStatus pStatus,
+			boolean pWithRelations) {
 		OrderService.LOG.atDebug().log("findAllByBetweenDate - {} and {} for state {}", pBeginDate, pEndDate, pStatus);
 		if (pBeginDate != null && pEndDate != null && pBeginDate.isAfter(pEndDate)) {
 			OrderService.LOG.atError().log("findAllBetweenDateInStatus  - Begin date is after end date");
@@ -458,12 +653,13 @@ public class OrderService extends AbstractService<OrderEntity, OrderDtoOut> impl
 			pEndDate = LocalDate.now();
 		}
 
-		var opResult = this.orderDao.findByCreationDateBetweenAndStatusOrderByCreationDateAsc(pBeginDate, pEndDate,
-				pStatus);
+		var opResult = pWithRelations
+				? this.orderDao.findByCreationDateBetweenAndStatusOrderByCreationDateAsc(pBeginDate, pEndDate, pStatus)
+				: this.orderDao.readByCreationDateBetweenAndStatusOrderByCreationDateAsc(pBeginDate, pEndDate, pStatus);
 		if (opResult.isPresent()) {
 			var result = opResult.get();
 			OrderService.LOG.atDebug().log("findAllBetweenDateInStatus - found {} values", result.size());
-			return OrderDtoHandler.dtosOutfromEntities(result, super.getMapper());
+			return this.toDtosOut(result, pWithRelations);
 		}
 		OrderService.LOG.atDebug().log("findAllBetweenDateInStatus - found NO value");
 		return Collections.emptyList();
@@ -471,6 +667,12 @@ public class OrderService extends AbstractService<OrderEntity, OrderDtoOut> impl
 
 	@Override
 	public List<OrderDtoOut> findAllBetweenDateForUser(Integer pUserId, LocalDate pBeginDate, LocalDate pEndDate) {
+		return this.findAllBetweenDateForUser(pUserId, pBeginDate, pEndDate, true);
+	}
+
+	@Override
+	public List<OrderDtoOut> findAllBetweenDateForUser(Integer pUserId, LocalDate pBeginDate, LocalDate pEndDate,
+			boolean pWithRelations) {
 		OrderService.LOG.atDebug().log("findAllBetweenDateForUser - {} and {} for user {}", pBeginDate, pEndDate,
 				pUserId);
 		if (pBeginDate != null && pEndDate != null && pBeginDate.isAfter(pEndDate)) {
@@ -485,12 +687,13 @@ public class OrderService extends AbstractService<OrderEntity, OrderDtoOut> impl
 			pEndDate = LocalDate.now();
 		}
 		ValidationUtils.isNotNull(pUserId, "ID cannot be null");
-		var opResult = this.orderDao.findByCreationDateBetweenAndUserIdOrderByCreationDateAsc(pBeginDate, pEndDate,
-				pUserId);
+		var opResult = pWithRelations
+				? this.orderDao.findByCreationDateBetweenAndUserIdOrderByCreationDateAsc(pBeginDate, pEndDate, pUserId)
+				: this.orderDao.readByCreationDateBetweenAndUserIdOrderByCreationDateAsc(pBeginDate, pEndDate, pUserId);
 		if (opResult.isPresent()) {
 			var result = opResult.get();
 			OrderService.LOG.atDebug().log("findAllBetweenDateForUser - found {} values", result.size());
-			return OrderDtoHandler.dtosOutfromEntities(result, super.getMapper());
+			return this.toDtosOut(result, pWithRelations);
 		}
 		OrderService.LOG.atDebug().log("findAllBetweenDateForUser - found NO value");
 		return Collections.emptyList();
@@ -499,6 +702,12 @@ public class OrderService extends AbstractService<OrderEntity, OrderDtoOut> impl
 	@Override
 	public List<OrderDtoOut> findAllBetweenDateForUserInStatus(Integer pUserId, LocalDate pBeginDate,
 			LocalDate pEndDate, OrderStatus pStatus) {
+		return this.findAllBetweenDateForUserInStatus(pUserId, pBeginDate, pEndDate, pStatus, true);
+	}
+
+	@Override
+	public List<OrderDtoOut> findAllBetweenDateForUserInStatus(Integer pUserId, LocalDate pBeginDate,
+			LocalDate pEndDate, OrderStatus pStatus, boolean pWithRelations) {
 		OrderService.LOG.atDebug().log("findAllBetweenDateForUserInStatus - {} and {} for user {} with state {}",
 				pBeginDate, pEndDate, pUserId, pStatus);
 		ValidationUtils.isNotNull(pUserId, "ID cannot be null");
@@ -518,12 +727,15 @@ public class OrderService extends AbstractService<OrderEntity, OrderDtoOut> impl
 			pEndDate = LocalDate.now();
 		}
 
-		var opResult = this.orderDao.findByCreationDateBetweenAndUserIdAndStatusOrderByCreationDateAsc(pBeginDate,
-				pEndDate, pUserId, pStatus);
+		var opResult = pWithRelations
+				? this.orderDao.findByCreationDateBetweenAndUserIdAndStatusOrderByCreationDateAsc(pBeginDate,
+						pEndDate, pUserId, pStatus)
+				: this.orderDao.readByCreationDateBetweenAndUserIdAndStatusOrderByCreationDateAsc(pBeginDate,
+						pEndDate, pUserId, pStatus);
 		if (opResult.isPresent()) {
 			var result = opResult.get();
 			OrderService.LOG.atDebug().log("findAllBetweenDateForUserInStatus - found {} values", result.size());
-			return OrderDtoHandler.dtosOutfromEntities(result, super.getMapper());
+			return this.toDtosOut(result, pWithRelations);
 		}
 		OrderService.LOG.atDebug().log("findAllBetweenDateForUserInStatus - found NO value");
 		return Collections.emptyList();
@@ -531,17 +743,23 @@ public class OrderService extends AbstractService<OrderEntity, OrderDtoOut> impl
 
 	@Override
 	public List<OrderDtoOut> findAllForUserInStatus(Integer pUserId, OrderStatus pStatus) {
+		return this.findAllForUserInStatus(pUserId, pStatus, true);
+	}
+
+	@Override
+	public List<OrderDtoOut> findAllForUserInStatus(Integer pUserId, OrderStatus pStatus, boolean pWithRelations) {
 		OrderService.LOG.atDebug().log("findAllForUserInStatus - for user {} with state {}", pUserId, pStatus);
 
 		if (pStatus == null) {
 			pStatus = OrderStatus.CREATED;
 		}
 		ValidationUtils.isNotNull(pUserId, "ID cannot be null");
-		var opResult = this.orderDao.findByUserIdAndStatusOrderByCreationDateAsc(pUserId, pStatus);
+		var opResult = pWithRelations ? this.orderDao.findByUserIdAndStatusOrderByCreationDateAsc(pUserId, pStatus)
+				: this.orderDao.readByUserIdAndStatusOrderByCreationDateAsc(pUserId, pStatus);
 		if (opResult.isPresent()) {
 			var result = opResult.get();
 			OrderService.LOG.atDebug().log("findAllForUserInStatus - found {} values", result.size());
-			return OrderDtoHandler.dtosOutfromEntities(result, super.getMapper());
+			return this.toDtosOut(result, pWithRelations);
 		}
 		OrderService.LOG.atDebug().log("findAllForUserInStatus - found NO value");
 		return Collections.emptyList();
@@ -572,22 +790,232 @@ public class OrderService extends AbstractService<OrderEntity, OrderDtoOut> impl
 
 	@Override
 	public OrderDtoOut find(Integer pEntityPrimaryKey) throws EntityNotFoundException {
-		return OrderDtoHandler.dtoOutfromEntity(super.findEntity(pEntityPrimaryKey), super.getMapper());
+		return this.find(pEntityPrimaryKey, true);
+	}
+
+	@Override
+	public OrderDtoOut find(Integer pEntityPrimaryKey, boolean pWithRelations) throws EntityNotFoundException {
+		if (pWithRelations) {
+			return this.toDtoOut(super.findEntity(pEntityPrimaryKey), true);
+		}
+		ValidationUtils.isNotNull(pEntityPrimaryKey, "Key cannot be null");
+		var opResult = this.orderDao.readById(pEntityPrimaryKey);
+		if (opResult.isEmpty()) {
+			OrderService.LOG.atError().log("find - Order with id {} was not found", pEntityPrimaryKey);
+			throw new EntityNotFoundException("Entite introuvable.", pEntityPrimaryKey);
+		}
+		return this.toDtoOut(opResult.get(), false);
 	}
 
 	@Override
 	public List<OrderDtoOut> findAll() {
-		return OrderDtoHandler.dtosOutfromEntities(super.findAllEntities(), super.getMapper());
+		return this.findAll(true);
+	}
+
+	@Override
+	public List<OrderDtoOut> findAll(boolean pWithRelations) {
+		return this.toDtosOut(super.findAllEntities(), pWithRelations);
+	}
+
+	/**
+	 * Transforms an order into a DTO.
+	 *
+	 * @param pEntity        the order
+	 * @param pWithRelations false to leave the user and the quantities out
+	 * @return the DTO
+	 */
+	private OrderDtoOut toDtoOut(OrderEntity pEntity, boolean pWithRelations) {
+		if (pWithRelations) {
+			return OrderDtoHandler.dtoOutfromEntity(pEntity, super.getMapper());
+		}
+		return OrderDtoHandler.dtoOutfromEntityWithoutRelations(pEntity);
+	}
+
+	/**
+	 * Transforms orders into DTOs.
+	 *
+	 * @param pEntities      the orders
+	 * @param pWithRelations false to leave the user and the quantities out
+	 * @return the DTOs
+	 */
+	private List<OrderDtoOut> toDtosOut(List<OrderEntity> pEntities, boolean pWithRelations) {
+		if (pWithRelations) {
+			this.fetchMealsAndIngredients(pEntities);
+			return OrderDtoHandler.dtosOutfromEntities(pEntities, super.getMapper());
+		}
+		return pEntities.stream().map(OrderDtoHandler::dtoOutfromEntityWithoutRelations).toList();
+	}
+
+	/**
+	 * Loads what the DTOs of the orders need beside the entity graph: meals of the
+	 * menus, then ingredients of all the meals, ordered alone or in a menu. <br>
+	 *
+	 * Two statements whatever the number of orders, menus and meals. Roles of the
+	 * users are still loaded by batch (one statement per
+	 * hibernate.default_batch_fetch_size users).
+	 *
+	 * @param pEntities orders loaded with their quantities
+	 */
+	private void fetchMealsAndIngredients(List<OrderEntity> pEntities) {
+		Set<MenuEntity> menus = new HashSet<>();
+		Set<MealEntity> meals = new HashSet<>();
+		for (OrderEntity order : pEntities) {
+			if (order.getQuantityEntities() != null) {
+				for (QuantityEntity quantity : order.getQuantityEntities()) {
+					if (quantity.getMenu() != null) {
+						menus.add(quantity.getMenu());
+					}
+					if (quantity.getMeal() != null) {
+						meals.add(quantity.getMeal());
+					}
+				}
+			}
+		}
+		if (!menus.isEmpty()) {
+			this.menuDao.fetchMeals(menus).forEach(m -> meals.addAll(m.getMeals()));
+		}
+		if (!meals.isEmpty()) {
+			this.mealDao.fetchIngredients(meals);
+		}
 	}
 
 	@Override
 	public OrderDtoOut delete(Integer pId) throws EntityNotFoundException, InconsistentStatusException {
 		try {
-			return OrderDtoHandler.dtoOutfromEntity(this.updateEntityStatus(pId, OrderStatus.CANCELED),
-					super.getMapper());
+			var result = this.updateEntityStatus(pId, OrderStatus.CANCELED);
+			this.dailyOrderCounter.release(result.getCreationDate());
+			this.productionPlan.canceled(result);
+			return OrderDtoHandler.dtoOutfromEntity(result, super.getMapper());
 		} catch (OrderCanceledException | OrderDelivredException e) {
 			throw new InconsistentStatusException(e);
 		}
 	}
 
+	@Override
+	public Window<OrderDtoOut> findPage(ScrollPosition pPosition, int pSize) {
+		return this.findPage(pPosition, pSize, true);
+	}
+
+	@Override
+	public Window<OrderDtoOut> findPage(ScrollPosition pPosition, int pSize, boolean pWithRelations) {
+		OrderService.LOG.atDebug().log("findPage - {} from {}", Integer.valueOf(pSize), pPosition);
+		var result = this.orderDao.findByOrderByCreationDateAscIdAsc(OrderService.positionOrFirst(pPosition),
+				OrderService.limit(pSize));
+		OrderService.LOG.atDebug().log("findPage - found {} values", Integer.valueOf(result.size()));
+		return result.map(e -> this.toDtoOut(e, pWithRelations));
+	}
+
+	@Override
+	public Window<OrderDtoOut> findPageByUserId(Integer pUserId, ScrollPosition pPosition, int pSize) {
+		return this.findPageByUserId(pUserId, pPosition, pSize, true);
+	}
+
+	@Override
+	public Window<OrderDtoOut> findPageByUserId(Integer pUserId, ScrollPosition pPosition, int pSize,
+			boolean pWithRelations) {
+		OrderService.LOG.atDebug().log("findPageByUserId - {} from {} for user {}", Integer.valueOf(pSize), pPosition,
+				pUserId);
+		ValidationUtils.isNotNull(pUserId, "ID cannot be null");
+		var result = this.orderDao.findByUserIdOrderByCreationDateAscIdAsc(pUserId,
+				OrderService.positionOrFirst(pPosition), OrderService.limit(pSize));
+		OrderService.LOG.atDebug().log("findPageByUserId - found {} values", Integer.valueOf(result.size()));
+		return result.map(e -> this.toDtoOut(e, pWithRelations));
+	}
+
+	@Override
+	public Window<OrderDtoOut> findPageBetweenDateInStatus(LocalDate pBeginDate, LocalDate pEndDate,
+			OrderStatus pStatus, ScrollPosition pPosition, int pSize) {
+		return this.findPageBetweenDateInStatus(pBeginDate, pEndDate, pStatus, pPosition, pSize, true);
+	}
+
+	@Override
+	public Window<OrderDtoOut> findPageBetweenDateInStatus(LocalDate pBeginDate, LocalDate pEndDate,
+			OrderStatus pStatus, ScrollPosition pPosition, int pSize, boolean pWithRelations) {
+		OrderService.LOG.atDebug().log("findPageBetweenDateInStatus - {} and {} for state {}, {} from {}", pBeginDate,
+				pEndDate, pStatus, Integer.valueOf(pSize), pPosition);
+		if (pBeginDate != null && pEndDate != null && pBeginDate.isAfter(pEndDate)) {
+			OrderService.LOG.atError().log("findPageBetweenDateInStatus - Begin date is after end date");
+			throw new ParameterException("Les dates ne sont pas valides", "dates");
+		}
+		var result = this.orderDao.findByCreationDateBetweenAndStatusOrderByCreationDateAscIdAsc(
+				pBeginDate == null ? LocalDate.now().minusYears(20) : pBeginDate,
+				pEndDate == null ? LocalDate.now() : pEndDate, pStatus == null ? OrderStatus.CREATED : pStatus,
+				OrderService.positionOrFirst(pPosition), OrderService.limit(pSize));
+		OrderService.LOG.atDebug().log("findPageBetweenDateInStatus - found {} values", Integer.valueOf(result.size()));
+		return result.map(e -> this.toDtoOut(e, pWithRelations));
+	}
+
+	@Override
+	public long streamAllBetweenDateInStatus(LocalDate pBeginDate, LocalDate pEndDate, OrderStatus pStatus,
+			Consumer<OrderDtoOut> pConsumer) {
+		OrderService.LOG.atDebug().log("streamAllBetweenDateInStatus - {} and {} for state {}", pBeginDate, pEndDate,
+				pStatus);
+		ValidationUtils.isNotNull(pConsumer, "Consumer cannot be null");
+		if (pBeginDate != null && pEndDate != null && pBeginDate.isAfter(pEndDate)) {
+			OrderService.LOG.atError().log("streamAllBetweenDateInStatus - Begin date is after end date");
+			throw new ParameterException("Les dates ne sont pas valides", "dates");
+		}
+		var count = 0L;
+		// Orders are converted by blocks, so quantities of a block are loaded with one
+		// query (see default_batch_fetch_size), then detached from the session
+		List<OrderEntity> block = new ArrayList<>(OrderService.STREAM_BLOCK_SIZE);
+		try (var stream = this.orderDao.streamByCreationDateBetweenAndStatusOrderByCreationDateAscIdAsc(
+				pBeginDate == null ? LocalDate.now().minusYears(20) : pBeginDate,
+				pEndDate == null ? LocalDate.now() : pEndDate, pStatus == null ? OrderStatus.CREATED : pStatus)) {
+			var iterator = stream.iterator();
+			while (iterator.hasNext()) {
+				block.add(iterator.next());
+				if (block.size() == OrderService.STREAM_BLOCK_SIZE || !iterator.hasNext()) {
+					count += this.consume(block, pConsumer);
+				}
+			}
+		}
+		OrderService.LOG.atDebug().log("streamAllBetweenDateInStatus - found {} values", Long.valueOf(count));
+		return count;
+	}
+
+	/**
+	 * Gives a block of orders to a consumer, then removes them from the session.
+	 * Users are kept, they are shared by many orders.
+	 *
+	 * @param pBlock    the orders, will be emptied
+	 * @param pConsumer the consumer
+	 * @return the number of orders consumed
+	 */
+	private int consume(List<OrderEntity> pBlock, Consumer<OrderDtoOut> pConsumer) {
+		var size = pBlock.size();
+		for (OrderEntity order : pBlock) {
+			pConsumer.accept(OrderDtoHandler.dtoOutfromEntity(order, super.getMapper()));
+		}
+		// Detach is cascaded to quantities
+		pBlock.forEach(this.entityManager::detach);
+		pBlock.clear();
+		return size;
+	}
+
+	/**
+	 * Gets the position of a page.
+	 *
+	 * @param pPosition a position, can be null
+	 * @return the position, the first one if pPosition is null
+	 */
+	private static ScrollPosition positionOrFirst(ScrollPosition pPosition) {
+		return pPosition == null ? ScrollPosition.keyset() : pPosition;
+	}
+
+	/**
+	 * Gets the limit of a page.
+	 *
+	 * @param pSize size of the page
+	 * @return the limit
+	 * @throws ParameterException if size is not in [1, MAX_PAGE_SIZE]
+	 */
+	private static Limit limit(int pSize) {
+		if (pSize <= 0 || pSize > IOrderService.MAX_PAGE_SIZE) {
+			OrderService.LOG.atError().log("limit - Size {} is not valid", Integer.valueOf(pSize));
+			throw new ParameterException("La taille de la page doit etre entre 1 et " + IOrderService.MAX_PAGE_SIZE,
+					"size");
+		}
+		return Limit.of(pSize);
+	}
 }
@@ -0,0 +1,441 @@
+// -#--------------------------------------
+// -# ©Copyright Ferret Renaud 2019 -
+// -# Email: admin@ferretrenaud.fr -
+// -# All Rights Reserved. -
+// -#--------------------------------------
+
+package stone.lunchtime.service.impl.jpa;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import stone.lunchtime.dao.jpa.IConstraintDao;
+import stone.lunchtime.dao.jpa.IOrderDao;
+import stone.lunchtime.dto.out.ProductionLineDtoOut;
+import stone.lunchtime.dto.out.ProductionPlanDtoOut;
+import stone.lunchtime.entity.MealCategory;
+import stone.lunchtime.entity.OrderStatus;
+import stone.lunchtime.entity.jpa.MealEntity;
+import stone.lunchtime.entity.jpa.OrderEntity;
+
+/**
+ * Production plan of the kitchen: how many portions of each meal (menus
+ * included), of each menu and of each meal category were ordered for a day,
+ * canceled orders excluded. <br>
+ *
+ * Today's plan is seeded from the data base at startup and at midnight, then
+ * only changed in memory by OrderService when an order is added, updated or
+ * canceled, so reading it does not hit the data base. A menu counts for one
+ * portion of each of its meals. <br>
+ *
+ * Each change is undone if the transaction that made it is rolled back. The
+ * plan is seeded in its own transaction: the first order after midnight can
+ * seed it, and must not be counted both by the seed and by its own change.
+ * <br>
+ *
+ * The plan of another day is computed from the data base.
+ */
+@Service
+public class ProductionPlanService {
+	private static final Logger LOG = LoggerFactory.getLogger(ProductionPlanService.class);
+
+	/** Constraint used by an order without one. */
+	private static final Integer DEFAULT_CONSTRAINT_ID = Integer.valueOf(1);
+
+	private final IOrderDao orderDao;
+
+	private final IConstraintDao constraintDao;
+
+	/** Read only, always in a new transaction. */
+	private final TransactionTemplate seedTransaction;
+
+	private final AtomicReference<Day> today = new AtomicReference<>();
+
+	/**
+	 * The plan and its ETag.
+	 *
+	 * @param value the plan
+	 * @param eTag  changes each time the plan changes, null if the plan was not
+	 *              read from memory
+	 */
+	public record Plan(ProductionPlanDtoOut value, String eTag) {
+	}
+
+	/**
+	 * What an order adds to the plan.
+	 *
+	 * @param date  creation date of the order
+	 * @param parts its meals and menus, a menu is followed by its meals
+	 */
+	record Contribution(LocalDate date, List<Part> parts) {
+	}
+
+	/**
+	 * A meal or a menu of an order.
+	 *
+	 * @param menu     true for a menu
+	 * @param id       its id
+	 * @param label    its label
+	 * @param category its category, null for a menu
+	 * @param quantity the quantity ordered
+	 * @param inMenu   true for a meal of a menu
+	 */
+	private record Part(boolean menu, Integer id, String label, MealCategory category, int quantity,
+			boolean inMenu) {
+	}
+
+	/**
+	 * A meal or a menu of the plan.
+	 */
+	private static final class Line {
+		private String label;
+
+		private MealCategory category;
+
+		private int quantity;
+
+		private int quantityInMenus;
+	}
+
+	/**
+	 * The plan of a day, changed under its lock.
+	 */
+	private static final class Day {
+		private final LocalDate date;
+
+		/** Makes the ETag different after each seed. */
+		private final long seed = System.currentTimeMillis();
+
+		private long version;
+
+		private int orderCount;
+
+		private final Map<Integer, Line> meals = new HashMap<>();
+
+		private final Map<Integer, Line> menus = new HashMap<>();
+
+		/**
+		 * Constructor of the object.
+		 *
+		 * @param pDate the day
+		 */
+		Day(LocalDate pDate) {
+			this.date = pDate;
+		}
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param pOrderDao      order dao
+	 * @param pConstraintDao      constraint dao
+	 * @param pTransactionManager used for seeding in a new transaction
+	 */
+	@Autowired
+	public ProductionPlanService(IOrderDao pOrderDao, IConstraintDao pConstraintDao,
+			PlatformTransactionManager pTransactionManager) {
+		super();
+		this.orderDao = pOrderDao;
+		this.constraintDao = pConstraintDao;
+		this.seedTransaction = new TransactionTemplate(pTransactionManager);
+		this.seedTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		this.seedTransaction.setReadOnly(true);
+	}
+
+	/**
+	 * Seeds today's plan from the data base. <br>
+	 *
+	 * Called at startup and every day at midnight. Orders not committed yet are
+	 * not counted, they change the plan themselves.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	@Scheduled(cron = "0 0 0 * * *")
+	public void seed() {
+		this.seed(LocalDate.now());
+	}
+
+	/**
+	 * Gets the production plan of a day.
+	 *
+	 * @param pDate a day, today if null
+	 * @return the plan, today's one is read from memory
+	 */
+	@Transactional(readOnly = true)
+	public Plan find(LocalDate pDate) {
+		var now = LocalDate.now();
+		var constraint = this.constraintDao.findById(ProductionPlanService.DEFAULT_CONSTRAINT_ID);
+		var limit = constraint.isPresent() ? constraint.get().getOrderTimeLimit() : null;
+		if (pDate == null || pDate.equals(now)) {
+			var day = this.current();
+			synchronized (day) {
+				var value = ProductionPlanService.toDtoOut(day, limit);
+				var eTag = "\"" + day.date + "-" + Long.toHexString(day.seed) + "-" + day.version
+						+ (Boolean.TRUE.equals(value.getClosed()) ? "-closed" : "") + "\"";
+				return new Plan(value, eTag);
+			}
+		}
+		ProductionPlanService.LOG.atDebug().log("find - plan of {} is computed from the data base", pDate);
+		return new Plan(ProductionPlanService.toDtoOut(this.load(pDate), limit), null);
+	}
+
+	/**
+	 * Gives what an order adds to the plan, whatever its status.
+	 *
+	 * @param pOrder an order, with its quantities
+	 * @return what it adds to the plan
+	 */
+	Contribution of(OrderEntity pOrder) {
+		List<Part> parts = new ArrayList<>();
+		if (pOrder.getQuantityEntities() != null) {
+			for (var quantity : pOrder.getQuantityEntities()) {
+				var value = quantity.getQuantity() == null ? 0 : quantity.getQuantity().intValue();
+				if (quantity.getMeal() != null) {
+					ProductionPlanService.addMeal(parts, quantity.getMeal(), value, false);
+				} else if (quantity.getMenu() != null) {
+					var menu = quantity.getMenu();
+					parts.add(new Part(true, menu.getId(), menu.getLabel(), null, value, false));
+					if (menu.getMeals() != null) {
+						for (var meal : menu.getMeals()) {
+							ProductionPlanService.addMeal(parts, meal, value, true);
+						}
+					}
+				}
+			}
+		}
+		return new Contribution(pOrder.getCreationDate(), parts);
+	}
+
+	/**
+	 * Adds an order to the plan.
+	 *
+	 * @param pOrder an order just added
+	 */
+	void ordered(OrderEntity pOrder) {
+		this.change(this.of(pOrder), 1);
+	}
+
+	/**
+	 * Removes an order from the plan.
+	 *
+	 * @param pOrder an order just canceled
+	 */
+	void canceled(OrderEntity pOrder) {
+		this.change(this.of(pOrder), -1);
+	}
+
+	/**
+	 * Replaces an order in the plan.
+	 *
+	 * @param pBefore what the order added before its update, null if it was not
+	 *                in the plan (canceled)
+	 * @param pOrder  the order updated
+	 */
+	void updated(Contribution pBefore, OrderEntity pOrder) {
+		if (pBefore == null) {
+			return;
+		}
+		this.change(pBefore, -1);
+		this.change(this.of(pOrder), 1);
+	}
+
+	/**
+	 * Changes today's plan, the change is undone if the transaction is rolled
+	 * back.
+	 *
+	 * @param pContribution what an order adds
+	 * @param pSign         1 for adding it, -1 for removing it
+	 */
+	private void change(Contribution pContribution, int pSign) {
+		var day = this.current();
+		if (!day.date.equals(pContribution.date())) {
+			return;
+		}
+		ProductionPlanService.apply(day, pContribution, pSign);
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCompletion(int pStatus) {
+					if (pStatus == TransactionSynchronization.STATUS_ROLLED_BACK) {
+						ProductionPlanService.apply(day, pContribution, -pSign);
+					}
+				}
+			});
+		}
+	}
+
+	/**
+	 * Gets today's plan, seeds it again if the day has changed.
+	 *
+	 * @return today's plan
+	 */
+	private Day current() {
+		var day = this.today.get();
+		var now = LocalDate.now();
+		if (day != null && day.date.equals(now)) {
+			return day;
+		}
+		synchronized (this) {
+			day = this.today.get();
+			if (day == null || !day.date.equals(now)) {
+				day = this.seed(now);
+			}
+			return day;
+		}
+	}
+
+	/**
+	 * Seeds the plan for the given day, in a new transaction.
+	 *
+	 * @param pDate a day
+	 * @return the plan
+	 */
+	private synchronized Day seed(LocalDate pDate) {
+		var day = this.seedTransaction.execute(s -> this.load(pDate));
+		this.today.set(day);
+		ProductionPlanService.LOG.atInfo().log("seed - {} orders, {} meals and {} menus for {}",
+				Integer.valueOf(day.orderCount), Integer.valueOf(day.meals.size()), Integer.valueOf(day.menus.size()),
+				pDate);
+		return day;
+	}
+
+	/**
+	 * Computes the plan of a day from the data base.
+	 *
+	 * @param pDate a day
+	 * @return the plan
+	 */
+	private Day load(LocalDate pDate) {
+		var day = new Day(pDate);
+		for (var order : this.orderDao.findByCreationDateAndStatusNot(pDate, OrderStatus.CANCELED)) {
+			ProductionPlanService.apply(day, this.of(order), 1);
+		}
+		return day;
+	}
+
+	/**
+	 * Builds the dto of a plan. Lock of the day must be held if it is shared.
+	 *
+	 * @param pDay   a plan
+	 * @param pLimit order time limit, can be null
+	 * @return its dto
+	 */
+	private static ProductionPlanDtoOut toDtoOut(Day pDay, LocalTime pLimit) {
+		var result = new ProductionPlanDtoOut();
+		result.setDate(pDay.date);
+		result.setOrderCount(Integer.valueOf(pDay.orderCount));
+		result.setOrderTimeLimit(pLimit);
+		var now = LocalDate.now();
+		result.setClosed(Boolean.valueOf(pDay.date.isBefore(now)
+				|| pDay.date.equals(now) && pLimit != null && !LocalTime.now().isBefore(pLimit)));
+
+		Map<MealCategory, ProductionLineDtoOut> categories = new EnumMap<>(MealCategory.class);
+		List<ProductionLineDtoOut> meals = new ArrayList<>(pDay.meals.size());
+		for (var entry : pDay.meals.entrySet()) {
+			var line = entry.getValue();
+			meals.add(ProductionPlanService.toDtoOut(entry.getKey(), line, true));
+			var category = categories.computeIfAbsent(line.category, c -> {
+				var dto = new ProductionLineDtoOut();
+				dto.setCategory(c);
+				dto.setQuantity(Integer.valueOf(0));
+				dto.setQuantityInMenus(Integer.valueOf(0));
+				return dto;
+			});
+			category.setQuantity(Integer.valueOf(category.getQuantity().intValue() + line.quantity));
+			category.setQuantityInMenus(
+					Integer.valueOf(category.getQuantityInMenus().intValue() + line.quantityInMenus));
+		}
+		List<ProductionLineDtoOut> menus = new ArrayList<>(pDay.menus.size());
+		pDay.menus.forEach((id, line) -> menus.add(ProductionPlanService.toDtoOut(id, line, false)));
+
+		Comparator<ProductionLineDtoOut> mostOrderedFirst = Comparator
+				.comparing(ProductionLineDtoOut::getQuantity, Comparator.reverseOrder())
+				.thenComparing(ProductionLineDtoOut::getId);
+		meals.sort(mostOrderedFirst);
+		menus.sort(mostOrderedFirst);
+		result.setMeals(meals);
+		result.setMenus(menus);
+		result.setCategories(new ArrayList<>(categories.values()));
+		return result;
+	}
+
+	/**
+	 * Builds the dto of a line.
+	 *
+	 * @param pId   id of the meal or of the menu
+	 * @param pLine the line
+	 * @param pMeal true for a meal
+	 * @return its dto
+	 */
+	private static ProductionLineDtoOut toDtoOut(Integer pId, Line pLine, boolean pMeal) {
+		var result = new ProductionLineDtoOut();
+		result.setId(pId);
+		result.setLabel(pLine.label);
+		result.setQuantity(Integer.valueOf(pLine.quantity));
+		if (pMeal) {
+			result.setCategory(pLine.category);
+			result.setQuantityInMenus(Integer.valueOf(pLine.quantityInMenus));
+		}
+		return result;
+	}
+
+	/**
+	 * Adds or removes what an order adds to a plan.
+	 *
+	 * @param pDay          a plan
+	 * @param pContribution what an order adds
+	 * @param pSign         1 for adding it, -1 for removing it
+	 */
+	private static void apply(Day pDay, Contribution pContribution, int pSign) {
+		synchronized (pDay) {
+			pDay.orderCount += pSign;
+			for (var part : pContribution.parts()) {
+				var lines = part.menu() ? pDay.menus : pDay.meals;
+				var line = lines.computeIfAbsent(part.id(), k -> new Line());
+				line.label = part.label();
+				line.category = part.category();
+				line.quantity += pSign * part.quantity();
+				if (part.inMenu()) {
+					line.quantityInMenus += pSign * part.quantity();
+				}
+				if (line.quantity == 0 && line.quantityInMenus == 0) {
+					lines.remove(part.id());
+				}
+			}
+			pDay.version++;
+		}
+	}
+
+	/**
+	 * Adds a meal to the parts of an order.
+	 *
+	 * @param pParts    parts of an order
+	 * @param pMeal     a meal
+	 * @param pQuantity the quantity ordered
+	 * @param pInMenu   true if the meal is in a menu
+	 */
+	private static void addMeal(List<Part> pParts, MealEntity pMeal, int pQuantity, boolean pInMenu) {
+		var category = pMeal.getCategory() == null ? MealCategory.UNKNOWN : pMeal.getCategory();
+		pParts.add(new Part(false, pMeal.getId(), pMeal.getLabel(), category, pQuantity, pInMenu));
+	}
+}
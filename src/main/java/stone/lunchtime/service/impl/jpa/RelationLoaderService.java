@@ -0,0 +1,175 @@
+// -#--------------------------------------
+// -# ©Copyright Ferret Renaud 2019 -
+// -# Email: admin@ferretrenaud.fr -
+// -# All Rights Reserved. -
+// -#--------------------------------------
+
+package stone.lunchtime.service.impl.jpa;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import stone.lunchtime.dao.jpa.IMealDao;
+import stone.lunchtime.dao.jpa.IMenuDao;
+import stone.lunchtime.dao.jpa.IOrderDao;
+import stone.lunchtime.dao.jpa.IUserDao;
+import stone.lunchtime.dto.jpa.handler.IngredientDtoHandler;
+import stone.lunchtime.dto.jpa.handler.MealDtoHandler;
+import stone.lunchtime.dto.jpa.handler.MenuDtoHandler;
+import stone.lunchtime.dto.jpa.handler.QuantityDtoHandler;
+import stone.lunchtime.dto.jpa.handler.UserDtoHandler;
+import stone.lunchtime.dto.out.IngredientDtoOut;
+import stone.lunchtime.dto.out.MealDtoOut;
+import stone.lunchtime.dto.out.MenuDtoOut;
+import stone.lunchtime.dto.out.QuantityDtoOut;
+import stone.lunchtime.dto.out.UserDtoOut;
+
+/**
+ * Loads the relations of many elements at once, for the GraphQL resolvers.
+ * <br>
+ *
+ * Each method reads all the given ids with one findAllById, the collections
+ * are then loaded by batch (see hibernate.default_batch_fetch_size). Meals and
+ * menus are given without their own relations, GraphQL asks for them only if
+ * the query selects them.
+ */
+@Service
+public class RelationLoaderService {
+	private static final Logger LOG = LoggerFactory.getLogger(RelationLoaderService.class);
+
+	private final IUserDao userDao;
+
+	private final IOrderDao orderDao;
+
+	private final IMealDao mealDao;
+
+	private final IMenuDao menuDao;
+
+	private final ObjectMapper mapper;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param pUserDao  user dao
+	 * @param pOrderDao order dao
+	 * @param pMealDao  meal dao
+	 * @param pMenuDao  menu dao
+	 * @param pMapper   the json mapper.
+	 */
+	@Autowired
+	public RelationLoaderService(IUserDao pUserDao, IOrderDao pOrderDao, IMealDao pMealDao, IMenuDao pMenuDao,
+			ObjectMapper pMapper) {
+		super();
+		this.userDao = pUserDao;
+		this.orderDao = pOrderDao;
+		this.mealDao = pMealDao;
+		this.menuDao = pMenuDao;
+		this.mapper = pMapper;
+	}
+
+	/**
+	 * Loads users.
+	 *
+	 * @param pUserIds some user ids
+	 * @return the users found, by id
+	 */
+	@Transactional(readOnly = true)
+	public Map<Integer, UserDtoOut> findUsers(Collection<Integer> pUserIds) {
+		RelationLoaderService.LOG.atDebug().log("findUsers - {}", pUserIds);
+		Map<Integer, UserDtoOut> result = new HashMap<>();
+		this.userDao.findAllById(new HashSet<>(pUserIds))
+				.forEach(e -> result.put(e.getId(), UserDtoHandler.dtoOutfromEntity(e)));
+		return result;
+	}
+
+	/**
+	 * Loads the quantities of orders.
+	 *
+	 * @param pOrderIds some order ids
+	 * @return the quantities found, by order id. Their meal and menu only have
+	 *         their id.
+	 */
+	@Transactional(readOnly = true)
+	public Map<Integer, List<QuantityDtoOut>> findQuantitiesOfOrders(Collection<Integer> pOrderIds) {
+		RelationLoaderService.LOG.atDebug().log("findQuantitiesOfOrders - {}", pOrderIds);
+		Map<Integer, List<QuantityDtoOut>> result = new HashMap<>();
+		this.orderDao.findAllById(new HashSet<>(pOrderIds))
+				.forEach(e -> result.put(e.getId(), e.getQuantityEntities() == null ? List.of()
+						: e.getQuantityEntities().stream().map(QuantityDtoHandler::dtoOutfromEntityWithoutRelations)
+								.toList()));
+		return result;
+	}
+
+	/**
+	 * Loads meals.
+	 *
+	 * @param pMealIds some meal ids
+	 * @return the meals found, by id. Without their ingredients.
+	 */
+	@Transactional(readOnly = true)
+	public Map<Integer, MealDtoOut> findMeals(Collection<Integer> pMealIds) {
+		RelationLoaderService.LOG.atDebug().log("findMeals - {}", pMealIds);
+		Map<Integer, MealDtoOut> result = new HashMap<>();
+		this.mealDao.findAllById(new HashSet<>(pMealIds)).forEach(
+				e -> result.put(e.getId(), MealDtoHandler.dtoOutfromEntityWithoutRelations(e, this.mapper)));
+		return result;
+	}
+
+	/**
+	 * Loads menus.
+	 *
+	 * @param pMenuIds some menu ids
+	 * @return the menus found, by id. Without their meals.
+	 */
+	@Transactional(readOnly = true)
+	public Map<Integer, MenuDtoOut> findMenus(Collection<Integer> pMenuIds) {
+		RelationLoaderService.LOG.atDebug().log("findMenus - {}", pMenuIds);
+		Map<Integer, MenuDtoOut> result = new HashMap<>();
+		this.menuDao.findAllById(new HashSet<>(pMenuIds)).forEach(
+				e -> result.put(e.getId(), MenuDtoHandler.dtoOutfromEntityWithoutRelations(e, this.mapper)));
+		return result;
+	}
+
+	/**
+	 * Loads the meals of menus.
+	 *
+	 * @param pMenuIds some menu ids
+	 * @return the meals found, by menu id. Without their ingredients.
+	 */
+	@Transactional(readOnly = true)
+	public Map<Integer, List<MealDtoOut>> findMealsOfMenus(Collection<Integer> pMenuIds) {
+		RelationLoaderService.LOG.atDebug().log("findMealsOfMenus - {}", pMenuIds);
+		Map<Integer, List<MealDtoOut>> result = new HashMap<>();
+		this.menuDao.findAllById(new HashSet<>(pMenuIds))
+				.forEach(e -> result.put(e.getId(), e.getMeals() == null ? List.of()
+						: e.getMeals().stream()
+								.map(m -> MealDtoHandler.dtoOutfromEntityWithoutRelations(m, this.mapper)).toList()));
+		return result;
+	}
+
+	/**
+	 * Loads the ingredients of meals.
+	 *
+	 * @param pMealIds some meal ids
+	 * @return the ingredients found, by meal id
+	 */
+	@Transactional(readOnly = true)
+	public Map<Integer, List<IngredientDtoOut>> findIngredientsOfMeals(Collection<Integer> pMealIds) {
+		RelationLoaderService.LOG.atDebug().log("findIngredientsOfMeals - {}", pMealIds);
+		Map<Integer, List<IngredientDtoOut>> result = new HashMap<>();
+		this.mealDao.findAllById(new HashSet<>(pMealIds))
+				.forEach(e -> result.put(e.getId(), IngredientDtoHandler.dtosOutfromEntities(e.getIngredients())));
+		return result;
+	}
+}
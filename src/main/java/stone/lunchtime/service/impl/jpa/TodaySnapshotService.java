@@ -0,0 +1,172 @@
+// -#--------------------------------------
+// -# ©Copyright Ferret Renaud 2019 -
+// -# Email: admin@ferretrenaud.fr -
+// -# All Rights Reserved. -
+// -#--------------------------------------
+
+package stone.lunchtime.service.impl.jpa;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+
+import com.fasterxml.jackson.core.JacksonException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import stone.lunchtime.dto.out.MealDtoOut;
+import stone.lunchtime.dto.out.MenuDtoOut;
+import stone.lunchtime.entity.MealCategory;
+import stone.lunchtime.entity.jpa.MealEntity;
+import stone.lunchtime.entity.jpa.MenuEntity;
+import stone.lunchtime.service.IMealService;
+import stone.lunchtime.service.IMenuService;
+
+/**
+ * Snapshot of the meals and menus available today. <br>
+ *
+ * The lists are built once per day and per catalog version, and kept with
+ * their json form and an ETag. Reading today's meals or menus does not hit the
+ * data base until the day changes or the catalog is modified.
+ */
+@Service
+public class TodaySnapshotService {
+	private static final Logger LOG = LoggerFactory.getLogger(TodaySnapshotService.class);
+
+	/** Key used for meals of all categories. */
+	private static final Byte ALL_CATEGORIES = Byte.valueOf((byte) -1);
+
+	private final IMealService<MealEntity> mealService;
+
+	private final IMenuService<MenuEntity> menuService;
+
+	private final ObjectMapper mapper;
+
+	private final CatalogVersion catalogVersion;
+
+	private final Map<Byte, Snapshot<MealDtoOut>> meals = new ConcurrentHashMap<>();
+
+	private final Map<Byte, Snapshot<MenuDtoOut>> menus = new ConcurrentHashMap<>();
+
+	/**
+	 * An immutable list of elements with its json form.
+	 *
+	 * @param <T>     type of the elements
+	 * @param version the catalog version used for building this snapshot
+	 * @param week    the week id used for building this snapshot
+	 * @param day     the day id used for building this snapshot
+	 * @param values  the elements
+	 * @param json    the elements in json
+	 * @param eTag    the ETag of the json
+	 */
+	public record Snapshot<T>(long version, int week, int day, List<T> values, byte[] json, String eTag) {
+
+		/**
+		 * Indicates if this snapshot can still be used.
+		 *
+		 * @param pVersion the current catalog version
+		 * @param pWeek    the current week id
+		 * @param pDay     the current day id
+		 * @return true if this snapshot can still be used
+		 */
+		boolean isValidFor(long pVersion, int pWeek, int pDay) {
+			return this.version == pVersion && this.week == pWeek && this.day == pDay;
+		}
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param pMealService    meal service
+	 * @param pMenuService    menu service
+	 * @param pMapper         the json mapper.
+	 * @param pCatalogVersion catalog version
+	 */
+	@Autowired
+	public TodaySnapshotService(IMealService<MealEntity> pMealService, IMenuService<MenuEntity> pMenuService,
+			ObjectMapper pMapper, CatalogVersion pCatalogVersion) {
+		super();
+		this.mealService = pMealService;
+		this.menuService = pMenuService;
+		this.mapper = pMapper;
+		this.catalogVersion = pCatalogVersion;
+	}
+
+	/**
+	 * Gets the meals available today.
+	 *
+	 * @param pCategory a category, null or not in [0, 11] for all categories
+	 * @return the meals available today
+	 */
+	public Snapshot<MealDtoOut> findAllMealsForToday(Byte pCategory) {
+		var key = pCategory == null || !MealCategory.inRange(pCategory) ? TodaySnapshotService.ALL_CATEGORIES
+				: pCategory;
+		var version = this.catalogVersion.get();
+		int week = OrderService.getCurrentWeekId();
+		int day = OrderService.getCurrentDayId();
+		var result = this.meals.get(key);
+		if (result != null && result.isValidFor(version, week, day)) {
+			return result;
+		}
+		return this.meals.compute(key, (k, old) -> {
+			if (old != null && old.isValidFor(version, week, day)) {
+				return old;
+			}
+			TodaySnapshotService.LOG.atInfo().log("findAllMealsForToday - building snapshot for category {}", k);
+			var values = this.mealService.findAllAvailableForWeekAndDayAndCategory(week, day,
+					TodaySnapshotService.ALL_CATEGORIES.equals(k) ? null : k);
+			return this.build(version, week, day, values);
+		});
+	}
+
+	/**
+	 * Gets the menus available today.
+	 *
+	 * @return the menus available today
+	 */
+	public Snapshot<MenuDtoOut> findAllMenusForToday() {
+		var version = this.catalogVersion.get();
+		int week = OrderService.getCurrentWeekId();
+		int day = OrderService.getCurrentDayId();
+		var result = this.menus.get(TodaySnapshotService.ALL_CATEGORIES);
+		if (result != null && result.isValidFor(version, week, day)) {
+			return result;
+		}
+		return this.menus.compute(TodaySnapshotService.ALL_CATEGORIES, (k, old) -> {
+			if (old != null && old.isValidFor(version, week, day)) {
+				return old;
+			}
+			TodaySnapshotService.LOG.atInfo().log("findAllMenusForToday - building snapshot");
+			var values = this.menuService.findAllAvailableForWeekAndDay(week, day);
+			return this.build(version, week, day, values);
+		});
+	}
+
+	/**
+	 * Builds a snapshot.
+	 *
+	 * @param <T>      type of the elements
+	 * @param pVersion the catalog version
+	 * @param pWeek    the week id
+	 * @param pDay     the day id
+	 * @param pValues  the elements
+	 * @return the snapshot
+	 */
+	private <T> Snapshot<T> build(long pVersion, int pWeek, int pDay, List<T> pValues) {
+		var values = List.copyOf(pValues);
+		byte[] json;
+		try {
+			json = this.mapper.writeValueAsBytes(values);
+		} catch (JacksonException exc) {
+			TodaySnapshotService.LOG.atError().log("Error while writing snapshot in json", exc);
+			throw new IllegalStateException("Impossible de transformer les elements du jour en json", exc);
+		}
+		var eTag = "\"" + DigestUtils.md5DigestAsHex(json) + "\"";
+		return new Snapshot<>(pVersion, pWeek, pDay, values, json, eTag);
+	}
+}
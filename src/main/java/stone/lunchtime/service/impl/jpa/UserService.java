@@ -19,6 +19,8 @@ import org.springframework.transaction.annotation.Transactional;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import jakarta.persistence.EntityManager;
+
 import stone.lunchtime.dao.jpa.IRoleDao;
 import stone.lunchtime.dao.jpa.IUserDao;
 import stone.lunchtime.dto.in.ImageDtoIn;
@@ -55,6 +57,8 @@ public class UserService extends AbstractService<UserEntity, UserDtoOut> impleme
 
 	private final BCryptPasswordEncoder passwordEncoder;
 
+	private final EntityManager entityManager;
+
 	/**
 	 * Constructor.
 	 *
@@ -63,10 +67,12 @@ public class UserService extends AbstractService<UserEntity, UserDtoOut> impleme
 	 * @param pRoleDao         role dao
 	 * @param pImageService    image service
 	 * @param pPasswordEncoder password encoder
+	 * @param pEntityManager   entity manager
 	 */
 	protected UserService(ObjectMapper pMapper, IUserDao pUserDao, IRoleDao pRoleDao, ImageService pImageService,
-			BCryptPasswordEncoder pPasswordEncoder) {
+			BCryptPasswordEncoder pPasswordEncoder, EntityManager pEntityManager) {
 		super(pMapper);
+		this.entityManager = pEntityManager;
 		this.imageService = pImageService;
 		this.userDao = pUserDao;
 		this.passwordEncoder = pPasswordEncoder;
@@ -336,15 +342,14 @@ public class UserService extends AbstractService<UserEntity, UserDtoOut> impleme
 		ValidationUtils.isStrictlyPositive(pAmount, "Amount muste be > 0");
 		var user = super.findEntity(pUserId);
 
-		var actualSolde = user.getWallet().doubleValue();
-		if (actualSolde - pAmount.doubleValue() >= 0) {
-			user.setWallet(BigDecimal.valueOf(actualSolde - pAmount.doubleValue()));
-			var resultUpdate = this.userDao.save(user);
-			UserService.LOG.atInfo().log("debit - OK new wallet is {}", user.getWallet().doubleValue());
-			return resultUpdate;
+		// Conditional update, the data base checks and changes the wallet at once
+		if (this.userDao.debitWallet(user.getId(), pAmount) == 1) {
+			this.entityManager.refresh(user);
+			UserService.LOG.atInfo().log("debit - OK new wallet is {}", user.getWallet());
+			return user;
 		}
 		UserService.LOG.atError().log("debit - User with id={} has not enought money (left {})", user.getId(),
-				actualSolde);
+				user.getWallet());
 		throw new LackOfMoneyException("Utilisateur avec id=[" + user.getId() + "] n'a pas assez d'argent.");
 
 	}
@@ -362,11 +367,10 @@ public class UserService extends AbstractService<UserEntity, UserDtoOut> impleme
 		UserService.LOG.atDebug().log("credit - {} of {}", pUserId, pAmount);
 		ValidationUtils.isStrictlyPositive(pAmount, "Amount muste be > 0");
 		var user = super.findEntity(pUserId);
-		var actualSolde = user.getWallet().doubleValue();
-		user.setWallet(BigDecimal.valueOf(actualSolde + pAmount.doubleValue()));
-		var resultUpdate = this.userDao.save(user);
-		UserService.LOG.atInfo().log("credit - OK new wallet is {}", user.getWallet().doubleValue());
-		return UserDtoHandler.dtoOutfromEntity(resultUpdate);
+		this.userDao.creditWallet(user.getId(), pAmount);
+		this.entityManager.refresh(user);
+		UserService.LOG.atInfo().log("credit - OK new wallet is {}", user.getWallet());
+		return UserDtoHandler.dtoOutfromEntity(user);
 	}
 
 	/**
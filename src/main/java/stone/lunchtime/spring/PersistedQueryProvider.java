@@ -0,0 +1,168 @@
+// -#--------------------------------------
+// -# ©Copyright Ferret Renaud 2019 -
+// -# Email: admin@ferretrenaud.fr -
+// -# All Rights Reserved. -
+// -#--------------------------------------
+
+package stone.lunchtime.spring;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import graphql.ExecutionInput;
+import graphql.GraphqlErrorBuilder;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import graphql.execution.preparsed.persisted.PersistedQueryError;
+import graphql.execution.preparsed.persisted.PersistedQueryIdInvalid;
+import graphql.execution.preparsed.persisted.PersistedQueryNotFound;
+import graphql.execution.preparsed.persisted.PersistedQuerySupport;
+
+/**
+ * Keeps the parsed and validated GraphQL documents, and handles the persisted
+ * queries. <br>
+ *
+ * A document is kept, in a LRU of configuration.graphql.document.cache.max.size
+ * elements, under the SHA-256 (in hexadecimal) of its text. A client can send
+ * only this hash in extensions.persistedQuery.sha256Hash (Apollo protocol): if
+ * the server does not know it, the client sends it again with the query. <br>
+ *
+ * The queries of classpath:graphql/persisted/*.graphql are always known, their
+ * hash is the one of the text of the file without its leading and trailing
+ * blanks. With configuration.graphql.persisted.allow.list.only=true, they are
+ * the only ones accepted.
+ */
+public class PersistedQueryProvider implements PreparsedDocumentProvider {
+	private static final Logger LOG = LoggerFactory.getLogger(PersistedQueryProvider.class);
+
+	/** Where the known queries are. */
+	public static final String PERSISTED_QUERIES = "classpath*:graphql/persisted/*.graphql";
+
+	private final Cache<String, PreparsedDocumentEntry> documents;
+
+	/** Known queries, by hash. */
+	private final Map<String, String> allowList;
+
+	private final boolean allowListOnly;
+
+	/**
+	 * Constructor of the object.
+	 *
+	 * @param pMaxSize       maximum number of documents kept
+	 * @param pAllowListOnly true to accept only the known queries
+	 * @throws IOException if the known queries cannot be read
+	 */
+	public PersistedQueryProvider(long pMaxSize, boolean pAllowListOnly) throws IOException {
+		super();
+		this.documents = Caffeine.newBuilder().maximumSize(pMaxSize).build();
+		this.allowListOnly = pAllowListOnly;
+		this.allowList = new HashMap<>();
+		for (var resource : new PathMatchingResourcePatternResolver()
+				.getResources(PersistedQueryProvider.PERSISTED_QUERIES)) {
+			var query = resource.getContentAsString(StandardCharsets.UTF_8).strip();
+			this.allowList.put(PersistedQueryProvider.sha256(query), query);
+		}
+		PersistedQueryProvider.LOG.atInfo().log("{} persisted queries found, allow list only is {}",
+				Integer.valueOf(this.allowList.size()), Boolean.valueOf(pAllowListOnly));
+	}
+
+	@Override
+	public PreparsedDocumentEntry getDocument(ExecutionInput pInput,
+			Function<ExecutionInput, PreparsedDocumentEntry> pParseAndValidate) {
+		var query = pInput.getQuery();
+		var hasQuery = query != null && !query.isBlank()
+				&& !PersistedQuerySupport.PERSISTED_QUERY_MARKER.equals(query);
+		var hash = PersistedQueryProvider.persistedQueryHash(pInput);
+		if (hash == null) {
+			if (!hasQuery) {
+				return new PreparsedDocumentEntry(
+						GraphqlErrorBuilder.newError().message("La requete est absente").build());
+			}
+			hash = PersistedQueryProvider.sha256(query);
+		} else if (hasQuery && !hash.equalsIgnoreCase(PersistedQueryProvider.sha256(query))) {
+			return PersistedQueryProvider.error(new PersistedQueryIdInvalid(hash));
+		}
+		hash = hash.toLowerCase(Locale.ROOT);
+		var known = this.allowList.get(hash);
+		if (this.allowListOnly && known == null) {
+			PersistedQueryProvider.LOG.atError().log("Query {} is not in the allow list", hash);
+			return new PreparsedDocumentEntry(
+					GraphqlErrorBuilder.newError().message("La requete n'est pas autorisee").build());
+		}
+
+		var result = this.documents.getIfPresent(hash);
+		if (result != null) {
+			return result;
+		}
+		if (!hasQuery && known == null) {
+			// Apollo protocol: the client will send the query with its hash
+			return PersistedQueryProvider.error(new PersistedQueryNotFound(hash));
+		}
+		var input = hasQuery ? pInput : pInput.transform(b -> b.query(known));
+		result = pParseAndValidate.apply(input);
+		this.documents.put(hash, result);
+		return result;
+	}
+
+	@Override
+	public CompletableFuture<PreparsedDocumentEntry> getDocumentAsync(ExecutionInput pInput,
+			Function<ExecutionInput, PreparsedDocumentEntry> pParseAndValidate) {
+		return CompletableFuture.completedFuture(this.getDocument(pInput, pParseAndValidate));
+	}
+
+	/**
+	 * Builds the answer for an error of the persisted query protocol.
+	 *
+	 * @param pError the error, its message is the one expected by the clients
+	 * @return an entry with only this error
+	 */
+	private static PreparsedDocumentEntry error(PersistedQueryError pError) {
+		return new PreparsedDocumentEntry(
+				GraphqlErrorBuilder.newError().errorType(pError).message(pError.getMessage()).build());
+	}
+
+	/**
+	 * Gets the hash sent by the client.
+	 *
+	 * @param pInput the request
+	 * @return extensions.persistedQuery.sha256Hash, null if none
+	 */
+	private static String persistedQueryHash(ExecutionInput pInput) {
+		var extensions = pInput.getExtensions();
+		if (extensions != null && extensions.get("persistedQuery") instanceof Map<?, ?> persistedQuery
+				&& persistedQuery.get("sha256Hash") instanceof String hash && !hash.isBlank()) {
+			return hash;
+		}
+		return null;
+	}
+
+	/**
+	 * Computes the hash of a query.
+	 *
+	 * @param pQuery a query
+	 * @return its SHA-256, in hexadecimal
+	 */
+	static String sha256(String pQuery) {
+		try {
+			return HexFormat.of().formatHex(
+					MessageDigest.getInstance("SHA-256").digest(pQuery.getBytes(StandardCharsets.UTF_8)));
+		} catch (NoSuchAlgorithmException exc) {
+			throw new IllegalStateException("SHA-256 is not available", exc);
+		}
+	}
+}
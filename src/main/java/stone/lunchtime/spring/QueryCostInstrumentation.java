@@ -0,0 +1,267 @@
+// -#--------------------------------------
+// -# ©Copyright Ferret Renaud 2019 -
+// -# Email: admin@ferretrenaud.fr -
+// -# All Rights Reserved. -
+// -#--------------------------------------
+
+package stone.lunchtime.spring;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.graphql.server.WebGraphQlInterceptor;
+import org.springframework.graphql.server.WebGraphQlRequest;
+import org.springframework.graphql.server.WebGraphQlResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import graphql.ExecutionResult;
+import graphql.analysis.QueryTraverser;
+import graphql.analysis.QueryVisitorFieldEnvironment;
+import graphql.analysis.QueryVisitorStub;
+import graphql.execution.AbortExecutionException;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.schema.GraphQLAppliedDirective;
+import graphql.schema.GraphQLTypeUtil;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+
+/**
+ * Rejects the GraphQL queries that are too deep or too costly, before they are
+ * executed. <br>
+ *
+ * The cost of a query is computed from the schema: each field selected costs
+ * its weight (1 for an object, 0 for a scalar, or the weight of its @cost
+ * directive) multiplied by the number of elements it gives, lists above it
+ * included. A list counts for the size of its @cost directive, or the
+ * first/last argument of a connection, or configuration.graphql.cost.list.size.
+ * Introspection is free.
+ * <br>
+ *
+ * The budget of a query depends on the connected user (a lunch lady has a
+ * bigger one), it is put in the GraphQL context by the interceptor part of this
+ * class, where the security context is known. <br>
+ *
+ * The cost of each query is recorded in graphql.query.cost, with the tag
+ * outcome (accepted or rejected).
+ */
+public class QueryCostInstrumentation extends SimplePerformantInstrumentation implements WebGraphQlInterceptor {
+	private static final Logger LOG = LoggerFactory.getLogger(QueryCostInstrumentation.class);
+
+	/** Key of the budget in the GraphQL context. */
+	public static final String BUDGET = QueryCostInstrumentation.class.getName() + ".budget";
+	/** Summary of the query costs. */
+	public static final String COST_SUMMARY = "graphql.query.cost";
+
+	private static final String COST_DIRECTIVE = "cost";
+	private static final String LUNCH_LADY_ROLE = "ROLE_LUNCHLADY";
+
+	private final int maxDepth;
+
+	private final long listSize;
+
+	private final long userBudget;
+
+	private final long lunchLadyBudget;
+
+	private final DistributionSummary accepted;
+
+	private final DistributionSummary rejected;
+
+	/**
+	 * Constructor of the object.
+	 *
+	 * @param pRegistry        where costs are published
+	 * @param pMaxDepth        maximum depth of a query
+	 * @param pListSize        size assumed for a list without @cost(size)
+	 * @param pUserBudget      maximum cost of a query for a user, or when not
+	 *                         connected
+	 * @param pLunchLadyBudget maximum cost of a query for a lunch lady
+	 */
+	public QueryCostInstrumentation(MeterRegistry pRegistry, int pMaxDepth, long pListSize, long pUserBudget,
+			long pLunchLadyBudget) {
+		super();
+		this.maxDepth = pMaxDepth;
+		this.listSize = pListSize;
+		this.userBudget = pUserBudget;
+		this.lunchLadyBudget = pLunchLadyBudget;
+		this.accepted = DistributionSummary.builder(QueryCostInstrumentation.COST_SUMMARY)
+				.description("Cost of the GraphQL queries").tag("outcome", "accepted").register(pRegistry);
+		this.rejected = DistributionSummary.builder(QueryCostInstrumentation.COST_SUMMARY)
+				.description("Cost of the GraphQL queries").tag("outcome", "rejected").register(pRegistry);
+	}
+
+	@Override
+	public Mono<WebGraphQlResponse> intercept(WebGraphQlRequest pRequest, Chain pChain) {
+		var budget = Long.valueOf(this.budgetOf(SecurityContextHolder.getContext().getAuthentication()));
+		pRequest.configureExecutionInput(
+				(input, builder) -> builder.graphQLContext(Map.of(QueryCostInstrumentation.BUDGET, budget)).build());
+		return pChain.next(pRequest);
+	}
+
+	@Override
+	public InstrumentationContext<ExecutionResult> beginExecuteOperation(
+			InstrumentationExecuteOperationParameters pParameters, InstrumentationState pState) {
+		var context = pParameters.getExecutionContext();
+		var visitor = new CostVisitor(this.listSize);
+		QueryTraverser.newQueryTraverser().schema(context.getGraphQLSchema()).document(context.getDocument())
+				.operationName(context.getOperationDefinition().getName())
+				.coercedVariables(context.getCoercedVariables()).build().visitPreOrder(visitor);
+
+		Long budget = context.getGraphQLContext().get(QueryCostInstrumentation.BUDGET);
+		var maxCost = budget == null ? this.userBudget : budget.longValue();
+		if (visitor.depth > this.maxDepth) {
+			this.rejected.record(visitor.cost);
+			QueryCostInstrumentation.LOG.atError().log("Query rejected, depth {} is over {}",
+					Integer.valueOf(visitor.depth), Integer.valueOf(this.maxDepth));
+			throw new AbortExecutionException(
+					"La requete est trop profonde (" + visitor.depth + " > " + this.maxDepth + ")");
+		}
+		if (visitor.cost > maxCost) {
+			this.rejected.record(visitor.cost);
+			QueryCostInstrumentation.LOG.atError().log("Query rejected, cost {} is over {}", Long.valueOf(visitor.cost),
+					Long.valueOf(maxCost));
+			throw new AbortExecutionException("La requete est trop couteuse (" + visitor.cost + " > " + maxCost + ")");
+		}
+		this.accepted.record(visitor.cost);
+		QueryCostInstrumentation.LOG.atDebug().log("Query accepted, cost {} and depth {}", Long.valueOf(visitor.cost),
+				Integer.valueOf(visitor.depth));
+		return super.beginExecuteOperation(pParameters, pState);
+	}
+
+	/**
+	 * Gives the budget of a user.
+	 *
+	 * @param pAuthentication the connected user, can be null
+	 * @return the maximum cost of a query
+	 */
+	private long budgetOf(Authentication pAuthentication) {
+		if (pAuthentication != null) {
+			for (GrantedAuthority authority : pAuthentication.getAuthorities()) {
+				if (QueryCostInstrumentation.LUNCH_LADY_ROLE.equals(authority.getAuthority())) {
+					return this.lunchLadyBudget;
+				}
+			}
+		}
+		return this.userBudget;
+	}
+
+	/**
+	 * Sums the cost of the fields of a query, and finds its depth.
+	 */
+	private static final class CostVisitor extends QueryVisitorStub {
+		private final long listSize;
+
+		/** Number of elements of each field, multiplied by the ones of its parents. */
+		private final Map<QueryVisitorFieldEnvironment, Long> multipliers = new HashMap<>();
+
+		private final Map<QueryVisitorFieldEnvironment, Integer> depths = new HashMap<>();
+
+		private long cost;
+
+		private int depth;
+
+		/**
+		 * Constructor of the object.
+		 *
+		 * @param pListSize size assumed for a list without @cost(size)
+		 */
+		CostVisitor(long pListSize) {
+			this.listSize = pListSize;
+		}
+
+		@Override
+		public void visitField(QueryVisitorFieldEnvironment pEnv) {
+			if (pEnv.isTypeNameIntrospectionField() || pEnv.getFieldDefinition().getName().startsWith("__")
+					|| GraphQLTypeUtil.unwrapAll(pEnv.getParentType()).getName().startsWith("__")) {
+				return;
+			}
+			var parent = pEnv.getParentEnvironment();
+			long parentMultiplier = parent == null ? 1L : this.multipliers.getOrDefault(parent, Long.valueOf(1L));
+			int fieldDepth = (parent == null ? 0 : this.depths.getOrDefault(parent, Integer.valueOf(0))) + 1;
+			this.depth = Math.max(this.depth, fieldDepth);
+
+			var definition = pEnv.getFieldDefinition();
+			var type = definition.getType();
+			var directive = definition.getAppliedDirective(QueryCostInstrumentation.COST_DIRECTIVE);
+			var weight = CostVisitor.argument(directive, "weight");
+			var size = CostVisitor.argument(directive, "size");
+			if (weight == null) {
+				weight = Integer.valueOf(GraphQLTypeUtil.isLeaf(GraphQLTypeUtil.unwrapAll(type)) ? 0 : 1);
+			}
+
+			long elements = 1L;
+			var typeName = GraphQLTypeUtil.unwrapAll(type).getName();
+			if (typeName.endsWith("Connection")) {
+				// Pages, the list of edges has the size of the page
+				elements = CostVisitor.pageSize(pEnv.getArguments(), this.listSize);
+			} else if (GraphQLTypeUtil.isList(GraphQLTypeUtil.unwrapNonNull(type))
+					&& !GraphQLTypeUtil.unwrapAll(pEnv.getParentType()).getName().endsWith("Connection")) {
+				elements = size == null ? this.listSize : size.longValue();
+			}
+			var multiplier = CostVisitor.multiply(parentMultiplier, elements);
+			this.cost = CostVisitor.add(this.cost, CostVisitor.multiply(weight.longValue(), multiplier));
+			this.multipliers.put(pEnv, Long.valueOf(multiplier));
+			this.depths.put(pEnv, Integer.valueOf(fieldDepth));
+		}
+
+		/**
+		 * Gives an argument of the @cost directive.
+		 *
+		 * @param pDirective the directive, can be null
+		 * @param pName      name of the argument
+		 * @return its value, null if none
+		 */
+		private static Integer argument(GraphQLAppliedDirective pDirective, String pName) {
+			if (pDirective == null) {
+				return null;
+			}
+			var argument = pDirective.getArgument(pName);
+			return argument == null || !argument.hasSetValue() ? null : argument.getValue();
+		}
+
+		/**
+		 * Gives the size of a page.
+		 *
+		 * @param pArguments arguments of the connection
+		 * @param pDefault   size when first and last are not given
+		 * @return the size of the page
+		 */
+		private static long pageSize(Map<String, Object> pArguments, long pDefault) {
+			var value = pArguments.get("first") != null ? pArguments.get("first") : pArguments.get("last");
+			return value instanceof Number number ? Math.max(number.longValue(), 0L) : pDefault;
+		}
+
+		/**
+		 * Multiplies without overflow.
+		 *
+		 * @param pA a value
+		 * @param pB a value
+		 * @return the product, Long.MAX_VALUE if too big
+		 */
+		private static long multiply(long pA, long pB) {
+			var high = Math.multiplyHigh(pA, pB);
+			var result = pA * pB;
+			return high != 0 || result < 0 ? Long.MAX_VALUE : result;
+		}
+
+		/**
+		 * Adds without overflow.
+		 *
+		 * @param pA a value
+		 * @param pB a value
+		 * @return the sum, Long.MAX_VALUE if too big
+		 */
+		private static long add(long pA, long pB) {
+			var result = pA + pB;
+			return result < 0 ? Long.MAX_VALUE : result;
+		}
+	}
+}
@@ -0,0 +1,135 @@
+// -#--------------------------------------
+// -# ©Copyright Ferret Renaud 2019       -
+// -# Email: admin@ferretrenaud.fr        -
+// -# All Rights Reserved.                -
+// -#--------------------------------------
+
+package stone.lunchtime.spring;
+
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import stone.lunchtime.dao.jpa.IJpaDao;
+import stone.lunchtime.entity.jpa.ConstraintEntity;
+import stone.lunchtime.entity.jpa.ImageEntity;
+import stone.lunchtime.entity.jpa.IngredientEntity;
+import stone.lunchtime.entity.jpa.MealEntity;
+import stone.lunchtime.entity.jpa.MenuEntity;
+
+/**
+ * Second level cache of Hibernate. <br>
+ *
+ * Catalog entities (constraints, ingredients, meals, menus and images) are kept
+ * in local Caffeine caches, bounded in size and with a time to live. All
+ * regions are declared here, Hibernate fails at startup if an entity uses
+ * another one. <br>
+ *
+ * Hit and miss counts are published with the other metrics (cache.gets with
+ * result=hit|miss, cache.manager=hibernate).
+ */
+@Configuration
+public class SpringCacheConfiguration {
+	private static final Logger LOG = LoggerFactory.getLogger(SpringCacheConfiguration.class);
+
+	/** Catalog regions, bounded by configuration.cache.catalog.max.size. */
+	private static final String[] CATALOG_REGIONS = { ConstraintEntity.CACHE_REGION, IngredientEntity.CACHE_REGION,
+			MealEntity.CACHE_REGION, MealEntity.CACHE_REGION + ".ingredients",
+			MealEntity.CACHE_REGION + ".availabilities", MenuEntity.CACHE_REGION, MenuEntity.CACHE_REGION + ".meals",
+			MenuEntity.CACHE_REGION + ".availabilities", IJpaDao.CATALOG_QUERY_REGION,
+			RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME };
+
+	/**
+	 * Cache manager used by Hibernate for its second level cache.
+	 *
+	 * @param pCatalogMaxSize maximum number of elements in each catalog region
+	 * @param pImageMaxSize   maximum number of images
+	 * @param pTtlInS         time to live of an element, in seconds
+	 * @return the cache manager
+	 */
+	@Bean
+	public CacheManager hibernateCacheManager(@Value("${configuration.cache.catalog.max.size}") long pCatalogMaxSize,
+			@Value("${configuration.cache.image.max.size}") long pImageMaxSize,
+			@Value("${configuration.cache.ttl.in.s}") long pTtlInS) {
+		SpringCacheConfiguration.LOG.atDebug().log("Loading Hibernate CacheManager bean (size={}, images={}, ttl={}s)",
+				Long.valueOf(pCatalogMaxSize), Long.valueOf(pImageMaxSize), Long.valueOf(pTtlInS));
+		var cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager();
+		for (String region : SpringCacheConfiguration.CATALOG_REGIONS) {
+			SpringCacheConfiguration.createCache(cacheManager, region, OptionalLong.of(pCatalogMaxSize),
+					OptionalLong.of(pTtlInS));
+		}
+		SpringCacheConfiguration.createCache(cacheManager, ImageEntity.CACHE_REGION, OptionalLong.of(pImageMaxSize),
+				OptionalLong.of(pTtlInS));
+		// Used for invalidating query results, must keep all tables and never expire
+		SpringCacheConfiguration.createCache(cacheManager,
+				RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, OptionalLong.empty(),
+				OptionalLong.empty());
+		return cacheManager;
+	}
+
+	/**
+	 * Gives the cache manager to Hibernate.
+	 *
+	 * @param pCacheManager the cache manager
+	 * @return the customizer
+	 */
+	@Bean
+	public HibernatePropertiesCustomizer hibernateCacheCustomizer(CacheManager pCacheManager) {
+		return pProperties -> pProperties.put(ConfigSettings.CACHE_MANAGER, pCacheManager);
+	}
+
+	/**
+	 * Publishes hit and miss counts of each region.
+	 *
+	 * @param pCacheManager the cache manager
+	 * @return the meter binder
+	 */
+	@Bean
+	public MeterBinder hibernateCacheMetrics(CacheManager pCacheManager) {
+		return pRegistry -> {
+			for (String name : pCacheManager.getCacheNames()) {
+				JCacheMetrics.monitor(pRegistry, pCacheManager.getCache(name), Tags.of("cache.manager", "hibernate"));
+			}
+		};
+	}
+
+	/**
+	 * Creates a cache, replaces it if it already exists.
+	 *
+	 * @param pCacheManager the cache manager
+	 * @param pName         name of the cache
+	 * @param pMaxSize      maximum number of elements, empty for no maximum
+	 * @param pTtlInS       time to live of an element in seconds, empty for
+	 *                      eternal
+	 */
+	private static void createCache(CacheManager pCacheManager, String pName, OptionalLong pMaxSize,
+			OptionalLong pTtlInS) {
+		if (pCacheManager.getCache(pName) != null) {
+			pCacheManager.destroyCache(pName);
+		}
+		var configuration = new CaffeineConfiguration<Object, Object>();
+		configuration.setMaximumSize(pMaxSize);
+		if (pTtlInS.isPresent()) {
+			configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(pTtlInS.getAsLong())));
+		}
+		configuration.setStatisticsEnabled(true);
+		pCacheManager.createCache(pName, configuration);
+	}
+}
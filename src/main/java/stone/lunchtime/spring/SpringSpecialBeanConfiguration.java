@@ -6,8 +6,13 @@
 
 package stone.lunchtime.spring;
 
+import java.io.IOException;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.graphql.GraphQlSourceBuilderCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
@@ -15,6 +20,7 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder.BCryptVersion;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.observation.ObservationRegistry;
 import io.micrometer.observation.aop.ObservedAspect;
 
@@ -26,14 +32,16 @@ public class SpringSpecialBeanConfiguration {
 	private static final Logger LOG = LoggerFactory.getLogger(SpringSpecialBeanConfiguration.class);
 
 	/**
-	 * Password encoder for password.
+	 * Password encoder.
 	 *
+	 * @param pStrength BCrypt cost, each +1 doubles the time to check a password
 	 * @return password encoder
 	 */
 	@Bean
-	public PasswordEncoder passwordEncoder() {
-		SpringSpecialBeanConfiguration.LOG.atDebug().log("Loading BCryptPasswordEncoder bean");
-		return new BCryptPasswordEncoder(BCryptVersion.$2Y);
+	public PasswordEncoder passwordEncoder(@Value("${configuration.password.bcrypt.strength:10}") int pStrength) {
+		SpringSpecialBeanConfiguration.LOG.atDebug().log("Loading BCryptPasswordEncoder bean (strength={})",
+				Integer.valueOf(pStrength));
+		return new BCryptPasswordEncoder(BCryptVersion.$2Y, pStrength);
 	}
 
 	/**
@@ -47,4 +55,61 @@ public class SpringSpecialBeanConfiguration {
 		SpringSpecialBeanConfiguration.LOG.atDebug().log("Loading ObservedAspect bean for Actuator Profile only");
 		return new ObservedAspect(observationRegistry);
 	}
+
+	/**
+	 * Timers of the services and DAOs, published with the other metrics (and on
+	 * /actuator/prometheus with the actuator profile).
+	 *
+	 * @param pRegistry where timers are published
+	 * @return the timing aspect
+	 */
+	@ConditionalOnProperty(name = "configuration.metrics.timing.enabled", havingValue = "true")
+	@Bean
+	public TimingAspect timingAspect(MeterRegistry pRegistry) {
+		SpringSpecialBeanConfiguration.LOG.atDebug().log("Loading TimingAspect bean");
+		return new TimingAspect(pRegistry);
+	}
+
+	/**
+	 * Depth and cost limits of the GraphQL queries, checked before their
+	 * execution.
+	 *
+	 * @param pRegistry        where costs are published
+	 * @param pMaxDepth        maximum depth of a query
+	 * @param pListSize        size assumed for a list without @cost(size)
+	 * @param pUserBudget      maximum cost of a query for a user
+	 * @param pLunchLadyBudget maximum cost of a query for a lunch lady
+	 * @return the instrumentation, also the interceptor that gives the budget
+	 */
+	@Bean
+	public QueryCostInstrumentation queryCostInstrumentation(MeterRegistry pRegistry,
+			@Value("${configuration.graphql.max.depth:10}") int pMaxDepth,
+			@Value("${configuration.graphql.cost.list.size:20}") long pListSize,
+			@Value("${configuration.graphql.cost.budget.user:5000}") long pUserBudget,
+			@Value("${configuration.graphql.cost.budget.lunchlady:50000}") long pLunchLadyBudget) {
+		SpringSpecialBeanConfiguration.LOG.atDebug().log(
+				"Loading QueryCostInstrumentation bean (depth {}, budgets {}/{})", Integer.valueOf(pMaxDepth),
+				Long.valueOf(pUserBudget), Long.valueOf(pLunchLadyBudget));
+		return new QueryCostInstrumentation(pRegistry, pMaxDepth, pListSize, pUserBudget, pLunchLadyBudget);
+	}
+
+	/**
+	 * Parsed and validated GraphQL documents kept by hash, and persisted queries.
+	 *
+	 * @param pMaxSize       maximum number of documents kept
+	 * @param pAllowListOnly true to accept only the queries of
+	 *                       classpath:graphql/persisted
+	 * @return the customizer that sets the document provider
+	 * @throws IOException if the persisted queries cannot be read
+	 */
+	@Bean
+	public GraphQlSourceBuilderCustomizer persistedQueryCustomizer(
+			@Value("${configuration.graphql.document.cache.max.size:500}") long pMaxSize,
+			@Value("${configuration.graphql.persisted.allow.list.only:false}") boolean pAllowListOnly)
+			throws IOException {
+		SpringSpecialBeanConfiguration.LOG.atDebug().log("Loading PersistedQueryProvider (size {}, allow list only {})",
+				Long.valueOf(pMaxSize), Boolean.valueOf(pAllowListOnly));
+		var provider = new PersistedQueryProvider(pMaxSize, pAllowListOnly);
+		return builder -> builder.configureGraphQl(graphQl -> graphQl.preparsedDocumentProvider(provider));
+	}
 }
@@ -0,0 +1,167 @@
+// -#--------------------------------------
+// -# ©Copyright Ferret Renaud 2019 -
+// -# Email: admin@ferretrenaud.fr -
+// -# All Rights Reserved. -
+// -#--------------------------------------
+
+package stone.lunchtime.spring;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import stone.lunchtime.dao.jpa.IJpaDao;
+
+/**
+ * Times the methods of the services and of the DAOs. <br>
+ *
+ * Each call is recorded in service.call or dao.call, with the tags class,
+ * method and outcome (success or the simple name of the exception), so the
+ * count of calls and of each error is also available. The calls of
+ * OrderService.order, deliverAndPay, computePrice and of
+ * UserService.debitEntity are also recorded with an histogram in
+ * service.hotpath. <br>
+ *
+ * Runs before the transaction, so the time of a service includes its commit.
+ * Calls of a service to itself are not seen.
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class TimingAspect {
+	/** Timer of the service methods. */
+	public static final String SERVICE_TIMER = "service.call";
+	/** Timer of the DAO methods. */
+	public static final String DAO_TIMER = "dao.call";
+	/** Timer with histogram of the methods used at the till. */
+	public static final String HOT_PATH_TIMER = "service.hotpath";
+	/** Outcome of a call without exception. */
+	public static final String SUCCESS = "success";
+
+	private static final Set<String> HOT_PATHS = Set.of("OrderService.order", "OrderService.deliverAndPay",
+			"OrderService.computePrice", "UserService.debitEntity");
+
+	/** Class and method of a call, with its outcome. */
+	private record TimerKey(String name, Class<?> type, Method method, String outcome) {
+	}
+
+	/** Timers of a call, the hot path one is null for most calls. */
+	private record Timers(Timer call, Timer hotPath) {
+	}
+
+	private final MeterRegistry registry;
+
+	private final Map<TimerKey, Timers> timers = new ConcurrentHashMap<>();
+
+	/**
+	 * Constructor of the object.
+	 *
+	 * @param pRegistry where timers are published
+	 */
+	public TimingAspect(MeterRegistry pRegistry) {
+		this.registry = pRegistry;
+	}
+
+	/**
+	 * Times a public method of a service.
+	 *
+	 * @param pJoinPoint the call
+	 * @return the result of the call
+	 * @throws Throwable the exception of the call
+	 */
+	@Around("execution(public * *(..)) && target(stone.lunchtime.service.IService)")
+	public Object timeService(ProceedingJoinPoint pJoinPoint) throws Throwable {
+		return this.time(TimingAspect.SERVICE_TIMER, pJoinPoint.getTarget().getClass(), pJoinPoint);
+	}
+
+	/**
+	 * Times a method of a DAO, the ones of Spring Data included.
+	 *
+	 * @param pJoinPoint the call
+	 * @return the result of the call
+	 * @throws Throwable the exception of the call
+	 */
+	@Around("execution(public * *(..)) && this(stone.lunchtime.dao.jpa.IJpaDao)")
+	public Object timeDao(ProceedingJoinPoint pJoinPoint) throws Throwable {
+		return this.time(TimingAspect.DAO_TIMER, pJoinPoint.getThis().getClass(), pJoinPoint);
+	}
+
+	/**
+	 * Times a call.
+	 *
+	 * @param pName      name of the timer
+	 * @param pType      the class that is called
+	 * @param pJoinPoint the call
+	 * @return the result of the call
+	 * @throws Throwable the exception of the call
+	 */
+	private Object time(String pName, Class<?> pType, ProceedingJoinPoint pJoinPoint) throws Throwable {
+		var method = ((MethodSignature) pJoinPoint.getSignature()).getMethod();
+		var start = System.nanoTime();
+		var outcome = TimingAspect.SUCCESS;
+		try {
+			return pJoinPoint.proceed();
+		} catch (Throwable e) {
+			outcome = e.getClass().getSimpleName();
+			throw e;
+		} finally {
+			var duration = Duration.ofNanos(System.nanoTime() - start);
+			var timers = this.timers.computeIfAbsent(new TimerKey(pName, pType, method, outcome), this::timers);
+			timers.call().record(duration);
+			if (timers.hotPath() != null) {
+				timers.hotPath().record(duration);
+			}
+		}
+	}
+
+	/**
+	 * Builds the timers of a call.
+	 *
+	 * @param pKey the call
+	 * @return the timers
+	 */
+	private Timers timers(TimerKey pKey) {
+		var className = TimingAspect.className(pKey.type());
+		var methodName = pKey.method().getName();
+		var description = TimingAspect.DAO_TIMER.equals(pKey.name()) ? "Time of the calls to the data base"
+				: "Time of the calls to the services";
+		var call = Timer.builder(pKey.name()).description(description).tag("class", className)
+				.tag("method", methodName).tag("outcome", pKey.outcome()).register(this.registry);
+		Timer hotPath = null;
+		if (TimingAspect.SERVICE_TIMER.equals(pKey.name())
+				&& TimingAspect.HOT_PATHS.contains(className + "." + methodName)) {
+			hotPath = Timer.builder(TimingAspect.HOT_PATH_TIMER).description("Time of the calls used at the till")
+					.tag("class", className).tag("method", methodName).tag("outcome", pKey.outcome())
+					.publishPercentileHistogram().minimumExpectedValue(Duration.ofMillis(1))
+					.maximumExpectedValue(Duration.ofSeconds(10)).register(this.registry);
+		}
+		return new Timers(call, hotPath);
+	}
+
+	/**
+	 * Gives the name of the called class. <br>
+	 *
+	 * A DAO is a proxy, its name is the one of its interface.
+	 *
+	 * @param pType the class that is called
+	 * @return its name
+	 */
+	private static String className(Class<?> pType) {
+		for (Class<?> type : pType.getInterfaces()) {
+			if (type != IJpaDao.class && IJpaDao.class.isAssignableFrom(type)) {
+				return type.getSimpleName();
+			}
+		}
+		return pType.getSimpleName();
+	}
+}
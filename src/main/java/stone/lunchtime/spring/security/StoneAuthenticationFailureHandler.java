@@ -10,6 +10,7 @@ import java.io.IOException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.AuthenticationException;
@@ -23,6 +24,7 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import stone.lunchtime.dto.out.ExceptionDtoOut;
+import stone.lunchtime.service.exception.TooManyLoginsException;
 
 /**
  * Will handle failure login and REST issues.
@@ -60,6 +62,14 @@ public class StoneAuthenticationFailureHandler
 	@Override
 	public void onAuthenticationFailure(HttpServletRequest request, HttpServletResponse response,
 			AuthenticationException authException) throws IOException, ServletException {
+		if (authException instanceof TooManyLoginsException) {
+			StoneAuthenticationFailureHandler.LOG.atWarn().log(
+					"--> 503 <--- From AuthenticationFailureHandler.onAuthenticationFailure for '{}', too many logins",
+					request.getRequestURL());
+			response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+			this.handle(response, authException, HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+			return;
+		}
 		StoneAuthenticationFailureHandler.LOG.atError().log(
 				"--> 401 <--- From AuthenticationFailureHandler.onAuthenticationFailure for '{}'",
 				request.getRequestURL(), authException);
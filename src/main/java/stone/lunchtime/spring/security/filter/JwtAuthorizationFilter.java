@@ -8,9 +8,14 @@ package stone.lunchtime.spring.security.filter;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
-import java.util.Collection;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import javax.crypto.SecretKey;
 
@@ -21,13 +26,17 @@ import org.springframework.core.annotation.Order;
 import org.springframework.core.env.Environment;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 import org.springframework.util.ObjectUtils;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
@@ -39,7 +48,13 @@ import stone.lunchtime.dto.out.UserDtoOut;
 
 /**
  * Used when asking for secured information.
- * <a href="https://dev.to/keysh/spring-security-with-jwt-3j76">tuto</a>
+ * <a href="https://dev.to/keysh/spring-security-with-jwt-3j76">tuto</a> <br>
+ *
+ * A token is parsed and verified once. What is read from it is then kept (key
+ * is the SHA-256 of the JWT) until the JWT expires, so next requests with the
+ * same JWT do not verify the signature again. Each request still gets its own
+ * Spring Security token, as it can be changed by the request. The number of
+ * tokens kept is set with configuration.jwt.cache.max.size, 0 for no cache.
  */
 @Order(Ordered.LOWEST_PRECEDENCE)
 public class JwtAuthorizationFilter extends BasicAuthenticationFilter implements SecurityConstants {
@@ -47,6 +62,56 @@ public class JwtAuthorizationFilter extends BasicAuthenticationFilter implements
 
 	private final byte[] signingKey;
 	private final SecretKey secretKey;
+	/** Thread safe, built once. */
+	private final JwtParser jwtParser;
+	/** Null if there is no cache. */
+	private final Cache<String, CachedAuthentication> authentications;
+
+	/**
+	 * What is read from a JWT, none of it can be changed.
+	 *
+	 * @param username    the subject of the JWT
+	 * @param authorities the roles of the user
+	 * @param user        the user claims
+	 * @param expiration  expiration of the JWT, in ms since epoch, or
+	 *                    Long.MAX_VALUE if none
+	 */
+	private record CachedAuthentication(String username, List<GrantedAuthority> authorities, Map<String, ?> user,
+			long expiration) {
+		/**
+		 * Builds a new Spring Security token.
+		 *
+		 * @return a token for one request
+		 */
+		UsernamePasswordAuthenticationToken authentication() {
+			var result = new UsernamePasswordAuthenticationToken(this.username, null, this.authorities);
+			result.setDetails(new UserDtoOut(this.user));
+			return result;
+		}
+	}
+
+	/**
+	 * Keeps a token in the cache until its JWT expires.
+	 */
+	private static final class UntilJwtExpiration implements Expiry<String, CachedAuthentication> {
+		@Override
+		public long expireAfterCreate(String pKey, CachedAuthentication pValue, long pCurrentTime) {
+			return TimeUnit.MILLISECONDS
+					.toNanos(Math.max(0L, pValue.expiration() - System.currentTimeMillis()));
+		}
+
+		@Override
+		public long expireAfterUpdate(String pKey, CachedAuthentication pValue, long pCurrentTime,
+				long pCurrentDuration) {
+			return this.expireAfterCreate(pKey, pValue, pCurrentTime);
+		}
+
+		@Override
+		public long expireAfterRead(String pKey, CachedAuthentication pValue, long pCurrentTime,
+				long pCurrentDuration) {
+			return pCurrentDuration;
+		}
+	}
 
 	/**
 	 * Constructor of the object.
@@ -61,6 +126,15 @@ public class JwtAuthorizationFilter extends BasicAuthenticationFilter implements
 						"-KaPdSgVkXp2s5v8y/B?E(H+MbQeThWmZq3t6w9z$C&F)J@NcRfUjXn2r5u7x!A%")
 				.getBytes(StandardCharsets.UTF_8);
 		this.secretKey = Keys.hmacShaKeyFor(this.signingKey);
+		this.jwtParser = Jwts.parser().verifyWith(this.secretKey).build();
+		var maxSize = Long.parseLong(pEnv.getProperty("configuration.jwt.cache.max.size", "10000"));
+		if (maxSize > 0) {
+			this.authentications = Caffeine.newBuilder().maximumSize(maxSize).expireAfter(new UntilJwtExpiration())
+					.build();
+		} else {
+			JwtAuthorizationFilter.LOG.atWarn().log("JwtAuthorizationFilter - No cache for JWT tokens");
+			this.authentications = null;
+		}
 	}
 
 	/**
@@ -75,86 +149,110 @@ public class JwtAuthorizationFilter extends BasicAuthenticationFilter implements
 	@Override
 	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
 			throws IOException, ServletException {
-		final var url = request.getRequestURL().toString();
 		var jwtToken = request.getHeader(SecurityConstants.TOKEN_HEADER);
 		JwtAuthorizationFilter.LOG.atTrace().log("<-- JwtAuthorizationFilter.doFilterInternal - {} - JWT token is {}",
-				url, jwtToken);
-		var jwtParser = Jwts.parser().verifyWith(this.secretKey).build();
+				request.getRequestURI(), jwtToken);
 		if (ObjectUtils.isEmpty(jwtToken) || !jwtToken.startsWith(SecurityConstants.TOKEN_PREFIX)) {
-			JwtAuthorizationFilter.LOG.atWarn()
-					.log("<-- JwtAuthorizationFilter.doFilterInternal - {} - JWT token is Empty", url);
-			// SecurityContextHolder.clearContext();
-		} else if (!this.validateToken(jwtToken.replace(SecurityConstants.TOKEN_PREFIX, ""), jwtParser)) {
-			JwtAuthorizationFilter.LOG.atError()
-					.log("<-- JwtAuthorizationFilter.doFilterInternal - {} - JWT token is Invalid", url);
+			JwtAuthorizationFilter.LOG.atWarn().log("<-- JwtAuthorizationFilter.doFilterInternal - {} - JWT token is Empty",
+					request.getRequestURI());
 			// SecurityContextHolder.clearContext();
 		} else {
-			Authentication authentication = this.getAuthentication(jwtToken.replace(SecurityConstants.TOKEN_PREFIX, ""),
-					jwtParser);
-			SecurityContextHolder.getContext().setAuthentication(authentication);
-			JwtAuthorizationFilter.LOG.atDebug()
-					.log("<-- JwtAuthorizationFilter.doFilterInternal - {} - OK - Set authentication back", url);
+			var authentication = this.getAuthentication(jwtToken.substring(SecurityConstants.TOKEN_PREFIX.length()).trim());
+			if (authentication == null) {
+				JwtAuthorizationFilter.LOG.atError().log(
+						"<-- JwtAuthorizationFilter.doFilterInternal - {} - JWT token is Invalid",
+						request.getRequestURI());
+				// SecurityContextHolder.clearContext();
+			} else {
+				SecurityContextHolder.getContext().setAuthentication(authentication);
+				JwtAuthorizationFilter.LOG.atDebug().log(
+						"<-- JwtAuthorizationFilter.doFilterInternal - {} - OK - Set authentication back",
+						request.getRequestURI());
+			}
 		}
 		filterChain.doFilter(request, response);
 	}
 
 	/**
-	 * Will validate token.
+	 * Builds a new Spring Security token for a JWT token, read from the cache or by
+	 * parsing it.
 	 *
-	 * @param token  a token without Bearer in it
-	 * @param parser parser
-	 * @return true if token is ok, false if not
+	 * @param token the JWT token without Bearer in it
+	 * @return the token for Spring Security, null if the JWT token is not valid
 	 */
-	private boolean validateToken(String token, JwtParser parser) {
-		JwtAuthorizationFilter.LOG.atTrace().log("--> JwtAuthorizationFilter.validateToken - Token - {}", token);
-		try {
-			parser.parseSignedClaims(token);
-			JwtAuthorizationFilter.LOG.atTrace().log("--> JwtAuthorizationFilter.validateToken - Token is OK");
-			return true;
-		} catch (Exception e) {
-			JwtAuthorizationFilter.LOG.atError().log("--> JwtAuthorizationFilter.validateToken - Token is KO", e);
+	private UsernamePasswordAuthenticationToken getAuthentication(String token) {
+		if (this.authentications == null) {
+			var result = this.parse(token);
+			return result == null ? null : result.authentication();
+		}
+		var key = JwtAuthorizationFilter.hash(token);
+		var result = this.authentications.getIfPresent(key);
+		if (result == null) {
+			result = this.parse(token);
+			if (result == null) {
+				// Invalid tokens are not kept
+				return null;
+			}
+			this.authentications.put(key, result);
+		} else if (result.expiration() <= System.currentTimeMillis()) {
+			JwtAuthorizationFilter.LOG.atWarn().log("--- JwtAuthorizationFilter.getAuthentication - Token is expired");
+			this.authentications.invalidate(key);
+			return null;
 		}
-		return false;
+		return result.authentication();
 	}
 
 	/**
-	 * Rebuild UsernamePasswordAuthenticationToken for SpringSecurity from JWT
-	 * token.
+	 * Reads what is needed to build a UsernamePasswordAuthenticationToken for
+	 * SpringSecurity from JWT token. Signature and expiration are checked.
 	 *
-	 * @param token  the JWT token without Bearer in it
-	 * @param parser the JwtParser
-	 * @return the token for Spring Security
+	 * @param token the JWT token without Bearer in it
+	 * @return what is needed to build the token for Spring Security and the JWT
+	 *         expiration, null if the JWT token is not valid
 	 */
-	private UsernamePasswordAuthenticationToken getAuthentication(String token, JwtParser parser) {
-		JwtAuthorizationFilter.LOG.atDebug().log("--> JwtAuthorizationFilter.getAuthentication - Token - {}", token);
+	private CachedAuthentication parse(String token) {
+		JwtAuthorizationFilter.LOG.atDebug().log("--> JwtAuthorizationFilter.parse - Token - {}", token);
 		try {
+			Claims claims = this.jwtParser.parseSignedClaims(token).getPayload();
 
-			var parsedToken = parser.parseSignedClaims(token.replace(SecurityConstants.TOKEN_PREFIX, "").trim());
-
-			var username = parsedToken.getPayload().getSubject();
+			var username = claims.getSubject();
 			// FIXME We are building the Spring Security token FROM the JWT
 			// But what if the JWT has wrong information ...
-			Collection<? extends GrantedAuthority> authorities = ((List<?>) parsedToken.getPayload()
-					.get(SecurityConstants.TOKEN_ROLES)).stream()
-					.map(authority -> new SimpleGrantedAuthority((String) authority)).toList();
+			List<GrantedAuthority> authorities = ((List<?>) claims.get(SecurityConstants.TOKEN_ROLES)).stream()
+					.<GrantedAuthority>map(authority -> new SimpleGrantedAuthority((String) authority)).toList();
 
 			if (!ObjectUtils.isEmpty(username)) {
-				var resu = new UsernamePasswordAuthenticationToken(username, null, authorities);
 				@SuppressWarnings("unchecked")
-				Map<String, ?> userDto = (Map<String, ?>) parsedToken.getPayload().get(SecurityConstants.TOKEN_USER);
+				Map<String, ?> userDto = (Map<String, ?>) claims.get(SecurityConstants.TOKEN_USER);
 				JwtAuthorizationFilter.LOG.atTrace().log("val {}", userDto);
-				var userDtoOut = new UserDtoOut(userDto);
-				resu.setDetails(userDtoOut);
-				JwtAuthorizationFilter.LOG.atDebug().log(
-						"<-- JwtAuthorizationFilter.getAuthentication - Token was pushed into Spring Security, {}",
-						resu);
+				var expiration = claims.getExpiration();
+				var resu = new CachedAuthentication(username, authorities,
+						Collections.unmodifiableMap(new HashMap<>(userDto)),
+						expiration == null ? Long.MAX_VALUE : expiration.getTime());
+				JwtAuthorizationFilter.LOG.atDebug().log("<-- JwtAuthorizationFilter.parse - Token was read, user {}",
+						username);
 				return resu;
 			}
 		} catch (Exception exception) {
-			JwtAuthorizationFilter.LOG.atError().log("- JwtAuthorizationFilter.getAuthentication : {} failed", token,
-					exception);
+			JwtAuthorizationFilter.LOG.atError().log("- JwtAuthorizationFilter.parse : {} failed", token, exception);
 		}
 		return null;
 	}
 
+	/**
+	 * Computes the key of a JWT token in the cache.
+	 *
+	 * @param token the JWT token without Bearer in it
+	 * @return the SHA-256 of the token, in hexadecimal
+	 */
+	private static String hash(String token) {
+		try {
+			var digest = MessageDigest.getInstance("SHA-256");
+			return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+		} catch (NoSuchAlgorithmException exc) {
+			// SHA-256 is always there
+			throw new IllegalStateException(exc);
+		}
+	}
+
 }
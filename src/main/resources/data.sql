@@ -371,6 +371,216 @@ INSERT INTO ltmeal (id,status,label,category,description,price_df,available_for_
 INSERT INTO ltmeal (id,status,label,category,description,price_df,available_for_weeks_and_days,image_id) VALUES (40,0,'Eau 33cl',9,NULL,10.46,'{"values":[{"week":6,"day":7},{"week":32},{"week":51},{"week":19},{"week":37},{"week":31,"day":7},{"week":8},{"week":46,"day":3},{"week":11},{"week":50,"day":6}]}',73);
 INSERT INTO ltmeal (id,status,label,category,description,price_df,available_for_weeks_and_days,image_id) VALUES (41,0,'Ice Tea 33cl',9,NULL,7.00,NULL,74);
 
+-- ************
+-- Meal Availability
+-- Day 0 means the whole week
+-- ************
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (6,47,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (6,48,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (6,42,7);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (6,36,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (6,20,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (6,37,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (6,53,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (6,25,1);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (6,24,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (6,12,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (8,16,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (8,48,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (8,17,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (8,7,3);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (8,22,1);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (8,45,5);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (8,8,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (8,15,6);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (8,43,1);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (8,19,5);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (10,21,6);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (10,34,3);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (10,33,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (10,52,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (10,6,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (10,31,6);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (10,11,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (10,2,6);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (10,33,3);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (10,34,4);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (11,34,2);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (11,22,5);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (11,36,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (11,5,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (11,45,7);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (11,43,3);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (11,41,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (11,49,7);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (11,32,4);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (11,20,7);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (12,1,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (12,34,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (12,38,2);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (12,20,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (12,11,5);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (12,46,7);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (12,23,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (12,33,3);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (12,17,3);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (13,31,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (13,1,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (13,33,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (13,38,4);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (13,4,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (13,6,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (13,42,3);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (13,17,4);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (13,30,1);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (13,15,1);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (14,2,3);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (14,16,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (14,46,7);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (14,9,2);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (14,41,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (14,42,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (14,27,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (14,36,7);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (14,47,2);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (14,30,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (15,47,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (15,49,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (15,33,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (15,18,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (15,21,1);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (15,53,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (15,37,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (15,23,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (15,44,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (18,51,4);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (18,36,1);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (18,35,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (18,9,2);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (18,24,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (18,16,6);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (18,31,5);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (18,43,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (18,12,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (18,30,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (22,5,6);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (22,6,7);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (22,15,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (22,31,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (22,50,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (22,15,5);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (22,46,3);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (22,30,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (22,46,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (23,31,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (23,35,4);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (23,16,1);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (23,4,2);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (23,52,1);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (23,4,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (23,37,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (23,43,6);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (23,39,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (23,14,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (24,15,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (24,42,5);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (24,7,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (24,42,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (24,17,6);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (24,27,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (24,44,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (24,12,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (24,29,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (25,34,2);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (25,39,7);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (25,7,6);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (25,20,3);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (25,38,2);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (25,39,2);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (25,53,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (25,38,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (25,1,5);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (25,29,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (28,22,6);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (28,7,7);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (28,9,7);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (28,20,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (28,46,7);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (28,45,4);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (28,41,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (28,10,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (28,16,6);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (28,50,7);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (29,48,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (29,11,7);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (29,41,5);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (29,20,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (29,21,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (29,6,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (29,24,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (29,10,2);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (29,43,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (29,29,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (30,52,5);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (30,48,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (30,4,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (30,21,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (30,23,2);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (30,46,6);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (30,26,1);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (30,17,5);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (30,28,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (30,12,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (32,16,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (32,48,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (32,19,2);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (32,2,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (32,5,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (32,37,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (32,24,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (32,11,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (32,14,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (32,53,7);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (34,32,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (34,5,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (34,21,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (34,39,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (34,11,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (34,45,1);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (34,14,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (34,30,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (34,34,4);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (34,33,3);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (35,47,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (35,48,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (35,3,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (35,30,7);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (35,24,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (35,25,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (35,42,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (35,43,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (35,29,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (35,14,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (37,53,4);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (37,8,5);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (37,39,3);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (37,40,2);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (37,23,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (37,26,3);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (37,43,3);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (37,42,1);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (37,44,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (40,6,7);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (40,32,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (40,51,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (40,19,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (40,37,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (40,31,7);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (40,8,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (40,46,3);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (40,11,0);
+INSERT INTO ltmeal_availability (meal_id,week_number,day_number) VALUES (40,50,6);
+
 -- ************
 -- Meal Has Ingredient
 -- ************
@@ -523,6 +733,214 @@ INSERT INTO ltmenu (id,status,label,description,price_df,available_for_weeks_and
 INSERT INTO ltmenu (id,status,label,description,price_df,available_for_weeks_and_days,image_id) VALUES (59,0,'Menu - 59',NULL,18.35,NULL,75);
 INSERT INTO ltmenu (id,status,label,description,price_df,available_for_weeks_and_days,image_id) VALUES (60,0,'Menu - 60',NULL,11.29,'{"values":[{"week":32},{"week":16},{"week":35},{"week":23,"day":3},{"week":8},{"week":9},{"week":32,"day":6},{"week":2,"day":7},{"week":15,"day":1}]}',75);
 
+-- ************
+-- Menu Availability
+-- Day 0 means the whole week
+-- ************
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (1,5,6);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (1,48,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (1,20,2);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (1,37,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (1,25,3);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (1,23,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (1,48,7);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (1,10,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (1,50,7);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (3,49,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (3,34,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (3,2,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (3,28,3);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (3,11,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (3,46,1);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (3,14,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (3,52,6);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (5,53,6);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (5,49,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (5,33,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (5,27,7);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (5,26,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (5,29,2);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (5,2,5);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (5,17,3);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (5,49,3);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (5,19,5);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (7,47,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (7,17,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (7,24,5);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (7,3,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (7,28,6);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (7,22,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (7,43,4);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (7,40,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (7,41,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (7,18,6);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (15,16,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (15,24,7);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (15,18,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (15,22,2);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (15,37,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (15,23,2);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (15,44,2);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (15,37,7);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (15,30,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (18,2,3);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (18,18,1);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (18,37,1);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (18,36,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (18,40,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (18,11,2);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (18,26,1);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (18,46,4);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (18,30,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (22,38,6);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (22,33,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (22,35,1);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (22,28,7);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (22,39,1);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (22,39,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (22,11,4);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (22,23,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (22,1,7);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (22,11,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (24,16,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (24,53,4);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (24,1,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (24,36,1);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (24,37,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (24,11,5);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (24,44,6);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (24,26,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (24,16,5);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (24,46,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (28,22,7);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (28,6,5);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (28,35,2);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (28,7,5);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (28,20,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (28,45,7);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (28,9,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (28,42,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (28,34,7);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (28,28,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (29,4,5);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (29,17,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (29,22,4);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (29,36,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (29,5,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (29,43,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (29,51,7);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (29,20,7);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (29,30,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (31,36,5);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (31,32,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (31,1,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (31,39,6);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (31,17,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (31,4,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (31,36,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (31,5,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (31,8,2);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (31,45,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (37,38,5);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (37,51,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (37,53,2);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (37,22,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (37,43,4);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (37,24,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (37,45,3);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (37,42,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (37,32,4);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (37,49,3);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (39,17,1);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (39,3,2);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (39,1,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (39,7,5);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (39,3,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (39,38,3);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (39,10,2);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (39,1,5);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (39,51,6);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (39,21,7);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (40,21,6);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (40,6,2);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (40,9,2);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (40,28,5);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (40,26,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (40,47,5);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (40,42,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (40,17,7);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (40,2,6);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (40,29,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (41,6,7);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (41,2,3);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (41,48,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (41,38,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (41,29,7);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (41,14,6);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (41,31,7);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (41,40,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (41,43,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (41,20,7);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (44,22,6);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (44,22,5);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (44,6,2);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (44,23,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (44,41,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (44,25,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (44,33,7);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (44,30,1);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (44,49,4);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (44,13,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (46,22,6);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (46,36,2);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (46,34,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (46,4,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (46,24,3);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (46,27,4);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (46,8,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (46,12,1);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (46,19,6);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (46,3,5);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (48,48,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (48,2,2);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (48,53,3);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (48,18,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (48,23,2);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (48,45,6);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (48,14,4);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (48,27,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (48,12,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (48,33,4);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (49,16,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (49,50,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (49,4,1);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (49,35,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (49,4,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (49,20,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (49,7,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (49,42,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (49,13,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (49,30,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (55,34,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (55,35,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (55,28,7);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (55,30,7);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (55,40,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (55,46,4);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (55,16,6);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (55,28,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (55,14,1);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (55,15,1);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (60,32,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (60,16,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (60,35,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (60,23,3);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (60,8,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (60,9,0);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (60,32,6);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (60,2,7);
+INSERT INTO ltmenu_availability (menu_id,week_number,day_number) VALUES (60,15,1);
+
 -- ************
 -- Menu Has Meal
 -- ************
@@ -937,3 +1355,10 @@ INSERT INTO ltorder_has_quantity (order_id,quantity_id) VALUES (97,87);
 INSERT INTO ltorder_has_quantity (order_id,quantity_id) VALUES (98,88);
 INSERT INTO ltorder_has_quantity (order_id,quantity_id) VALUES (99,89);
 INSERT INTO ltorder_has_quantity (order_id,quantity_id) VALUES (100,90);
+
+-- ************
+-- Sequences
+-- Next ids for orders and quantities, after the ones inserted above
+-- ************
+ALTER SEQUENCE ltorder_seq RESTART WITH 101;
+ALTER SEQUENCE ltquantity_seq RESTART WITH 91;
@@ -24,6 +24,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import stone.lunchtime.dao.jpa.IConstraintDao;
 import stone.lunchtime.dao.jpa.IImageDao;
+import stone.lunchtime.dao.jpa.IImageVariantDao;
 import stone.lunchtime.dao.jpa.IIngredientDao;
 import stone.lunchtime.dao.jpa.IMealDao;
 import stone.lunchtime.dao.jpa.IMenuDao;
@@ -99,6 +100,8 @@ public abstract class AbstractJpaTest {
 	protected IRoleDao roleDao;
 	@Autowired
 	protected IImageDao imageDao;
+	@Autowired
+	protected IImageVariantDao imageVariantDao;
 
 	/**
 	 * Takes random values from the given list and return them.
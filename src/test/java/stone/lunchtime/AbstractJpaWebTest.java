@@ -151,7 +151,7 @@ public abstract class AbstractJpaWebTest extends AbstractJpaTest {
 	 * @return a valid menu for this week
 	 */
 	protected MenuEntity getValidMenu(boolean forThisWeek) {
-		var resu = forThisWeek ? this.menuDao.findAllAvailableForWeek(String.valueOf(OrderService.getCurrentWeekId()))
+		var resu = forThisWeek ? this.menuDao.findAllAvailableForWeek(OrderService.getCurrentWeekId())
 				: this.menuDao.findAllEnabled();
 		if (resu.isPresent()) {
 			var menus = resu.get();
@@ -168,7 +168,7 @@ public abstract class AbstractJpaWebTest extends AbstractJpaTest {
 	 * @return a valid meal for this week
 	 */
 	protected MealEntity getValidMeal(boolean forThisWeek) {
-		var resu = forThisWeek ? this.mealDao.findAllAvailableForWeek(String.valueOf(OrderService.getCurrentWeekId()))
+		var resu = forThisWeek ? this.mealDao.findAllAvailableForWeek(OrderService.getCurrentWeekId())
 				: this.mealDao.findAllEnabled();
 		if (resu.isPresent()) {
 			var menus = resu.get();
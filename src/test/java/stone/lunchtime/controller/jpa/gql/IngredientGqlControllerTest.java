@@ -377,4 +377,36 @@ class IngredientGqlControllerTest extends AbstractJpaWebGqlTest {
 		gqlResult.errors().expect(e -> "Forbidden".equals(e.getMessage()));
 	}
 
+	/**
+	 * Test
+	 *
+	 * @throws Exception if an error occurred
+	 */
+	@Test
+	void testSearch01() throws Exception {
+		// Connect as Lunch Lady
+		var result = super.logMeInAsLunchLady();
+
+		var gqlRequest = "query {searchIngredients(text: \"lait\", max: 2) {id,label}}";
+		var gqlResult = super.getGqlTester(super.getJWT(result)).document(gqlRequest).execute();
+
+		var dtos = gqlResult.path("searchIngredients").entityList(IngredientDtoOut.class).hasSize(2).get();
+		Assertions.assertEquals(Integer.valueOf(7), dtos.get(0).getId(), "Lait is first");
+	}
+
+	/**
+	 * Test
+	 *
+	 * @throws Exception if an error occurred
+	 */
+	@Test
+	@DisabledIf(value = "isProfileUnsecured", disabledReason = "Have no reason when profile is 'unsecured'")
+	void testSearch02() throws Exception {
+		// Connect as Normal USer
+		var result = super.logMeInAsNormalRandomUser();
+
+		var gqlRequest = "query {searchIngredients(text: \"lait\") {id,label}}";
+		var gqlResult = super.getGqlTester(super.getJWT(result)).document(gqlRequest).execute();
+		gqlResult.errors().expect(e -> "Forbidden".equals(e.getMessage()));
+	}
 }
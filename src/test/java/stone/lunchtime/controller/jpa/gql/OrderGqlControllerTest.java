@@ -0,0 +1,164 @@
+// -#--------------------------------------
+// -# ©Copyright Ferret Renaud 2019       -
+// -# Email: admin@ferretrenaud.fr        -
+// -# All Rights Reserved.                -
+// -#--------------------------------------
+
+package stone.lunchtime.controller.jpa.gql;
+
+import java.util.HashSet;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledIf;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import stone.lunchtime.spring.QueryCostInstrumentation;
+
+/**
+ * Test for order controller, using Mock.
+ */
+class OrderGqlControllerTest extends AbstractJpaWebGqlTest {
+	@Autowired
+	private MeterRegistry registry;
+
+	/**
+	 * Test
+	 *
+	 * @throws Exception if an error occurred
+	 */
+	@Test
+	void testFindAllConnection01() throws Exception {
+		// Connect as Lunch Lady
+		var result = super.logMeInAsLunchLady();
+		var jwt = super.getJWT(result);
+
+		var first = super.getGqlTester(jwt)
+				.document("query {findAllOrdersConnection(first: 10) {edges {cursor, node {id}}, pageInfo {hasNextPage, endCursor}}}")
+				.execute();
+		first.path("findAllOrdersConnection.edges").entityList(Object.class).hasSize(10);
+		first.path("findAllOrdersConnection.pageInfo.hasNextPage").entity(Boolean.class).isEqualTo(Boolean.TRUE);
+		var endCursor = first.path("findAllOrdersConnection.pageInfo.endCursor").entity(String.class).get();
+		var firstIds = new HashSet<>(
+				first.path("findAllOrdersConnection.edges[*].node.id").entityList(Integer.class).get());
+
+		var second = super.getGqlTester(jwt)
+				.document("query {findAllOrdersConnection(first: 10, after: \"" + endCursor
+						+ "\") {edges {node {id}}}}")
+				.execute();
+		var secondIds = second.path("findAllOrdersConnection.edges[*].node.id").entityList(Integer.class).get();
+		Assertions.assertEquals(10, secondIds.size(), "Second page must be full");
+		secondIds.forEach(id -> Assertions.assertFalse(firstIds.contains(id), "Pages must not overlap"));
+	}
+
+	/**
+	 * Test
+	 *
+	 * @throws Exception if an error occurred
+	 */
+	@Test
+	@DisabledIf(value = "isProfileUnsecured", disabledReason = "Have no reason when profile is 'unsecured'")
+	void testFindAllConnection02() throws Exception {
+		// Connect as standard user
+		var result = super.logMeInAsNormalRandomUser();
+
+		var gqlResult = super.getGqlTester(super.getJWT(result))
+				.document("query {findAllOrdersConnection(first: 10) {edges {node {id}}}}").execute();
+		gqlResult.errors().expect(e -> "Forbidden".equals(e.getMessage()));
+	}
+
+	/**
+	 * Test
+	 *
+	 * @throws Exception if an error occurred
+	 */
+	@Test
+	void testFindAll01() throws Exception {
+		// Connect as Lunch Lady
+		var result = super.logMeInAsLunchLady();
+
+		var gqlResult = super.getGqlTester(super.getJWT(result)).document("query {findAllOrders {id, status}}")
+				.execute();
+		var ids = gqlResult.path("findAllOrders[*].id").entityList(Integer.class).get();
+		Assertions.assertEquals(super.orderService.findAll().size(), ids.size(), "All orders must be found");
+	}
+
+	/**
+	 * Test
+	 *
+	 * @throws Exception if an error occurred
+	 */
+	@Test
+	void testOrderById01() throws Exception {
+		var order = super.orderService.findAll().stream().filter(o -> o.getQuantity().size() > 1).findFirst()
+				.orElseThrow();
+		// Connect as Lunch Lady
+		var result = super.logMeInAsLunchLady();
+
+		var gqlResult = super.getGqlTester(super.getJWT(result))
+				.document("query {orderById(id: " + order.getId()
+						+ ") {id, user {id, email}, quantity {id, quantity, meal {id, label, ingredients {id}}, menu {id, meals {id}}}}}")
+				.execute();
+		gqlResult.path("orderById.user.id").entity(Integer.class).isEqualTo(order.getUser().getId());
+		gqlResult.path("orderById.user.email").entity(String.class).isEqualTo(order.getUser().getEmail());
+		var quantityIds = gqlResult.path("orderById.quantity[*].id").entityList(Integer.class)
+				.hasSize(order.getQuantity().size()).get();
+		for (var quantity : order.getQuantity()) {
+			var path = "orderById.quantity[" + quantityIds.indexOf(quantity.getId()) + "]";
+			gqlResult.path(path + ".quantity").entity(Integer.class).isEqualTo(quantity.getQuantity());
+			if (quantity.getMeal() != null) {
+				gqlResult.path(path + ".meal.label").entity(String.class).isEqualTo(quantity.getMeal().getLabel());
+				var ingredients = quantity.getMeal().getIngredients() == null ? 0
+						: quantity.getMeal().getIngredients().size();
+				gqlResult.path(path + ".meal.ingredients").entityList(Object.class).hasSize(ingredients);
+			}
+			if (quantity.getMenu() != null) {
+				var meals = quantity.getMenu().getMeals() == null ? 0 : quantity.getMenu().getMeals().size();
+				gqlResult.path(path + ".menu.meals").entityList(Object.class).hasSize(meals);
+			}
+		}
+	}
+
+	/**
+	 * Test
+	 *
+	 * @throws Exception if an error occurred
+	 */
+	@Test
+	void testFindAll02() throws Exception {
+		var rejected = this.registry.summary(QueryCostInstrumentation.COST_SUMMARY, "outcome", "rejected").count();
+		// Connect as Lunch Lady
+		var result = super.logMeInAsLunchLady();
+
+		var gqlResult = super.getGqlTester(super.getJWT(result))
+				.document("query {findAllOrders {id, user {id}, quantity {menu {meals {ingredients {id}}}}}}").execute();
+		gqlResult.errors().expect(e -> e.getMessage().startsWith("La requete est trop couteuse"));
+		Assertions.assertEquals(rejected + 1,
+				this.registry.summary(QueryCostInstrumentation.COST_SUMMARY, "outcome", "rejected").count(),
+				"Rejected query must be counted");
+	}
+
+	/**
+	 * Test
+	 *
+	 * @throws Exception if an error occurred
+	 */
+	@Test
+	@DisabledIf(value = "isProfileUnsecured", disabledReason = "Have no reason when profile is 'unsecured'")
+	void testFindAllForUser01() throws Exception {
+		var query = "{id, quantity {menu {meals {ingredients {id}}}}}}";
+		// Connect as standard user, its budget is smaller
+		var result = super.logMeInAsNormalRandomUser();
+		var userId = super.getUserIdInToken(result);
+		var gqlResult = super.getGqlTester(super.getJWT(result))
+				.document("query {findAllOrdersForUser(userId: " + userId + ") " + query).execute();
+		gqlResult.errors().expect(e -> e.getMessage().startsWith("La requete est trop couteuse"));
+
+		// Connect as Lunch Lady
+		result = super.logMeInAsLunchLady();
+		gqlResult = super.getGqlTester(super.getJWT(result))
+				.document("query {findAllOrdersForUser(userId: " + userId + ") " + query).execute();
+		gqlResult.path("findAllOrdersForUser").entityList(Object.class);
+	}
+}
@@ -0,0 +1,150 @@
+// -#--------------------------------------
+// -# ©Copyright Ferret Renaud 2019       -
+// -# Email: admin@ferretrenaud.fr        -
+// -# All Rights Reserved.                -
+// -#--------------------------------------
+
+package stone.lunchtime.controller.jpa.gql;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import graphql.ExecutionInput;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.persisted.PersistedQuerySupport;
+import graphql.parser.Parser;
+import stone.lunchtime.dto.out.IngredientDtoOut;
+import stone.lunchtime.dto.out.MenuDtoOut;
+import stone.lunchtime.spring.PersistedQueryProvider;
+
+/**
+ * Test for persisted queries (Apollo protocol) and their allow list, using
+ * Mock.
+ */
+class PersistedQueryProviderTest extends AbstractJpaWebGqlTest {
+	/** Query of graphql/persisted/menusOfToday.graphql, known by the server */
+	private static final String MENUS_OF_TODAY = "query menusOfToday {findAllMenusForToday {id, label, description, priceDF, imageId, meals {id, label}}}";
+
+	/**
+	 * Test
+	 *
+	 * @throws Exception if an error occurred
+	 */
+	@Test
+	void testPersistedQuery01() throws Exception {
+		var elmId = Integer.valueOf(2);
+		var gqlRequest = "query {ingredientById(id:" + elmId + ") {id,label,status}}";
+		var hash = PersistedQueryProviderTest.sha256(gqlRequest);
+
+		// Hash alone, unknown by the server
+		var gqlResult = super.getGqlTester().document(PersistedQuerySupport.PERSISTED_QUERY_MARKER)
+				.extension("persistedQuery", Map.of("version", Integer.valueOf(1), "sha256Hash", hash)).execute();
+		gqlResult.errors().expect(e -> "PersistedQueryNotFound".equals(e.getMessage()));
+
+		// Hash with the query
+		gqlResult = super.getGqlTester().document(gqlRequest)
+				.extension("persistedQuery", Map.of("version", Integer.valueOf(1), "sha256Hash", hash)).execute();
+		var dto = gqlResult.path("ingredientById").entity(IngredientDtoOut.class).get();
+		Assertions.assertEquals(elmId, dto.getId(), "Id must be the same");
+
+		// Hash alone, now known by the server
+		gqlResult = super.getGqlTester().document(PersistedQuerySupport.PERSISTED_QUERY_MARKER)
+				.extension("persistedQuery", Map.of("version", Integer.valueOf(1), "sha256Hash", hash)).execute();
+		dto = gqlResult.path("ingredientById").entity(IngredientDtoOut.class).get();
+		Assertions.assertEquals(elmId, dto.getId(), "Id must be the same");
+	}
+
+	/**
+	 * Test
+	 *
+	 * @throws Exception if an error occurred
+	 */
+	@Test
+	void testPersistedQuery02() throws Exception {
+		var gqlRequest = "query {ingredientById(id:1) {id,label,status}}";
+		var hash = PersistedQueryProviderTest.sha256("query {ingredientById(id:3) {id,label,status}}");
+
+		// Hash of another query
+		var gqlResult = super.getGqlTester().document(gqlRequest)
+				.extension("persistedQuery", Map.of("version", Integer.valueOf(1), "sha256Hash", hash)).execute();
+		gqlResult.errors().expect(e -> "PersistedQueryIdInvalid".equals(e.getMessage()));
+	}
+
+	/**
+	 * Test
+	 *
+	 * @throws Exception if an error occurred
+	 */
+	@Test
+	void testPersistedQuery03() throws Exception {
+		var hash = PersistedQueryProviderTest.sha256(PersistedQueryProviderTest.MENUS_OF_TODAY);
+
+		var gqlResult = super.getGqlTester().document(PersistedQuerySupport.PERSISTED_QUERY_MARKER)
+				.extension("persistedQuery", Map.of("version", Integer.valueOf(1), "sha256Hash", hash)).execute();
+		gqlResult.errors().verify();
+		var dtos = gqlResult.path("findAllMenusForToday").entityList(MenuDtoOut.class).get();
+		Assertions.assertNotNull(dtos, "List must not be null");
+	}
+
+	/**
+	 * Test
+	 *
+	 * @throws Exception if an error occurred
+	 */
+	@Test
+	void testPersistedQuery04() throws Exception {
+		// Production mode
+		var provider = new PersistedQueryProvider(10, true);
+		var parsed = new AtomicInteger();
+		var gqlRequest = "query {ingredientById(id:1) {id,label,status}}";
+
+		var result = provider.getDocument(ExecutionInput.newExecutionInput(gqlRequest).build(),
+				i -> PersistedQueryProviderTest.parse(i, parsed));
+		Assertions.assertTrue(result.hasErrors(), "Query outside the allow list must be refused");
+		Assertions.assertEquals("La requete n'est pas autorisee", result.getErrors().get(0).getMessage(),
+				"Error must be the right one");
+
+		// Hash given by the client for its own query
+		var hash = PersistedQueryProviderTest.sha256(gqlRequest);
+		result = provider.getDocument(ExecutionInput.newExecutionInput(PersistedQuerySupport.PERSISTED_QUERY_MARKER)
+				.extensions(Map.of("persistedQuery", Map.of("version", Integer.valueOf(1), "sha256Hash", hash)))
+				.build(), i -> PersistedQueryProviderTest.parse(i, parsed));
+		Assertions.assertTrue(result.hasErrors(), "Unknown hash must be refused");
+		Assertions.assertEquals(0, parsed.get(), "Refused queries must not be parsed");
+
+		result = provider.getDocument(ExecutionInput.newExecutionInput(PersistedQueryProviderTest.MENUS_OF_TODAY)
+				.build(), i -> PersistedQueryProviderTest.parse(i, parsed));
+		Assertions.assertFalse(result.hasErrors(), "Query of the allow list must be accepted");
+		Assertions.assertEquals(1, parsed.get(), "Accepted query must be parsed");
+	}
+
+	/**
+	 * Parses a query, as GraphQL does before giving it to the provider.
+	 *
+	 * @param pInput  the request
+	 * @param pParsed counts the queries parsed
+	 * @return the parsed document
+	 */
+	private static PreparsedDocumentEntry parse(ExecutionInput pInput, AtomicInteger pParsed) {
+		pParsed.incrementAndGet();
+		return new PreparsedDocumentEntry(Parser.parse(pInput.getQuery()));
+	}
+
+	/**
+	 * Computes the hash of a query, as a client does.
+	 *
+	 * @param pQuery a query
+	 * @return its SHA-256, in hexadecimal
+	 * @throws Exception if an error occurred
+	 */
+	private static String sha256(String pQuery) throws Exception {
+		return HexFormat.of()
+				.formatHex(MessageDigest.getInstance("SHA-256").digest(pQuery.getBytes(StandardCharsets.UTF_8)));
+	}
+}
@@ -36,6 +36,7 @@ class IngredientRestControllerTest extends AbstractJpaWebTest {
 	private static final String URL_UPDATE = IngredientRestControllerTest.URL_ROOT + "/update/";
 	private static final String URL_FIND = IngredientRestControllerTest.URL_ROOT + "/find/";
 	private static final String URL_FINDALL = IngredientRestControllerTest.URL_ROOT + "/findall";
+	private static final String URL_SEARCH = IngredientRestControllerTest.URL_ROOT + "/search";
 	private static final String URL_FIND_IMG = IngredientRestControllerTest.URL_ROOT + "/findimg/";
 	private static final String URL_UPDATE_IMG = IngredientRestControllerTest.URL_ROOT + "/updateimg/";
 
@@ -105,6 +106,48 @@ class IngredientRestControllerTest extends AbstractJpaWebTest {
 		Assertions.assertEquals(28, elements.size(), "List size is 28");
 	}
 
+	/**
+	 * Test
+	 *
+	 * @throws Exception if an error occurred
+	 */
+	@Test
+	void testSearch01() throws Exception {
+		// Connect as Lunch Lady
+		var result = super.logMeInAsLunchLady();
+
+		result = super.mockMvc.perform(MockMvcRequestBuilders.get(IngredientRestControllerTest.URL_SEARCH)
+				.param("text", "Boite de THON").header(SecurityConstants.TOKEN_HEADER, super.getJWT(result)));
+		// The asserts
+		result.andExpect(MockMvcResultMatchers.status().isOk());
+
+		var content = result.andReturn().getResponse().getContentAsString();
+
+		Class<?> clz = IngredientDtoOut.class;
+		JavaType type = this.mapper.getTypeFactory().constructCollectionType(List.class, clz);
+		List<IngredientDtoOut> elements = this.mapper.readValue(content, type);
+
+		Assertions.assertNotNull(elements, "List cannot be null");
+		Assertions.assertFalse(elements.isEmpty(), "List cannot be empty");
+		Assertions.assertEquals(Integer.valueOf(2), elements.get(0).getId(), "Boîte de thon au naturel is first");
+	}
+
+	/**
+	 * Test
+	 *
+	 * @throws Exception if an error occurred
+	 */
+	@Test
+	void testSearch02() throws Exception {
+		// Connect as Lunch Lady
+		var result = super.logMeInAsLunchLady();
+
+		result = super.mockMvc.perform(MockMvcRequestBuilders.get(IngredientRestControllerTest.URL_SEARCH)
+				.param("text", "lait").param("max", "0").header(SecurityConstants.TOKEN_HEADER, super.getJWT(result)));
+		// The asserts
+		result.andExpect(MockMvcResultMatchers.status().isBadRequest());
+	}
+
 	/**
 	 * Test
 	 *
@@ -7,12 +7,15 @@
 package stone.lunchtime.controller.jpa.rest;
 
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
 import java.util.Objects;
 
+import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.condition.DisabledIf;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
@@ -558,6 +561,97 @@ class MealRestControllerTest extends AbstractJpaWebTest {
 		Assertions.assertNotNull(dtoOut.getImagePath(), "Image must have a path");
 	}
 
+	/**
+	 * Test
+	 *
+	 * @throws Exception if an error occurred
+	 */
+	@Test
+	void testFindImgRaw01() throws Exception {
+		var elmId = Integer.valueOf(1);
+		var json = super.mockMvc.perform(MockMvcRequestBuilders.get(MealRestControllerTest.URL_FIND_IMG + elmId));
+		var dtoOut = this.mapper.readValue(json.andReturn().getResponse().getContentAsString(), ImageDtoOut.class);
+		var image64 = dtoOut.getImage64();
+		var expected = Base64.getMimeDecoder().decode(image64.substring(image64.indexOf(',') + 1));
+
+		// The call
+		var result = super.mockMvc
+				.perform(MockMvcRequestBuilders.get(MealRestControllerTest.URL_FIND_IMG + elmId + "/raw"));
+
+		// The asserts
+		result.andExpect(MockMvcResultMatchers.status().isOk());
+		result.andExpect(MockMvcResultMatchers.content().contentType(MediaType.IMAGE_PNG));
+		result.andExpect(MockMvcResultMatchers.header().exists(HttpHeaders.ETAG));
+		result.andExpect(MockMvcResultMatchers.header().string(HttpHeaders.CACHE_CONTROL,
+				Matchers.containsString("public")));
+		Assertions.assertArrayEquals(expected, result.andReturn().getResponse().getContentAsByteArray(),
+				"Image must be the decoded base 64");
+	}
+
+	/**
+	 * Test
+	 *
+	 * @throws Exception if an error occurred
+	 */
+	@Test
+	void testFindImgRaw02() throws Exception {
+		var url = MealRestControllerTest.URL_FIND_IMG + 1 + "/raw";
+		var result = super.mockMvc.perform(MockMvcRequestBuilders.get(url));
+		result.andExpect(MockMvcResultMatchers.status().isOk());
+		var eTag = result.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		Assertions.assertNotNull(eTag, "ETag must be present");
+
+		// Same call with the ETag, image has not changed
+		result = super.mockMvc.perform(MockMvcRequestBuilders.get(url).header(HttpHeaders.IF_NONE_MATCH, eTag));
+		result.andExpect(MockMvcResultMatchers.status().isNotModified());
+		Assertions.assertEquals(0, result.andReturn().getResponse().getContentLength(), "Body must be empty");
+	}
+
+	/**
+	 * Test
+	 *
+	 * @throws Exception if an error occurred
+	 */
+	@Test
+	void testFindImgRaw03() throws Exception {
+		var result = super.mockMvc
+				.perform(MockMvcRequestBuilders.get(MealRestControllerTest.URL_FIND_IMG + 10000 + "/raw"));
+		result.andExpect(MockMvcResultMatchers.status().isPreconditionFailed());
+	}
+
+	/**
+	 * Test
+	 *
+	 * @throws Exception if an error occurred
+	 */
+	@Test
+	void testFindImgRaw04() throws Exception {
+		var url = MealRestControllerTest.URL_FIND_IMG + 1 + "/raw";
+		var original = super.mockMvc.perform(MockMvcRequestBuilders.get(url)).andReturn().getResponse()
+				.getContentAsByteArray();
+
+		// The call
+		var result = super.mockMvc.perform(MockMvcRequestBuilders.get(url).param("size", "THUMBNAIL"));
+
+		// The asserts
+		result.andExpect(MockMvcResultMatchers.status().isOk());
+		result.andExpect(MockMvcResultMatchers.content().contentType(MediaType.IMAGE_PNG));
+		Assertions.assertArrayEquals(original, result.andReturn().getResponse().getContentAsByteArray(),
+				"Default image is smaller than a thumbnail, it must be given as is");
+	}
+
+	/**
+	 * Test
+	 *
+	 * @throws Exception if an error occurred
+	 */
+	@Test
+	void testFindImgRaw05() throws Exception {
+		var result = super.mockMvc.perform(
+				MockMvcRequestBuilders.get(MealRestControllerTest.URL_FIND_IMG + 1 + "/raw").param("size", "HUGE"));
+		result.andExpect(MockMvcResultMatchers.status().isBadRequest());
+	}
+
 	/**
 	 * Test
 	 *
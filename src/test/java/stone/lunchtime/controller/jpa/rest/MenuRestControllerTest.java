@@ -13,6 +13,7 @@ import java.util.Objects;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.condition.DisabledIf;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
@@ -440,6 +441,26 @@ class MenuRestControllerTest extends AbstractJpaWebTest {
 		Assertions.assertTrue(found, "Entity should have been found");
 	}
 
+	/**
+	 * Test
+	 *
+	 * @throws Exception if an error occurred
+	 */
+	@Test
+	void testFindAllForToday02() throws Exception {
+		var result = super.mockMvc.perform(MockMvcRequestBuilders.get(MenuRestControllerTest.URL_FINDALLFORTODAY));
+		result.andExpect(MockMvcResultMatchers.status().isOk());
+		result.andExpect(MockMvcResultMatchers.content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+		var eTag = result.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		Assertions.assertNotNull(eTag, "ETag must be present");
+
+		// Same call with the ETag, nothing has changed
+		result = super.mockMvc.perform(MockMvcRequestBuilders.get(MenuRestControllerTest.URL_FINDALLFORTODAY)
+				.header(HttpHeaders.IF_NONE_MATCH, eTag));
+		result.andExpect(MockMvcResultMatchers.status().isNotModified());
+		Assertions.assertEquals(0, result.andReturn().getResponse().getContentLength(), "Body must be empty");
+	}
+
 	@Test
 	void testFindAllForWeekAndDay01() throws Exception {
 
@@ -11,12 +11,14 @@ import java.time.LocalDate;
 import java.time.Month;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.condition.DisabledIf;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
@@ -28,8 +30,11 @@ import stone.lunchtime.dto.in.OrderDtoIn;
 import stone.lunchtime.dto.in.QuantityDtoIn;
 import stone.lunchtime.dto.jpa.handler.OrderDtoHandler;
 import stone.lunchtime.dto.out.OrderDtoOut;
+import stone.lunchtime.dto.out.OrderPageDtoOut;
 import stone.lunchtime.dto.out.PriceDtoOut;
+import stone.lunchtime.dto.out.ProductionPlanDtoOut;
 import stone.lunchtime.entity.OrderStatus;
+import stone.lunchtime.service.impl.jpa.OrderService;
 import stone.lunchtime.spring.security.filter.SecurityConstants;
 
 /**
@@ -42,11 +47,16 @@ class OrderRestControllerTest extends AbstractJpaWebTest {
 	private static final String URL_FINDALLFORUSER = OrderRestControllerTest.URL_ROOT + "/findallforuser/";
 	private static final String URL_FINDALLFORUSERTODAY = OrderRestControllerTest.URL_ROOT + "/findallforusertoday/";
 	private static final String URL_ADD = OrderRestControllerTest.URL_ROOT + "/add";
+	private static final String URL_ADDALL = OrderRestControllerTest.URL_ROOT + "/addall";
 	private static final String URL_CANCEL = OrderRestControllerTest.URL_ROOT + "/cancel/";
 	private static final String URL_COMPUTEPRICE = OrderRestControllerTest.URL_ROOT + "/computeprice/";
 	private static final String URL_FIND = OrderRestControllerTest.URL_ROOT + "/find/";
 	private static final String URL_FINDALL = OrderRestControllerTest.URL_ROOT + "/findall";
+	private static final String URL_FINDALL_PAGE = OrderRestControllerTest.URL_FINDALL + "/page";
+	private static final String URL_FINDALLBETWEENDATEINSTATUS_STREAM = OrderRestControllerTest.URL_FINDALLBETWEENDATEINSTATUS
+			+ "/stream";
 	private static final String URL_PAY = OrderRestControllerTest.URL_ROOT + "/deliverandpay/";
+	private static final String URL_PRODUCTIONPLAN = OrderRestControllerTest.URL_ROOT + "/productionplan";
 	private static final String URL_UPDATE = OrderRestControllerTest.URL_ROOT + "/update/";
 
 	@Value("${configuration.date.pattern}")
@@ -162,6 +172,52 @@ class OrderRestControllerTest extends AbstractJpaWebTest {
 		Assertions.assertEquals(dtoIn.getUserId(), dtoOut.getUser().getId(), "User id must be the one selected");
 	}
 
+	/**
+	 * Test
+	 *
+	 * @throws Exception if an error occurred
+	 */
+	@Test
+	void testAddAll01() throws Exception {
+
+		// Connect as simple user
+		var result = super.logMeInAsNormalRandomUser();
+		var userId = super.getUserIdInToken(result);
+
+		List<OrderDtoIn> dtoIns = new ArrayList<>();
+		for (var i = 0; i < 3; i++) {
+			var dtoIn = new OrderDtoIn();
+			dtoIn.setConstraintId(Integer.valueOf(-1));
+			// No user id, will use the connected one
+			dtoIn.addMenu(1, super.getValidMenu(false).getId());
+			dtoIns.add(dtoIn);
+		}
+		// An order with an unknown meal
+		var dtoInKo = new OrderDtoIn();
+		dtoInKo.setConstraintId(Integer.valueOf(-1));
+		dtoInKo.addMeal(1, Integer.valueOf(100000));
+		dtoIns.add(dtoInKo);
+
+		var dtoInAsJsonString = this.mapper.writeValueAsString(dtoIns);
+
+		// The call
+		result = super.mockMvc.perform(MockMvcRequestBuilders.put(OrderRestControllerTest.URL_ADDALL)
+				.header(SecurityConstants.TOKEN_HEADER, super.getJWT(result))
+				.contentType(MediaType.APPLICATION_JSON_VALUE).content(dtoInAsJsonString));
+
+		// The asserts
+		result.andExpect(MockMvcResultMatchers.status().isOk());
+		result.andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(4));
+		for (var i = 0; i < 3; i++) {
+			result.andExpect(MockMvcResultMatchers.jsonPath("$[" + i + "].index").value(i));
+			result.andExpect(MockMvcResultMatchers.jsonPath("$[" + i + "].order.id").exists());
+			result.andExpect(MockMvcResultMatchers.jsonPath("$[" + i + "].order.user.id").value(userId.intValue()));
+			result.andExpect(MockMvcResultMatchers.jsonPath("$[" + i + "].error").doesNotExist());
+		}
+		result.andExpect(MockMvcResultMatchers.jsonPath("$[3].order").doesNotExist());
+		result.andExpect(MockMvcResultMatchers.jsonPath("$[3].error.error").value("EntityNotFoundException"));
+	}
+
 	/**
 	 * Test
 	 *
@@ -1359,4 +1415,202 @@ class OrderRestControllerTest extends AbstractJpaWebTest {
 		}
 	}
 
+	/**
+	 * Test
+	 *
+	 * @throws Exception if an error occurred
+	 */
+	@Test
+	void testFindAllPage01() throws Exception {
+		// Connect as Lunch Lady
+		var result = super.logMeInAsLunchLady();
+		var jwt = super.getJWT(result);
+
+		var ids = new HashSet<Integer>();
+		var count = 0;
+		String cursor = null;
+		do {
+			// The call
+			var request = MockMvcRequestBuilders.get(OrderRestControllerTest.URL_FINDALL_PAGE)
+					.header(SecurityConstants.TOKEN_HEADER, jwt).param("size", "50");
+			if (cursor != null) {
+				request.param("after", cursor);
+			}
+			result = super.mockMvc.perform(request);
+
+			// The asserts
+			result.andExpect(MockMvcResultMatchers.status().isOk());
+			var content = result.andReturn().getResponse().getContentAsString();
+			var page = this.mapper.readValue(content, OrderPageDtoOut.class);
+			Assertions.assertNotNull(page.getOrders(), "Order list cannot be null");
+			Assertions.assertTrue(page.getOrders().size() <= 50, "Page cannot be bigger than asked");
+			Assertions.assertEquals(page.isHasNext(), page.getNextCursor() != null, "Cursor is given for next page");
+			page.getOrders().forEach(o -> ids.add(o.getId()));
+			count += page.getOrders().size();
+			cursor = page.getNextCursor();
+		} while (cursor != null);
+
+		Assertions.assertTrue(100 <= count, "Order list size is at least 100");
+		Assertions.assertEquals(count, ids.size(), "Each order must be read once");
+	}
+
+	/**
+	 * Test
+	 *
+	 * @throws Exception if an error occurred
+	 */
+	@Test
+	void testFindAllPage02() throws Exception {
+		// Connect as Lunch Lady
+		var result = super.logMeInAsLunchLady();
+
+		// The call
+		result = super.mockMvc.perform(MockMvcRequestBuilders.get(OrderRestControllerTest.URL_FINDALL_PAGE)
+				.header(SecurityConstants.TOKEN_HEADER, super.getJWT(result)).param("after", "not a cursor"));
+
+		// The asserts
+		result.andExpect(MockMvcResultMatchers.status().isBadRequest());
+	}
+
+	/**
+	 * Test
+	 *
+	 * @throws Exception if an error occurred
+	 */
+	@Test
+	@DisabledIf(value = "isProfileUnsecured", disabledReason = "Have no reason when profile is 'unsecured'")
+	void testFindAllPage03() throws Exception {
+		// Connect as standard user
+		var result = super.logMeInAsNormalRandomUser();
+
+		// The call
+		result = super.mockMvc.perform(MockMvcRequestBuilders.get(OrderRestControllerTest.URL_FINDALL_PAGE)
+				.header(SecurityConstants.TOKEN_HEADER, super.getJWT(result)));
+
+		// The asserts
+		result.andExpect(MockMvcResultMatchers.status().isForbidden());
+	}
+
+	/**
+	 * Test
+	 *
+	 * @throws Exception if an error occurred
+	 */
+	@Test
+	void testStreamAllBetweenDateInStatus01() throws Exception {
+		final var status = OrderStatus.CREATED;
+		final var begin = LocalDate.of(2019, Month.JANUARY, 1);
+		final var end = LocalDate.now();
+
+		// Connect as Lunch Lady
+		var result = super.logMeInAsLunchLady();
+
+		// The call
+		result = super.mockMvc.perform(MockMvcRequestBuilders
+				.get(OrderRestControllerTest.URL_FINDALLBETWEENDATEINSTATUS_STREAM)
+				.header(SecurityConstants.TOKEN_HEADER, super.getJWT(result)).param("status", String.valueOf(status))
+				.param("beginDate", begin.format(DateTimeFormatter.ofPattern(this.datePattern)))
+				.param("endDate", end.format(DateTimeFormatter.ofPattern(this.datePattern))));
+
+		// The asserts
+		result.andExpect(MockMvcResultMatchers.status().isOk());
+
+		var content = result.andReturn().getResponse().getContentAsString();
+
+		Class<?> clz = OrderDtoOut.class;
+		JavaType type = this.mapper.getTypeFactory().constructCollectionType(List.class, clz);
+		List<OrderDtoOut> orders = this.mapper.readValue(content, type);
+
+		Assertions.assertNotNull(orders, "Order list cannot be null");
+		Assertions.assertEquals(super.orderService.findAllBetweenDateInStatus(begin, end, status).size(),
+				orders.size(), "Must have all orders");
+		for (OrderDtoOut dto : orders) {
+			Assertions.assertEquals(status, dto.getStatus(), "Order status is as searched");
+		}
+	}
+
+	/**
+	 * Test
+	 *
+	 * @throws Exception if an error occurred
+	 */
+	@Test
+	@DisabledIf(value = "isProfileUnsecured", disabledReason = "Have no reason when profile is 'unsecured'")
+	void testStreamAllBetweenDateInStatus02() throws Exception {
+		// Connect as simple user
+		var result = super.logMeInAsNormalRandomUser();
+
+		// The call
+		result = super.mockMvc.perform(MockMvcRequestBuilders
+				.get(OrderRestControllerTest.URL_FINDALLBETWEENDATEINSTATUS_STREAM)
+				.header(SecurityConstants.TOKEN_HEADER, super.getJWT(result)));
+
+		// The asserts
+		result.andExpect(MockMvcResultMatchers.status().isForbidden());
+	}
+
+	/**
+	 * Test
+	 *
+	 * @throws Exception if an error occurred
+	 */
+	@Test
+	void testProductionPlan01() throws Exception {
+		// Connect as Lunch Lady
+		var result = super.logMeInAsLunchLady();
+		var jwt = super.getJWT(result);
+
+		// The call
+		result = super.mockMvc.perform(MockMvcRequestBuilders.get(OrderRestControllerTest.URL_PRODUCTIONPLAN)
+				.header(SecurityConstants.TOKEN_HEADER, jwt));
+
+		// The asserts
+		result.andExpect(MockMvcResultMatchers.status().isOk());
+		var eTag = result.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		Assertions.assertNotNull(eTag, "Today's plan must have an ETag");
+		var plan = this.mapper.readValue(result.andReturn().getResponse().getContentAsString(),
+				ProductionPlanDtoOut.class);
+		Assertions.assertEquals(LocalDate.now(), plan.getDate(), "Plan must be today's one");
+		Assertions.assertNotNull(plan.getOrderCount(), "Plan must have an order count");
+
+		// Nothing changed
+		result = super.mockMvc.perform(MockMvcRequestBuilders.get(OrderRestControllerTest.URL_PRODUCTIONPLAN)
+				.header(SecurityConstants.TOKEN_HEADER, jwt).header(HttpHeaders.IF_NONE_MATCH, eTag));
+		result.andExpect(MockMvcResultMatchers.status().isNotModified());
+
+		// A new order changes the plan
+		var dto = new OrderDtoIn();
+		dto.setUserId(super.findASimpleUser().getId());
+		dto.setConstraintId(Integer.valueOf(-1));
+		List<QuantityDtoIn> qs = new ArrayList<>();
+		var meal = super.mealService.findAllAvailableForWeekAndCategory(OrderService.getCurrentWeekId(), null).get(0);
+		qs.add(new QuantityDtoIn(1, meal.getId(), null));
+		dto.setQuantity(qs);
+		super.orderService.order(dto);
+		result = super.mockMvc.perform(MockMvcRequestBuilders.get(OrderRestControllerTest.URL_PRODUCTIONPLAN)
+				.header(SecurityConstants.TOKEN_HEADER, jwt).header(HttpHeaders.IF_NONE_MATCH, eTag));
+		result.andExpect(MockMvcResultMatchers.status().isOk());
+		plan = this.mapper.readValue(result.andReturn().getResponse().getContentAsString(),
+				ProductionPlanDtoOut.class);
+		Assertions.assertFalse(plan.getMeals().isEmpty(), "Plan must have the meal ordered");
+	}
+
+	/**
+	 * Test
+	 *
+	 * @throws Exception if an error occurred
+	 */
+	@Test
+	@DisabledIf(value = "isProfileUnsecured", disabledReason = "Have no reason when profile is 'unsecured'")
+	void testProductionPlan02() throws Exception {
+		// Connect as simple user
+		var result = super.logMeInAsNormalRandomUser();
+
+		// The call
+		result = super.mockMvc.perform(MockMvcRequestBuilders.get(OrderRestControllerTest.URL_PRODUCTIONPLAN)
+				.header(SecurityConstants.TOKEN_HEADER, super.getJWT(result)));
+
+		// The asserts
+		result.andExpect(MockMvcResultMatchers.status().isForbidden());
+	}
 }
@@ -8,9 +8,11 @@ package stone.lunchtime.controller.jpa.rest;
 
 import java.math.BigDecimal;
 
+import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.condition.DisabledIf;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
@@ -379,6 +381,53 @@ class UserRestControllerTest extends AbstractJpaWebTest {
 		Assertions.assertTrue(dtoOut.isDefault(), "Image should the default one");
 	}
 
+	/**
+	 * Test
+	 *
+	 * @throws Exception if an error occurred
+	 */
+	@Test
+	@DisabledIf(value = "isProfileUnsecured", disabledReason = "Have no reason when profile is 'unsecured'")
+	void testFindImgRaw01() throws Exception {
+		// Connect as simple user
+		var result = super.logMeInAsNormalRandomUser();
+		var user = super.getUserInToken(result);
+		var anOtherUserId = super.findASimpleUser(user.getId()).getId();
+
+		// The call
+		result = super.mockMvc
+				.perform(MockMvcRequestBuilders.get(UserRestControllerTest.URL_FIND_IMG + anOtherUserId + "/raw")
+						.header(SecurityConstants.TOKEN_HEADER, super.getJWT(result)));
+
+		// The asserts
+		result.andExpect(MockMvcResultMatchers.status().isForbidden());
+	}
+
+	/**
+	 * Test
+	 *
+	 * @throws Exception if an error occurred
+	 */
+	@Test
+	void testFindImgRaw02() throws Exception {
+		// Connect as simple user
+		var result = super.logMeInAsNormalRandomUser();
+		var userId = super.getUserInToken(result).getId();
+
+		// The call
+		result = super.mockMvc.perform(MockMvcRequestBuilders.get(UserRestControllerTest.URL_FIND_IMG + userId + "/raw")
+				.header(SecurityConstants.TOKEN_HEADER, super.getJWT(result)));
+
+		// The asserts
+		result.andExpect(MockMvcResultMatchers.status().isOk());
+		result.andExpect(MockMvcResultMatchers.content().contentType(MediaType.IMAGE_PNG));
+		result.andExpect(MockMvcResultMatchers.header().exists(HttpHeaders.ETAG));
+		result.andExpect(MockMvcResultMatchers.header().string(HttpHeaders.CACHE_CONTROL,
+				Matchers.containsString("private")));
+		Assertions.assertTrue(result.andReturn().getResponse().getContentAsByteArray().length > 0,
+				"Image must not be empty");
+	}
+
 	/**
 	 * Test
 	 *
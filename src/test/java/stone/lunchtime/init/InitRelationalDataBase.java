@@ -56,6 +56,7 @@ public class InitRelationalDataBase extends AbstractInitDataBase {
 		this.ingredientDao.deleteAll();
 		this.userDao.deleteAll();
 		this.roleDao.deleteAll();
+		this.imageVariantDao.deleteAll();
 		this.imageDao.deleteAll();
 
 		if (SpringBootConfiguration.usingMySQL(this.env)) {
@@ -68,6 +69,7 @@ public class InitRelationalDataBase extends AbstractInitDataBase {
 			this.userDao.resetMySQLSequence();
 			this.quantityMealDao.resetMySQLSequence();
 			this.roleDao.resetMySQLSequence();
+			this.imageVariantDao.resetMySQLSequence();
 			this.imageDao.resetMySQLSequence();
 		} else {
 			InitRelationalDataBase.LOG.atWarn().log("init test is only for MySQL, but using {}",
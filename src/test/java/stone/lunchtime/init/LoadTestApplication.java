@@ -0,0 +1,48 @@
+// -#--------------------------------------
+// -# ©Copyright Ferret Renaud 2019 -
+// -# Email: admin@ferretrenaud.fr -
+// -# All Rights Reserved. -
+// -#--------------------------------------
+
+package stone.lunchtime.init;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.SpringApplication;
+
+import stone.lunchtime.SpringBootConfiguration;
+
+/**
+ * Not a test class. Starts the application for the load test
+ * (jmeter/stone-lunchtime-rush.jmx). <br>
+ *
+ * The data base is filled with {@link LoadTestDataGenerator} before the
+ * application is used, in the same JVM so that it also works with the in
+ * memory H2 data base. <br>
+ *
+ * mvn -Ploadtest test-compile exec:exec
+ * -Dloadtest.args="-Dspring.profiles.active=mysql"
+ */
+public final class LoadTestApplication {
+	private static final Logger LOG = LoggerFactory.getLogger(LoadTestApplication.class);
+
+	/**
+	 * Constructor of the object.
+	 */
+	private LoadTestApplication() {
+		throw new IllegalAccessError("Not for use");
+	}
+
+	/**
+	 * Starts the application and fills the data base.
+	 *
+	 * @param args application arguments
+	 * @throws Exception if an error occurred
+	 */
+	public static void main(String[] args) throws Exception {
+		var context = SpringApplication.run(SpringBootConfiguration.class, args);
+		new LoadTestDataGenerator(context).generate();
+		LoadTestApplication.LOG.atWarn().log("-- Ready for the load test on port {}",
+				context.getEnvironment().getProperty("local.server.port"));
+	}
+}
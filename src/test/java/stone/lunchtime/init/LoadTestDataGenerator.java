@@ -0,0 +1,343 @@
+// -#--------------------------------------
+// -# ©Copyright Ferret Renaud 2019 -
+// -# Email: admin@ferretrenaud.fr -
+// -# All Rights Reserved. -
+// -#--------------------------------------
+
+package stone.lunchtime.init;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import stone.lunchtime.dao.jpa.IConstraintDao;
+import stone.lunchtime.dao.jpa.IRoleDao;
+import stone.lunchtime.dao.jpa.IUserDao;
+import stone.lunchtime.dto.AvailableForWeeksAndDays;
+import stone.lunchtime.dto.in.AbstractEatableDtoIn;
+import stone.lunchtime.dto.in.ConstraintDtoIn;
+import stone.lunchtime.dto.in.MealDtoIn;
+import stone.lunchtime.dto.in.MenuDtoIn;
+import stone.lunchtime.dto.in.UserDtoIn;
+import stone.lunchtime.dto.jpa.handler.UserDtoHandler;
+import stone.lunchtime.entity.EntityStatus;
+import stone.lunchtime.entity.OrderStatus;
+import stone.lunchtime.entity.RoleLabel;
+import stone.lunchtime.entity.jpa.MealEntity;
+import stone.lunchtime.entity.jpa.MenuEntity;
+import stone.lunchtime.entity.jpa.OrderEntity;
+import stone.lunchtime.entity.jpa.QuantityEntity;
+import stone.lunchtime.entity.jpa.RoleEntity;
+import stone.lunchtime.entity.jpa.UserEntity;
+import stone.lunchtime.init.utils.MealGenerator;
+import stone.lunchtime.init.utils.MenuGenerator;
+import stone.lunchtime.init.utils.UserGenerator;
+import stone.lunchtime.service.impl.jpa.ConstraintService;
+import stone.lunchtime.service.impl.jpa.MealService;
+import stone.lunchtime.service.impl.jpa.MenuService;
+import stone.lunchtime.service.impl.jpa.UserService;
+
+/**
+ * Not a test class. Fills the data base for the load test. <br>
+ *
+ * Meals and menus are added with their services, so that availability and
+ * caches are the same as in production. Users and the history of orders are
+ * too many for that: they are inserted by chunk, one transaction each, with the
+ * JDBC batching of the data base profile. <br>
+ *
+ * Users are loadtest.1@stone.fr to loadtest.N@stone.fr, with the default
+ * password and enough money for the whole load test. The history of orders is
+ * made of delivered and canceled orders, so that CREATED orders are the ones of
+ * the load test. <br>
+ *
+ * The same seed gives the same data. Sizes can be changed with the properties
+ * configuration.loadtest.*.
+ */
+public final class LoadTestDataGenerator {
+	private static final Logger LOG = LoggerFactory.getLogger(LoadTestDataGenerator.class);
+
+	/** Email of the generated users, with their number. */
+	public static final String USER_EMAIL_PATTERN = "loadtest.%d@stone.fr";
+
+	/** Money in the wallet of the generated users. */
+	private static final float USER_WALLET = 10000F;
+
+	/** Users inserted in each transaction. */
+	private static final int USER_CHUNK = 1000;
+
+	/** Orders inserted in each transaction. */
+	private static final int ORDER_CHUNK = 5000;
+
+	private final Environment env;
+	private final PasswordEncoder passwordEncoder;
+	private final TransactionTemplate transaction;
+	private final EntityManager entityManager;
+	private final IUserDao userDao;
+	private final IRoleDao roleDao;
+	private final IConstraintDao constraintDao;
+	private final UserService userService;
+	private final ConstraintService constraintService;
+	private final MealService mealService;
+	private final MenuService menuService;
+
+	/**
+	 * Constructor of the object.
+	 *
+	 * @param pContext the started application
+	 */
+	public LoadTestDataGenerator(ApplicationContext pContext) {
+		this.env = pContext.getEnvironment();
+		this.passwordEncoder = pContext.getBean(PasswordEncoder.class);
+		this.transaction = new TransactionTemplate(pContext.getBean(PlatformTransactionManager.class));
+		this.entityManager = SharedEntityManagerCreator
+				.createSharedEntityManager(pContext.getBean(EntityManagerFactory.class));
+		this.userDao = pContext.getBean(IUserDao.class);
+		this.roleDao = pContext.getBean(IRoleDao.class);
+		this.constraintDao = pContext.getBean(IConstraintDao.class);
+		this.userService = pContext.getBean(UserService.class);
+		this.constraintService = pContext.getBean(ConstraintService.class);
+		this.mealService = pContext.getBean(MealService.class);
+		this.menuService = pContext.getBean(MenuService.class);
+	}
+
+	/**
+	 * Fills the data base. <br>
+	 *
+	 * Does nothing if the data base already has the users, so that a real data
+	 * base is filled only once.
+	 *
+	 * @throws Exception if an error occurred
+	 */
+	public void generate() throws Exception {
+		var userNb = this.env.getProperty("configuration.loadtest.user.nb", Integer.class, Integer.valueOf(50000))
+				.intValue();
+		var mealNb = this.env.getProperty("configuration.loadtest.meal.nb", Integer.class, Integer.valueOf(2000))
+				.intValue();
+		var menuNb = this.env.getProperty("configuration.loadtest.menu.nb", Integer.class, Integer.valueOf(500))
+				.intValue();
+		var orderNb = this.env.getProperty("configuration.loadtest.order.nb", Integer.class, Integer.valueOf(1000000))
+				.intValue();
+		var orderDays = this.env.getProperty("configuration.loadtest.order.days", Integer.class, Integer.valueOf(365))
+				.intValue();
+		var seed = this.env.getProperty("configuration.loadtest.seed", Long.class, Long.valueOf(42L)).longValue();
+
+		if (this.userDao.count() >= userNb) {
+			LoadTestDataGenerator.LOG.atWarn().log("generate - data base already has {} users, will not fill it",
+					Long.valueOf(this.userDao.count()));
+			return;
+		}
+		var random = new Random(seed);
+		var start = System.currentTimeMillis();
+		this.initConstraintAndLunchLady();
+		var users = this.initUser(userNb, random);
+		var meals = this.initMeal(mealNb, random);
+		var menus = this.initMenu(menuNb, meals, random);
+		this.initOrder(orderNb, orderDays, users, meals, menus, random);
+		LoadTestDataGenerator.LOG.atInfo().log(
+				"generate - OK {} users, {} meals, {} menus and {} orders in {} s", Integer.valueOf(users.size()),
+				Integer.valueOf(meals.size()), Integer.valueOf(menus.size()), Integer.valueOf(orderNb),
+				Long.valueOf((System.currentTimeMillis() - start) / 1000));
+	}
+
+	/**
+	 * Adds a constraint and the lunch lady if the data base has none.
+	 *
+	 * @throws Exception if an error occurred
+	 */
+	private void initConstraintAndLunchLady() throws Exception {
+		if (this.constraintDao.count() == 0) {
+			LoadTestDataGenerator.LOG.atInfo().log("initConstraintAndLunchLady - add constraint");
+			this.constraintService.add(new ConstraintDtoIn());
+		}
+		if (this.roleDao.countLunchLady() == 0) {
+			LoadTestDataGenerator.LOG.atInfo().log("initConstraintAndLunchLady - add lunch lady {}",
+					AbstractInitDataBase.USER_EXISTING_EMAIL);
+			var ll = UserGenerator.generate(1, AbstractInitDataBase.USER_DEFAULT_PWD).get(0);
+			ll.setEmail(AbstractInitDataBase.USER_EXISTING_EMAIL);
+			ll.setIsLunchLady(Boolean.TRUE);
+			this.userService.register(ll);
+		}
+	}
+
+	/**
+	 * Inserts users. <br>
+	 *
+	 * The password is hashed only once, all users have the same.
+	 *
+	 * @param pHowMany number of users
+	 * @param pRandom  random generator
+	 * @return ids of the users
+	 */
+	private List<Integer> initUser(int pHowMany, Random pRandom) {
+		LoadTestDataGenerator.LOG.atInfo().log("initUser - {}", Integer.valueOf(pHowMany));
+		var password = this.passwordEncoder.encode(AbstractInitDataBase.USER_DEFAULT_PWD);
+		var dtos = UserGenerator.generate(pHowMany, AbstractInitDataBase.USER_DEFAULT_PWD, pRandom);
+		List<Integer> result = new ArrayList<>(pHowMany);
+		for (var from = 0; from < pHowMany; from += LoadTestDataGenerator.USER_CHUNK) {
+			var to = Math.min(from + LoadTestDataGenerator.USER_CHUNK, pHowMany);
+			var chunk = dtos.subList(from, to);
+			var first = from + 1;
+			this.transaction.executeWithoutResult(pStatus -> {
+				List<UserEntity> entities = new ArrayList<>(chunk.size());
+				var number = first;
+				for (UserDtoIn dto : chunk) {
+					dto.setEmail(String.format(LoadTestDataGenerator.USER_EMAIL_PATTERN, Integer.valueOf(number)));
+					dto.setWallet(Float.valueOf(LoadTestDataGenerator.USER_WALLET));
+					var entity = UserDtoHandler.toEntity(dto);
+					entity.setPassword(password);
+					entity.setStatus(EntityStatus.ENABLED);
+					List<RoleEntity> roles = new ArrayList<>();
+					roles.add(new RoleEntity(RoleLabel.ROLE_USER, entity));
+					entity.setRoles(roles);
+					this.entityManager.persist(entity);
+					entities.add(entity);
+					number++;
+				}
+				this.entityManager.flush();
+				entities.forEach(e -> result.add(e.getId()));
+				this.entityManager.clear();
+			});
+			LoadTestDataGenerator.LOG.atInfo().log("initUser - {}/{}", Integer.valueOf(to),
+					Integer.valueOf(pHowMany));
+		}
+		return result;
+	}
+
+	/**
+	 * Inserts meals.
+	 *
+	 * @param pHowMany number of meals
+	 * @param pRandom  random generator
+	 * @return ids of the meals
+	 */
+	private List<Integer> initMeal(int pHowMany, Random pRandom) {
+		LoadTestDataGenerator.LOG.atInfo().log("initMeal - {}", Integer.valueOf(pHowMany));
+		List<Integer> result = new ArrayList<>(pHowMany);
+		for (MealDtoIn dto : MealGenerator.generate(pHowMany, pRandom)) {
+			LoadTestDataGenerator.handleAvailableForWeeksAndDays(pRandom, dto);
+			result.add(this.mealService.add(dto).getId());
+		}
+		return result;
+	}
+
+	/**
+	 * Inserts menus, each one with one to four meals.
+	 *
+	 * @param pHowMany number of menus
+	 * @param pMeals   ids of the meals
+	 * @param pRandom  random generator
+	 * @return ids of the menus
+	 */
+	private List<Integer> initMenu(int pHowMany, List<Integer> pMeals, Random pRandom) {
+		LoadTestDataGenerator.LOG.atInfo().log("initMenu - {}", Integer.valueOf(pHowMany));
+		List<Integer> result = new ArrayList<>(pHowMany);
+		for (MenuDtoIn dto : MenuGenerator.generate(pHowMany, pRandom)) {
+			var nbMeals = pRandom.nextInt(4) + 1;
+			List<Integer> mealIds = new ArrayList<>(nbMeals);
+			for (var i = 0; i < nbMeals; i++) {
+				mealIds.add(pMeals.get(pRandom.nextInt(pMeals.size())));
+			}
+			dto.setMealIds(mealIds);
+			LoadTestDataGenerator.handleAvailableForWeeksAndDays(pRandom, dto);
+			result.add(this.menuService.add(dto).getId());
+		}
+		return result;
+	}
+
+	/**
+	 * Inserts the history of orders, from yesterday to pDays days ago, between
+	 * 11:00 and 14:00. <br>
+	 *
+	 * One order in ten is canceled, the others are delivered.
+	 *
+	 * @param pHowMany number of orders
+	 * @param pDays    number of days of the history
+	 * @param pUsers   ids of the users
+	 * @param pMeals   ids of the meals
+	 * @param pMenus   ids of the menus
+	 * @param pRandom  random generator
+	 */
+	private void initOrder(int pHowMany, int pDays, List<Integer> pUsers, List<Integer> pMeals, List<Integer> pMenus,
+			Random pRandom) {
+		LoadTestDataGenerator.LOG.atInfo().log("initOrder - {} on {} days", Integer.valueOf(pHowMany),
+				Integer.valueOf(pDays));
+		var today = LocalDate.now();
+		var opening = LocalTime.of(11, 0);
+		for (var from = 0; from < pHowMany; from += LoadTestDataGenerator.ORDER_CHUNK) {
+			var to = Math.min(from + LoadTestDataGenerator.ORDER_CHUNK, pHowMany);
+			var size = to - from;
+			this.transaction.executeWithoutResult(pStatus -> {
+				for (var i = 0; i < size; i++) {
+					var order = new OrderEntity();
+					order.setUser(this.entityManager.getReference(UserEntity.class,
+							pUsers.get(pRandom.nextInt(pUsers.size()))));
+					order.setCreationDate(today.minusDays(pRandom.nextInt(pDays) + 1L));
+					order.setCreationTime(opening.plusSeconds(pRandom.nextInt(3 * 3600)));
+					order.setStatus(pRandom.nextInt(10) == 0 ? OrderStatus.CANCELED : OrderStatus.DELIVERED);
+					List<QuantityEntity> quantities = new ArrayList<>();
+					if (pRandom.nextBoolean()) {
+						var quantity = new QuantityEntity();
+						quantity.setQuantity(Integer.valueOf(pRandom.nextInt(2) + 1));
+						quantity.setMenu(this.entityManager.getReference(MenuEntity.class,
+								pMenus.get(pRandom.nextInt(pMenus.size()))));
+						quantities.add(quantity);
+					} else {
+						var nbMeals = pRandom.nextInt(3) + 1;
+						for (var j = 0; j < nbMeals; j++) {
+							var quantity = new QuantityEntity();
+							quantity.setQuantity(Integer.valueOf(pRandom.nextInt(2) + 1));
+							quantity.setMeal(this.entityManager.getReference(MealEntity.class,
+									pMeals.get(pRandom.nextInt(pMeals.size()))));
+							quantities.add(quantity);
+						}
+					}
+					order.setQuantityEntities(quantities);
+					this.entityManager.persist(order);
+				}
+				this.entityManager.flush();
+				this.entityManager.clear();
+			});
+			LoadTestDataGenerator.LOG.atInfo().log("initOrder - {}/{}", Integer.valueOf(to),
+					Integer.valueOf(pHowMany));
+		}
+	}
+
+	/**
+	 * Half of the meals and menus are available all weeks, the others on some
+	 * weeks and days.
+	 *
+	 * @param pRandom random generator
+	 * @param pDto    a meal or a menu
+	 */
+	private static void handleAvailableForWeeksAndDays(Random pRandom, AbstractEatableDtoIn pDto) {
+		if (pRandom.nextBoolean()) {
+			var aad = new AvailableForWeeksAndDays();
+			for (var o = 0; o < 10; o++) {
+				if (pRandom.nextBoolean()) {
+					// A week and a day
+					aad.add(pRandom.nextInt(53) + 1, pRandom.nextInt(7) + 1);
+				} else {
+					// All day in a week
+					aad.add(pRandom.nextInt(53) + 1, null);
+				}
+			}
+			pDto.setAvailableForWeeksAndDays(aad);
+		} else {
+			// All weeks
+			pDto.setAvailableForWeeksAndDays(null);
+		}
+	}
+}
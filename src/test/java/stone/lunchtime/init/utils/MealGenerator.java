@@ -39,25 +39,44 @@ public final class MealGenerator {
 	 * @return the list of meals
 	 */
 	public static List<MealDtoIn> generate(int pHowMany) {
+		return MealGenerator.generate(pHowMany, new Random());
+	}
+
+	/**
+	 * Generates meals. <br>
+	 *
+	 * If there is not enough meals in the file, they are used again with a number
+	 * in their label.
+	 *
+	 * @param pHowMany the number to generate
+	 * @param pRandom  random generator, with a seed for the same meals on each
+	 *                 call
+	 * @return the list of meals
+	 */
+	public static List<MealDtoIn> generate(int pHowMany, Random pRandom) {
 		var rawList = TestFileReader.readMeals();
 		final var listSize = rawList.size();
 		if (pHowMany > listSize) {
-			MealGenerator.LOG.atWarn().log("Not enough meals in the file, will only generate {} meals", listSize);
-			pHowMany = listSize;
+			MealGenerator.LOG.atWarn().log("Not enough meals in the file ({}), they will be used more than once",
+					listSize);
 		}
 
-		var random = new Random();
 		List<MealDtoIn> result = new ArrayList<>(pHowMany);
 		for (var i = 0; i < pHowMany; i++) {
 			MealGenerator.LOG.atDebug().log("Creating meal {}/{}", i, pHowMany);
 			var meal = new MealDtoIn();
-			var rawLine = rawList.get(i);
+			var rawLine = rawList.get(i % listSize);
 			var splitedLine = rawLine.split("\t");
 			if (splitedLine.length != 4) {
-				MealGenerator.LOG.error("Error on line {} size found is [{}] {}", i, splitedLine.length, rawLine);
+				MealGenerator.LOG.error("Error on line {} size found is [{}] {}", i % listSize, splitedLine.length,
+						rawLine);
 				continue;
 			}
-			meal.setLabel(splitedLine[0]);
+			if (i < listSize) {
+				meal.setLabel(splitedLine[0]);
+			} else {
+				meal.setLabel(splitedLine[0] + " - " + (i / listSize + 1));
+			}
 			if (!"-".equals(splitedLine[1])) {
 				meal.setDescription(splitedLine[1]);
 			}
@@ -75,7 +94,7 @@ public final class MealGenerator {
 				meal.setImage(imgDto);
 			}
 
-			meal.setPriceDF(random.nextFloat() * 15F + 0.5F);
+			meal.setPriceDF(pRandom.nextFloat() * 15F + 0.5F);
 			result.add(meal);
 		}
 		return result;
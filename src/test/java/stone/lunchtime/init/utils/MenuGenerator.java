@@ -37,7 +37,19 @@ public final class MenuGenerator {
 	 * @return list of menus
 	 */
 	public static List<MenuDtoIn> generate(int pHowMany) {
-		var random = new Random();
+		return MenuGenerator.generate(pHowMany, new Random());
+	}
+
+	/**
+	 * Generates menus
+	 *
+	 * @param pHowMany number of elements to generate
+	 * @param pRandom  random generator, with a seed for the same menus on each
+	 *                 call
+	 * @return list of menus
+	 */
+	public static List<MenuDtoIn> generate(int pHowMany, Random pRandom) {
+		var random = pRandom;
 		List<MenuDtoIn> result = new ArrayList<>(pHowMany);
 		for (var i = 0; i < pHowMany; i++) {
 			MenuGenerator.LOG.atDebug().log("Creating menu {}/{}", i, pHowMany);
@@ -42,12 +42,25 @@ public final class UserGenerator {
 	 * @return a user list
 	 */
 	public static List<UserDtoIn> generate(int pHowMany, String pDefaultPwd) {
+		return UserGenerator.generate(pHowMany, pDefaultPwd, new Random());
+	}
+
+	/**
+	 * Generates users.
+	 *
+	 * @param pHowMany    how many user do you want
+	 * @param pDefaultPwd the default password to use. If null will generate one.
+	 * @param pRandom     random generator, with a seed for the same users on each
+	 *                    call
+	 * @return a user list
+	 */
+	public static List<UserDtoIn> generate(int pHowMany, String pDefaultPwd, Random pRandom) {
 		var names = TestFileReader.readNames();
 		var firstnamesForMen = TestFileReader.readManFirstname();
 		var firstnamesForWomen = TestFileReader.readWomanFirstname();
 		var addresses = TestFileReader.readAddresses();
 		var towns = TestFileReader.readTowns();
-		var random = new Random();
+		var random = pRandom;
 		List<UserDtoIn> result = new ArrayList<>(pHowMany);
 		for (var i = 0; i < pHowMany; i++) {
 			UserGenerator.LOG.atDebug().log("Creating user {}/{}", i, pHowMany);
@@ -6,19 +6,27 @@
 
 package stone.lunchtime.service.impl.jpa;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.DisabledException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.password.PasswordEncoder;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import stone.lunchtime.AbstractJpaTest;
 import stone.lunchtime.dto.out.UserDtoOut;
 import stone.lunchtime.init.AbstractInitDataBase;
 import stone.lunchtime.service.exception.EntityNotFoundException;
 import stone.lunchtime.service.exception.InconsistentStatusException;
 import stone.lunchtime.service.exception.ParameterException;
+import stone.lunchtime.service.exception.TooManyLoginsException;
+import stone.lunchtime.service.impl.PasswordVerifier;
 
 /**
  * Tests for authentication service.
@@ -209,4 +217,99 @@ class AuthenticationServiceTest extends AbstractJpaTest {
 		Assertions.assertThrows(InconsistentStatusException.class,
 				() -> this.authenticationService.forgotPassword(AbstractInitDataBase.USER_EXISTING_EMAIL));
 	}
+
+	/**
+	 * Test
+	 *
+	 * @throws Exception if an error occurred
+	 */
+	@Test
+	void testPasswordVerifier01() throws Exception {
+		var registry = new SimpleMeterRegistry();
+		var release = new CountDownLatch(1);
+		PasswordEncoder slowEncoder = new SlowPasswordEncoder(release);
+		// One thread, one place in the queue
+		var verifier = new PasswordVerifier(slowEncoder, registry, 1, 1, 10000);
+		try {
+			var first = CompletableFuture.supplyAsync(() -> Boolean.valueOf(verifier.matches("a", "a")));
+			var second = CompletableFuture.supplyAsync(() -> Boolean.valueOf(verifier.matches("b", "b")));
+			var end = System.currentTimeMillis() + 5000;
+			while (registry.get("login.queue.size").gauge().value() < 1 && System.currentTimeMillis() < end) {
+				Thread.sleep(10);
+			}
+			Assertions.assertThrows(TooManyLoginsException.class, () -> verifier.matches("c", "c"),
+					"Login must be refused when queue is full");
+			Assertions.assertEquals(1D, registry.get("login.rejected").counter().count(), "Refused login is counted");
+			release.countDown();
+			Assertions.assertTrue(first.get(5, TimeUnit.SECONDS).booleanValue(), "First login must be checked");
+			Assertions.assertTrue(second.get(5, TimeUnit.SECONDS).booleanValue(), "Second login must be checked");
+			Assertions.assertEquals(2L, registry.get("login.hash").timer().count(), "Checks are timed");
+		} finally {
+			release.countDown();
+			verifier.destroy();
+		}
+	}
+
+	/**
+	 * Test
+	 *
+	 * @throws Exception if an error occurred
+	 */
+	@Test
+	void testPasswordVerifier02() throws Exception {
+		var registry = new SimpleMeterRegistry();
+		var release = new CountDownLatch(1);
+		// One thread, checks wait 50 ms at most for it
+		var verifier = new PasswordVerifier(new SlowPasswordEncoder(release), registry, 1, 2, 50);
+		try {
+			var first = CompletableFuture.supplyAsync(() -> Boolean.valueOf(verifier.matches("a", "a")));
+			var end = System.currentTimeMillis() + 5000;
+			while (registry.get("login.active").gauge().value() < 1 && System.currentTimeMillis() < end) {
+				Thread.sleep(10);
+			}
+			Assertions.assertThrows(TooManyLoginsException.class, () -> verifier.matches("b", "b"),
+					"Login must be refused when it waits too long for a thread");
+			Assertions.assertEquals(0D, registry.get("login.queue.size").gauge().value(),
+					"Refused login must leave the queue");
+			Thread.sleep(100);
+			Assertions.assertFalse(first.isDone(), "Started check must not time out");
+			release.countDown();
+			Assertions.assertTrue(first.get(5, TimeUnit.SECONDS).booleanValue(), "Started check must end");
+			Assertions.assertEquals(1L, registry.get("login.hash").timer().count(), "Refused login is not checked");
+		} finally {
+			release.countDown();
+			verifier.destroy();
+		}
+	}
+
+	/**
+	 * Encoder that waits before checking a password.
+	 */
+	private static final class SlowPasswordEncoder implements PasswordEncoder {
+		private final CountDownLatch release;
+
+		/**
+		 * Constructor.
+		 *
+		 * @param pRelease checks wait for this latch
+		 */
+		SlowPasswordEncoder(CountDownLatch pRelease) {
+			this.release = pRelease;
+		}
+
+		@Override
+		public String encode(CharSequence pRawPassword) {
+			return pRawPassword.toString();
+		}
+
+		@Override
+		public boolean matches(CharSequence pRawPassword, String pEncodedPassword) {
+			try {
+				this.release.await(10, TimeUnit.SECONDS);
+			} catch (InterruptedException exc) {
+				Thread.currentThread().interrupt();
+			}
+			return pRawPassword.toString().equals(pEncodedPassword);
+		}
+	}
 }
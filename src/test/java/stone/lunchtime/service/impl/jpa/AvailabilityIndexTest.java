@@ -0,0 +1,99 @@
+// -#--------------------------------------
+// -# ©Copyright Ferret Renaud 2019 -
+// -# Email: admin@ferretrenaud.fr -
+// -# All Rights Reserved. -
+// -#--------------------------------------
+
+package stone.lunchtime.service.impl.jpa;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import stone.lunchtime.AbstractJpaTest;
+import stone.lunchtime.dto.AvailableForWeeksAndDays;
+import stone.lunchtime.dto.jpa.handler.MealDtoHandler;
+import stone.lunchtime.entity.jpa.MealEntity;
+
+/**
+ * Availability index test class.
+ */
+class AvailabilityIndexTest extends AbstractJpaTest {
+
+	@Autowired
+	private AvailabilityIndex availabilityIndex;
+
+	/**
+	 * Test
+	 *
+	 * @throws Exception if an error occurred
+	 */
+	@Test
+	void testIsAvailable01() throws Exception {
+		// Meal 1 has no availability, means always available
+		var meal = this.mealService.findEntity(Integer.valueOf(1));
+		Assertions.assertNull(meal.getAvailableForWeeksAndDays(), "Meal 1 should be available every time");
+		for (var week = 1; week <= AvailabilityIndex.WEEKS; week++) {
+			for (var day = 1; day <= AvailabilityIndex.DAYS; day++) {
+				Assertions.assertTrue(this.availabilityIndex.isAvailable(meal, week, day),
+						"Meal 1 should be available every time");
+			}
+		}
+	}
+
+	/**
+	 * Test
+	 *
+	 * @throws Exception if an error occurred
+	 */
+	@Test
+	void testIsAvailable02() throws Exception {
+		// Meal 6 is available for all week 47 and only for day 7 of week 42
+		var meal = this.mealService.findEntity(Integer.valueOf(6));
+		Assertions.assertTrue(this.availabilityIndex.isAvailable(meal, 47, 3), "Meal 6 is available week 47");
+		Assertions.assertTrue(this.availabilityIndex.isAvailableAllWeek(meal, 47), "Meal 6 is available week 47");
+		Assertions.assertTrue(this.availabilityIndex.isAvailable(meal, 42, 7), "Meal 6 is available week 42 day 7");
+		Assertions.assertFalse(this.availabilityIndex.isAvailable(meal, 42, 1),
+				"Meal 6 is not available week 42 day 1");
+		Assertions.assertFalse(this.availabilityIndex.isAvailableAllWeek(meal, 42),
+				"Meal 6 is not available all week 42");
+		Assertions.assertFalse(this.availabilityIndex.isAvailable(meal, 1, 1), "Meal 6 is not available week 1");
+	}
+
+	/**
+	 * Test
+	 *
+	 * @throws Exception if an error occurred
+	 */
+	@Test
+	void testIsAvailable03() throws Exception {
+		// Index must follow the entity when it is updated
+		final var mealId = Integer.valueOf(6);
+		var dtoIn = MealDtoHandler.dtoInfromEntity(this.mealService.findEntity(mealId));
+		var aad = new AvailableForWeeksAndDays();
+		aad.add(Integer.valueOf(2), Integer.valueOf(4));
+		dtoIn.setAvailableForWeeksAndDays(aad);
+		this.mealService.update(mealId, dtoIn);
+
+		var meal = this.mealService.findEntity(mealId);
+		Assertions.assertTrue(this.availabilityIndex.isAvailable(meal, 2, 4), "Meal 6 is now available week 2 day 4");
+		Assertions.assertFalse(this.availabilityIndex.isAvailable(meal, 47, 3), "Meal 6 is no more available week 47");
+	}
+
+	/**
+	 * Test
+	 */
+	@Test
+	void testIsAvailable04() {
+		// An entity changed outside of the services is compiled again
+		var meal = new MealEntity();
+		meal.setId(Integer.valueOf(1000000));
+		meal.setAvailableForWeeksAndDays("{\"values\":[{\"week\":10,\"day\":2}]}");
+		Assertions.assertTrue(this.availabilityIndex.isAvailable(meal, 10, 2), "Should be available week 10 day 2");
+		meal.setAvailableForWeeksAndDays("{\"values\":[{\"week\":11,\"day\":2}]}");
+		Assertions.assertFalse(this.availabilityIndex.isAvailable(meal, 10, 2),
+				"Should no more be available week 10 day 2");
+		Assertions.assertTrue(this.availabilityIndex.isAvailable(meal, 11, 2), "Should be available week 11 day 2");
+		this.availabilityIndex.remove(meal);
+	}
+}
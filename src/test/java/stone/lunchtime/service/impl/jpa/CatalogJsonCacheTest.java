@@ -0,0 +1,128 @@
+// -#--------------------------------------
+// -# ©Copyright Ferret Renaud 2019 -
+// -# Email: admin@ferretrenaud.fr -
+// -# All Rights Reserved. -
+// -#--------------------------------------
+
+package stone.lunchtime.service.impl.jpa;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import stone.lunchtime.AbstractJpaTest;
+import stone.lunchtime.dto.in.IngredientDtoIn;
+import stone.lunchtime.dto.in.MealDtoIn;
+
+/**
+ * Catalog json cache test class.
+ */
+class CatalogJsonCacheTest extends AbstractJpaTest {
+	@Autowired
+	private ObjectMapper mapper;
+
+	/**
+	 * Test
+	 *
+	 * @throws Exception if an error occurred
+	 */
+	@Test
+	void testMeals01() throws Exception {
+		var dtos = this.mealService.findAll();
+		var result = this.mealService.findAllAsJson();
+		Assertions.assertEquals(dtos.size(), result.size(), "Result must have the same size");
+		for (var i = 0; i < dtos.size(); i++) {
+			Assertions.assertEquals(this.mapper.writeValueAsString(dtos.get(i)),
+					new String(result.get(i), StandardCharsets.UTF_8), "Json must be the one of the DTO");
+		}
+	}
+
+	/**
+	 * Test
+	 */
+	@Test
+	void testMeals02() {
+		var first = this.mealService.findAllAsJson();
+		var second = this.mealService.findAllAsJson();
+		Assertions.assertFalse(first.isEmpty(), "Result must not be empty");
+		for (var i = 0; i < first.size(); i++) {
+			Assertions.assertSame(first.get(i), second.get(i), "Json must be kept");
+		}
+	}
+
+	/**
+	 * Test
+	 *
+	 * @throws Exception if an error occurred
+	 */
+	@Test
+	void testMealChanged01() throws Exception {
+		final var mealId = Integer.valueOf(1);
+		var meals = this.mealService.findAllAsJson();
+		var menus = this.menuService.findAllAsJson();
+		var dto = new MealDtoIn();
+		dto.setLabel("New Test Meal");
+		dto.setPriceDF(2F);
+		this.mealService.update(mealId, dto);
+
+		var result = this.mealService.findAllAsJson();
+		var ids = super.transformInIdsList(this.mealService.findAll());
+		for (var i = 0; i < result.size(); i++) {
+			if (mealId.equals(ids.get(i))) {
+				Assertions.assertEquals("New Test Meal", this.mapper.readTree(result.get(i)).get("label").asText(),
+						"Json must have the new label");
+			} else {
+				Assertions.assertSame(meals.get(i), result.get(i), "Json of other meals must be kept");
+			}
+		}
+		var resultMenus = this.menuService.findAllAsJson();
+		for (var i = 0; i < resultMenus.size(); i++) {
+			Assertions.assertNotSame(menus.get(i), resultMenus.get(i), "Json of menus must be built again");
+		}
+	}
+
+	/**
+	 * Test
+	 *
+	 * @throws Exception if an error occurred
+	 */
+	@Test
+	void testIngredientChanged01() throws Exception {
+		var ingredients = this.ingredientService.findAllAsJson();
+		var meals = this.mealService.findAllAsJson();
+		var dto = new IngredientDtoIn();
+		dto.setLabel("a new label");
+		this.ingredientService.update(Integer.valueOf(1), dto);
+
+		var result = this.ingredientService.findAllAsJson();
+		Assertions.assertEquals(ingredients.size(), result.size(), "Result must have the same size");
+		var resultMeals = this.mealService.findAllAsJson();
+		for (var i = 0; i < resultMeals.size(); i++) {
+			Assertions.assertNotSame(meals.get(i), resultMeals.get(i), "Json of meals must be built again");
+		}
+		Assertions.assertEquals(this.mapper.writeValueAsString(this.ingredientService.findAll()), this.concat(result),
+				"Json must be the one of the DTOs");
+	}
+
+	/**
+	 * Writes a list like the controllers do.
+	 *
+	 * @param pElements json of some elements
+	 * @return the json of the list
+	 */
+	private String concat(List<byte[]> pElements) {
+		var result = new StringBuilder("[");
+		for (var i = 0; i < pElements.size(); i++) {
+			if (i > 0) {
+				result.append(',');
+			}
+			result.append(new String(pElements.get(i), StandardCharsets.UTF_8));
+		}
+		return result.append(']').toString();
+	}
+}
@@ -8,9 +8,15 @@ package stone.lunchtime.service.impl.jpa;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import stone.lunchtime.AbstractJpaTest;
+import stone.lunchtime.dao.jpa.IJpaDao;
 import stone.lunchtime.dto.in.ConstraintDtoIn;
+import stone.lunchtime.entity.jpa.ConstraintEntity;
 import stone.lunchtime.service.exception.EntityNotFoundException;
 import stone.lunchtime.service.exception.ParameterException;
 
@@ -18,6 +24,11 @@ import stone.lunchtime.service.exception.ParameterException;
  * Constraint service test class.
  */
 class ConstraintServiceTest extends AbstractJpaTest {
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
 
 	/**
 	 * Test
@@ -124,4 +135,46 @@ class ConstraintServiceTest extends AbstractJpaTest {
 				"Result must have the correct number of MaximumOrderPerDay");
 
 	}
+
+	/**
+	 * Test
+	 *
+	 * @throws Exception if an error occurred
+	 */
+	@Test
+	void testCache01() throws Exception {
+		final var cId = Integer.valueOf(1);
+		this.constraintService.find(cId);
+		this.entityManager.clear();
+		var hits = this.cacheHits(ConstraintEntity.CACHE_REGION);
+		var result = this.constraintService.find(cId);
+		Assertions.assertNotNull(result, "Result must exist");
+		Assertions.assertTrue(this.cacheHits(ConstraintEntity.CACHE_REGION) > hits,
+				"Constraint must be read from the second level cache");
+	}
+
+	/**
+	 * Test
+	 */
+	@Test
+	void testCache02() {
+		var size = this.constraintService.findAll().size();
+		this.entityManager.clear();
+		var hits = this.cacheHits(IJpaDao.CATALOG_QUERY_REGION);
+		var result = this.constraintService.findAll();
+		Assertions.assertEquals(size, result.size(), "Result must have the same size");
+		Assertions.assertTrue(this.cacheHits(IJpaDao.CATALOG_QUERY_REGION) > hits,
+				"Constraints must be read from the query cache");
+	}
+
+	/**
+	 * Gets the number of hits on a cache region.
+	 *
+	 * @param pRegion a region
+	 * @return the number of hits
+	 */
+	private double cacheHits(String pRegion) {
+		return this.meterRegistry.get("cache.gets").tag("cache", pRegion).tag("result", "hit").functionCounter()
+				.count();
+	}
 }
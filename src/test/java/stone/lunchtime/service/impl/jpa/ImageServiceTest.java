@@ -0,0 +1,275 @@
+// -#--------------------------------------
+// -# ©Copyright Ferret Renaud 2019 -
+// -# Email: admin@ferretrenaud.fr -
+// -# All Rights Reserved. -
+// -#--------------------------------------
+
+package stone.lunchtime.service.impl.jpa;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Map;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import stone.lunchtime.AbstractJpaTest;
+import stone.lunchtime.entity.ImageSize;
+import stone.lunchtime.entity.jpa.ImageEntity;
+import stone.lunchtime.service.IImageStorage;
+import stone.lunchtime.service.impl.FileImageStorage;
+
+/**
+ * Image service test class, with images stored on disk.
+ */
+class ImageServiceTest extends AbstractJpaTest {
+	private static final String PNG = "iVBORw0KGgoAAAANSUhEUgAAAAEAAAABCAYAAAAfFcSJAAAADUlEQVR42mNk+M9QDwADhgGAWjR9awAAAABJRU5ErkJggg==";
+
+	@TempDir
+	private Path directory;
+
+	@Autowired
+	private ObjectMapper mapper;
+
+	@Autowired
+	private CatalogVersion catalogVersion;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private IImageStorage storage;
+
+	private ImageService fileImageService;
+
+	private ImageStorageSweeper sweeper;
+
+	/**
+	 * Builds an image service using a directory.
+	 */
+	@BeforeEach
+	void setUp() {
+		this.storage = new FileImageStorage(this.directory.toString());
+		var beanFactory = new StaticListableBeanFactory(Map.of("imageStorage", this.storage));
+		var variantService = new ImageVariantService(super.imageVariantDao, super.imageDao,
+				beanFactory.getBeanProvider(IImageStorage.class), this.transactionManager, 1, 10);
+		this.fileImageService = new ImageService(this.mapper, super.imageDao, this.catalogVersion,
+				beanFactory.getBeanProvider(IImageStorage.class), variantService, 10);
+		this.sweeper = new ImageStorageSweeper(super.imageDao, super.imageVariantDao,
+				beanFactory.getBeanProvider(IImageStorage.class), 3600);
+	}
+
+	/**
+	 * Test
+	 *
+	 * @throws Exception if an error occurred
+	 */
+	@Test
+	void testSaveIfNotInDataBase01() throws Exception {
+		var first = this.fileImageService
+				.saveIfNotInDataBase(new ImageEntity("img/a.png", "data:image/png;base64," + ImageServiceTest.PNG, null));
+		var second = this.fileImageService
+				.saveIfNotInDataBase(new ImageEntity("img/b.png", "data:image/png;base64," + ImageServiceTest.PNG, null));
+
+		Assertions.assertNotEquals(first.getId(), second.getId(), "Images are two elements");
+		Assertions.assertNull(first.getImage64(), "Base 64 must not be kept in data base");
+		Assertions.assertEquals("image/png", first.getContentType(), "Type must be kept");
+		Assertions.assertEquals(first.getContentHash(), second.getContentHash(), "Same image, same hash");
+		Assertions.assertTrue(this.storage.exists(first.getContentHash()), "Image must be stored");
+		try (var files = Files.walk(this.directory)) {
+			Assertions.assertEquals(1, files.filter(Files::isRegularFile).count(), "Image must be stored once");
+		}
+	}
+
+	/**
+	 * Test
+	 *
+	 * @throws Exception if an error occurred
+	 */
+	@Test
+	void testFindContent01() throws Exception {
+		var image64 = "data:image/png;base64," + ImageServiceTest.PNG;
+		var entity = this.fileImageService.saveIfNotInDataBase(new ImageEntity("img/a.png", image64, null));
+
+		var content = this.fileImageService.findContent(entity.getId());
+		var bytes = new byte[content.bytes().remaining()];
+		content.bytes().duplicate().get(bytes);
+		Assertions.assertArrayEquals(Base64.getDecoder().decode(ImageServiceTest.PNG), bytes,
+				"Content must be the decoded image");
+		Assertions.assertEquals("image/png", content.contentType(), "Type must be kept");
+		Assertions.assertEquals("\"" + entity.getContentHash() + "\"", content.eTag(), "ETag is the hash");
+
+		var dto = this.fileImageService.find(entity.getId());
+		Assertions.assertEquals(image64, dto.getImage64(), "Base 64 must be built again from the file");
+	}
+
+	/**
+	 * Test
+	 *
+	 * @throws Exception if an error occurred
+	 */
+	@Test
+	void testMoveToStorage01() throws Exception {
+		var migration = new ImageStorageMigration(this.fileImageService, 10);
+		var batches = migration.migrate();
+
+		Assertions.assertTrue(batches > 0, "Images from data base must have been moved");
+		Assertions.assertTrue(super.imageDao
+				.findByIdGreaterThanAndContentHashIsNullAndImage64IsNotNullOrderByIdAsc(Integer.valueOf(0), Limit.of(1))
+				.isEmpty(), "No image must be left in base 64");
+		for (ImageEntity image : super.imageDao.findAll()) {
+			Assertions.assertNotNull(image.getContentHash(), "Image must have a hash");
+			Assertions.assertTrue(this.storage.exists(image.getContentHash()), "Image must be stored");
+		}
+		Assertions.assertEquals(0, migration.migrate(), "Nothing more to move");
+	}
+
+	/**
+	 * Test
+	 *
+	 * @throws Exception if an error occurred
+	 */
+	@Test
+	void testFindContent02() throws Exception {
+		// Image kept in data base
+		var entity = super.imageService
+				.saveIfNotInDataBase(new ImageEntity("img/a.png", "data:image/png;base64," + ImageServiceTest.PNG, null));
+		Assertions.assertNull(entity.getContentHash(), "Image must be kept in data base by default");
+
+		var content = super.imageService.findContent(entity.getId());
+		Assertions.assertEquals(Base64.getDecoder().decode(ImageServiceTest.PNG).length, content.bytes().remaining(),
+				"Content must be the decoded image");
+		Assertions.assertSame(content, super.imageService.findContent(entity.getId()), "Content must be cached");
+	}
+
+	/**
+	 * Test
+	 *
+	 * @throws Exception if an error occurred
+	 */
+	@Test
+	void testFindContentSize01() throws Exception {
+		// Image kept in data base
+		var original = ImageServiceTest.png(200, 100);
+		var entity = super.imageService.saveIfNotInDataBase(new ImageEntity("img/a.png",
+				"data:image/png;base64," + Base64.getEncoder().encodeToString(original), null));
+
+		var thumbnail = super.imageService.findContent(entity.getId(), ImageSize.THUMBNAIL);
+		Assertions.assertEquals("image/png", thumbnail.contentType(), "Thumbnail must be a png");
+		var image = ImageServiceTest.read(thumbnail);
+		Assertions.assertEquals(64, image.getWidth(), "Thumbnail must be 64 pixels wide");
+		Assertions.assertEquals(32, image.getHeight(), "Thumbnail must keep the ratio");
+		Assertions.assertTrue(
+				super.imageVariantDao.findOneByImageIdAndSize(entity.getId(), ImageSize.THUMBNAIL).isPresent(),
+				"Thumbnail must be stored");
+
+		var medium = super.imageService.findContent(entity.getId(), ImageSize.MEDIUM);
+		Assertions.assertEquals(original.length, medium.bytes().remaining(), "Small image must be given as is");
+		Assertions.assertTrue(super.imageVariantDao.findOneByImageIdAndSize(entity.getId(), ImageSize.MEDIUM).isEmpty(),
+				"Small image must have no medium variant");
+
+		var dto = super.imageService.toDtoOut(entity, ImageSize.THUMBNAIL);
+		Assertions.assertTrue(dto.getImage64().startsWith("data:image/png;base64,"), "DTO must be a data URI");
+		Assertions.assertEquals(thumbnail.bytes().remaining(),
+				Base64.getDecoder().decode(dto.getImage64().substring("data:image/png;base64,".length())).length,
+				"DTO must have the thumbnail");
+	}
+
+	/**
+	 * Test
+	 *
+	 * @throws Exception if an error occurred
+	 */
+	@Test
+	void testFindContentSize02() throws Exception {
+		var entity = this.fileImageService.saveIfNotInDataBase(new ImageEntity("img/a.png",
+				"data:image/png;base64," + Base64.getEncoder().encodeToString(ImageServiceTest.png(300, 600)), null));
+
+		var medium = this.fileImageService.findContent(entity.getId(), ImageSize.MEDIUM);
+		var image = ImageServiceTest.read(medium);
+		Assertions.assertEquals(128, image.getWidth(), "Medium must keep the ratio");
+		Assertions.assertEquals(256, image.getHeight(), "Medium must be 256 pixels high");
+		var variant = super.imageVariantDao.findOneByImageIdAndSize(entity.getId(), ImageSize.MEDIUM).orElseThrow();
+		Assertions.assertNull(variant.getImage64(), "Variant must not be kept in data base");
+		Assertions.assertTrue(this.storage.exists(variant.getContentHash()), "Variant must be stored");
+		Assertions.assertEquals("\"" + variant.getContentHash() + "\"", medium.eTag(), "ETag is the hash");
+	}
+
+	/**
+	 * Test
+	 *
+	 * @throws Exception if an error occurred
+	 */
+	@Test
+	void testFindContentSize03() throws Exception {
+		var entity = super.imageService.saveIfNotInDataBase(new ImageEntity("img/a.png",
+				"data:image/png;base64," + Base64.getEncoder().encodeToString(ImageServiceTest.png(200, 200)), null));
+		super.imageService.findContent(entity.getId(), ImageSize.THUMBNAIL);
+		Assertions.assertEquals(1, super.imageVariantDao.findByImageId(entity.getId()).size(), "Thumbnail is made");
+
+		// New content, old variants must be removed
+		entity.setImage64("data:image/png;base64," + Base64.getEncoder().encodeToString(ImageServiceTest.png(100, 50)));
+		entity = super.imageService.saveIfNotInDataBase(entity);
+		Assertions.assertTrue(super.imageVariantDao.findByImageId(entity.getId()).isEmpty(), "Variants are removed");
+		var image = ImageServiceTest.read(super.imageService.findContent(entity.getId(), ImageSize.THUMBNAIL));
+		Assertions.assertEquals(32, image.getHeight(), "Thumbnail must be made from the new content");
+
+		super.imageService.delete(entity.getId());
+		Assertions.assertTrue(super.imageVariantDao.findByImageId(entity.getId()).isEmpty(), "Variants are deleted");
+	}
+
+	/**
+	 * Test
+	 *
+	 * @throws Exception if an error occurred
+	 */
+	@Test
+	void testSweep01() throws Exception {
+		var entity = this.fileImageService.saveIfNotInDataBase(new ImageEntity("img/a.png",
+				"data:image/png;base64," + Base64.getEncoder().encodeToString(ImageServiceTest.png(20, 20)), null));
+		var oldKey = entity.getContentHash();
+		entity.setImage64("data:image/png;base64," + Base64.getEncoder().encodeToString(ImageServiceTest.png(10, 10)));
+		entity = this.fileImageService.saveIfNotInDataBase(entity);
+		Assertions.assertTrue(this.storage.exists(oldKey), "Old image is not deleted at once");
+
+		var start = Instant.now().plusSeconds(1);
+		Assertions.assertEquals(0, this.sweeper.sweep(Instant.now().minusSeconds(60)),
+				"Images saved during the grace are kept");
+		Assertions.assertEquals(1, this.sweeper.sweep(start), "Unused image must be deleted");
+		Assertions.assertFalse(this.storage.exists(oldKey), "Unused image must be deleted");
+		Assertions.assertTrue(this.storage.exists(entity.getContentHash()), "Used image must be kept");
+
+		// Saved again (by a transaction not committed) after the sweep checked it
+		var key = this.storage.save(ImageServiceTest.png(20, 20));
+		Assertions.assertFalse(this.storage.deleteIfSavedBefore(key, start.minusSeconds(30)),
+				"Image saved after the check must be kept");
+		Assertions.assertTrue(this.storage.exists(key), "Image saved after the check must be kept");
+	}
+
+	private static byte[] png(int pWidth, int pHeight) throws IOException {
+		var out = new ByteArrayOutputStream();
+		ImageIO.write(new BufferedImage(pWidth, pHeight, BufferedImage.TYPE_INT_ARGB), "png", out);
+		return out.toByteArray();
+	}
+
+	private static BufferedImage read(ImageService.Content pContent) throws IOException {
+		var bytes = new byte[pContent.bytes().remaining()];
+		pContent.bytes().duplicate().get(bytes);
+		return ImageIO.read(new ByteArrayInputStream(bytes));
+	}
+}
@@ -198,4 +198,34 @@ class IngredientServiceTest extends AbstractJpaTest {
 		Assertions.assertThrows(InconsistentStatusException.class, () -> this.ingredientService.updateImage(id, dtoIn));
 	}
 
+	/**
+	 * Test
+	 *
+	 * @throws Exception if an error occurred
+	 */
+	@Test
+	void testSearch01() throws Exception {
+		var result = this.ingredientService.search("boite THON", null);
+		Assertions.assertFalse(result.isEmpty(), "Result must exist");
+		Assertions.assertEquals(Integer.valueOf(2), result.get(0).getId(), "Boîte de thon au naturel is first");
+
+		// Lait is before Lait de coco
+		result = this.ingredientService.search("lait", Integer.valueOf(2));
+		Assertions.assertEquals(2, result.size(), "Max must be used");
+		Assertions.assertEquals(Integer.valueOf(7), result.get(0).getId(), "Lait is first");
+		Assertions.assertEquals(Integer.valueOf(8), result.get(1).getId(), "Lait de coco is second");
+	}
+
+	/**
+	 * Test
+	 */
+	@Test
+	void testSearch02() {
+		Assertions.assertThrows(ParameterException.class, () -> this.ingredientService.search(null, null));
+		Assertions.assertThrows(ParameterException.class,
+				() -> this.ingredientService.search("lait", Integer.valueOf(0)));
+		var tooMany = Integer.valueOf(AbstractServiceForLabeled.MAX_SEARCH_SIZE + 1);
+		Assertions.assertThrows(ParameterException.class, () -> this.ingredientService.search("lait", tooMany));
+	}
+
 }
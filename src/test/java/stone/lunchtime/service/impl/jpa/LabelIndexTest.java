@@ -0,0 +1,137 @@
+// -#--------------------------------------
+// -# ©Copyright Ferret Renaud 2019 -
+// -# Email: admin@ferretrenaud.fr -
+// -# All Rights Reserved. -
+// -#--------------------------------------
+
+package stone.lunchtime.service.impl.jpa;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import stone.lunchtime.entity.EntityStatus;
+import stone.lunchtime.entity.jpa.IngredientEntity;
+
+/**
+ * Label index test class.
+ */
+class LabelIndexTest {
+
+	/**
+	 * Builds an ingredient.
+	 *
+	 * @param pId          its id
+	 * @param pLabel       its label
+	 * @param pDescription its description
+	 * @return the ingredient
+	 */
+	private static IngredientEntity ingredient(int pId, String pLabel, String pDescription) {
+		var result = new IngredientEntity();
+		result.setId(Integer.valueOf(pId));
+		result.setLabel(pLabel);
+		result.setDescription(pDescription);
+		result.setStatus(EntityStatus.ENABLED);
+		return result;
+	}
+
+	/**
+	 * Builds an index.
+	 *
+	 * @return the index, filled
+	 */
+	private static LabelIndex index() {
+		var result = new LabelIndex("test");
+		result.load(List.of(LabelIndexTest.ingredient(1, "Boîte de thon au naturel", null),
+				LabelIndexTest.ingredient(2, "Lait de coco", "Pour les currys"),
+				LabelIndexTest.ingredient(3, "Lait", null),
+				LabelIndexTest.ingredient(4, "Crème fraîche", "Faite avec du lait entier"),
+				LabelIndexTest.ingredient(5, "Œufs", null)));
+		return result;
+	}
+
+	/**
+	 * Test
+	 */
+	@Test
+	void testFold01() {
+		Assertions.assertEquals("boite de thon", LabelIndex.fold("Boîte de THON"), "Accents and case are ignored");
+		Assertions.assertEquals("oeufs", LabelIndex.fold("Œufs"), "Œ is oe");
+		Assertions.assertEquals(List.of("creme", "fraiche", "l", "ete"), LabelIndex.words("Crème-fraîche, l'été"),
+				"Words are split");
+	}
+
+	/**
+	 * Test
+	 */
+	@Test
+	void testSearch01() {
+		var index = LabelIndexTest.index();
+		Assertions.assertEquals(List.of(Integer.valueOf(1)), index.search("boite", 10), "Without accent");
+		Assertions.assertEquals(List.of(Integer.valueOf(1)), index.search("THO nat", 10), "Beginning of words");
+		Assertions.assertEquals(List.of(Integer.valueOf(5)), index.search("oeu", 10), "Œ is oe");
+		Assertions.assertEquals(List.of(), index.search("thon coco", 10), "All words must be found");
+		Assertions.assertEquals(List.of(), index.search(" ", 10), "Nothing searched");
+	}
+
+	/**
+	 * Test
+	 */
+	@Test
+	void testSearch02() {
+		var index = LabelIndexTest.index();
+		// Label before description, shortest label first
+		Assertions.assertEquals(List.of(Integer.valueOf(3), Integer.valueOf(2), Integer.valueOf(4)),
+				index.search("lait", 10), "Ranking is wrong");
+		Assertions.assertEquals(List.of(Integer.valueOf(3)), index.search("lait", 1), "Max is not used");
+		Assertions.assertEquals(List.of(Integer.valueOf(2)), index.search("curry", 10), "Description is indexed");
+	}
+
+	/**
+	 * Test
+	 */
+	@Test
+	void testSearch03() {
+		// Words longer than the prefixes indexed
+		var index = new LabelIndex("test");
+		index.load(List.of(LabelIndexTest.ingredient(1, "Ratatouillerie", null),
+				LabelIndexTest.ingredient(2, "Ratatouillerait", null)));
+		Assertions.assertEquals(List.of(Integer.valueOf(1)), index.search("ratatouillerie", 10), "Word is checked");
+		Assertions.assertEquals(2, index.search("ratatouiller", 10).size(), "Both begin with it");
+	}
+
+	/**
+	 * Test
+	 */
+	@Test
+	void testChanged01() {
+		var index = LabelIndexTest.index();
+		var ingredient = LabelIndexTest.ingredient(1, "Boîte de sardines", null);
+		index.changed(ingredient);
+		Assertions.assertEquals(List.of(), index.search("thon", 10), "Old label is removed");
+		Assertions.assertEquals(List.of(Integer.valueOf(1)), index.search("sardine", 10), "New label is indexed");
+
+		ingredient.setStatus(EntityStatus.DELETED);
+		index.changed(ingredient);
+		Assertions.assertEquals(List.of(), index.search("sardine", 10), "Deleted element is removed");
+
+		index.changed(LabelIndexTest.ingredient(6, "Thon", null));
+		Assertions.assertEquals(List.of(Integer.valueOf(6)), index.search("thon", 10), "Added element is indexed");
+	}
+
+	/**
+	 * Test
+	 */
+	@Test
+	void testChanged02() {
+		// A change made before the index is filled is kept
+		var index = new LabelIndex("test");
+		var ingredient = LabelIndexTest.ingredient(1, "Boîte de thon", null);
+		ingredient.setStatus(EntityStatus.DELETED);
+		index.changed(ingredient);
+		index.load(List.of(LabelIndexTest.ingredient(1, "Boîte de thon", null)));
+		Assertions.assertTrue(index.isLoaded(), "Index is filled");
+		Assertions.assertEquals(List.of(), index.search("thon", 10), "Deleted element is not indexed");
+	}
+}
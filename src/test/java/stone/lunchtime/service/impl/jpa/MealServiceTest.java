@@ -6,11 +6,22 @@
 
 package stone.lunchtime.service.impl.jpa;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
 
 import com.fasterxml.jackson.core.JacksonException;
 
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import stone.lunchtime.AbstractJpaTest;
 import stone.lunchtime.dto.AvailableForWeeksAndDays;
 import stone.lunchtime.dto.in.MealDtoIn;
@@ -24,6 +35,9 @@ import stone.lunchtime.service.exception.ParameterException;
  */
 class MealServiceTest extends AbstractJpaTest {
 
+	@PersistenceContext
+	private EntityManager entityManager;
+
 	/**
 	 * Test
 	 *
@@ -100,6 +114,35 @@ class MealServiceTest extends AbstractJpaTest {
 
 	}
 
+	/**
+	 * Test
+	 *
+	 * @throws Exception if an error occurred
+	 */
+	@Test
+	void testFindAllAvailableForWeek09() throws Exception {
+		// Meal 6 is moved from week 47 to week 2 day 4
+		final var mealId = Integer.valueOf(6);
+		var dto = new MealDtoIn();
+		dto.setLabel("Croque-monsieur");
+		dto.setPriceDF(2F);
+		var aad = new AvailableForWeeksAndDays();
+		aad.add(Integer.valueOf(2), Integer.valueOf(4));
+		dto.setAvailableForWeeksAndDays(aad);
+		this.mealService.update(mealId, dto);
+
+		var result = this.mealService.findAllAvailableForWeekAndDayAndCategory(Integer.valueOf(2), Integer.valueOf(4),
+				null);
+		Assertions.assertTrue(result.stream().anyMatch(m -> mealId.equals(m.getId())),
+				"Meal 6 must be available week 2 day 4");
+		result = this.mealService.findAllAvailableForWeekAndCategory(Integer.valueOf(2), null);
+		Assertions.assertTrue(result.stream().noneMatch(m -> mealId.equals(m.getId())),
+				"Meal 6 must not be available all week 2");
+		result = this.mealService.findAllAvailableForWeekAndCategory(Integer.valueOf(47), null);
+		Assertions.assertTrue(result.stream().noneMatch(m -> mealId.equals(m.getId())),
+				"Meal 6 must no more be available week 47");
+	}
+
 	/**
 	 * Test
 	 */
@@ -354,4 +397,61 @@ class MealServiceTest extends AbstractJpaTest {
 		Assertions.assertThrows(ParameterException.class, () -> this.mealService.find(id));
 	}
 
+	/**
+	 * Test
+	 */
+	@Test
+	void testFindAllNoLob01() {
+		var sqls = this.captureSql(() -> {
+			var result = this.mealService.findAll();
+			Assertions.assertFalse(result.isEmpty(), "Result must not be empty");
+		});
+		Assertions.assertFalse(sqls.isEmpty(), "Queries must have been captured");
+		sqls.forEach(sql -> Assertions.assertFalse(sql.contains("image_64"), () -> "No LOB must be read: " + sql));
+	}
+
+	/**
+	 * Test
+	 */
+	@Test
+	void testFindAllNoLob02() {
+		var sqls = this.captureSql(() -> {
+			var meal = this.mealDao.findById(Integer.valueOf(1)).orElseThrow();
+			Assertions.assertNotNull(meal.getImage().getImagePath(), "Image path must be loaded");
+		});
+		sqls.forEach(sql -> Assertions.assertFalse(sql.contains("image_64"), () -> "No LOB must be read: " + sql));
+
+		sqls = this.captureSql(() -> {
+			var meal = this.mealDao.findById(Integer.valueOf(1)).orElseThrow();
+			Assertions.assertNotNull(meal.getImage().getImage64(), "Image must be loaded on access");
+		});
+		Assertions.assertTrue(sqls.stream().anyMatch(sql -> sql.contains("image_64")), "LOB must be read on access");
+	}
+
+	/**
+	 * Runs an action on empty caches and returns the SQL sent to the database.
+	 *
+	 * @param pAction what to run
+	 * @return the SQL queries
+	 */
+	private List<String> captureSql(Runnable pAction) {
+		this.entityManager.flush();
+		this.entityManager.clear();
+		this.entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getCache().evictAllRegions();
+		var logger = (Logger) LoggerFactory.getLogger("org.hibernate.SQL");
+		var level = logger.getLevel();
+		var appender = new ListAppender<ILoggingEvent>();
+		appender.start();
+		logger.addAppender(appender);
+		logger.setLevel(Level.DEBUG);
+		try {
+			pAction.run();
+		} finally {
+			logger.setLevel(level);
+			logger.detachAppender(appender);
+		}
+		var result = new ArrayList<String>();
+		appender.list.forEach(e -> result.add(e.getFormattedMessage()));
+		return result;
+	}
 }
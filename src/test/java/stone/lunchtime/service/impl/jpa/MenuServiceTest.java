@@ -75,6 +75,34 @@ class MenuServiceTest extends AbstractJpaTest {
 
 	}
 
+	/**
+	 * Test
+	 */
+	@Test
+	void testFindAllAvailableForWeek07() {
+		var dto = new MenuDtoIn();
+		dto.setLabel("Test Menu");
+		dto.setPriceDF(2F);
+		var aad = new AvailableForWeeksAndDays();
+		aad.add(Integer.valueOf(3), null);
+		aad.add(Integer.valueOf(4), Integer.valueOf(2));
+		dto.setAvailableForWeeksAndDays(aad);
+		final var menuId = this.menuService.add(dto).getId();
+
+		var result = this.menuService.findAllAvailableForWeek(Integer.valueOf(3));
+		Assertions.assertTrue(result.stream().anyMatch(m -> menuId.equals(m.getId())),
+				"Menu must be available all week 3");
+		result = this.menuService.findAllAvailableForWeekAndDay(Integer.valueOf(3), Integer.valueOf(5));
+		Assertions.assertTrue(result.stream().anyMatch(m -> menuId.equals(m.getId())),
+				"Menu must be available week 3 day 5");
+		result = this.menuService.findAllAvailableForWeekAndDay(Integer.valueOf(4), Integer.valueOf(2));
+		Assertions.assertTrue(result.stream().anyMatch(m -> menuId.equals(m.getId())),
+				"Menu must be available week 4 day 2");
+		result = this.menuService.findAllAvailableForWeekAndDay(Integer.valueOf(4), Integer.valueOf(3));
+		Assertions.assertTrue(result.stream().noneMatch(m -> menuId.equals(m.getId())),
+				"Menu must not be available week 4 day 3");
+	}
+
 	/**
 	 * Test
 	 */
@@ -11,25 +11,39 @@ import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.stream.Collectors;
 
+import org.hibernate.SessionFactory;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.ScrollPosition;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import stone.lunchtime.AbstractJpaTest;
 import stone.lunchtime.dto.in.OrderDtoIn;
 import stone.lunchtime.dto.in.QuantityDtoIn;
 import stone.lunchtime.dto.jpa.handler.OrderDtoHandler;
 import stone.lunchtime.dto.jpa.handler.QuantityDtoHandler;
 import stone.lunchtime.dto.out.MealDtoOut;
+import stone.lunchtime.dto.out.MenuDtoOut;
 import stone.lunchtime.dto.out.OrderDtoOut;
 import stone.lunchtime.dto.out.PriceDtoOut;
+import stone.lunchtime.dto.out.ProductionLineDtoOut;
 import stone.lunchtime.dto.out.QuantityDtoOut;
 import stone.lunchtime.entity.OrderStatus;
+import stone.lunchtime.service.IOrderService;
+import stone.lunchtime.service.exception.EntityNotFoundException;
 import stone.lunchtime.service.exception.LackOfMoneyException;
 import stone.lunchtime.service.exception.OrderCanceledException;
 import stone.lunchtime.service.exception.OrderDelivredException;
 import stone.lunchtime.service.exception.ParameterException;
 import stone.lunchtime.service.exception.TimeOutException;
+import stone.lunchtime.service.exception.TooManyOrdersException;
+import stone.lunchtime.spring.TimingAspect;
 
 /**
  * Test class for order service.
@@ -38,6 +52,18 @@ class OrderServiceTest extends AbstractJpaTest {
 
 	private final static int THIS_WEEK = OrderService.getCurrentWeekId();
 
+	@Autowired
+	private DailyOrderCounter dailyOrderCounter;
+
+	@Autowired
+	private ProductionPlanService productionPlan;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
 	/**
 	 * Test
 	 *
@@ -206,6 +232,221 @@ class OrderServiceTest extends AbstractJpaTest {
 		Assertions.assertThrows(TimeOutException.class, () -> this.orderService.order(dto));
 	}
 
+	/**
+	 * Test
+	 *
+	 * @throws Exception if an error occurred
+	 */
+	@Test
+	void testOrder07() throws Exception {
+		// Only one more order allowed today
+		var ce = super.constraintService.findEntity(Integer.valueOf(1));
+		ce.setOrderTimeLimit(LocalTime.MAX);
+		ce.setMaximumOrderPerDay(Integer.valueOf(this.dailyOrderCounter.get() + 1));
+		super.constraintDao.save(ce);
+
+		var result = this.createAnOrder(ce.getId());
+		Assertions.assertNotNull(result, "Result must exist");
+		Assertions.assertThrows(TooManyOrdersException.class, () -> this.createAnOrder(ce.getId()));
+		// Canceling gives the place back
+		this.orderService.cancel(result.getId());
+		Assertions.assertNotNull(this.createAnOrder(ce.getId()), "Result must exist");
+	}
+
+	/**
+	 * Test
+	 *
+	 * @throws Exception if an error occurred
+	 */
+	@Test
+	void testOrder08() throws Exception {
+		// No constraint, no maximum but orders are counted
+		var before = this.dailyOrderCounter.get();
+		this.createAnOrder(Integer.valueOf(-1));
+		Assertions.assertEquals(before + 1, this.dailyOrderCounter.get(), "Order must be counted");
+	}
+
+	/**
+	 * Test
+	 *
+	 * @throws Exception if an error occurred
+	 */
+	@Test
+	void testOrder09() throws Exception {
+		var result = this.createAnOrder(Integer.valueOf(-1));
+		var before = this.dailyOrderCounter.get();
+		// Deleting gives the place back, as canceling
+		this.orderService.delete(result.getId());
+		Assertions.assertEquals(before - 1, this.dailyOrderCounter.get(), "Deleted order must not be counted");
+	}
+
+	/**
+	 * Test
+	 *
+	 * @throws Exception if an error occurred
+	 */
+	@Test
+	void testOrderAll01() throws Exception {
+		var user = super.findASimpleUser();
+		var allMenus = this.menuService.findAllAvailableForWeek(OrderServiceTest.THIS_WEEK);
+		List<OrderDtoIn> dtos = new ArrayList<>();
+		for (var i = 0; i < 5; i++) {
+			var dto = new OrderDtoIn();
+			dto.setUserId(user.getId());
+			dto.setConstraintId(Integer.valueOf(-1));
+			dto.addMenu(Integer.valueOf(1), allMenus.get(i % allMenus.size()).getId());
+			dtos.add(dto);
+		}
+		// One with an unknown user and one with an unknown menu
+		var unknownUser = new OrderDtoIn();
+		unknownUser.setUserId(Integer.valueOf(100000));
+		unknownUser.setConstraintId(Integer.valueOf(-1));
+		unknownUser.addMenu(Integer.valueOf(1), allMenus.get(0).getId());
+		dtos.add(2, unknownUser);
+		var unknownMenu = new OrderDtoIn();
+		unknownMenu.setUserId(user.getId());
+		unknownMenu.setConstraintId(Integer.valueOf(-1));
+		unknownMenu.addMenu(Integer.valueOf(1), Integer.valueOf(100000));
+		dtos.add(unknownMenu);
+
+		var results = this.orderService.orderAll(dtos);
+		Assertions.assertNotNull(results, "Result must exist");
+		Assertions.assertEquals(dtos.size(), results.size(), "One result per order");
+		for (var i = 0; i < results.size(); i++) {
+			var result = results.get(i);
+			Assertions.assertEquals(Integer.valueOf(i), result.getIndex(), "Results must be in the same order");
+			if (i == 2 || i == dtos.size() - 1) {
+				Assertions.assertFalse(result.isOk(), "Order must have an error");
+				Assertions.assertNull(result.getOrder(), "Order must not be added");
+				Assertions.assertEquals(EntityNotFoundException.class.getSimpleName(), result.getError().getError(),
+						"Error must be the right one");
+			} else {
+				Assertions.assertTrue(result.isOk(), "Order must be added");
+				Assertions.assertNotNull(result.getOrder().getId(), "Order must have an id");
+				Assertions.assertTrue(result.getOrder().isCreated(), "Order must have the correct status");
+				Assertions.assertEquals(user.getId(), result.getOrder().getUser().getId(), "Order must have its user");
+			}
+		}
+	}
+
+	/**
+	 * Test
+	 */
+	@Test
+	void testOrderAll02() {
+		Assertions.assertThrows(ParameterException.class, () -> this.orderService.orderAll(null));
+	}
+
+	/**
+	 * Test
+	 *
+	 * @throws Exception if an error occurred
+	 */
+	@Test
+	void testFindAllBetweenDateInStatus01() throws Exception {
+		var meals = this.mealService.findAllAvailableForWeekAndCategory(OrderServiceTest.THIS_WEEK, null);
+		var menus = this.menuService.findAllAvailableForWeek(OrderServiceTest.THIS_WEEK);
+		var today = LocalDate.now();
+		// Each order has its own user, meal and menu when possible: an element
+		// already in the persistence context would hide a select per order
+		List<Integer> userIds = new ArrayList<>();
+		userIds.add(super.findASimpleUser().getId());
+		this.orderService.order(OrderServiceTest.orderOf(userIds.get(0), meals.get(0), menus.get(0)));
+		var few = this.countStatementsForListing(today);
+		for (var i = 1; i <= 20; i++) {
+			userIds.add(super.findASimpleUser(userIds.toArray(new Integer[0])).getId());
+			this.orderService.order(OrderServiceTest.orderOf(userIds.get(i), meals.get(i % meals.size()),
+					menus.get(i % menus.size())));
+		}
+		var many = this.countStatementsForListing(today);
+
+		Assertions.assertTrue(meals.size() > 1 && menus.size() > 1, "Orders must use many meals and menus");
+		Assertions.assertTrue(many[1] > few[1], "Second listing must have more orders");
+		Assertions.assertEquals(few[0], many[0], "Number of statements must not depend on the number of orders");
+	}
+
+	/**
+	 * Test
+	 *
+	 * @throws Exception if an error occurred
+	 */
+	@Test
+	void testFindAllBetweenDateInStatus02() throws Exception {
+		var meals = this.mealService.findAllAvailableForWeekAndCategory(OrderServiceTest.THIS_WEEK, null);
+		var menus = this.menuService.findAllAvailableForWeek(OrderServiceTest.THIS_WEEK);
+		var today = LocalDate.now();
+		var user = super.findASimpleUser();
+		var order = this.orderService.order(OrderServiceTest.orderOf(user.getId(), meals.get(0), menus.get(0)));
+
+		var all = this.countStatements(
+				() -> this.orderService.findAllBetweenDateInStatus(today, today, OrderStatus.CREATED, false));
+		Assertions.assertEquals(1L, all[0], "Orders must be read with one statement");
+		Assertions.assertEquals(all[1], all[2], "Only orders must be loaded, not their relations");
+
+		var one = this.countStatements(() -> List.of(this.orderService.find(order.getId(), false)));
+		Assertions.assertEquals(1L, one[0], "Order must be read with one statement");
+		Assertions.assertEquals(1L, one[2], "Only the order must be loaded, not its relations");
+
+		var forUser = this.countStatements(() -> this.orderService.findAllByUserId(user.getId(), false));
+		Assertions.assertEquals(1L, forUser[0], "Orders of a user must be read with one statement");
+		Assertions.assertEquals(forUser[1], forUser[2], "Only orders must be loaded, not their relations");
+	}
+
+	/**
+	 * Builds an order of one meal and one menu, without constraint.
+	 *
+	 * @param pUserId a user id
+	 * @param pMeal   a meal
+	 * @param pMenu   a menu
+	 * @return the order
+	 */
+	private static OrderDtoIn orderOf(Integer pUserId, MealDtoOut pMeal, MenuDtoOut pMenu) {
+		var dto = new OrderDtoIn();
+		dto.setUserId(pUserId);
+		dto.setConstraintId(Integer.valueOf(-1));
+		dto.addMeal(Integer.valueOf(1), pMeal.getId());
+		dto.addMenu(Integer.valueOf(1), pMenu.getId());
+		return dto;
+	}
+
+	/**
+	 * Lists the orders created at the given date, from an empty cache.
+	 *
+	 * @param pDate a date
+	 * @return the number of statements and the number of orders
+	 * @throws Exception if an error occurred
+	 */
+	private long[] countStatementsForListing(LocalDate pDate) throws Exception {
+		return this.countStatements(
+				() -> this.orderService.findAllBetweenDateInStatus(pDate, pDate, OrderStatus.CREATED));
+	}
+
+	/**
+	 * Reads orders, from an empty cache.
+	 *
+	 * @param pReader reads orders
+	 * @return the number of statements, the number of orders and the number of
+	 *         entities loaded
+	 * @throws Exception if an error occurred
+	 */
+	private long[] countStatements(Callable<List<OrderDtoOut>> pReader) throws Exception {
+		this.entityManager.flush();
+		this.entityManager.clear();
+		var sessionFactory = this.entityManager.getEntityManagerFactory().unwrap(SessionFactory.class);
+		sessionFactory.getCache().evictAllRegions();
+		var statistics = sessionFactory.getStatistics();
+		var enabled = statistics.isStatisticsEnabled();
+		statistics.setStatisticsEnabled(true);
+		try {
+			statistics.clear();
+			var result = pReader.call();
+			return new long[] { statistics.getPrepareStatementCount(), result.size(),
+					statistics.getEntityLoadCount() };
+		} finally {
+			statistics.setStatisticsEnabled(enabled);
+		}
+	}
+
 	private OrderDtoOut createAnOrder(Integer aConstraintId) throws Exception {
 		var user = super.findASimpleUser();
 		var allMenus = this.menuService.findAllAvailableForWeek(OrderServiceTest.THIS_WEEK);
@@ -707,4 +948,272 @@ class OrderServiceTest extends AbstractJpaTest {
 		Assertions.assertThrows(ParameterException.class,
 				() -> super.orderService.findAllBetweenDateForUserInStatus(userId, beginDate, endDate, status));
 	}
+
+	/**
+	 * Test
+	 */
+	@Test
+	void testFindPage01() {
+		var all = super.orderService.findAll().stream().map(OrderDtoOut::getId).collect(Collectors.toSet());
+		List<Integer> paged = new ArrayList<>();
+		ScrollPosition position = null;
+		OrderDtoOut previous = null;
+		var pages = 0;
+		while (true) {
+			var window = super.orderService.findPage(position, 7);
+			pages++;
+			Assertions.assertTrue(window.size() <= 7, "Page cannot be bigger than asked");
+			for (OrderDtoOut dto : window) {
+				if (previous != null) {
+					Assertions.assertFalse(dto.getCreationDate().isBefore(previous.getCreationDate()),
+							"Orders must be ordered by creation date");
+				}
+				previous = dto;
+				paged.add(dto.getId());
+			}
+			if (!window.hasNext()) {
+				break;
+			}
+			position = window.positionAt(window.size() - 1);
+		}
+		Assertions.assertTrue(pages > 1, "Must have more than one page");
+		Assertions.assertEquals(all.size(), paged.size(), "Pages must have all orders once");
+		Assertions.assertEquals(all, paged.stream().collect(Collectors.toSet()), "Pages must have all orders");
+	}
+
+	/**
+	 * Test
+	 */
+	@Test
+	void testFindPage02() {
+		Assertions.assertThrows(ParameterException.class, () -> super.orderService.findPage(null, 0));
+		Assertions.assertThrows(ParameterException.class,
+				() -> super.orderService.findPage(null, IOrderService.MAX_PAGE_SIZE + 1));
+	}
+
+	/**
+	 * Test
+	 */
+	@Test
+	void testFindPageByUserId01() {
+		var userId = super.findASimpleUser().getId();
+		var all = super.orderService.findAllByUserId(userId);
+		var window = super.orderService.findPageByUserId(userId, null, IOrderService.MAX_PAGE_SIZE);
+		Assertions.assertEquals(all.size(), window.size(), "Page must have all orders of the user");
+		for (OrderDtoOut dto : window) {
+			Assertions.assertEquals(userId, dto.getUser().getId(), "Order must be made by the user");
+		}
+	}
+
+	/**
+	 * Test
+	 */
+	@Test
+	void testFindPageBetweenDateInStatus01() {
+		final var begin = LocalDate.now().minusYears(20);
+		final var end = LocalDate.now();
+		var all = super.orderService.findAllBetweenDateInStatus(begin, end, OrderStatus.CREATED);
+		var first = super.orderService.findPageBetweenDateInStatus(begin, end, OrderStatus.CREATED, null, 5);
+		var second = super.orderService.findPageBetweenDateInStatus(begin, end, OrderStatus.CREATED,
+				first.positionAt(first.size() - 1), 5);
+		Assertions.assertEquals(5, first.size(), "First page must be full");
+		Assertions.assertTrue(first.hasNext(), "First page must have a next one");
+		Assertions.assertFalse(second.isEmpty(), "Second page must not be empty");
+		var allIds = all.stream().map(OrderDtoOut::getId).toList();
+		var firstIds = first.stream().map(OrderDtoOut::getId).toList();
+		Assertions.assertTrue(allIds.containsAll(firstIds), "Page must be in the list");
+		for (OrderDtoOut dto : second) {
+			Assertions.assertEquals(OrderStatus.CREATED, dto.getStatus(), "Order status is as searched");
+			Assertions.assertFalse(firstIds.contains(dto.getId()), "Pages must not overlap");
+		}
+		Assertions.assertThrows(ParameterException.class, () -> super.orderService
+				.findPageBetweenDateInStatus(end, begin, OrderStatus.CREATED, null, 5));
+	}
+
+	/**
+	 * Test
+	 */
+	@Test
+	void testStreamAllBetweenDateInStatus01() {
+		final var begin = LocalDate.now().minusYears(20);
+		final var end = LocalDate.now();
+		var all = super.orderService.findAllBetweenDateInStatus(begin, end, OrderStatus.CREATED);
+		List<OrderDtoOut> streamed = new ArrayList<>();
+		var count = super.orderService.streamAllBetweenDateInStatus(begin, end, OrderStatus.CREATED, streamed::add);
+		Assertions.assertEquals(all.size(), count, "Must read all orders");
+		var quantities = all.stream().collect(Collectors.toMap(OrderDtoOut::getId, o -> o.getQuantity().size()));
+		for (OrderDtoOut dto : streamed) {
+			Assertions.assertEquals(quantities.get(dto.getId()), Integer.valueOf(dto.getQuantity().size()),
+					"Quantities must be read");
+		}
+	}
+
+	/**
+	 * Test
+	 *
+	 * @throws Exception if an error occurred
+	 */
+	@Test
+	void testProductionPlan01() throws Exception {
+		var user = super.findASimpleUser();
+		var menu = this.menuService.findEntity(this.menuService.findAllAvailableForWeek(OrderServiceTest.THIS_WEEK)
+				.get(0).getId());
+		var meal = this.mealService.findAllAvailableForWeekAndCategory(OrderServiceTest.THIS_WEEK, null).get(0);
+		var before = this.productionPlan.find(null);
+		Assertions.assertNotNull(before.eTag(), "Today's plan must have an ETag");
+		Assertions.assertEquals(LocalDate.now(), before.value().getDate(), "Plan must be today's one");
+
+		var dto = new OrderDtoIn();
+		dto.setUserId(user.getId());
+		dto.setConstraintId(Integer.valueOf(-1));
+		List<QuantityDtoIn> qs = new ArrayList<>();
+		qs.add(new QuantityDtoIn(2, null, menu.getId()));
+		qs.add(new QuantityDtoIn(3, meal.getId(), null));
+		dto.setQuantity(qs);
+		var order = this.orderService.order(dto);
+
+		var after = this.productionPlan.find(LocalDate.now());
+		Assertions.assertNotEquals(before.eTag(), after.eTag(), "ETag must change");
+		Assertions.assertEquals(before.value().getOrderCount().intValue() + 1,
+				after.value().getOrderCount().intValue(), "Order must be counted");
+		Assertions.assertEquals(OrderServiceTest.quantity(before.value().getMenus(), menu.getId()) + 2,
+				OrderServiceTest.quantity(after.value().getMenus(), menu.getId()), "Menu must be counted");
+		for (var menuMeal : menu.getMeals()) {
+			Assertions.assertEquals(OrderServiceTest.inMenus(before.value().getMeals(), menuMeal.getId()) + 2,
+					OrderServiceTest.inMenus(after.value().getMeals(), menuMeal.getId()),
+					"Meals of the menu must be counted");
+		}
+		var mealInMenu = menu.getMeals().stream().filter(m -> m.getId().equals(meal.getId())).count();
+		Assertions.assertEquals(
+				OrderServiceTest.quantity(before.value().getMeals(), meal.getId()) + 3 + 2 * (int) mealInMenu,
+				OrderServiceTest.quantity(after.value().getMeals(), meal.getId()), "Meal must be counted");
+
+		this.orderService.cancel(order.getId());
+		var canceled = this.productionPlan.find(null);
+		Assertions.assertEquals(before.value().getOrderCount(), canceled.value().getOrderCount(),
+				"Canceled order must not be counted");
+		Assertions.assertEquals(OrderServiceTest.quantity(before.value().getMenus(), menu.getId()),
+				OrderServiceTest.quantity(canceled.value().getMenus(), menu.getId()),
+				"Canceled menu must not be counted");
+		Assertions.assertEquals(OrderServiceTest.quantity(before.value().getMeals(), meal.getId()),
+				OrderServiceTest.quantity(canceled.value().getMeals(), meal.getId()),
+				"Canceled meal must not be counted");
+	}
+
+	/**
+	 * Test
+	 *
+	 * @throws Exception if an error occurred
+	 */
+	@Test
+	void testProductionPlan02() throws Exception {
+		var user = super.findASimpleUser();
+		var meals = this.mealService.findAllAvailableForWeekAndCategory(OrderServiceTest.THIS_WEEK, null);
+		var first = meals.get(0);
+		var second = meals.get(1);
+		var dto = new OrderDtoIn();
+		dto.setUserId(user.getId());
+		dto.setConstraintId(Integer.valueOf(-1));
+		List<QuantityDtoIn> qs = new ArrayList<>();
+		qs.add(new QuantityDtoIn(1, first.getId(), null));
+		dto.setQuantity(qs);
+		var order = this.orderService.order(dto);
+		var before = this.productionPlan.find(null).value();
+
+		qs = new ArrayList<>();
+		qs.add(new QuantityDtoIn(4, second.getId(), null));
+		dto.setQuantity(qs);
+		this.orderService.update(order.getId(), dto);
+
+		var after = this.productionPlan.find(null).value();
+		Assertions.assertEquals(before.getOrderCount(), after.getOrderCount(), "Update must not add an order");
+		Assertions.assertEquals(OrderServiceTest.quantity(before.getMeals(), first.getId()) - 1,
+				OrderServiceTest.quantity(after.getMeals(), first.getId()), "Old meal must be removed");
+		Assertions.assertEquals(OrderServiceTest.quantity(before.getMeals(), second.getId()) + 4,
+				OrderServiceTest.quantity(after.getMeals(), second.getId()), "New meal must be added");
+		var total = after.getMeals().stream().mapToInt(l -> l.getQuantity().intValue()).sum();
+		var totalOfCategories = after.getCategories().stream().mapToInt(l -> l.getQuantity().intValue()).sum();
+		Assertions.assertEquals(total, totalOfCategories, "Categories must sum the meals");
+	}
+
+	/**
+	 * Test
+	 */
+	@Test
+	void testProductionPlan03() {
+		var past = this.productionPlan.find(LocalDate.now().minusYears(100));
+		Assertions.assertNull(past.eTag(), "Plan of another day is not in memory");
+		Assertions.assertTrue(past.value().getClosed().booleanValue(), "Plan of the past must be closed");
+		Assertions.assertEquals(0, past.value().getOrderCount().intValue(), "No order so long ago");
+		Assertions.assertTrue(past.value().getMeals().isEmpty(), "No meal so long ago");
+	}
+
+	/**
+	 * Test
+	 *
+	 * @throws Exception if an error occurred
+	 */
+	@Test
+	void testProductionPlan04() throws Exception {
+		var before = this.productionPlan.find(null).value().getOrderCount();
+		this.createAnOrder(Integer.valueOf(-1));
+		Assertions.assertEquals(before.intValue() + 1,
+				this.productionPlan.find(null).value().getOrderCount().intValue(), "Order must be counted");
+		// Seeding reads the committed orders only, in its own transaction. After
+		// midnight the first order seeds the plan then adds itself, only once.
+		this.productionPlan.seed();
+		Assertions.assertEquals(before, this.productionPlan.find(null).value().getOrderCount(),
+				"Order not committed must not be seeded");
+	}
+
+	/**
+	 * Gives the quantity of a line of the plan.
+	 *
+	 * @param pLines the lines
+	 * @param pId    id of a meal or a menu
+	 * @return its quantity, 0 if not found
+	 */
+	private static int quantity(List<ProductionLineDtoOut> pLines, Integer pId) {
+		return pLines.stream().filter(l -> pId.equals(l.getId())).mapToInt(l -> l.getQuantity().intValue()).sum();
+	}
+
+	/**
+	 * Gives the quantity ordered in menus of a line of the plan.
+	 *
+	 * @param pLines the lines
+	 * @param pId    id of a meal
+	 * @return its quantity ordered in menus, 0 if not found
+	 */
+	private static int inMenus(List<ProductionLineDtoOut> pLines, Integer pId) {
+		return pLines.stream().filter(l -> pId.equals(l.getId()))
+				.mapToInt(l -> l.getQuantityInMenus().intValue()).sum();
+	}
+
+	/**
+	 * Test
+	 *
+	 * @throws Exception if an error occurred
+	 */
+	@Test
+	void testTiming01() throws Exception {
+		var order = super.orderService.findAll().get(0);
+		super.orderService.computePrice(order.getId(), Integer.valueOf(-1), new PriceDtoOut());
+		Assertions.assertThrows(EntityNotFoundException.class, () -> super.orderService
+				.computePrice(Integer.valueOf(999999), Integer.valueOf(-1), new PriceDtoOut()));
+
+		var success = this.meterRegistry.find(TimingAspect.HOT_PATH_TIMER)
+				.tags("class", "OrderService", "method", "computePrice", "outcome", TimingAspect.SUCCESS).timer();
+		Assertions.assertNotNull(success, "Hot path must be timed");
+		Assertions.assertTrue(success.count() > 0, "Call must be counted");
+		var notFound = this.meterRegistry.find(TimingAspect.HOT_PATH_TIMER)
+				.tags("class", "OrderService", "method", "computePrice", "outcome", "EntityNotFoundException").timer();
+		Assertions.assertNotNull(notFound, "Exception must be the outcome");
+		Assertions.assertNotNull(this.meterRegistry.find(TimingAspect.SERVICE_TIMER)
+				.tags("class", "OrderService", "method", "findAll").timer(), "Services must be timed");
+		Assertions.assertNotNull(
+				this.meterRegistry.find(TimingAspect.DAO_TIMER).tags("class", "IOrderDao").timer(),
+				"DAOs must be timed");
+		Assertions.assertNull(this.meterRegistry.find(TimingAspect.HOT_PATH_TIMER).tags("method", "findAll").timer(),
+				"Only hot paths have an histogram");
+	}
 }
@@ -0,0 +1,120 @@
+// -#--------------------------------------
+// -# ©Copyright Ferret Renaud 2019 -
+// -# Email: admin@ferretrenaud.fr -
+// -# All Rights Reserved. -
+// -#--------------------------------------
+
+package stone.lunchtime.service.impl.jpa;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import stone.lunchtime.AbstractJpaTest;
+import stone.lunchtime.dto.in.OrderDtoIn;
+import stone.lunchtime.dto.out.MealDtoOut;
+
+/**
+ * Benchmark of the order write path. <br>
+ *
+ * Places 5 lines orders without JDBC batching (one round trip per row, as with
+ * identity ids) and with the configured batching, and logs the number of
+ * statements and the latency of each.
+ */
+class OrderWriteBenchmarkTest extends AbstractJpaTest {
+	private static final Logger LOG = LoggerFactory.getLogger(OrderWriteBenchmarkTest.class);
+
+	private static final int LINES = 5;
+	private static final int WARMUP = 5;
+	private static final int ROUNDS = 20;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	/**
+	 * Result of a measure.
+	 *
+	 * @param statements number of JDBC statements per order
+	 * @param micros     average latency per order, in micro seconds
+	 */
+	private record Measure(double statements, double micros) {
+	}
+
+	/**
+	 * Test
+	 *
+	 * @throws Exception if an error occurred
+	 */
+	@Test
+	void testOrderWrite01() throws Exception {
+		var statistics = this.entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+		var enabled = statistics.isStatisticsEnabled();
+		statistics.setStatisticsEnabled(true);
+		try {
+			var dto = this.createFiveLinesOrder();
+			this.measure(dto, Integer.valueOf(1), OrderWriteBenchmarkTest.WARMUP);
+			var before = this.measure(dto, Integer.valueOf(1), OrderWriteBenchmarkTest.ROUNDS);
+			this.measure(dto, null, OrderWriteBenchmarkTest.WARMUP);
+			var after = this.measure(dto, null, OrderWriteBenchmarkTest.ROUNDS);
+
+			OrderWriteBenchmarkTest.LOG.atInfo().log("5 lines order without batching: {} statements, {} us", before.statements(),
+					before.micros());
+			OrderWriteBenchmarkTest.LOG.atInfo().log("5 lines order with batching: {} statements, {} us", after.statements(),
+					after.micros());
+			Assertions.assertTrue(after.statements() < before.statements(), "Batching must use less statements");
+		} finally {
+			statistics.setStatisticsEnabled(enabled);
+		}
+	}
+
+	/**
+	 * Places orders and measures them.
+	 *
+	 * @param pDto       the order
+	 * @param pBatchSize JDBC batch size, null for the configured one
+	 * @param pRounds    number of orders
+	 * @return the measure
+	 * @throws Exception if an error occurred
+	 */
+	private Measure measure(OrderDtoIn pDto, Integer pBatchSize, int pRounds) throws Exception {
+		var session = this.entityManager.unwrap(Session.class);
+		var statistics = session.getSessionFactory().getStatistics();
+		session.setJdbcBatchSize(pBatchSize);
+		try {
+			statistics.clear();
+			var start = System.nanoTime();
+			for (var i = 0; i < pRounds; i++) {
+				this.orderService.order(pDto);
+				this.entityManager.flush();
+			}
+			var duration = System.nanoTime() - start;
+			return new Measure((double) statistics.getPrepareStatementCount() / pRounds,
+					duration / 1000D / pRounds);
+		} finally {
+			session.setJdbcBatchSize(null);
+		}
+	}
+
+	/**
+	 * Creates an order with 5 meals.
+	 *
+	 * @return the order
+	 */
+	private OrderDtoIn createFiveLinesOrder() {
+		var user = super.findASimpleUser();
+		var allMeals = this.mealService.findAllAvailableForWeekAndCategory(OrderService.getCurrentWeekId(), null);
+		var dto = new OrderDtoIn();
+		dto.setUserId(user.getId());
+		// No constraint, time limit must not stop the benchmark
+		dto.setConstraintId(Integer.valueOf(-1));
+		for (MealDtoOut meal : super.generateList(OrderWriteBenchmarkTest.LINES, allMeals)) {
+			dto.addMeal(Integer.valueOf(1), meal.getId());
+		}
+		return dto;
+	}
+}
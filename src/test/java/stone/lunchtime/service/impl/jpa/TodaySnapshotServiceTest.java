@@ -0,0 +1,86 @@
+// -#--------------------------------------
+// -# ©Copyright Ferret Renaud 2019 -
+// -# Email: admin@ferretrenaud.fr -
+// -# All Rights Reserved. -
+// -#--------------------------------------
+
+package stone.lunchtime.service.impl.jpa;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import stone.lunchtime.AbstractJpaTest;
+import stone.lunchtime.dto.AvailableForWeeksAndDays;
+import stone.lunchtime.dto.in.MenuDtoIn;
+import stone.lunchtime.entity.MealCategory;
+
+/**
+ * Today snapshot service test class.
+ */
+class TodaySnapshotServiceTest extends AbstractJpaTest {
+
+	@Autowired
+	private TodaySnapshotService todaySnapshot;
+
+	@Autowired
+	private ObjectMapper mapper;
+
+	/**
+	 * Test
+	 *
+	 * @throws Exception if an error occurred
+	 */
+	@Test
+	void testFindAllMenusForToday01() throws Exception {
+		var first = this.todaySnapshot.findAllMenusForToday();
+		var second = this.todaySnapshot.findAllMenusForToday();
+		Assertions.assertSame(first, second, "Snapshot must be reused while nothing changes");
+		Assertions.assertEquals(OrderService.getCurrentWeekId().intValue(), first.week(), "Snapshot is for this week");
+		Assertions.assertEquals(OrderService.getCurrentDayId().intValue(), first.day(), "Snapshot is for today");
+		Assertions.assertArrayEquals(this.mapper.writeValueAsBytes(first.values()), first.json(),
+				"Json must be the values");
+		Assertions.assertNotNull(first.eTag(), "ETag must exist");
+		Assertions.assertThrows(UnsupportedOperationException.class, () -> first.values().clear(),
+				"Values must be immutable");
+	}
+
+	/**
+	 * Test
+	 */
+	@Test
+	void testFindAllMenusForToday02() {
+		var before = this.todaySnapshot.findAllMenusForToday();
+
+		var dto = new MenuDtoIn();
+		dto.setLabel("Menu du jour");
+		dto.setPriceDF(2F);
+		var aad = new AvailableForWeeksAndDays();
+		aad.add(OrderService.getCurrentWeekId(), OrderService.getCurrentDayId());
+		dto.setAvailableForWeeksAndDays(aad);
+		final var menuId = this.menuService.add(dto).getId();
+
+		var after = this.todaySnapshot.findAllMenusForToday();
+		Assertions.assertNotSame(before, after, "Snapshot must be built again when catalog changes");
+		Assertions.assertNotEquals(before.eTag(), after.eTag(), "ETag must change with the content");
+		Assertions.assertTrue(after.values().stream().anyMatch(m -> menuId.equals(m.getId())),
+				"New menu must be in the snapshot");
+	}
+
+	/**
+	 * Test
+	 */
+	@Test
+	void testFindAllMealsForToday01() {
+		var all = this.todaySnapshot.findAllMealsForToday(null);
+		Assertions.assertSame(all, this.todaySnapshot.findAllMealsForToday(Byte.valueOf((byte) 120)),
+				"Unknown category means all categories");
+		final var category = MealCategory.MAIN_DISHES.getValue();
+		var some = this.todaySnapshot.findAllMealsForToday(category);
+		Assertions.assertNotSame(all, some, "Each category has its own snapshot");
+		Assertions.assertTrue(some.values().stream().allMatch(m -> category.equals(m.getCategory().getValue())),
+				"Only meals of the category");
+	}
+}
@@ -7,9 +7,17 @@
 package stone.lunchtime.service.impl.jpa;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 import stone.lunchtime.AbstractJpaTest;
 import stone.lunchtime.dto.in.ImageDtoIn;
@@ -731,6 +739,74 @@ class UserServiceTest extends AbstractJpaTest {
 		Assertions.assertThrows(ParameterException.class, () -> this.userService.debit(id, null));
 	}
 
+	/**
+	 * Test
+	 *
+	 * @throws Exception if an error occurred
+	 */
+	@Test
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	void testDebit07() throws Exception {
+		// Not in the test transaction: each debit is committed, wallet is restored
+		final var id = AbstractInitDataBase.USER_EXISTING_ID;
+		final var threads = 16;
+		final var debitsPerThread = 25;
+		final var amount = new BigDecimal("0.10");
+		var initial = this.userService.findEntity(id).getWallet();
+		// Enough money for half of the debits
+		var credit = amount.multiply(BigDecimal.valueOf(threads * debitsPerThread / 2L));
+		this.userService.credit(id, credit);
+		var available = initial.add(credit);
+		var expectedOk = Math.min(threads * debitsPerThread,
+				available.divideToIntegralValue(amount).intValue());
+
+		var ok = new AtomicInteger();
+		var lackOfMoney = new AtomicInteger();
+		var executor = Executors.newFixedThreadPool(threads);
+		try {
+			var start = new CountDownLatch(1);
+			var tasks = new ArrayList<Future<?>>();
+			for (var t = 0; t < threads; t++) {
+				tasks.add(executor.submit(() -> {
+					start.await();
+					for (var d = 0; d < debitsPerThread; d++) {
+						try {
+							this.userService.debit(id, amount);
+							ok.incrementAndGet();
+						} catch (LackOfMoneyException exc) {
+							lackOfMoney.incrementAndGet();
+						}
+					}
+					return null;
+				}));
+			}
+			start.countDown();
+			for (var task : tasks) {
+				task.get(1, TimeUnit.MINUTES);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		var wallet = this.userService.findEntity(id).getWallet();
+		try {
+			Assertions.assertEquals(expectedOk, ok.get(), "No debit should be lost");
+			Assertions.assertEquals(threads * debitsPerThread - expectedOk, lackOfMoney.get(),
+					"Other debits should fail");
+			Assertions.assertEquals(0, available.subtract(amount.multiply(BigDecimal.valueOf(expectedOk)))
+					.compareTo(wallet), () -> "Wallet should be exact, found " + wallet);
+			Assertions.assertTrue(wallet.signum() >= 0, "Wallet cannot be negative");
+		} finally {
+			// Restore wallet
+			var diff = wallet.subtract(initial);
+			if (diff.signum() > 0) {
+				this.userService.debit(id, diff);
+			} else if (diff.signum() < 0) {
+				this.userService.credit(id, diff.negate());
+			}
+		}
+	}
+
 	/**
 	 * Test
 	 *